@@ -0,0 +1,216 @@
+package com.reliaquest.api.cache;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache.CachedEmployee;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.tenant.TenantContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * A write racing a read that misses the cache. The writer updates the upstream and then invalidates, as a write through
+ * the api does. The reader loads on a miss. Whatever the interleaving, the version read before the write must not
+ * survive the invalidation: that would be a lost invalidation, serving a stale record until the TTL.
+ *
+ * <p>r1 is the version the reader got, r2 the version left in the cache, 0 when nothing is cached.
+ */
+public class CacheInvalidationStress {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final UUID ID = UUID.randomUUID();
+
+    @JCStressTest
+    @Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Read before the write; the load was invalidated")
+    @Outcome(id = "2, 2", expect = ACCEPTABLE, desc = "Missed after the invalidation and loaded the new version")
+    @Outcome(id = "2, 0", expect = ACCEPTABLE, desc = "Loaded the new version, then the invalidation dropped it")
+    @Outcome(expect = FORBIDDEN, desc = "The old version survived the invalidation")
+    @State
+    public static class EmployeeLoadVersusInvalidation {
+
+        private final EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        private volatile EmployeeDto upstream = employee(1);
+
+        @Actor
+        public void read(II_Result r) {
+            r.r1 = cache.get(ID, id -> upstream).getEmployeeSalary();
+        }
+
+        @Actor
+        public void write() {
+            upstream = employee(2);
+            cache.invalidate(ID);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            CachedEmployee cached = cache.getIfPresent(ID);
+            r.r2 = cached == null ? 0 : cached.employee().getEmployeeSalary();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Read before the write; the load was invalidated")
+    @Outcome(id = "2, 2", expect = ACCEPTABLE, desc = "Missed after the invalidation and loaded the new roster")
+    @Outcome(id = "2, 0", expect = ACCEPTABLE, desc = "Loaded the new roster, then the invalidation dropped it")
+    @Outcome(expect = FORBIDDEN, desc = "The old roster survived the invalidation")
+    @State
+    public static class RosterLoadVersusInvalidation {
+
+        private final RosterCache cache = new RosterCache(true, Duration.ofMinutes(1), 100, OBJECT_MAPPER);
+
+        private volatile List<EmployeeDto> upstream = List.of(employee(1));
+
+        @Actor
+        public void read(II_Result r) {
+            r.r1 = cache.get(() -> upstream).employees().size();
+        }
+
+        @Actor
+        public void write() {
+            upstream = List.of(employee(1), employee(2));
+            cache.invalidate();
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r2 = (int) cache.usage(TenantContext.DEFAULT).entries();
+        }
+    }
+
+    /*
+     * The batch lookup path: the reader takes a stamp, reads the upstream and caches what it read only if nothing was
+     * invalidated since the stamp.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Read before the write; the put was refused or invalidated")
+    @Outcome(id = "2, 2", expect = ACCEPTABLE, desc = "Stamped after the invalidation and cached the new version")
+    @Outcome(id = "2, 0", expect = ACCEPTABLE, desc = "Read the new version under an older stamp; nothing cached")
+    @Outcome(expect = FORBIDDEN, desc = "The batch read from before the write survived the invalidation")
+    @State
+    public static class BatchPutVersusInvalidation {
+
+        private final EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        private volatile EmployeeDto upstream = employee(1);
+
+        @Actor
+        public void read(II_Result r) {
+            long stamp = cache.stamp();
+            EmployeeDto read = upstream;
+            cache.putIfUnchanged(ID, read, stamp);
+            r.r1 = read.getEmployeeSalary();
+        }
+
+        @Actor
+        public void write() {
+            upstream = employee(2);
+            cache.invalidate(ID);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            CachedEmployee cached = cache.getIfPresent(ID);
+            r.r2 = cached == null ? 0 : cached.employee().getEmployeeSalary();
+        }
+    }
+
+    /*
+     * A delete by name racing a load of the same record. The name of an in-flight load isn't known yet, so the delete
+     * must drop it too. r1 is 1 if the reader got the employee and 0 if it was not found; r2 is what the cache kept: 1
+     * for the employee, 0 for a negative entry, -1 for nothing.
+     */
+    @JCStressTest
+    @Outcome(id = "1, -1", expect = ACCEPTABLE, desc = "Loaded before the delete; the entry was dropped")
+    @Outcome(id = "0, 0", expect = ACCEPTABLE, desc = "Loaded after the delete; the negative entry is kept")
+    @Outcome(id = "0, -1", expect = ACCEPTABLE, desc = "Loaded after the delete while in flight; dropped with it")
+    @Outcome(expect = FORBIDDEN, desc = "The deleted employee survived the delete")
+    @State
+    public static class InvalidateByNameVersusLoad {
+
+        private final EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        private volatile boolean deleted;
+
+        @Actor
+        public void read(II_Result r) {
+            try {
+                r.r1 = cache.get(ID, this::load).getEmployeeSalary();
+            } catch (EmployeeNotFoundException e) {
+                r.r1 = 0;
+            }
+        }
+
+        @Actor
+        public void delete() {
+            deleted = true;
+            cache.invalidateByName("Saurabh");
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            CachedEmployee cached = cache.getIfPresent(ID);
+            r.r2 = cached == null ? -1 : cached.isNotFound() ? 0 : cached.employee().getEmployeeSalary();
+        }
+
+        private EmployeeDto load(UUID id) {
+            if (deleted) {
+                throw new EmployeeNotFoundException("Employee with ID : " + id + " not found.");
+            }
+            return employee(1);
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "Another tenant's invalidation and load left the entry alone")
+    @Outcome(expect = FORBIDDEN, desc = "The entry was lost, or the other tenant's load replaced it")
+    @State
+    public static class TenantInvalidationIsolation {
+
+        private final EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        public TenantInvalidationIsolation() {
+            cache.put(employee(1));
+        }
+
+        @Actor
+        public void invalidateOtherTenant() {
+            TenantContext.runAs("acme", () -> cache.invalidate(ID));
+        }
+
+        @Actor
+        public void loadOtherTenant() {
+            TenantContext.runAs("acme", () -> cache.get(ID, id -> employee(2)));
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            CachedEmployee cached = cache.getIfPresent(ID);
+            r.r1 = cached == null ? 0 : cached.employee().getEmployeeSalary();
+        }
+    }
+
+    /*
+     * The salary stands in for the record's version.
+     */
+    private static EmployeeDto employee(int version) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(ID);
+        employee.setEmployeeName("Saurabh");
+        employee.setEmployeeSalary(version);
+        return employee;
+    }
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.api.cluster;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeCache.CachedEmployee;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * A write on another replica racing a local read that misses the cache. The peer updates the upstream and then pushes
+ * its invalidation, which arrives through {@link PeerInvalidation#receive}. As with a local write, the version read
+ * before the write must not survive the pushed invalidation.
+ *
+ * <p>r1 is the version the reader got, r2 the version left in the cache, 0 when nothing is cached.
+ */
+public class PeerInvalidationStress {
+
+    private static final String PEER = "http://localhost:8211";
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final WebClient WEB_CLIENT = WebClient.create();
+
+    private static final SimpleMeterRegistry METER_REGISTRY = new SimpleMeterRegistry();
+
+    private static final ClusterMembership MEMBERSHIP = new ClusterMembership(
+            URI.create("http://localhost:8111"),
+            List.of(URI.create(PEER)),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(3),
+            WEB_CLIENT,
+            System::nanoTime);
+
+    private static final InvalidationEvent EVENT = new InvalidationEvent(
+            PEER, 42, 1, new Invalidation(TenantContext.DEFAULT, true, List.of(ID), List.of("Saurabh")));
+
+    @JCStressTest
+    @Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Read before the write; the load was invalidated")
+    @Outcome(id = "2, 2", expect = ACCEPTABLE, desc = "Missed after the invalidation and loaded the new version")
+    @Outcome(id = "2, 0", expect = ACCEPTABLE, desc = "Loaded the new version, then the invalidation dropped it")
+    @Outcome(expect = FORBIDDEN, desc = "The old version survived the peer's invalidation")
+    @State
+    public static class EmployeeLoadVersusReceive {
+
+        private final EmployeeCache employeeCache =
+                new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        private final PeerInvalidation peerInvalidation = peerInvalidation(employeeCache, rosterCache());
+
+        private volatile EmployeeDto upstream = employee(1);
+
+        @Actor
+        public void read(II_Result r) {
+            r.r1 = employeeCache.get(ID, id -> upstream).getEmployeeSalary();
+        }
+
+        @Actor
+        public void peerWrite() {
+            upstream = employee(2);
+            peerInvalidation.receive(EVENT);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            CachedEmployee cached = employeeCache.getIfPresent(ID);
+            r.r2 = cached == null ? 0 : cached.employee().getEmployeeSalary();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Read before the write; the load was invalidated")
+    @Outcome(id = "2, 2", expect = ACCEPTABLE, desc = "Missed after the invalidation and loaded the new roster")
+    @Outcome(id = "2, 0", expect = ACCEPTABLE, desc = "Loaded the new roster, then the invalidation dropped it")
+    @Outcome(expect = FORBIDDEN, desc = "The old roster survived the peer's invalidation")
+    @State
+    public static class RosterLoadVersusReceive {
+
+        private final RosterCache rosterCache = rosterCache();
+
+        private final PeerInvalidation peerInvalidation = peerInvalidation(
+                new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1)), rosterCache);
+
+        private volatile List<EmployeeDto> upstream = List.of(employee(1));
+
+        @Actor
+        public void read(II_Result r) {
+            r.r1 = rosterCache.get(() -> upstream).employees().size();
+        }
+
+        @Actor
+        public void peerWrite() {
+            upstream = List.of(employee(1), employee(2));
+            peerInvalidation.receive(EVENT);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r2 = (int) rosterCache.usage(TenantContext.DEFAULT).entries();
+        }
+    }
+
+    private static PeerInvalidation peerInvalidation(EmployeeCache employeeCache, RosterCache rosterCache) {
+        return new PeerInvalidation(
+                true,
+                10,
+                Duration.ofSeconds(5),
+                MEMBERSHIP,
+                employeeCache,
+                rosterCache,
+                WEB_CLIENT,
+                METER_REGISTRY);
+    }
+
+    private static RosterCache rosterCache() {
+        return new RosterCache(true, Duration.ofMinutes(1), 100, OBJECT_MAPPER);
+    }
+
+    /*
+     * The salary stands in for the record's version.
+     */
+    private static EmployeeDto employee(int version) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(ID);
+        employee.setEmployeeName("Saurabh");
+        employee.setEmployeeSalary(version);
+        return employee;
+    }
+}
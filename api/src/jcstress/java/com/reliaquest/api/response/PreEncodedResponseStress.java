@@ -0,0 +1,88 @@
+package com.reliaquest.api.response;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.response.PreEncodedResponseCache.EncodedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * Requests for the same roster endpoint racing on the pre-encoded response. Each body stands for the roster version
+ * it was computed from, so a response whose bytes don't match its version would serve one roster under another's
+ * ETag.
+ *
+ * <p>r1 and r2 are 1 when each request got its own version's bytes, and r3 is how many times the body was encoded.
+ */
+public class PreEncodedResponseStress {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final SimpleMeterRegistry METER_REGISTRY = new SimpleMeterRegistry();
+
+    @JCStressTest
+    @Outcome(id = "1, 1, 1", expect = ACCEPTABLE, desc = "Both got the version, encoded once")
+    @Outcome(expect = FORBIDDEN, desc = "Encoded twice, or a request got the wrong bytes")
+    @State
+    public static class SameVersionMisses {
+
+        private final PreEncodedResponseCache cache =
+                new PreEncodedResponseCache(true, OBJECT_MAPPER, 0, METER_REGISTRY);
+
+        private final AtomicInteger encodes = new AtomicInteger();
+
+        @Actor
+        public void first(III_Result r) {
+            r.r1 = matches(cache.get("list", "v1", this::body), "v1");
+        }
+
+        @Actor
+        public void second(III_Result r) {
+            r.r2 = matches(cache.get("list", "v1", this::body), "v1");
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r3 = encodes.get();
+        }
+
+        private Object body() {
+            encodes.incrementAndGet();
+            return "v1";
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Each request got its own version")
+    @Outcome(expect = FORBIDDEN, desc = "A request got the other version's bytes")
+    @State
+    public static class NewVersionVersusOld {
+
+        private final PreEncodedResponseCache cache =
+                new PreEncodedResponseCache(true, OBJECT_MAPPER, 0, METER_REGISTRY);
+
+        @Actor
+        public void old(II_Result r) {
+            r.r1 = matches(cache.get("list", "v1", () -> "v1"), "v1");
+        }
+
+        @Actor
+        public void current(II_Result r) {
+            r.r2 = matches(cache.get("list", "v2", () -> "v2"), "v2");
+        }
+    }
+
+    private static int matches(EncodedResponse response, String version) {
+        String json = new String(response.json(), StandardCharsets.UTF_8);
+        return response.version().equals(version) && json.equals("\"" + version + "\"") ? 1 : 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.tenant;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.time.Duration;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.IIII_Result;
+
+/**
+ * Three requests of one tenant race for a quota of two at the same instant, alongside the first request of another
+ * tenant. Exactly two of the three must be granted, and the other tenant must be granted regardless: its deque is
+ * created concurrently with the first tenant's and must not replace it.
+ */
+@JCStressTest
+@Outcome(id = {"1, 1, 0, 1", "1, 0, 1, 1", "0, 1, 1, 1"}, expect = ACCEPTABLE, desc = "Exactly the quota was granted")
+@Outcome(expect = FORBIDDEN, desc = "Over- or under-admission")
+@State
+public class TenantQuotaStress {
+
+    private final TenantQuota quota = new TenantQuota(Duration.ofSeconds(60), () -> 0L);
+
+    @Actor
+    public void first(IIII_Result r) {
+        r.r1 = granted("acme");
+    }
+
+    @Actor
+    public void second(IIII_Result r) {
+        r.r2 = granted("acme");
+    }
+
+    @Actor
+    public void third(IIII_Result r) {
+        r.r3 = granted("acme");
+    }
+
+    @Actor
+    public void otherTenant(IIII_Result r) {
+        r.r4 = granted("globex");
+    }
+
+    private int granted(String tenant) {
+        return quota.tryAcquire(tenant, 2) == 0 ? 1 : 0;
+    }
+}
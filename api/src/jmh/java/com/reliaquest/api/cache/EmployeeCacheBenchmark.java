@@ -0,0 +1,102 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDto;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput of the per-id cache under the races its stress tests check for correctness:
+ * <ul>
+ *   <li>{@code readOnly}: four threads reading hot ids, the baseline</li>
+ *   <li>{@code invalidating}: three readers alongside a writer that invalidates an id and then caches it again
+ *   through {@link EmployeeCache#putIfUnchanged}, as the multi-get path does</li>
+ *   <li>{@code deletingByName}: three readers alongside a writer deleting by name, which scans the cache</li>
+ * </ul>
+ * Readers reload an id they find missing, so the reader scores include the misses each kind of write causes.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeCacheBenchmark {
+
+    private static final int IDS = 1_000;
+
+    private EmployeeCache cache;
+
+    private UUID[] ids;
+
+    private EmployeeDto[] employees;
+
+    @Setup
+    public void setUp() {
+        cache = new EmployeeCache(true, IDS * 2, Duration.ofMinutes(10), Duration.ofMinutes(10));
+        ids = new UUID[IDS];
+        employees = new EmployeeDto[IDS];
+        for (int i = 0; i < IDS; i++) {
+            ids[i] = UUID.randomUUID();
+            employees[i] = employee(ids[i], "Employee " + i);
+            cache.put(employees[i]);
+        }
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(4)
+    public EmployeeDto readOnlyReader() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("invalidating")
+    @GroupThreads(3)
+    public EmployeeDto invalidatingReader() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("invalidating")
+    @GroupThreads(1)
+    public void invalidatingWriter() {
+        int i = ThreadLocalRandom.current().nextInt(IDS);
+        cache.invalidate(ids[i]);
+        cache.putIfUnchanged(ids[i], employees[i], cache.stamp());
+    }
+
+    @Benchmark
+    @Group("deletingByName")
+    @GroupThreads(3)
+    public EmployeeDto deletingByNameReader() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("deletingByName")
+    @GroupThreads(1)
+    public void deletingByNameWriter() {
+        cache.invalidateByName(employees[ThreadLocalRandom.current().nextInt(IDS)].getEmployeeName());
+    }
+
+    private EmployeeDto read() {
+        int i = ThreadLocalRandom.current().nextInt(IDS);
+        return cache.get(ids[i], id -> employees[i]);
+    }
+
+    private static EmployeeDto employee(UUID id, String name) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(100_000);
+        return employee;
+    }
+}
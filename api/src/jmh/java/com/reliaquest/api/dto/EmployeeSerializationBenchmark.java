@@ -0,0 +1,93 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost per employee record of writing and reading a roster:
+ * <ul>
+ *   <li>{@code reflective}: the plain {@code @JsonProperty} bean binding</li>
+ *   <li>{@code blackbird}: the same binding with generated accessors</li>
+ *   <li>{@code precompiled}: {@link EmployeeDtoSerializer} plus Blackbird, as the application runs</li>
+ * </ul>
+ * Scores are per record; with the gc profiler, {@code gc.alloc.rate.norm} is the bytes allocated per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeSerializationBenchmark {
+
+    private static final int RECORDS = 100;
+
+    @Param({"reflective", "blackbird", "precompiled"})
+    public String mode;
+
+    private List<EmployeeDto> employees;
+
+    private byte[] encoded;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (!"precompiled".equals(mode)) {
+            objectMapper.addMixIn(EmployeeDto.class, Reflective.class);
+        }
+        if (!"reflective".equals(mode)) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        TypeReference<List<EmployeeDto>> type = new TypeReference<>() {};
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+
+        employees = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            EmployeeDto employee = new EmployeeDto();
+            employee.setId(UUID.randomUUID());
+            employee.setEmployeeName("Employee " + i);
+            employee.setEmployeeSalary(30_000 + i * 1_000);
+            employee.setEmployeeAge(20 + i % 40);
+            employee.setEmployeeTitle("Senior Principal Engineer " + i);
+            employee.setEmail("employee" + i + "@company.com");
+            employees.add(employee);
+        }
+        encoded = writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public List<EmployeeDto> read() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class Reflective {}
+}
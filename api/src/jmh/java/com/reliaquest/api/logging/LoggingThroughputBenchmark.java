@@ -0,0 +1,149 @@
+package com.reliaquest.api.logging;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Caller-side cost of request logging, before and after the structured-logging change:
+ * <ul>
+ *   <li>{@code before}: the old per-request INFO lines (controller and integration) through a synchronous pattern
+ *   appender</li>
+ *   <li>{@code after}: the same request as one access line through the async JSON appender, with the old lines at
+ *   DEBUG behind the level check</li>
+ * </ul>
+ * Output goes to a null stream so the numbers reflect formatting and hand-off, not the terminal.
+ *
+ * <p>The async appender never blocks, as in production, but its {@code discardingThreshold} is 0 so INFO events are not
+ * discarded as the queue fills. A full queue still drops events, and a faster caller would then only mean more lost
+ * lines, so every iteration prints how many of its events never reached the sink.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class LoggingThroughputBenchmark {
+
+    private static final String URL = "http://localhost:8112/api/v1/employee";
+
+    @Param({"before", "after"})
+    public String mode;
+
+    private LoggerContext loggerContext;
+
+    private Logger logger;
+
+    private final LongAdder logged = new LongAdder();
+
+    private final LongAdder delivered = new LongAdder();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        loggerContext = new LoggerContext();
+        logged.reset();
+        delivered.reset();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                delivered.increment();
+                super.append(event);
+            }
+        };
+        sink.setContext(loggerContext);
+        sink.setEncoder("before".equals(mode) ? patternEncoder() : jsonEncoder());
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        Appender<ILoggingEvent> appender = sink;
+        if ("after".equals(mode)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(sink);
+            async.start();
+            appender = async;
+        }
+
+        logger = loggerContext.getLogger("benchmark");
+        logger.setAdditive(false);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    /*
+     * Stopping the context drains the async queue first, so whatever did not reach the sink by then was dropped.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        loggerContext.stop();
+        long events = logged.sum();
+        long dropped = events - delivered.sum();
+        System.out.printf(
+                "%s: %d of %d events dropped (%.2f%%)%n",
+                mode,
+                dropped,
+                events,
+                events == 0 ? 0 : 100.0 * dropped / events);
+    }
+
+    @Benchmark
+    public void request() {
+        if ("before".equals(mode)) {
+            logger.info("Received API request to get All employees");
+            logger.info("Calling employee service at {} to get all employees", URL);
+            logger.info("Fetched all employees successfully. Total number of employees fetched : {}", 50);
+            logged.add(3);
+            return;
+        }
+        logger.debug("Received API request to get All employees");
+        logger.debug("Calling employee service at {} to get all employees", URL);
+        logger.info(
+                "{} {} {} {} {}",
+                kv("method", "GET"),
+                kv("path", "/api/v1/employee"),
+                kv("status", 200),
+                kv("latencyMs", 12),
+                kv("upstreamCalls", 1));
+        logged.increment();
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDto;
+
+/**
+ * What one tenant holds in a cache: its entries and a rough estimate of their heap footprint.
+ */
+public record CacheUsage(long entries, long estimatedBytes) {
+
+    public static final CacheUsage NONE = new CacheUsage(0, 0);
+
+    /*
+     * Object headers and references of the dto, its UUID and boxed numbers, plus each compact string's header and one
+     * byte per character. Good enough to compare tenants with each other, not to size a heap.
+     */
+    private static final long EMPLOYEE_OVERHEAD = 112;
+
+    private static final long STRING_OVERHEAD = 40;
+
+    public CacheUsage plus(CacheUsage other) {
+        return new CacheUsage(entries + other.entries, estimatedBytes + other.estimatedBytes);
+    }
+
+    public static long estimate(EmployeeDto employee) {
+        if (employee == null) {
+            return 0;
+        }
+        return EMPLOYEE_OVERHEAD
+                + estimate(employee.getEmployeeName())
+                + estimate(employee.getEmployeeTitle())
+                + estimate(employee.getEmail());
+    }
+
+    private static long estimate(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+}
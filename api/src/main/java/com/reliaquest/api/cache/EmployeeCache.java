@@ -0,0 +1,267 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.profiling.CacheLookupEvent;
+import com.reliaquest.api.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded per-id cache in front of the upstream employee lookup. Caffeine's W-TinyLFU admission keeps the hot records
+ * resident under a skewed workload. A 404 is cached as a negative entry with a shorter TTL so repeated lookups of a
+ * missing id don't each pay a round trip.
+ *
+ * <p>Lookups run the loader on the calling thread; concurrent misses for the same id wait for the first caller's load
+ * instead of each going upstream. Failed loads are not cached.
+ *
+ * <p>Entries are keyed by the {@link TenantContext current tenant} as well as the id, so tenants never see each other's
+ * records. They share one bounded cache: the admission policy only lets a tenant's entry displace a resident one when
+ * it is used more often, so one tenant's scan of ids it never reads again cannot flush the entries others keep hitting.
+ */
+@Component
+public class EmployeeCache implements MeterBinder {
+
+    public static final String NAME = "employees";
+
+    private final boolean enabled;
+
+    private final AsyncCache<TenantKey, CachedEmployee> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EmployeeCache(
+            @Value("${employee.cache.enabled:true}") boolean enabled,
+            @Value("${employee.cache.max-size:10000}") long maxSize,
+            @Value("${employee.cache.ttl:30s}") Duration ttl,
+            @Value("${employee.cache.negative-ttl:5s}") Duration negativeTtl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new EntryExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached employee, loading it on a miss.
+     *
+     * @throws EmployeeNotFoundException if the loader threw it, now or within the negative TTL
+     */
+    public EmployeeDto get(UUID id, Function<UUID, EmployeeDto> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+
+        TenantKey key = TenantKey.of(id);
+        CompletableFuture<CachedEmployee> entry = cache.getIfPresent(key);
+        CacheLookupEvent.emit(NAME, id, entry != null);
+        if (entry == null) {
+            CompletableFuture<CachedEmployee> loading = new CompletableFuture<>();
+            entry = cache.asMap().putIfAbsent(key, loading);
+            if (entry == null) {
+                entry = loading;
+                load(id, loader, loading);
+            }
+        }
+
+        EmployeeDto employee = await(entry).employee();
+        if (employee == null) {
+            throw new EmployeeNotFoundException("Employee with ID : " + id + " not found.");
+        }
+        return employee;
+    }
+
+    /**
+     * Caches a freshly written employee, replacing any negative entry for its id.
+     */
+    public void put(EmployeeDto employee) {
+        if (enabled && employee != null && employee.getId() != null) {
+            cache.put(TenantKey.of(employee.getId()), CompletableFuture.completedFuture(new CachedEmployee(employee)));
+        }
+    }
+
+    /**
+     * Returns the cached lookup without loading, or null on a miss or while a load is still in flight.
+     */
+    public CachedEmployee getIfPresent(UUID id) {
+        if (!enabled) {
+            return null;
+        }
+        CompletableFuture<CachedEmployee> entry = cache.getIfPresent(TenantKey.of(id));
+        CachedEmployee cached = entry != null ? completed(entry) : null;
+        CacheLookupEvent.emit(NAME, id, cached != null);
+        return cached;
+    }
+
+    /**
+     * Returns the stamp to pass to {@link #putIfUnchanged}, taken before the upstream read starts.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches the result of an upstream read that started at {@code stamp}: the employee, or a negative entry if it is
+     * null. Nothing is cached if the id already has an entry or anything was invalidated since the stamp, because the
+     * read may predate that write.
+     */
+    public void putIfUnchanged(UUID id, EmployeeDto employee, long stamp) {
+        if (!enabled) {
+            return;
+        }
+        CachedEmployee loaded = employee != null ? new CachedEmployee(employee) : CachedEmployee.NOT_FOUND;
+        // Invalidations count before they remove, so a stamp still current here means none has removed anything since
+        cache.asMap().compute(TenantKey.of(id), (key, current) -> {
+            if (current != null || invalidations.get() != stamp) {
+                return current;
+            }
+            return CompletableFuture.completedFuture(loaded);
+        });
+    }
+
+    public void invalidate(UUID id) {
+        invalidations.incrementAndGet();
+        cache.synchronous().invalidate(TenantKey.of(id));
+    }
+
+    /**
+     * Drops every cached employee with the given name. The upstream deletes by name, removing the first match, which
+     * is not necessarily the id the caller asked for.
+     *
+     * <p>The tenant's in-flight loads are dropped too: their name isn't known yet, and one of them may be reading the
+     * record being deleted. Their callers still get the loaded value, but it is not kept.
+     */
+    public void invalidateByName(String name) {
+        if (name == null) {
+            return;
+        }
+        String tenant = TenantContext.current();
+        invalidations.incrementAndGet();
+        cache.asMap().entrySet().removeIf(cached -> {
+            if (!cached.getKey().tenant().equals(tenant)) {
+                return false;
+            }
+            if (!cached.getValue().isDone()) {
+                return true;
+            }
+            CachedEmployee entry = completed(cached.getValue());
+            return entry != null
+                    && entry.employee() != null
+                    && name.equalsIgnoreCase(entry.employee().getEmployeeName());
+        });
+    }
+
+    /**
+     * Drops every tenant's entries.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Counts a tenant's entries by scanning the whole cache, so it costs one pass over every tenant's entries. Metric
+     * scrapes use {@link #usageByTenant()} to count every tenant in that one pass.
+     */
+    public CacheUsage usage(String tenant) {
+        return usageByTenant().getOrDefault(tenant, CacheUsage.NONE);
+    }
+
+    /**
+     * @return every tenant's cached employees, from one pass over the cache; tenants with none are absent
+     */
+    public Map<String, CacheUsage> usageByTenant() {
+        Map<String, CacheUsage> usage = new HashMap<>();
+        for (Map.Entry<TenantKey, CompletableFuture<CachedEmployee>> cached : cache.asMap().entrySet()) {
+            CachedEmployee entry = completed(cached.getValue());
+            usage.merge(
+                    cached.getKey().tenant(),
+                    new CacheUsage(1, entry != null ? CacheUsage.estimate(entry.employee()) : 0),
+                    CacheUsage::plus);
+        }
+        return usage;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+
+    private static void load(UUID id, Function<UUID, EmployeeDto> loader, CompletableFuture<CachedEmployee> loading) {
+        try {
+            loading.complete(new CachedEmployee(loader.apply(id)));
+        } catch (EmployeeNotFoundException e) {
+            loading.complete(CachedEmployee.NOT_FOUND);
+        } catch (RuntimeException e) {
+            // An exceptionally completed future is removed from the cache, so the next caller retries
+            loading.completeExceptionally(e);
+        }
+    }
+
+    private static CachedEmployee await(CompletableFuture<CachedEmployee> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static CachedEmployee completed(CompletableFuture<CachedEmployee> future) {
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    /**
+     * A cached lookup; {@code employee} is null for a negative entry.
+     */
+    public record CachedEmployee(EmployeeDto employee) {
+
+        static final CachedEmployee NOT_FOUND = new CachedEmployee(null);
+
+        public boolean isNotFound() {
+            return employee == null;
+        }
+    }
+
+    private record TenantKey(String tenant, UUID id) {
+
+        static TenantKey of(UUID id) {
+            return new TenantKey(TenantContext.current(), id);
+        }
+    }
+
+    private record EntryExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<TenantKey, CachedEmployee> {
+
+        @Override
+        public long expireAfterCreate(TenantKey key, CachedEmployee entry, long currentTime) {
+            return entry.isNotFound() ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(TenantKey key, CachedEmployee entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TenantKey key, CachedEmployee entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
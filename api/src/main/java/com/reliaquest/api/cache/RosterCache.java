@@ -0,0 +1,164 @@
+package com.reliaquest.api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.profiling.CacheLookupEvent;
+import com.reliaquest.api.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived snapshot of the whole roster, shared by the list, search and salary endpoints so a burst of them costs
+ * one upstream call. Every snapshot carries a version derived from its content: the same roster always has the same
+ * version, across refreshes and instances, which makes it usable as an ETag.
+ *
+ * <p>Like {@link EmployeeCache}, a miss loads on the calling thread and concurrent callers wait for that load. Writes
+ * through this api invalidate the snapshot; changes made directly on the employee service show up within the TTL.
+ *
+ * <p>Each tenant has its own snapshot, keyed by the {@link TenantContext current tenant}.
+ */
+@Component
+public class RosterCache implements MeterBinder {
+
+    public static final String NAME = "roster";
+
+    private final boolean enabled;
+
+    private final ObjectMapper objectMapper;
+
+    private final AsyncCache<String, Roster> cache;
+
+    public RosterCache(
+            @Value("${employee.roster-cache.enabled:true}") boolean enabled,
+            @Value("${employee.roster-cache.ttl:5s}") Duration ttl,
+            @Value("${employee.tenancy.max-tenants:100}") int maxTenants,
+            ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the current snapshot, loading it on a miss.
+     */
+    public Roster get(Supplier<List<EmployeeDto>> loader) {
+        if (!enabled) {
+            return roster(loader.get());
+        }
+
+        String tenant = TenantContext.current();
+        CompletableFuture<Roster> entry = cache.getIfPresent(tenant);
+        CacheLookupEvent.emit(NAME, tenant, entry != null);
+        if (entry == null) {
+            CompletableFuture<Roster> loading = new CompletableFuture<>();
+            entry = cache.asMap().putIfAbsent(tenant, loading);
+            if (entry == null) {
+                entry = loading;
+                load(loader, loading);
+            }
+        }
+        return await(entry);
+    }
+
+    /**
+     * Drops the current tenant's snapshot.
+     */
+    public void invalidate() {
+        cache.synchronous().invalidate(TenantContext.current());
+    }
+
+    /**
+     * Drops every tenant's snapshot.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * @return the tenant's cached employees, none while its snapshot is absent or loading
+     */
+    public CacheUsage usage(String tenant) {
+        return usageByTenant().getOrDefault(tenant, CacheUsage.NONE);
+    }
+
+    /**
+     * @return every tenant's cached employees, from one pass over the snapshots; tenants with none are absent
+     */
+    public Map<String, CacheUsage> usageByTenant() {
+        Map<String, CacheUsage> usage = new HashMap<>();
+        cache.asMap().forEach((tenant, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                List<EmployeeDto> employees = future.join().employees();
+                long bytes = 0;
+                for (EmployeeDto employee : employees) {
+                    bytes += CacheUsage.estimate(employee);
+                }
+                usage.put(tenant, new CacheUsage(employees.size(), bytes));
+            }
+        });
+        return usage;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+
+    private void load(Supplier<List<EmployeeDto>> loader, CompletableFuture<Roster> loading) {
+        try {
+            loading.complete(roster(loader.get()));
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+        }
+    }
+
+    private Roster roster(List<EmployeeDto> employees) {
+        List<EmployeeDto> snapshot = employees == null ? List.of() : List.copyOf(employees);
+        return new Roster(snapshot, version(snapshot));
+    }
+
+    private String version(List<EmployeeDto> employees) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(employees));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute the roster version", e);
+        }
+    }
+
+    private static Roster await(CompletableFuture<Roster> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * An immutable roster snapshot and its content version.
+     */
+    public record Roster(List<EmployeeDto> employees, String version) {}
+}
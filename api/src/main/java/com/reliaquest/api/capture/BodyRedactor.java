@@ -0,0 +1,68 @@
+package com.reliaquest.api.capture;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Masks captured request bodies, so a capture file holds no names, salaries or emails unless asked to. Only the values
+ * of the JSON fields opted in by name are kept, and {@code *} keeps whole bodies. A masked string becomes a run of
+ * {@code x} of the same length and a masked number becomes 1, so a replayed body still passes the same validation and
+ * takes the same path. A body that isn't JSON is dropped.
+ */
+public class BodyRedactor {
+
+    public static final String KEEP_ALL = "*";
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<String> keptFields;
+
+    public BodyRedactor(ObjectMapper objectMapper, Collection<String> keptFields) {
+        this.objectMapper = objectMapper;
+        this.keptFields = Set.copyOf(keptFields);
+    }
+
+    /**
+     * @return the body with every value outside the kept fields masked, or null if it is null or not JSON
+     */
+    public String redact(String body) {
+        if (body == null || keptFields.contains(KEEP_ALL)) {
+            return body;
+        }
+        try {
+            JsonNode tree = objectMapper.readTree(body);
+            return tree == null || tree.isMissingNode() ? null : objectMapper.writeValueAsString(mask(tree));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private JsonNode mask(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode masked = objectMapper.createObjectNode();
+            node.fields().forEachRemaining(field -> masked.set(
+                    field.getKey(),
+                    keptFields.contains(field.getKey()) ? field.getValue() : mask(field.getValue())));
+            return masked;
+        }
+        if (node.isArray()) {
+            ArrayNode masked = objectMapper.createArrayNode();
+            node.forEach(element -> masked.add(mask(element)));
+            return masked;
+        }
+        if (node.isTextual()) {
+            return TextNode.valueOf("x".repeat(node.textValue().length()));
+        }
+        if (node.isNumber()) {
+            return IntNode.valueOf(1);
+        }
+        return node;
+    }
+}
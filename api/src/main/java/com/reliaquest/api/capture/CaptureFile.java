@@ -0,0 +1,193 @@
+package com.reliaquest.api.capture;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only JSON-lines file of {@link CapturedRequest}s. Request threads only hand records to a bounded queue, and a
+ * background thread writes them, so a slow disk never slows requests down. Records that don't fit the queue are
+ * dropped and counted. A file that would grow past {@code maxFileBytes} is rotated to {@code <file>.1}, shifting older
+ * ones up to {@code <file>.<maxHistory>}, and the oldest is deleted, so a capture left on never fills the disk.
+ */
+@Slf4j
+public class CaptureFile implements Closeable {
+
+    public static final String DROPPED = "employee.capture.dropped";
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper;
+
+    private final long maxFileBytes;
+
+    private final int maxHistory;
+
+    private final Object lock = new Object();
+
+    private OutputStream out;
+
+    private long size;
+
+    private final BlockingQueue<CapturedRequest> queue;
+
+    private final Counter dropped;
+
+    private final Thread flusher = new Thread(this::drain, "traffic-capture");
+
+    private volatile boolean running = true;
+
+    public CaptureFile(
+            Path path,
+            int queueCapacity,
+            long maxFileBytes,
+            int maxHistory,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.path = path;
+        this.maxFileBytes = maxFileBytes;
+        this.maxHistory = maxHistory;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder(DROPPED)
+                .description("Captured requests dropped because the capture file fell behind")
+                .register(meterRegistry);
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            this.out = open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open capture file " + path, e);
+        }
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Capturing traffic to {}", path.toAbsolutePath());
+    }
+
+    public void append(CapturedRequest request) {
+        if (!queue.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Writes what is still queued, then closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            write(new ArrayList<>(queue));
+            out.close();
+        }
+    }
+
+    /**
+     * @return the rotated file with this index, 1 being the newest
+     */
+    public static Path rotated(Path path, int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    /**
+     * @return the captured requests in file order; a torn last line is skipped
+     */
+    public static List<CapturedRequest> read(Path path, ObjectMapper objectMapper) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    requests.add(objectMapper.readValue(line, CapturedRequest.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Skipping unreadable capture line in {}", path);
+                }
+            }
+        }
+        return requests;
+    }
+
+    private void drain() {
+        List<CapturedRequest> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            synchronized (lock) {
+                try {
+                    write(batch);
+                    out.flush();
+                } catch (IOException e) {
+                    log.warn("Failed to write {} captured requests to {}", batch.size(), path, e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<CapturedRequest> batch) throws IOException {
+        for (CapturedRequest request : batch) {
+            byte[] line = objectMapper.writeValueAsBytes(request);
+            if (size > 0 && size + line.length + 1 > maxFileBytes) {
+                rotate();
+            }
+            out.write(line);
+            out.write('\n');
+            size += line.length + 1;
+        }
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        Files.deleteIfExists(rotated(path, maxHistory));
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            if (Files.exists(rotated(path, i))) {
+                Files.move(rotated(path, i), rotated(path, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxHistory > 0) {
+            Files.move(path, rotated(path, 1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(path);
+        }
+        out = open();
+        log.info("Rotated capture file {}", path.toAbsolutePath());
+    }
+
+    private OutputStream open() throws IOException {
+        size = Files.exists(path) ? Files.size(path) : 0;
+        return new BufferedOutputStream(
+                Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+}
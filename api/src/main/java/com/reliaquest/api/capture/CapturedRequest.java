@@ -0,0 +1,24 @@
+package com.reliaquest.api.capture;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+
+/**
+ * One inbound request as captured, and what serving it took.
+ *
+ * @param at start time, in microseconds since the epoch
+ * @param path request URI including the query string
+ * @param headers the captured headers the request carried
+ * @param body request body, or null if it had none
+ * @param upstreamCalls employee service calls made while serving it
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record CapturedRequest(
+        long at,
+        String method,
+        String path,
+        Map<String, String> headers,
+        String body,
+        int status,
+        long latencyMicros,
+        int upstreamCalls) {}
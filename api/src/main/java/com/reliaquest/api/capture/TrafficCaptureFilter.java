@@ -0,0 +1,91 @@
+package com.reliaquest.api.capture;
+
+import com.reliaquest.api.logging.UpstreamCallCounter;
+import com.reliaquest.api.warmup.WarmUpRunner;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/**
+ * Records every employee endpoint request to a {@link CaptureFile}, for replay with {@code TrafficReplayer}. It
+ * captures the method, the path with its query, the configured headers, the body up to {@code maxBodyBytes} as masked
+ * by the {@link BodyRedactor}, and the status, latency and employee service calls of the response. Synthetic warm-up
+ * requests are not captured.
+ */
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    private final CaptureFile captureFile;
+
+    private final List<String> headers;
+
+    private final int maxBodyBytes;
+
+    private final BodyRedactor bodyRedactor;
+
+    public TrafficCaptureFilter(
+            CaptureFile captureFile, List<String> headers, int maxBodyBytes, BodyRedactor bodyRedactor) {
+        this.captureFile = captureFile;
+        this.headers = headers;
+        this.maxBodyBytes = maxBodyBytes;
+        this.bodyRedactor = bodyRedactor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (WarmUpRunner.isWarmUp(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingRequestWrapper wrapped = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        AtomicInteger upstreamCalls = UpstreamCallCounter.counter(request);
+        long at = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(wrapped, response);
+        } finally {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            captureFile.append(new CapturedRequest(
+                    at,
+                    request.getMethod(),
+                    pathWithQuery(request),
+                    capturedHeaders(request),
+                    bodyRedactor.redact(body(wrapped)),
+                    response.getStatus(),
+                    latencyMicros,
+                    upstreamCalls.get()));
+        }
+    }
+
+    private Map<String, String> capturedHeaders(HttpServletRequest request) {
+        Map<String, String> captured = new LinkedHashMap<>();
+        for (String header : headers) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                captured.put(header, value);
+            }
+        }
+        return captured;
+    }
+
+    private static String pathWithQuery(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    private static String body(ContentCachingRequestWrapper request) {
+        byte[] body = request.getContentAsByteArray();
+        return body.length == 0 ? null : new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package com.reliaquest.api.cluster;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Which api replicas are alive, and how much each of them wants to call the employee service. Every heartbeat
+ * interval, a replica posts its own {@link Heartbeat} to every configured peer and records the peer's heartbeat from
+ * the response, so one exchange updates both sides. A peer that has not been heard from within the member timeout,
+ * either way, is no longer a member. Heartbeats from ids that aren't configured peers are dropped, so nothing else that
+ * reaches the endpoint can join and take a budget share.
+ *
+ * <p>This replica's own demand is sampled once per heartbeat and the same sample is sent to every peer, so every
+ * replica computes the split from the same numbers. The sorted member list is rebuilt only when a heartbeat arrives,
+ * this replica gossips, or a member times out.
+ */
+@Slf4j
+public class ClusterMembership {
+
+    public static final String HEARTBEAT_PATH = "/internal/cluster/heartbeat";
+
+    private final String selfId;
+
+    private final List<URI> peers;
+
+    private final Set<String> peerIds;
+
+    private final Duration heartbeatInterval;
+
+    private final long memberTimeoutNanos;
+
+    private final WebClient webClient;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Member> members = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile LongSupplier localDemand = () -> 0;
+
+    private volatile Heartbeat gossiped;
+
+    private volatile Snapshot snapshot;
+
+    private ScheduledExecutorService scheduler;
+
+    public ClusterMembership(
+            URI selfUrl,
+            List<URI> peers,
+            Duration heartbeatInterval,
+            Duration memberTimeout,
+            WebClient webClient,
+            LongSupplier nanoClock) {
+        this.selfId = selfUrl.toString();
+        this.peers = peers.stream().filter(peer -> !peer.toString().equals(selfId)).toList();
+        this.peerIds = this.peers.stream().map(URI::toString).collect(Collectors.toUnmodifiableSet());
+        this.heartbeatInterval = heartbeatInterval;
+        this.memberTimeoutNanos = memberTimeout.toNanos();
+        this.webClient = webClient;
+        this.nanoClock = nanoClock;
+        this.gossiped = new Heartbeat(selfId, 0);
+    }
+
+    public void start() {
+        if (peers.isEmpty()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = heartbeatInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::beat, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public String getSelfId() {
+        return selfId;
+    }
+
+    /**
+     * @return whether the id is one of the configured peers, other than this replica
+     */
+    public boolean isPeer(String id) {
+        return id != null && peerIds.contains(id);
+    }
+
+    /**
+     * Where this replica's own demand comes from.
+     */
+    public void setLocalDemand(LongSupplier localDemand) {
+        this.localDemand = localDemand;
+    }
+
+    /**
+     * @return this replica's heartbeat as last sent to its peers
+     */
+    public Heartbeat self() {
+        return gossiped;
+    }
+
+    /**
+     * Records a peer's heartbeat.
+     *
+     * @return this replica's heartbeat, for the response
+     */
+    public Heartbeat onHeartbeat(Heartbeat heartbeat) {
+        record(heartbeat);
+        return self();
+    }
+
+    /**
+     * @return this replica and every peer heard from within the member timeout, sorted by id; the same unmodifiable
+     *     list until membership or a demand changes
+     */
+    public List<Heartbeat> liveMembers() {
+        long now = nanoClock.getAsLong();
+        long currentVersion = version.get();
+        Snapshot current = snapshot;
+        if (current != null && current.version() == currentVersion && now - current.staleAtNanos() < 0) {
+            return current.members();
+        }
+        List<Heartbeat> live = new ArrayList<>();
+        live.add(self());
+        long staleAt = now + memberTimeoutNanos;
+        for (Member member : members.values()) {
+            long memberStaleAt = member.lastSeenNanos() + memberTimeoutNanos;
+            if (now - memberStaleAt < 0) {
+                live.add(member.heartbeat());
+                staleAt = Math.min(staleAt, memberStaleAt);
+            }
+        }
+        live.sort(Comparator.comparing(Heartbeat::id));
+        current = new Snapshot(currentVersion, staleAt, List.copyOf(live));
+        snapshot = current;
+        return current.members();
+    }
+
+    private void record(Heartbeat heartbeat) {
+        if (heartbeat == null || !isPeer(heartbeat.id())) {
+            if (heartbeat != null) {
+                log.debug("Ignored a heartbeat from {}, which is not a configured peer", heartbeat.id());
+            }
+            return;
+        }
+        Member previous = members.put(heartbeat.id(), new Member(heartbeat, nanoClock.getAsLong()));
+        if (previous == null || nanoClock.getAsLong() - previous.lastSeenNanos() >= memberTimeoutNanos) {
+            log.info("Api replica {} joined the cluster", heartbeat.id());
+        }
+        version.incrementAndGet();
+    }
+
+    private void beat() {
+        Heartbeat self = new Heartbeat(selfId, localDemand.getAsLong());
+        gossiped = self;
+        version.incrementAndGet();
+        for (URI peer : peers) {
+            webClient
+                    .post()
+                    .uri(peer.resolve(HEARTBEAT_PATH))
+                    .bodyValue(self)
+                    .retrieve()
+                    .bodyToMono(Heartbeat.class)
+                    .timeout(heartbeatInterval)
+                    .subscribe(this::record, e -> log.debug("Heartbeat to {} failed: {}", peer, e.toString()));
+        }
+    }
+
+    private record Member(Heartbeat heartbeat, long lastSeenNanos) {}
+
+    private record Snapshot(long version, long staleAtNanos, List<Heartbeat> members) {}
+}
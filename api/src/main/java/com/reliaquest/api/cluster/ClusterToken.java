@@ -0,0 +1,44 @@
+package com.reliaquest.api.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The {@code Authorization: Bearer <token>} that replicas send each other on the {@code /internal/cluster} endpoints,
+ * configured as {@code employee.cluster.token}. Every replica of a cluster shares the same token.
+ */
+public class ClusterToken {
+
+    private final String header;
+
+    private final byte[] expected;
+
+    public ClusterToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalStateException("employee.cluster.token must be set when employee.cluster.enabled=true");
+        }
+        this.header = "Bearer " + token;
+        this.expected = header.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the Authorization header value for calls to peers
+     */
+    public String header() {
+        return header;
+    }
+
+    public boolean matches(String authorization) {
+        return authorization != null
+                && MessageDigest.isEqual(expected, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.cluster;
+
+/**
+ * What replicas tell each other every heartbeat.
+ *
+ * @param id the replica's url
+ * @param demand employee service calls the replica attempted in the last budget window, allowed or not
+ */
+public record Heartbeat(String id, long demand) {}
@@ -0,0 +1,31 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.tenant.TenantContext;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache entries a write on some replica made stale.
+ *
+ * @param tenant whose entries are stale; null, from replicas that predate tenants, means the default tenant
+ * @param roster whether the roster snapshot is stale
+ * @param ids employees to drop from the per-id cache
+ * @param names employee names to drop from the per-id cache; the upstream deletes by name
+ */
+public record Invalidation(String tenant, boolean roster, List<UUID> ids, List<String> names) {
+
+    /**
+     * @return the current tenant's roster snapshot
+     */
+    public static Invalidation roster() {
+        return new Invalidation(TenantContext.current(), true, List.of(), List.of());
+    }
+
+    /**
+     * @return the current tenant's roster snapshot and entries for this employee
+     */
+    public static Invalidation employee(UUID id, String name) {
+        return new Invalidation(
+                TenantContext.current(), true, List.of(id), name == null ? List.of() : List.of(name));
+    }
+}
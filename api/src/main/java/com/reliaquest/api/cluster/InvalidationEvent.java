@@ -0,0 +1,7 @@
+package com.reliaquest.api.cluster;
+
+/**
+ * An {@link Invalidation} as published by one replica. Sequence numbers count up from 1 within an epoch; a replica
+ * starts a new epoch every time it starts.
+ */
+public record InvalidationEvent(String origin, long epoch, long sequence, Invalidation invalidation) {}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.cluster;
+
+import java.util.List;
+
+/**
+ * Answer to an anti-entropy pull.
+ *
+ * @param latest sequence of the replica's last published event
+ * @param complete false if events the caller asked for are no longer retained, so the caller has to drop its caches
+ * @param events the retained events after the requested sequence
+ */
+public record InvalidationLog(long epoch, long latest, boolean complete, List<InvalidationEvent> events) {}
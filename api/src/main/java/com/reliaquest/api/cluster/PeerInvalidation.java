@@ -0,0 +1,237 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Keeps the employee caches of api replicas consistent with each other's writes. A write publishes an
+ * {@link Invalidation}:
+ * <ul>
+ *   <li>the event is numbered and kept in a bounded log</li>
+ *   <li>it is pushed to every live peer at once, which applies it on arrival</li>
+ *   <li>every anti-entropy interval, each replica pulls the events it hasn't seen from each peer's log, which
+ *   catches up on pushes that were lost</li>
+ * </ul>
+ * Applying an invalidation only drops entries, so it is safe to apply an event twice or out of order: a late or
+ * repeated drop costs a cache miss but never brings back a stale value. That is why events carry per-origin sequence
+ * numbers, to detect gaps, but no per-key versions. A peer whose log no longer holds the missing events makes the
+ * caller drop all its employee caches. A replica that restarts starts a new epoch, and its peers read the new log from
+ * the beginning.
+ */
+@Slf4j
+public class PeerInvalidation {
+
+    public static final String PATH = "/internal/cluster/invalidations";
+    public static final String INVALIDATIONS = "employee.cluster.invalidations";
+
+    private final boolean enabled;
+
+    private final int logSize;
+
+    private final Duration antiEntropyInterval;
+
+    private final ClusterMembership membership;
+
+    private final EmployeeCache employeeCache;
+
+    private final RosterCache rosterCache;
+
+    private final WebClient webClient;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+
+    private final ArrayDeque<InvalidationEvent> retained = new ArrayDeque<>();
+
+    private long sequence;
+
+    /** Per peer: the epoch and the last sequence up to which every event has been applied */
+    private final Map<String, InvalidationLog> cursors = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public PeerInvalidation(
+            boolean enabled,
+            int logSize,
+            Duration antiEntropyInterval,
+            ClusterMembership membership,
+            EmployeeCache employeeCache,
+            RosterCache rosterCache,
+            WebClient webClient,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.logSize = logSize;
+        this.antiEntropyInterval = antiEntropyInterval;
+        this.membership = membership;
+        this.employeeCache = employeeCache;
+        this.rosterCache = rosterCache;
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-anti-entropy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = antiEntropyInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::antiEntropy, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Tells the other replicas about a write. The local caches are the caller's job.
+     */
+    public void publish(Invalidation invalidation) {
+        if (!enabled) {
+            return;
+        }
+        InvalidationEvent event;
+        synchronized (retained) {
+            event = new InvalidationEvent(membership.getSelfId(), epoch, ++sequence, invalidation);
+            retained.addLast(event);
+            if (retained.size() > logSize) {
+                retained.pollFirst();
+            }
+        }
+        for (Heartbeat member : membership.liveMembers()) {
+            if (member.id().equals(membership.getSelfId())) {
+                continue;
+            }
+            webClient
+                    .post()
+                    .uri(URI.create(member.id()).resolve(PATH))
+                    .bodyValue(event)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .subscribe(
+                            ignored -> count("pushed"),
+                            e -> log.debug("Pushing invalidation to {} failed: {}", member.id(), e.toString()));
+        }
+    }
+
+    /**
+     * Applies an event pushed by a peer. Events from an origin that isn't a configured peer are dropped.
+     */
+    public void receive(InvalidationEvent event) {
+        if (!membership.isPeer(event.origin())) {
+            log.debug("Ignored an invalidation from {}, which is not a configured peer", event.origin());
+            return;
+        }
+        apply(event.invalidation());
+        count("received");
+        cursors.computeIfPresent(event.origin(), (origin, cursor) -> {
+            if (cursor.epoch() != event.epoch() || cursor.latest() + 1 != event.sequence()) {
+                return cursor;
+            }
+            return new InvalidationLog(cursor.epoch(), event.sequence(), true, List.of());
+        });
+    }
+
+    /**
+     * @return events after {@code since}; a caller on an older epoch gets the current epoch from the start
+     */
+    public InvalidationLog eventsSince(long callerEpoch, long since) {
+        synchronized (retained) {
+            if (since < 0) {
+                return new InvalidationLog(epoch, sequence, true, List.of());
+            }
+            long from = callerEpoch == epoch ? since : 0;
+            List<InvalidationEvent> events = retained.stream()
+                    .filter(event -> event.sequence() > from)
+                    .toList();
+            boolean complete = from >= sequence || (!events.isEmpty() && events.get(0).sequence() == from + 1);
+            return new InvalidationLog(epoch, sequence, complete, events);
+        }
+    }
+
+    /*
+     * A peer seen for the first time only reports its position: anything it wrote before then is left to the TTLs.
+     */
+    private void antiEntropy() {
+        for (Heartbeat member : membership.liveMembers()) {
+            if (member.id().equals(membership.getSelfId())) {
+                continue;
+            }
+            InvalidationLog cursor = cursors.get(member.id());
+            URI uri = UriComponentsBuilder.fromUri(URI.create(member.id()).resolve(PATH))
+                    .queryParam("epoch", cursor != null ? cursor.epoch() : 0)
+                    .queryParam("since", cursor != null ? cursor.latest() : -1)
+                    .build()
+                    .toUri();
+            try {
+                InvalidationLog pulled = webClient
+                        .get()
+                        .uri(uri)
+                        .retrieve()
+                        .bodyToMono(InvalidationLog.class)
+                        .block(antiEntropyInterval);
+                if (pulled != null) {
+                    catchUp(member.id(), cursor, pulled);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Anti-entropy pull from {} failed: {}", member.id(), e.toString());
+            }
+        }
+    }
+
+    private void catchUp(String peer, InvalidationLog cursor, InvalidationLog pulled) {
+        if (cursor != null) {
+            if (!pulled.complete()) {
+                log.warn("Missed invalidations from {} that it no longer retains, dropping employee caches", peer);
+                rosterCache.invalidateAll();
+                employeeCache.invalidateAll();
+                count("flushed");
+            }
+            for (InvalidationEvent event : pulled.events()) {
+                apply(event.invalidation());
+                count("pulled");
+            }
+        }
+        cursors.put(peer, new InvalidationLog(pulled.epoch(), pulled.latest(), true, List.of()));
+    }
+
+    private void apply(Invalidation invalidation) {
+        TenantContext.runAs(invalidation.tenant(), () -> {
+            invalidation.ids().forEach(employeeCache::invalidate);
+            invalidation.names().forEach(employeeCache::invalidateByName);
+            if (invalidation.roster()) {
+                rosterCache.invalidate();
+            }
+        });
+    }
+
+    private void count(String source) {
+        Counter.builder(INVALIDATIONS)
+                .description("Cache invalidations exchanged with other api replicas")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,202 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.limit.LocalRejection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * This replica's share of a cluster-wide budget of employee service calls. Every replica computes every share from the
+ * same membership table, its own included: its own demand counts as last gossiped, not as counted since, or the
+ * replicas' shares would not add up. Each member first gets one call, so no replica is starved while another is busy.
+ * The rest is split in proportion to each member's demand plus one, rounded down, and the calls left over by rounding
+ * go to the largest remainders. The shares therefore add up to the budget, and a replica that joins or leaves changes
+ * everyone's share within one heartbeat. Calls made before a rebalance still count against the window, so the cluster
+ * can overshoot for at most one window while membership changes.
+ *
+ * <p>A call over this replica's share is not sent. It is answered locally with a 429 and an {@link #HEADER} header, so
+ * the integration's usual rate-limit handling applies.
+ */
+public class UpstreamBudget implements ExchangeFilterFunction {
+
+    public static final String SHARE = "employee.upstream.budget.share";
+    public static final String MEMBERS = "employee.cluster.members";
+    public static final String REJECTED = "employee.upstream.budget.rejected";
+    public static final String HEADER = "X-Upstream-Budget";
+
+    private static final int DEMAND_BUCKETS = 10;
+
+    private final boolean enabled;
+
+    private final int limit;
+
+    private final long windowNanos;
+
+    private final ClusterMembership membership;
+
+    private final LongSupplier nanoClock;
+
+    private final Counter rejected;
+
+    private final ArrayDeque<Long> grants = new ArrayDeque<>();
+
+    private final long[] attempts = new long[DEMAND_BUCKETS];
+
+    private long currentBucket;
+
+    private volatile Split split;
+
+    public UpstreamBudget(
+            boolean enabled,
+            int limit,
+            Duration window,
+            ClusterMembership membership,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.membership = membership;
+        this.nanoClock = nanoClock;
+        this.currentBucket = nanoClock.getAsLong() / bucketNanos();
+        this.rejected = Counter.builder(REJECTED)
+                .description("Employee service calls not sent because this replica's budget share was used up")
+                .register(meterRegistry);
+        membership.setLocalDemand(this::demand);
+        if (enabled) {
+            Gauge.builder(SHARE, this, UpstreamBudget::share)
+                    .description("Employee service calls per window this replica may make")
+                    .register(meterRegistry);
+            Gauge.builder(MEMBERS, membership, m -> m.liveMembers().size())
+                    .description("Live api replicas sharing the upstream budget")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            if (tryAcquire()) {
+                return next.exchange(request);
+            }
+            rejected.increment();
+            LocalRejection.markCurrentRequest();
+            return Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HEADER, "exhausted")
+                    .build());
+        });
+    }
+
+    /**
+     * @return whether one more call fits this replica's share of the current window; counts towards demand either way
+     */
+    public synchronized boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        attempts[bucket(now)]++;
+        while (!grants.isEmpty() && now - grants.peekFirst() >= windowNanos) {
+            grants.pollFirst();
+        }
+        if (grants.size() >= share()) {
+            return false;
+        }
+        grants.addLast(now);
+        return true;
+    }
+
+    /**
+     * @return calls attempted over roughly the last window
+     */
+    public synchronized long demand() {
+        bucket(nanoClock.getAsLong());
+        long total = 0;
+        for (long bucketAttempts : attempts) {
+            total += bucketAttempts;
+        }
+        return total;
+    }
+
+    /**
+     * @return this replica's share, recomputed only when {@link ClusterMembership#liveMembers()} changes
+     */
+    public int share() {
+        List<Heartbeat> members = membership.liveMembers();
+        Split current = split;
+        if (current == null || current.members() != members) {
+            current = new Split(members, share(limit, members, membership.getSelfId()));
+            split = current;
+        }
+        return current.share();
+    }
+
+    /**
+     * One call per member, then a largest-remainder split of the rest weighted by demand plus one.
+     *
+     * @param members sorted by id, as every replica sees them
+     */
+    public static int share(int limit, List<Heartbeat> members, String selfId) {
+        int size = members.size();
+        int base = limit >= size ? 1 : 0;
+        int rest = limit - base * size;
+        double totalWeight = 0;
+        for (Heartbeat member : members) {
+            totalWeight += member.demand() + 1;
+        }
+        int[] shares = new int[size];
+        double[] remainders = new double[size];
+        int allocated = 0;
+        for (int i = 0; i < size; i++) {
+            double exact = rest * (members.get(i).demand() + 1) / totalWeight;
+            shares[i] = (int) Math.floor(exact);
+            remainders[i] = exact - shares[i];
+            allocated += shares[i];
+        }
+        for (; allocated < rest; allocated++) {
+            int largest = 0;
+            for (int i = 1; i < size; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            shares[largest]++;
+            remainders[largest] = -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (members.get(i).id().equals(selfId)) {
+                return base + shares[i];
+            }
+        }
+        return 0;
+    }
+
+    private long bucketNanos() {
+        return Math.max(1, windowNanos / DEMAND_BUCKETS);
+    }
+
+    /*
+     * Clears the buckets the clock has moved past since the last call, and returns the current one.
+     */
+    private int bucket(long now) {
+        long bucket = now / bucketNanos();
+        long elapsed = Math.min(DEMAND_BUCKETS, bucket - currentBucket);
+        for (long i = 1; i <= elapsed; i++) {
+            attempts[(int) Math.floorMod(currentBucket + i, DEMAND_BUCKETS)] = 0;
+        }
+        currentBucket = Math.max(currentBucket, bucket);
+        return (int) Math.floorMod(currentBucket, DEMAND_BUCKETS);
+    }
+
+    private record Split(List<Heartbeat> members, int share) {}
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.capture.BodyRedactor;
+import com.reliaquest.api.capture.CaptureFile;
+import com.reliaquest.api.capture.TrafficCaptureFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Traffic capture for replay. The filter runs before the access log and load shedding, so the captured latency is
+ * what the client saw, and shed requests are captured too. Bodies are masked except for the {@code body-fields}, and
+ * the file is rotated at {@code max-file-size}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.capture.enabled")
+public class CaptureConfig {
+
+    @Bean(destroyMethod = "close")
+    public CaptureFile captureFile(
+            @Value("${employee.capture.file:capture.jsonl}") String file,
+            @Value("${employee.capture.queue-capacity:10000}") int queueCapacity,
+            @Value("${employee.capture.max-file-size:100MB}") DataSize maxFileSize,
+            @Value("${employee.capture.max-history:5}") int maxHistory,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        return new CaptureFile(
+                Path.of(file), queueCapacity, maxFileSize.toBytes(), maxHistory, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TrafficCaptureFilter> trafficCaptureFilter(
+            CaptureFile captureFile,
+            @Value("${employee.capture.headers:Content-Type,Idempotency-Key,X-Request-Class,Accept-Encoding}")
+                    List<String> headers,
+            @Value("${employee.capture.max-body-bytes:65536}") int maxBodyBytes,
+            @Value("${employee.capture.body-fields:ids,age,title}") List<String> bodyFields,
+            ObjectMapper objectMapper) {
+        BodyRedactor bodyRedactor = new BodyRedactor(objectMapper, bodyFields);
+        FilterRegistrationBean<TrafficCaptureFilter> registration = new FilterRegistrationBean<>(
+                new TrafficCaptureFilter(captureFile, headers, maxBodyBytes, bodyRedactor));
+        registration.addUrlPatterns("/api/v1/employee", "/api/v1/employee/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.cluster.ClusterToken;
+import com.reliaquest.api.cluster.PeerInvalidation;
+import com.reliaquest.api.cluster.UpstreamBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Cluster-wide upstream budget and cache invalidation shared by api replicas over peer-to-peer HTTP. Disabled, the
+ * budget lets every call through, and no heartbeats or invalidations are sent. Enabled, it requires the shared
+ * {@code employee.cluster.token}.
+ */
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.cluster.enabled")
+    public ClusterToken clusterToken(ClusterProperties clusterProperties) {
+        return new ClusterToken(clusterProperties.getToken());
+    }
+
+    /*
+     * Heartbeats use a plain client: they must not pass through the employee service filters, nor be traced.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ClusterMembership clusterMembership(
+            ClusterProperties clusterProperties,
+            ObjectProvider<ClusterToken> clusterToken,
+            @Value("${server.port:8080}") int serverPort) {
+        URI selfUrl = clusterProperties.getSelfUrl() != null
+                ? clusterProperties.getSelfUrl()
+                : URI.create("http://localhost:" + serverPort);
+        return new ClusterMembership(
+                selfUrl,
+                clusterProperties.isEnabled() ? clusterProperties.getPeers() : List.of(),
+                clusterProperties.getHeartbeatInterval(),
+                clusterProperties.getMemberTimeout(),
+                peerClient(clusterToken.getIfAvailable()),
+                System::nanoTime);
+    }
+
+    @Bean
+    public UpstreamBudget upstreamBudget(
+            ClusterProperties clusterProperties, ClusterMembership clusterMembership, MeterRegistry meterRegistry) {
+        return new UpstreamBudget(
+                clusterProperties.isEnabled(),
+                clusterProperties.getBudget().getLimit(),
+                clusterProperties.getBudget().getWindow(),
+                clusterMembership,
+                meterRegistry,
+                System::nanoTime);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public PeerInvalidation peerInvalidation(
+            ClusterProperties clusterProperties,
+            ClusterMembership clusterMembership,
+            ObjectProvider<ClusterToken> clusterToken,
+            EmployeeCache employeeCache,
+            RosterCache rosterCache,
+            MeterRegistry meterRegistry) {
+        ClusterProperties.Invalidation invalidation = clusterProperties.getInvalidation();
+        return new PeerInvalidation(
+                clusterProperties.isEnabled() && invalidation.isEnabled(),
+                invalidation.getLogSize(),
+                invalidation.getAntiEntropyInterval(),
+                clusterMembership,
+                employeeCache,
+                rosterCache,
+                peerClient(clusterToken.getIfAvailable()),
+                meterRegistry);
+    }
+
+    private static WebClient peerClient(ClusterToken clusterToken) {
+        if (clusterToken == null) {
+            return WebClient.create();
+        }
+        return WebClient.builder()
+                .defaultHeader(HttpHeaders.AUTHORIZATION, clusterToken.header())
+                .build();
+    }
+}
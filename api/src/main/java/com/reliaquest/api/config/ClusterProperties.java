@@ -0,0 +1,73 @@
+package com.reliaquest.api.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Api replicas sharing one upstream call budget and each other's cache invalidations, bound from
+ * {@code employee.cluster.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+
+    /*
+     * How the other replicas reach this one; also its member id. Defaults to http://localhost:${server.port}.
+     */
+    private URI selfUrl;
+
+    /*
+     * The other replicas. This replica's own url may be listed as well, so every replica can share one list.
+     * Heartbeats from any other id are ignored.
+     */
+    private List<URI> peers = new ArrayList<>();
+
+    /*
+     * Bearer token every replica sends to, and requires from, its peers on /internal/cluster. Required when enabled.
+     */
+    private String token;
+
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /*
+     * A replica not heard from for this long has left, and its share goes to the others.
+     */
+    private Duration memberTimeout = Duration.ofSeconds(3);
+
+    private Budget budget = new Budget();
+
+    private Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class Budget {
+
+        /*
+         * Employee service calls the whole cluster may make per window; match the employee service's rate limit.
+         */
+        private int limit = 8;
+
+        private Duration window = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Invalidation {
+
+        private boolean enabled = true;
+
+        /*
+         * Events kept for peers catching up; a peer further behind drops all its employee caches instead.
+         */
+        private int logSize = 1000;
+
+        /*
+         * How often each peer's log is pulled, bounding how long a lost push leaves a stale entry.
+         */
+        private Duration antiEntropyInterval = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.limit.AdaptiveConcurrencyFilter;
+import com.reliaquest.api.limit.AdaptiveConcurrencyLimiter;
+import com.reliaquest.api.limit.AimdLimit;
+import com.reliaquest.api.limit.ConcurrencyLimit;
+import com.reliaquest.api.limit.GradientLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Adaptive inbound concurrency limit. It sits between the access log and request scheduling, so rejections are logged
+ * and the measured latency includes time spent queued for a class slot.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "employee.concurrency-limit.enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(concurrencyLimit(properties));
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyFilter> adaptiveConcurrencyFilter(
+            AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdaptiveConcurrencyFilter> registration = new FilterRegistrationBean<>(
+                new AdaptiveConcurrencyFilter(adaptiveConcurrencyLimiter, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+
+    private static ConcurrencyLimit concurrencyLimit(ConcurrencyLimitProperties properties) {
+        return switch (properties.getAlgorithm()) {
+            case AIMD -> new AimdLimit(
+                    properties.getInitialLimit(),
+                    properties.getMinLimit(),
+                    properties.getMaxLimit(),
+                    properties.getAimd().getBackoffRatio(),
+                    properties.getAimd().getTimeout());
+            case GRADIENT -> new GradientLimit(
+                    properties.getInitialLimit(),
+                    properties.getMinLimit(),
+                    properties.getMaxLimit(),
+                    properties.getGradient().getSmoothing(),
+                    properties.getGradient().getTolerance(),
+                    properties.getGradient().getLongWindow());
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Adaptive inbound concurrency limit settings, bound from {@code employee.concurrency-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 200;
+
+    private Aimd aimd = new Aimd();
+
+    private Gradient gradient = new Gradient();
+
+    public enum Algorithm {
+        AIMD,
+        GRADIENT
+    }
+
+    @Data
+    public static class Aimd {
+
+        /*
+         * Factor applied to the limit on a drop or a slow request.
+         */
+        private double backoffRatio = 0.9;
+
+        /*
+         * Requests slower than this count as drops.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Gradient {
+
+        /*
+         * Weight of each new limit estimate, 0 to 1.
+         */
+        private double smoothing = 0.2;
+
+        /*
+         * How much slower than the baseline requests may get before the limit shrinks.
+         */
+        private double tolerance = 1.5;
+
+        /*
+         * Samples averaged into the baseline latency.
+         */
+        private int longWindow = 600;
+    }
+}
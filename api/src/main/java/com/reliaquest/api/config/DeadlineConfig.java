@@ -0,0 +1,45 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.deadline.DeadlineExchangeFilter;
+import com.reliaquest.api.deadline.DeadlineFilter;
+import com.reliaquest.api.deadline.DeadlineSleeper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request deadlines. The filter runs right after the access log, so time spent waiting for the concurrency limit and a
+ * scheduling slot counts against the deadline. Without the filter no request has a deadline, and the WebClient filter
+ * and the backoff sleeper leave every call alone.
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.deadline.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(
+            DeadlineProperties deadlineProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(deadlineProperties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 12);
+        return registration;
+    }
+
+    @Bean
+    public DeadlineExchangeFilter deadlineExchangeFilter(
+            DeadlineProperties deadlineProperties, MeterRegistry meterRegistry) {
+        return new DeadlineExchangeFilter(deadlineProperties.getHeader(), meterRegistry);
+    }
+
+    @Bean
+    public DeadlineSleeper deadlineSleeper(MeterRegistry meterRegistry) {
+        return new DeadlineSleeper(meterRegistry);
+    }
+}
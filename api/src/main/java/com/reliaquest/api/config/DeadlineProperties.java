@@ -0,0 +1,49 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Request deadline settings, bound from {@code employee.deadline.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    /*
+     * Header carrying the caller's timeout, in milliseconds or as a duration such as 2s. Every employee service call
+     * forwards the time left in it, in milliseconds.
+     */
+    private String header = "X-Request-Timeout";
+
+    /*
+     * Timeout of requests without the header that match no route rule; such requests have no deadline when unset.
+     */
+    private Duration defaultTimeout;
+
+    /*
+     * First matching rule wins.
+     */
+    private List<RouteRule> routes = new ArrayList<>();
+
+    @Data
+    public static class RouteRule {
+
+        /*
+         * HTTP method to match; any method when empty.
+         */
+        private String method;
+
+        /*
+         * Ant-style path pattern, e.g. /api/v1/employee/search/**
+         */
+        private String pattern;
+
+        private Duration timeout;
+    }
+}
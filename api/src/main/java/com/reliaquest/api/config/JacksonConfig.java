@@ -0,0 +1,23 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson configuration. Blackbird swaps reflective accessor calls for generated lambdas, which mostly speeds up
+ * reading employee service responses; {@code EmployeeDto} is written by its own serializer.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /*
+     * Spring Boot registers Module beans with the auto-configured ObjectMapper.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.json.blackbird.enabled", matchIfMissing = true)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
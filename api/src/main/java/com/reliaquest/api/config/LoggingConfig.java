@@ -0,0 +1,29 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.logging.AccessLogFilter;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Access log configuration. The filter runs inside the observation filter so the trace id is already in the MDC.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "access-log.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+            @Value("${access-log.sample-rate:1.0}") double sampleRate,
+            @Value("${access-log.slow-threshold:1s}") Duration slowThreshold) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(sampleRate, slowThreshold));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.capture.CapturedRequest;
+import com.reliaquest.api.cluster.Heartbeat;
+import com.reliaquest.api.cluster.Invalidation;
+import com.reliaquest.api.cluster.InvalidationEvent;
+import com.reliaquest.api.cluster.InvalidationLog;
+import com.reliaquest.api.dto.APIError;
+import com.reliaquest.api.dto.CreateEmployeeRequestDto;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.dto.MultiGetEmployeeRequestDto;
+import com.reliaquest.api.dto.MultiGetEmployeeResponseDto;
+import com.reliaquest.api.external.dto.CreateEmployeeResponseDto;
+import com.reliaquest.api.external.dto.DeleteEmployeeRequestDto;
+import com.reliaquest.api.external.dto.DeleteEmployeeResponseDto;
+import com.reliaquest.api.external.dto.EmployeeResponseDto;
+import com.reliaquest.api.external.dto.GetAllEmployeesResponseDto;
+import com.reliaquest.api.external.dto.GetEmployeeResponseDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsRequestDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsResponseDto;
+import com.reliaquest.api.writebehind.WriteOperation;
+import com.reliaquest.common.profiling.FlightRecorderService;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reflection hints for a native image. Controller signatures are picked up by AOT on their own, but the employee
+ * service DTOs, the replica-to-replica messages and the capture records are only ever named inside WebClient calls,
+ * the write-behind journal and the capture file, so AOT cannot see them. The binding hints cover the Lombok-generated
+ * constructors and accessors, and the {@code @JsonProperty} renames.
+ */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({
+    GetAllEmployeesResponseDto.class,
+    GetEmployeeResponseDto.class,
+    GetEmployeesByIdsRequestDto.class,
+    GetEmployeesByIdsResponseDto.class,
+    CreateEmployeeResponseDto.class,
+    DeleteEmployeeRequestDto.class,
+    DeleteEmployeeResponseDto.class,
+    EmployeeResponseDto.class,
+    EmployeeDto.class,
+    CreateEmployeeRequestDto.class,
+    MultiGetEmployeeRequestDto.class,
+    MultiGetEmployeeResponseDto.class,
+    APIError.class,
+    WriteOperation.class,
+    Heartbeat.class,
+    Invalidation.class,
+    InvalidationEvent.class,
+    InvalidationLog.class,
+    CapturedRequest.class,
+    FlightRecorderService.Status.class
+})
+public class NativeHintsConfig {}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.common.profiling.FlightRecorderService;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * On-demand JFR recordings, available only when an admin token is configured. The custom JFR events are emitted
+ * regardless, and show up in any recording, including one started with {@code -XX:StartFlightRecording}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.profiling.token")
+public class ProfilingConfig {
+
+    @Bean(destroyMethod = "close")
+    public FlightRecorderService flightRecorderService(
+            @Value("${employee.profiling.max-duration:5m}") Duration maxDuration) {
+        return new FlightRecorderService("employee-api", maxDuration);
+    }
+}
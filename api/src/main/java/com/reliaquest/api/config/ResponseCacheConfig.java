@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.response.PreEncodedBodyConverter;
+import com.reliaquest.api.response.PreEncodedResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Pre-encoded responses for the roster endpoints. The converter goes first, ahead of Jackson, so it gets to write the
+ * responses that have stored bytes.
+ */
+@Configuration
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    @Bean
+    public PreEncodedResponseCache preEncodedResponseCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${employee.response-cache.enabled:true}") boolean enabled,
+            @Value("${employee.response-cache.gzip-min-size:1024}") int gzipMinSize) {
+        return new PreEncodedResponseCache(enabled, objectMapper, gzipMinSize, meterRegistry);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PreEncodedBodyConverter());
+    }
+}
@@ -1,5 +1,17 @@
 package com.reliaquest.api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cluster.UpstreamBudget;
+import com.reliaquest.api.deadline.DeadlineExchangeFilter;
+import com.reliaquest.api.external.IdempotencyKeyFilter;
+import com.reliaquest.api.external.balancing.UpstreamBalancer;
+import com.reliaquest.api.logging.UpstreamCallCounter;
+import com.reliaquest.api.metrics.TimedJackson2JsonDecoder;
+import com.reliaquest.api.metrics.UpstreamMetricsFilter;
+import com.reliaquest.api.profiling.JfrUpstreamFilter;
+import com.reliaquest.api.tenant.TenantExchangeFilter;
+import com.reliaquest.api.scheduling.UpstreamPermitScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -12,8 +24,39 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 public class RestConfig {
 
+    /*
+     * Built from Spring Boot's WebClient.Builder so the client picks up the auto-configured codecs and
+     * http.client.requests observations. The permit scheduler goes after every filter that reads thread-bound state
+     * (retry context, current request), which is only there until the call waits for a permit. The cluster budget and
+     * the balancer come after it, so a call is charged to the budget, and an instance picked and counted as busy, only
+     * once the call may actually go out. The JFR filter goes first, so its events include the wait for a permit. The
+     * deadline filter goes right before the permit scheduler, so a call cancelled at its deadline gives up its place
+     * in the queue as well. The tenant filter goes before both, so a call over its tenant's budget never queues.
+     */
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient webClient(
+            WebClient.Builder webClientBuilder,
+            JfrUpstreamFilter jfrUpstreamFilter,
+            UpstreamMetricsFilter upstreamMetricsFilter,
+            TenantExchangeFilter tenantExchangeFilter,
+            DeadlineExchangeFilter deadlineExchangeFilter,
+            UpstreamPermitScheduler upstreamPermitScheduler,
+            UpstreamBudget upstreamBudget,
+            UpstreamBalancer upstreamBalancer,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        return webClientBuilder
+                .filter(jfrUpstreamFilter)
+                .filter(upstreamMetricsFilter)
+                .filter(new UpstreamCallCounter())
+                .filter(new IdempotencyKeyFilter())
+                .filter(tenantExchangeFilter)
+                .filter(deadlineExchangeFilter)
+                .filter(upstreamPermitScheduler)
+                .filter(upstreamBudget)
+                .filter(upstreamBalancer)
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .jackson2JsonDecoder(new TimedJackson2JsonDecoder(objectMapper, meterRegistry)))
+                .build();
     }
 }
@@ -0,0 +1,37 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.scheduling.RequestSchedulingFilter;
+import com.reliaquest.api.scheduling.UpstreamPermitScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request classification and priority scheduling. The filter runs after the access log so shed requests are logged.
+ */
+@Configuration
+@EnableConfigurationProperties(SchedulingProperties.class)
+public class SchedulingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.scheduling.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<RequestSchedulingFilter> requestSchedulingFilter(
+            SchedulingProperties schedulingProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestSchedulingFilter> registration = new FilterRegistrationBean<>(
+                new RequestSchedulingFilter(schedulingProperties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    public UpstreamPermitScheduler upstreamPermitScheduler(
+            SchedulingProperties schedulingProperties, MeterRegistry meterRegistry) {
+        return new UpstreamPermitScheduler(schedulingProperties, meterRegistry);
+    }
+}
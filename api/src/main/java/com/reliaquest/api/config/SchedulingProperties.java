@@ -0,0 +1,90 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.scheduling.RequestClass;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Request classification and scheduling settings, bound from {@code employee.scheduling.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.scheduling")
+public class SchedulingProperties {
+
+    private boolean enabled = true;
+
+    /*
+     * Header a caller may set to pick its class; leave empty to classify by route only.
+     */
+    private String header = "X-Request-Class";
+
+    private RequestClass defaultClass = RequestClass.STANDARD;
+
+    /*
+     * Class of employee service calls made outside an inbound request, e.g. by the write-behind queue.
+     */
+    private RequestClass backgroundClass = RequestClass.BULK;
+
+    /*
+     * First matching rule wins; requests matching none get the default class.
+     */
+    private List<RouteRule> routes = new ArrayList<>();
+
+    private Map<RequestClass, ClassSettings> classes = new EnumMap<>(RequestClass.class);
+
+    /*
+     * Concurrent employee service calls across all classes, shared by weight.
+     */
+    private int upstreamPermits = 4;
+
+    public ClassSettings settings(RequestClass requestClass) {
+        return classes.getOrDefault(requestClass, ClassSettings.DEFAULTS);
+    }
+
+    @Data
+    public static class RouteRule {
+
+        /*
+         * HTTP method to match; any method when empty.
+         */
+        private String method;
+
+        /*
+         * Ant-style path pattern, e.g. /api/v1/employee/search/**
+         */
+        private String pattern;
+
+        private RequestClass requestClass;
+    }
+
+    @Data
+    public static class ClassSettings {
+
+        static final ClassSettings DEFAULTS = new ClassSettings();
+
+        /*
+         * Requests of this class handled at once.
+         */
+        private int maxConcurrent = 50;
+
+        /*
+         * Requests of this class allowed to wait for a slot; more are shed immediately.
+         */
+        private int maxQueued = 100;
+
+        /*
+         * Longest wait for a request slot, and again for an upstream permit, before the request is shed.
+         */
+        private Duration queueTimeout = Duration.ofSeconds(1);
+
+        /*
+         * Share of upstream permits relative to the other classes when they compete.
+         */
+        private int weight = 1;
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.tenant.TenantExchangeFilter;
+import com.reliaquest.api.tenant.TenantFilter;
+import com.reliaquest.api.tenant.TenantQuota;
+import com.reliaquest.api.tenant.TenantRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Tenants. The filter runs after the deadline filter and before the concurrency limit and scheduling, so a tenant over
+ * its quota is turned away before it takes a slot from anyone else. Without the filter every request belongs to the
+ * default tenant, which sends no tenant header upstream and has the default limits.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+
+    @Bean
+    public TenantRegistry tenantRegistry(
+            TenancyProperties tenancyProperties,
+            EmployeeCache employeeCache,
+            RosterCache rosterCache,
+            MeterRegistry meterRegistry) {
+        Set<String> tenants = tenancyProperties.servedTenants();
+        if (tenants.size() > tenancyProperties.getMaxTenants()) {
+            throw new IllegalStateException("employee.tenancy.max-tenants is " + tenancyProperties.getMaxTenants()
+                    + " but " + tenants.size() + " tenants are configured");
+        }
+        return new TenantRegistry(tenants, employeeCache, rosterCache, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.tenancy.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<TenantFilter> tenantFilter(
+            TenancyProperties tenancyProperties, TenantRegistry tenantRegistry, ObjectMapper objectMapper) {
+        TenantQuota inboundQuota = new TenantQuota(tenancyProperties.getInboundWindow(), System::nanoTime);
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(
+                new TenantFilter(tenancyProperties, tenantRegistry, inboundQuota, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 13);
+        return registration;
+    }
+
+    @Bean
+    public TenantExchangeFilter tenantExchangeFilter(
+            TenancyProperties tenancyProperties, TenantRegistry tenantRegistry) {
+        TenantQuota upstreamQuota = new TenantQuota(tenancyProperties.getUpstreamWindow(), System::nanoTime);
+        return new TenantExchangeFilter(tenancyProperties, tenantRegistry, upstreamQuota);
+    }
+}
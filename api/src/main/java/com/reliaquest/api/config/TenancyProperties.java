@@ -0,0 +1,85 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.tenant.TenantContext;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tenant settings, bound from {@code employee.tenancy.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.tenancy")
+public class TenancyProperties {
+
+    private boolean enabled = true;
+
+    /*
+     * Header naming the caller's tenant; requests without it belong to the default tenant. Every employee service call
+     * forwards it.
+     */
+    private String header = "X-Tenant-Id";
+
+    /*
+     * Tenants served besides the default one and those with overrides under tenants.<id>. Requests naming any other
+     * tenant are rejected, so a caller cannot make up tenants to fill the caches or the tenant-tagged meters.
+     */
+    private Set<String> ids = new HashSet<>();
+
+    /*
+     * Upper bound on the configured tenants, the default one included. It also sizes the roster cache.
+     */
+    private int maxTenants = 100;
+
+    /*
+     * Requests each tenant may make per inbound window; no limit when 0.
+     */
+    private int inboundLimit = 0;
+
+    private Duration inboundWindow = Duration.ofSeconds(1);
+
+    /*
+     * Employee service calls each tenant may make per upstream window; no limit when 0. Checked before the
+     * cluster-wide budget, so one tenant cannot use up every other tenant's share of it.
+     */
+    private int upstreamLimit = 0;
+
+    private Duration upstreamWindow = Duration.ofSeconds(60);
+
+    /*
+     * Per-tenant overrides of the limits, keyed by tenant id.
+     */
+    private Map<String, TenantLimits> tenants = new HashMap<>();
+
+    /**
+     * @return the default tenant, the configured ids and the tenants with overrides
+     */
+    public Set<String> servedTenants() {
+        Set<String> served = new HashSet<>(ids);
+        served.addAll(tenants.keySet());
+        served.add(TenantContext.DEFAULT);
+        return served;
+    }
+
+    public int inboundLimit(String tenant) {
+        TenantLimits limits = tenants.get(tenant);
+        return limits != null && limits.getInboundLimit() != null ? limits.getInboundLimit() : inboundLimit;
+    }
+
+    public int upstreamLimit(String tenant) {
+        TenantLimits limits = tenants.get(tenant);
+        return limits != null && limits.getUpstreamLimit() != null ? limits.getUpstreamLimit() : upstreamLimit;
+    }
+
+    @Data
+    public static class TenantLimits {
+
+        private Integer inboundLimit;
+
+        private Integer upstreamLimit;
+    }
+}
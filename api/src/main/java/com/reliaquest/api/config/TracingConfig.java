@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.common.tracing.FileSpanExporter;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing configuration. Spans are produced through Micrometer Observation and bridged to OpenTelemetry; W3C trace
+ * context is propagated on inbound requests and on the employee service WebClient.
+ */
+@Configuration
+public class TracingConfig {
+
+    /*
+     * Enables @Observed on the service layer.
+     */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter.file.path")
+    public FileSpanExporter fileSpanExporter(
+            @Value("${tracing.exporter.file.path}") String path, ObjectMapper objectMapper) {
+        return new FileSpanExporter(Path.of(path), objectMapper);
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.external.balancing.UpstreamBalancer;
+import com.reliaquest.api.external.balancing.UpstreamHealthIndicator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Client-side balancing over several employee service instances. Without {@code employee.upstreams.instances} every
+ * call goes to {@code employee.base-url} as before.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamProperties.class)
+public class UpstreamConfig {
+
+    @Bean
+    public UpstreamBalancer upstreamBalancer(UpstreamProperties upstreamProperties, MeterRegistry meterRegistry) {
+        return new UpstreamBalancer(upstreamProperties, meterRegistry, System::nanoTime);
+    }
+
+    @Bean
+    public UpstreamHealthIndicator upstreamsHealthIndicator(UpstreamBalancer upstreamBalancer) {
+        return new UpstreamHealthIndicator(upstreamBalancer);
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.api.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Employee service instances and how calls are spread over them, bound from {@code employee.upstreams.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.upstreams")
+public class UpstreamProperties {
+
+    /*
+     * Origins (scheme://host:port) of the employee service instances. The path still comes from employee.base-url.
+     * Empty means every call goes to employee.base-url.
+     */
+    private List<URI> instances = new ArrayList<>();
+
+    private Routing routing = Routing.LEAST_OUTSTANDING;
+
+    /*
+     * Points per instance on the consistent-hash ring.
+     */
+    private int virtualNodes = 160;
+
+    private Ejection ejection = new Ejection();
+
+    public enum Routing {
+        /*
+         * The instances are replicas with the same data. Reads go to the instance with the fewest calls in flight,
+         * writes to the first available one.
+         */
+        LEAST_OUTSTANDING,
+        /*
+         * The instances are shards, each with its own employees. A lookup goes to the ring owner of the id, then to the
+         * other instances while they answer 404. Lists, multi-gets and deletes go to every instance and are merged;
+         * creates go to the first available one.
+         */
+        CONSISTENT_HASH
+    }
+
+    @Data
+    public static class Ejection {
+
+        /*
+         * Consecutive 5xx responses or connection failures after which an instance is ejected.
+         */
+        private int consecutiveFailures = 5;
+
+        /*
+         * Ejection time for the first ejection; each further ejection of the same instance lasts one base time longer.
+         */
+        private Duration baseTime = Duration.ofSeconds(30);
+
+        private Duration maxTime = Duration.ofMinutes(5);
+
+        /*
+         * At most this share of the instances is ejected at once.
+         */
+        private int maxPercent = 50;
+    }
+}
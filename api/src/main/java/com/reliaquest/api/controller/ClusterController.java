@@ -0,0 +1,89 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.cluster.ClusterToken;
+import com.reliaquest.api.cluster.Heartbeat;
+import com.reliaquest.api.cluster.InvalidationEvent;
+import com.reliaquest.api.cluster.PeerInvalidation;
+import com.reliaquest.api.cluster.UpstreamBudget;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Replica-to-replica endpoints of the shared upstream budget and cache invalidation. They sit outside {@code /api}, so
+ * heartbeats and invalidations skip the access log, request scheduling and the concurrency limit. Every endpoint
+ * requires the shared {@link ClusterToken}.
+ */
+@RestController
+@RequestMapping("/internal/cluster")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "employee.cluster.enabled")
+public class ClusterController {
+
+    private final ClusterMembership clusterMembership;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final PeerInvalidation peerInvalidation;
+
+    private final ClusterToken clusterToken;
+
+    @PostMapping("/heartbeat")
+    public ResponseEntity<?> heartbeat(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody Heartbeat heartbeat) {
+        return authorized(authorization, () -> clusterMembership.onHeartbeat(heartbeat));
+    }
+
+    @PostMapping("/invalidations")
+    public ResponseEntity<?> invalidation(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody InvalidationEvent event) {
+        return authorized(authorization, () -> {
+            peerInvalidation.receive(event);
+            return null;
+        });
+    }
+
+    /**
+     * Anti-entropy pull: the events published after {@code since} in the caller's known {@code epoch}.
+     */
+    @GetMapping("/invalidations")
+    public ResponseEntity<?> invalidations(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam long epoch,
+            @RequestParam long since) {
+        return authorized(authorization, () -> peerInvalidation.eventsSince(epoch, since));
+    }
+
+    /**
+     * @return the live members as this replica sees them, and its own share
+     */
+    @GetMapping
+    public ResponseEntity<?> members(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return authorized(authorization, () -> {
+            List<Heartbeat> members = clusterMembership.liveMembers();
+            return Map.of("self", clusterMembership.getSelfId(), "share", upstreamBudget.share(), "members", members);
+        });
+    }
+
+    private ResponseEntity<?> authorized(String authorization, Supplier<Object> body) {
+        if (!clusterToken.matches(authorization)) {
+            return ClusterToken.unauthorized();
+        }
+        return ResponseEntity.ok(body.get());
+    }
+}
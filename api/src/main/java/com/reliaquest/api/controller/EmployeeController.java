@@ -1,8 +1,15 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.cache.RosterCache.Roster;
 import com.reliaquest.api.dto.CreateEmployeeRequestDto;
 import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.dto.MultiGetEmployeeRequestDto;
+import com.reliaquest.api.dto.MultiGetEmployeeResponseDto;
+import com.reliaquest.api.external.IdempotencyKeyFilter;
+import com.reliaquest.api.response.PreEncodedResponseCache;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.writebehind.WriteOperation;
+import java.net.URI;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,36 +20,42 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * Controller class for Employee related APIs
+ * Controller class for Employee related APIs. The list, highest salary and top ten responses are answered through
+ * {@link PreEncodedResponseCache}, so they are serialised once per roster version.
  *
  * @author Saurabh
  */
 @Slf4j
 @RestController
-@RequestMapping("/api/v1/employee")
+@RequestMapping(EmployeeController.BASE_PATH)
 @RequiredArgsConstructor
 public class EmployeeController implements IEmployeeController<EmployeeDto, CreateEmployeeRequestDto> {
 
+    static final String BASE_PATH = "/api/v1/employee";
+
     private final IEmployeeService employeeService;
 
+    private final PreEncodedResponseCache preEncodedResponseCache;
+
     @Override
     @GetMapping
     public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
-        log.info("Received API request to get All employees");
+        log.debug("Received API request to get All employees");
 
-        List<EmployeeDto> employeeDtoList = employeeService.getAllEmployees();
-        return ResponseEntity.status(HttpStatus.OK).body(employeeDtoList);
+        Roster roster = employeeService.getRoster();
+        return preEncodedResponseCache.respond(BASE_PATH, roster.version(), roster.employees());
     }
 
     @Override
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<EmployeeDto>> getEmployeesByNameSearch(
             @PathVariable("searchString") String searchString) {
-        log.info("Received API request to search employees by name: {}", searchString);
+        log.debug("Received API request to search employees by name: {}", searchString);
 
         List<EmployeeDto> employeeDtoList = employeeService.searchEmployeesByName(searchString);
         return ResponseEntity.status(HttpStatus.OK).body(employeeDtoList);
@@ -51,43 +64,84 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Crea
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable("id") String id) {
-        log.info("Received API request to get employee by id: {}", id);
+        log.debug("Received API request to get employee by id: {}", id);
 
         EmployeeDto employeeDto = employeeService.getEmployeeById(id);
         return ResponseEntity.status(HttpStatus.OK).body(employeeDto);
     }
 
+    /**
+     * Bulk lookup by id. Answers 207 when some ids could not be fetched; the body lists them under {@code failed}.
+     */
+    @PostMapping("/_mget")
+    public ResponseEntity<MultiGetEmployeeResponseDto> getEmployeesByIds(
+            @RequestBody MultiGetEmployeeRequestDto multiGetEmployeeRequestDto) {
+        log.debug("Received API request to get employees by ids");
+
+        MultiGetEmployeeResponseDto response = employeeService.getEmployeesByIds(multiGetEmployeeRequestDto.getIds());
+        return ResponseEntity.status(response.isPartial() ? HttpStatus.MULTI_STATUS : HttpStatus.OK).body(response);
+    }
+
     @Override
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        log.info("Received API request to get the highest salary of employee");
+        log.debug("Received API request to get the highest salary of employee");
 
-        Integer maxSalary = employeeService.getHighestSalaryOfEmployees();
-        return ResponseEntity.status(HttpStatus.OK).body(maxSalary);
+        Roster roster = employeeService.getRoster();
+        Integer maxSalary = employeeService.getHighestSalaryOfEmployees(roster);
+        return preEncodedResponseCache.respond(BASE_PATH + "/highestSalary", roster.version(), maxSalary);
     }
 
     @Override
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        log.info("Received API request to get the Top 10 highest salaried employees");
+        log.debug("Received API request to get the Top 10 highest salaried employees");
 
-        List<String> employeeNamesList = employeeService.getTopTenHighestEarningEmployeeNames();
-        return ResponseEntity.status(HttpStatus.OK).body(employeeNamesList);
+        Roster roster = employeeService.getRoster();
+        List<String> employeeNamesList = employeeService.getTopTenHighestEarningEmployeeNames(roster);
+        return preEncodedResponseCache.respond(
+                BASE_PATH + "/topTenHighestEarningEmployeeNames", roster.version(), employeeNamesList);
     }
 
     @Override
     @PostMapping
     public ResponseEntity<EmployeeDto> createEmployee(@RequestBody CreateEmployeeRequestDto employeeInput) {
-        log.info("Received API request to create employee");
+        log.debug("Received API request to create employee");
 
         EmployeeDto createdEmployee = employeeService.createEmployee(employeeInput);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
     }
 
+    /**
+     * Queues the creation and answers 202 right away; poll the returned operation for the created employee. Send an
+     * {@code Idempotency-Key} to make retries of this call safe.
+     */
+    @PostMapping("/_async")
+    public ResponseEntity<WriteOperation> createEmployeeAsync(
+            @RequestHeader(value = IdempotencyKeyFilter.HEADER, required = false) String idempotencyKey,
+            @RequestBody CreateEmployeeRequestDto employeeInput) {
+        log.debug("Received API request to create employee asynchronously");
+
+        WriteOperation operation = employeeService.createEmployeeAsync(employeeInput, idempotencyKey);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/employee/operations/" + operation.id()))
+                .body(operation);
+    }
+
+    @GetMapping("/operations/{operationId}")
+    public ResponseEntity<WriteOperation> getWriteOperation(@PathVariable("operationId") String operationId) {
+        log.debug("Received API request to get write operation: {}", operationId);
+
+        return employeeService
+                .getWriteOperation(operationId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Override
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable("id") String id) {
-        log.info("Received API request to delete employee by id: {}", id);
+        log.debug("Received API request to delete employee by id: {}", id);
 
         String response = employeeService.deleteEmployeeById(id);
         return ResponseEntity.status(HttpStatus.OK).body(response);
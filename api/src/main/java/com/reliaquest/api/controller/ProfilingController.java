@@ -0,0 +1,29 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.APIError;
+import com.reliaquest.common.profiling.FlightRecorderService;
+import com.reliaquest.common.profiling.ProfilingEndpoints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The JFR recording endpoints, guarded by {@code employee.profiling.token}; without a token configured they don't
+ * exist.
+ */
+@RestController
+@RequestMapping("/admin/profiling/recording")
+@ConditionalOnProperty(name = "employee.profiling.token")
+public class ProfilingController extends ProfilingEndpoints {
+
+    public ProfilingController(
+            FlightRecorderService flightRecorderService, @Value("${employee.profiling.token}") String token) {
+        super(flightRecorderService, "employee.profiling.token", token);
+    }
+
+    @Override
+    protected Object error(String message) {
+        return new APIError(message);
+    }
+}
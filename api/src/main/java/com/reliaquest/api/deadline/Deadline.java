@@ -0,0 +1,44 @@
+package com.reliaquest.api.deadline;
+
+import java.time.Duration;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * The point in time after which nobody is waiting for the current request's answer any more, on the
+ * {@link System#nanoTime()} clock. Set by {@link DeadlineFilter} as a request attribute, so it follows the request
+ * wherever its attributes are carried over.
+ */
+public record Deadline(long expiresAtNanos) {
+
+    /** Request attribute holding the deadline of the current request */
+    public static final String ATTRIBUTE = Deadline.class.getName();
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @return the current request's deadline, or null outside a request or for a request without one
+     */
+    public static Deadline current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof Deadline deadline) {
+            return deadline;
+        }
+        return null;
+    }
+
+    /**
+     * @return the time left, zero once expired
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
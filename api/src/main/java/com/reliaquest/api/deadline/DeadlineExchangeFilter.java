@@ -0,0 +1,53 @@
+package com.reliaquest.api.deadline;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds employee service calls to the current request's {@link Deadline}. A call made after the deadline fails with
+ * {@link DeadlineExceededException} without going out. Any other call forwards the time left in the deadline header,
+ * and is cancelled, closing its connection, if no response has arrived by the deadline. The deadline is read from the
+ * Reactor context first, for calls subscribed off the request thread, and from the current request otherwise.
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    private final String header;
+
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineExchangeFilter(String header, MeterRegistry meterRegistry) {
+        this.header = header;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = context.<Deadline>getOrEmpty(Deadline.class).orElseGet(Deadline::current);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+
+            Duration remaining = deadline.remaining();
+            if (remaining.toMillis() <= 0) {
+                return Mono.error(exceeded());
+            }
+            ClientRequest withTimeout = ClientRequest.from(request)
+                    .header(header, Long.toString(remaining.toMillis()))
+                    .build();
+            return next.exchange(withTimeout).timeout(remaining).onErrorMap(TimeoutException.class, e -> exceeded());
+        });
+    }
+
+    private DeadlineExceededException exceeded() {
+        DeadlineFilter.count(meterRegistry, "upstream");
+        return new DeadlineExceededException("Request deadline passed while waiting for the employee service.");
+    }
+}
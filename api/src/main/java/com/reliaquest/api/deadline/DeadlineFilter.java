@@ -0,0 +1,97 @@
+package com.reliaquest.api.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.DeadlineProperties;
+import com.reliaquest.api.config.DeadlineProperties.RouteRule;
+import com.reliaquest.api.dto.APIError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gives each request a {@link Deadline}: the timeout from the configured header, else from the first matching route
+ * rule, else the default timeout. A request that arrives with no time left is answered with 504 at once. Unparseable
+ * header values are ignored.
+ */
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String EXCEEDED = "employee.deadline.exceeded";
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final DeadlineProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineFilter(DeadlineProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration timeout = timeout(request);
+        if (timeout == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            count(meterRegistry, "inbound");
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new APIError("Request deadline has already passed."));
+            return;
+        }
+
+        request.setAttribute(Deadline.ATTRIBUTE, Deadline.after(timeout));
+        filterChain.doFilter(request, response);
+    }
+
+    private Duration timeout(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header != null && !header.isBlank()) {
+            try {
+                return DurationStyle.detectAndParse(header.trim(), ChronoUnit.MILLIS);
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring {} header {}", properties.getHeader(), header);
+            }
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RouteRule route : properties.getRoutes()) {
+            if ((route.getMethod() == null
+                            || route.getMethod().isBlank()
+                            || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.getPattern(), path)) {
+                return route.getTimeout();
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+
+    static void count(MeterRegistry meterRegistry, String stage) {
+        Counter.builder(EXCEEDED)
+                .description("Requests and employee service calls given up because their deadline passed")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+}
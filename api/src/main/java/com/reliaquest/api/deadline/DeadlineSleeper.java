@@ -0,0 +1,29 @@
+package com.reliaquest.api.deadline;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.retry.backoff.Sleeper;
+
+/**
+ * Backoff sleeper of the {@code @Retryable} integration methods, picked up by {@code @EnableRetry}. A backoff that
+ * would outlast the current request's {@link Deadline} fails at once with {@link DeadlineExceededException} instead of
+ * sleeping, so a request nobody waits for doesn't hold its thread for the backoff and then spend another rate-limit
+ * permit on a retry. Calls made outside a request back off as configured.
+ */
+@RequiredArgsConstructor
+public class DeadlineSleeper implements Sleeper {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void sleep(long backOffPeriod) throws InterruptedException {
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.remaining().toMillis() < backOffPeriod) {
+            DeadlineFilter.count(meterRegistry, "backoff");
+            throw new DeadlineExceededException(
+                    "Request deadline would pass before the employee service could be retried.");
+        }
+        Thread.sleep(backOffPeriod);
+    }
+}
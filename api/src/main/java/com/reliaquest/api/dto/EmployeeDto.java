@@ -1,6 +1,7 @@
 package com.reliaquest.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.util.UUID;
 import lombok.Data;
 
@@ -10,6 +11,7 @@ import lombok.Data;
  * @author Saurabh
  */
 @Data
+@JsonSerialize(using = EmployeeDtoSerializer.class)
 public class EmployeeDto {
 
     @JsonProperty("id")
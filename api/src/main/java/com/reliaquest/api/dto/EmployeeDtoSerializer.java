@@ -0,0 +1,38 @@
+package com.reliaquest.api.dto;
+
+import static com.reliaquest.common.json.EmployeeJson.AGE;
+import static com.reliaquest.common.json.EmployeeJson.EMAIL;
+import static com.reliaquest.common.json.EmployeeJson.ID;
+import static com.reliaquest.common.json.EmployeeJson.NAME;
+import static com.reliaquest.common.json.EmployeeJson.SALARY;
+import static com.reliaquest.common.json.EmployeeJson.TITLE;
+import static com.reliaquest.common.json.EmployeeJson.writeNumber;
+import static com.reliaquest.common.json.EmployeeJson.writeString;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Writes {@link EmployeeDto} without reflection, with pre-encoded field names. Produces the same JSON as the
+ * {@code @JsonProperty} binding, nulls included; reading still goes through the annotations.
+ */
+public class EmployeeDtoSerializer extends StdSerializer<EmployeeDto> {
+
+    public EmployeeDtoSerializer() {
+        super(EmployeeDto.class);
+    }
+
+    @Override
+    public void serialize(EmployeeDto employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(employee);
+        writeString(gen, ID, employee.getId() != null ? employee.getId().toString() : null);
+        writeString(gen, NAME, employee.getEmployeeName());
+        writeNumber(gen, SALARY, employee.getEmployeeSalary());
+        writeNumber(gen, AGE, employee.getEmployeeAge());
+        writeString(gen, TITLE, employee.getEmployeeTitle());
+        writeString(gen, EMAIL, employee.getEmail());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * This class represents the request body of the bulk get employees by ids api.
+ */
+@Data
+public class MultiGetEmployeeRequestDto {
+
+    private List<String> ids;
+}
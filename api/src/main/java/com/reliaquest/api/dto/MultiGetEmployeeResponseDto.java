@@ -0,0 +1,28 @@
+package com.reliaquest.api.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * Result of a bulk get employees by ids. Every requested id ends up in exactly one of the three fields, so a client can
+ * tell a missing employee from one that could not be fetched right now.
+ */
+@Data
+public class MultiGetEmployeeResponseDto {
+
+    /** Employees found, in request order */
+    private List<EmployeeDto> employees = new ArrayList<>();
+
+    /** Ids the employee service doesn't know */
+    private List<String> notFound = new ArrayList<>();
+
+    /** Ids that could not be fetched, with the reason */
+    private Map<String, String> failed = new LinkedHashMap<>();
+
+    public boolean isPartial() {
+        return !failed.isEmpty();
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Thrown when a request's deadline passes, or would pass during a retry backoff, before its employee service calls
+ * complete. Answered with 504.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.reliaquest.api.exception;
 
+import org.springframework.http.HttpStatus;
+
 /**
  * This exception is thrown when some error is encountered while calling external Employee service
  *
@@ -7,7 +9,25 @@ package com.reliaquest.api.exception;
  */
 public class EmployeeServiceIntegrationException extends RuntimeException {
 
+    private final HttpStatus status;
+
     public EmployeeServiceIntegrationException(String message) {
+        this(message, null);
+    }
+
+    /**
+     * @param status the employee service's response status, null if no response arrived
+     */
+    public EmployeeServiceIntegrationException(String message, HttpStatus status) {
         super(message);
+        this.status = status;
+    }
+
+    /**
+     * Whether the employee service rejected the request itself, so sending it again cannot succeed. A 408 is not
+     * counted: the request timed out rather than being wrong.
+     */
+    public boolean isClientError() {
+        return status != null && status.is4xxClientError() && status != HttpStatus.REQUEST_TIMEOUT;
     }
 }
@@ -1,7 +1,10 @@
 package com.reliaquest.api.exception;
 
 import com.reliaquest.api.dto.APIError;
+import com.reliaquest.api.limit.LocalRejection;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -48,6 +51,27 @@ public class GlobalControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(apiError);
     }
 
+    @ExceptionHandler(RequestShedException.class)
+    public ResponseEntity<APIError> handleRequestShedException(RequestShedException ex, HttpServletRequest request) {
+        LocalRejection.mark(request);
+        APIError apiError = new APIError();
+        apiError.setError(ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(apiError);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<APIError> handleDeadlineExceededException(
+            DeadlineExceededException ex, HttpServletRequest request) {
+        LocalRejection.mark(request);
+        APIError apiError = new APIError();
+        apiError.setError(ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(apiError);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<APIError> handleException(Exception ex) {
         APIError apiError = new APIError();
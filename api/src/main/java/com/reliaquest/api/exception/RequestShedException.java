@@ -0,0 +1,26 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Thrown when a request could not get a scheduling slot within its class's queue deadline. Answered with 503 and a
+ * Retry-After.
+ */
+@Getter
+public class RequestShedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RequestShedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return the Retry-After value in whole seconds, at least one
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
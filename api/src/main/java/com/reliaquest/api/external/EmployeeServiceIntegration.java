@@ -2,15 +2,28 @@ package com.reliaquest.api.external;
 
 import com.reliaquest.api.config.AppConfig;
 import com.reliaquest.api.dto.CreateEmployeeRequestDto;
+import com.reliaquest.api.dto.EmployeeDto;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeServiceIntegrationException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.external.balancing.UpstreamBalancer;
+import com.reliaquest.api.external.balancing.UpstreamInstance;
 import com.reliaquest.api.external.dto.CreateEmployeeResponseDto;
 import com.reliaquest.api.external.dto.DeleteEmployeeRequestDto;
 import com.reliaquest.api.external.dto.DeleteEmployeeResponseDto;
 import com.reliaquest.api.external.dto.GetAllEmployeesResponseDto;
 import com.reliaquest.api.external.dto.GetEmployeeResponseDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsRequestDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsResponseDto;
+import com.reliaquest.api.external.hedging.RequestHedger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpMethod;
@@ -21,6 +34,7 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -33,12 +47,22 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class EmployeeServiceIntegration {
 
+    /** How long to stop trying the multi-get route after the employee service turned out not to have it */
+    private static final Duration MULTI_GET_REPROBE_INTERVAL = Duration.ofMinutes(5);
+
     private final WebClient webClient;
 
     private final AppConfig appConfig;
 
+    private final RequestHedger requestHedger;
+
+    private final UpstreamBalancer upstreamBalancer;
+
+    private volatile long multiGetUnsupportedUntilMillis;
+
     /**
-     * Method to get All employees by calling external employee service
+     * Method to get All employees by calling external employee service. Sharded instances are all asked, and their
+     * employees merged.
      * @return {@link GetAllEmployeesResponseDto}
      */
     @Retryable(
@@ -47,16 +71,19 @@ public class EmployeeServiceIntegration {
         backoff = @Backoff(delay = 30000))
     public GetAllEmployeesResponseDto getAllEmployees() {
         String url = appConfig.getEmployeeServiceBaseUrl() + appConfig.getEmployeeServiceResourceUrl();
-        log.info("Calling employee service at {} to get all employees", url);
+        log.debug("Calling employee service at {} to get all employees", url);
 
         try {
-            ResponseEntity<GetAllEmployeesResponseDto> response = getAllEmployeesResponse(url);
+            ResponseEntity<GetAllEmployeesResponseDto> response = upstreamBalancer.isSharded()
+                    ? fromEveryShard(
+                            instance -> getAllEmployeesRequest(url, instance), EmployeeServiceIntegration::merge)
+                    : getAllEmployeesRequest(url, null).block();
 
             HttpStatus status = HttpStatus.valueOf(response.getStatusCode().value());
             switch (status) {
                 case OK:
                     GetAllEmployeesResponseDto getAllEmployeesResponseDto = response.getBody();
-                    log.info(
+                    log.debug(
                             "Fetched all employees successfully. Total number of employees fetched : {}",
                             getAllEmployeesResponseDto.getData().size());
                     return getAllEmployeesResponseDto;
@@ -76,17 +103,16 @@ public class EmployeeServiceIntegration {
         }
     }
 
-    private ResponseEntity<GetAllEmployeesResponseDto> getAllEmployeesResponse(String url) {
-        ResponseEntity<GetAllEmployeesResponseDto> response = webClient
-                .get()
-                .uri(url)
-                .exchangeToMono(clientResponse -> clientResponse.toEntity(GetAllEmployeesResponseDto.class))
-                .block();
-        return response;
+    private Mono<ResponseEntity<GetAllEmployeesResponseDto>> getAllEmployeesRequest(
+            String url, UpstreamInstance instance) {
+        Mono<ResponseEntity<GetAllEmployeesResponseDto>> request = pinned(webClient.get().uri(url), instance)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(GetAllEmployeesResponseDto.class));
+        return requestHedger.hedge(UpstreamOperation.GET_ALL_EMPLOYEES, request);
     }
 
     /**
-     * Method to get employees by ID by calling external employee service
+     * Method to get employees by ID by calling external employee service. Sharded instances are asked owner first,
+     * and the others in turn while they answer 404.
      *
      * @return {@link GetEmployeeResponseDto}
      */
@@ -97,10 +123,12 @@ public class EmployeeServiceIntegration {
     public GetEmployeeResponseDto getEmployeeById(UUID id) {
         String url = appConfig.getEmployeeServiceBaseUrl() + appConfig.getEmployeeServiceResourceUrl() + "/" + id;
 
-        log.info("Calling employee service at {} to get employee with id : {}", url, id);
+        log.debug("Calling employee service at {} to get employee with id : {}", url, id);
 
         try {
-            ResponseEntity<GetEmployeeResponseDto> response = getEmployeeByIdResponse(url);
+            ResponseEntity<GetEmployeeResponseDto> response = upstreamBalancer.isSharded()
+                    ? getEmployeeByIdFromShards(url, id)
+                    : getEmployeeByIdRequest(url, null).block();
 
             if (response == null) {
                 log.error("Error occurred while fetching employee data with id: {}, Response is null", id);
@@ -112,7 +140,7 @@ public class EmployeeServiceIntegration {
             switch (status) {
                 case OK:
                     GetEmployeeResponseDto getEmployeeResponseDto = response.getBody();
-                    log.info("Successfully fetched employee data with id : {}", id);
+                    log.debug("Successfully fetched employee data with id : {}", id);
                     return getEmployeeResponseDto;
 
                 case TOO_MANY_REQUESTS:
@@ -134,17 +162,88 @@ public class EmployeeServiceIntegration {
         }
     }
 
-    private ResponseEntity<GetEmployeeResponseDto> getEmployeeByIdResponse(String url) {
-        ResponseEntity<GetEmployeeResponseDto> response = webClient
-                .get()
-                .uri(url)
-                .exchangeToMono(clientResponse -> clientResponse.toEntity(GetEmployeeResponseDto.class))
-                .block();
+    private ResponseEntity<GetEmployeeResponseDto> getEmployeeByIdFromShards(String url, UUID id) {
+        ResponseEntity<GetEmployeeResponseDto> response = null;
+        for (UpstreamInstance instance : upstreamBalancer.shardsFor(id)) {
+            response = getEmployeeByIdRequest(url, instance).block();
+            if (response == null || response.getStatusCode().value() != HttpStatus.NOT_FOUND.value()) {
+                return response;
+            }
+        }
         return response;
     }
 
+    private Mono<ResponseEntity<GetEmployeeResponseDto>> getEmployeeByIdRequest(String url, UpstreamInstance instance) {
+        Mono<ResponseEntity<GetEmployeeResponseDto>> request = pinned(webClient.get().uri(url), instance)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(GetEmployeeResponseDto.class));
+        return requestHedger.hedge(UpstreamOperation.GET_EMPLOYEE_BY_ID, request);
+    }
+
     /**
-     * Method to delete employee by name by calling external employee service
+     * Method to get several employees in one call to the external employee service. Versions of the service without
+     * the multi-get route answer 404/405; that is remembered for a while and reported as an empty result so the caller
+     * can fall back to single lookups. Sharded instances are all asked, and their employees merged.
+     *
+     * @param ids ids to look up
+     * @return {@link GetEmployeesByIdsResponseDto} without the unknown ids, or empty if multi-get is unsupported
+     */
+    @Retryable(
+        value = {TooManyRequestsException.class},
+        maxAttempts = 3,
+        backoff = @Backoff(delay = 30000))
+    public Optional<GetEmployeesByIdsResponseDto> getEmployeesByIds(Collection<UUID> ids) {
+        if (System.currentTimeMillis() < multiGetUnsupportedUntilMillis) {
+            return Optional.empty();
+        }
+
+        String url = appConfig.getEmployeeServiceBaseUrl() + appConfig.getEmployeeServiceResourceUrl() + "/"
+                + UpstreamOperation.MULTI_GET_SEGMENT;
+        log.debug("Calling employee service at {} to get {} employees by id", url, ids.size());
+
+        try {
+            GetEmployeesByIdsRequestDto request = new GetEmployeesByIdsRequestDto(new ArrayList<>(ids));
+            ResponseEntity<GetEmployeesByIdsResponseDto> response = upstreamBalancer.isSharded()
+                    ? fromEveryShard(
+                            instance -> getEmployeesByIdsRequest(url, request, instance),
+                            EmployeeServiceIntegration::merge)
+                    : getEmployeesByIdsRequest(url, request, null).block();
+
+            HttpStatus status = HttpStatus.valueOf(response.getStatusCode().value());
+            switch (status) {
+                case OK:
+                    return Optional.of(response.getBody());
+
+                case TOO_MANY_REQUESTS:
+                    throw new TooManyRequestsException(
+                            "Max retry exceeded due to 429 status. Please try again later. System is under heavy load!!");
+
+                case NOT_FOUND:
+                case METHOD_NOT_ALLOWED:
+                    log.info("Employee service does not support multi-get (status {}), using single lookups", status);
+                    multiGetUnsupportedUntilMillis = System.currentTimeMillis() + MULTI_GET_REPROBE_INTERVAL.toMillis();
+                    return Optional.empty();
+
+                default:
+                    log.error("Error occurred while fetching employees by ids. Status code returned: {}", status);
+                    throw new EmployeeServiceIntegrationException(
+                            "Error occurred while fetching employees by ids. Status code returned: " + status);
+            }
+        } catch (WebClientException e) {
+            throw new EmployeeServiceIntegrationException(
+                    "Error occurred in connecting with employee service. Please try again later.");
+        }
+    }
+
+    private Mono<ResponseEntity<GetEmployeesByIdsResponseDto>> getEmployeesByIdsRequest(
+            String url, GetEmployeesByIdsRequestDto getEmployeesByIdsRequestDto, UpstreamInstance instance) {
+        return pinned(webClient.post().uri(url), instance)
+                .body(Mono.just(getEmployeesByIdsRequestDto), GetEmployeesByIdsRequestDto.class)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(GetEmployeesByIdsResponseDto.class));
+    }
+
+    /**
+     * Method to delete employee by name by calling external employee service. Sharded instances are all asked, and the
+     * employee counts as deleted if any of them deleted it.
      *
      * @param name Name of the employee to be deleted.
      * @return {@link DeleteEmployeeResponseDto}
@@ -156,13 +255,17 @@ public class EmployeeServiceIntegration {
     public DeleteEmployeeResponseDto deleteEmployeeByName(String name) {
         String url = appConfig.getEmployeeServiceBaseUrl() + appConfig.getEmployeeServiceResourceUrl();
 
-        log.info("Calling employee service at {} to delete employee with name : {}", url, name);
+        log.debug("Calling employee service at {} to delete employee with name : {}", url, name);
 
         DeleteEmployeeRequestDto deleteEmployeeRequestDto = new DeleteEmployeeRequestDto(name);
 
         try {
             // Calling external API
-            ResponseEntity<DeleteEmployeeResponseDto> response = deleteEmployeeResponse(url, deleteEmployeeRequestDto);
+            ResponseEntity<DeleteEmployeeResponseDto> response = upstreamBalancer.isSharded()
+                    ? fromEveryShard(
+                            instance -> deleteEmployeeRequest(url, deleteEmployeeRequestDto, instance),
+                            EmployeeServiceIntegration::merge)
+                    : deleteEmployeeRequest(url, deleteEmployeeRequestDto, null).block();
 
             HttpStatus status = HttpStatus.valueOf(response.getStatusCode().value());
             switch (status) {
@@ -185,15 +288,11 @@ public class EmployeeServiceIntegration {
         }
     }
 
-    private ResponseEntity<DeleteEmployeeResponseDto> deleteEmployeeResponse(
-            String url, DeleteEmployeeRequestDto deleteEmployeeRequestDto) {
-        ResponseEntity<DeleteEmployeeResponseDto> response = webClient
-                .method(HttpMethod.DELETE)
-                .uri(url)
+    private Mono<ResponseEntity<DeleteEmployeeResponseDto>> deleteEmployeeRequest(
+            String url, DeleteEmployeeRequestDto deleteEmployeeRequestDto, UpstreamInstance instance) {
+        return pinned(webClient.method(HttpMethod.DELETE).uri(url), instance)
                 .body(Mono.just(deleteEmployeeRequestDto), DeleteEmployeeRequestDto.class)
-                .exchangeToMono(clientResponse -> clientResponse.toEntity(DeleteEmployeeResponseDto.class))
-                .block();
-        return response;
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(DeleteEmployeeResponseDto.class));
     }
 
     /**
@@ -208,7 +307,7 @@ public class EmployeeServiceIntegration {
     public CreateEmployeeResponseDto createEmployee(CreateEmployeeRequestDto createEmployeeRequestDto) {
         String url = appConfig.getEmployeeServiceBaseUrl() + appConfig.getEmployeeServiceResourceUrl();
 
-        log.info(
+        log.debug(
                 "Calling employee service at {} to create employee with name : {}",
                 url,
                 createEmployeeRequestDto.getName());
@@ -230,7 +329,8 @@ public class EmployeeServiceIntegration {
                     throw new EmployeeServiceIntegrationException(
                             "Error occurred while creating the employees with name : "
                                     + createEmployeeRequestDto.getName()
-                                    + ", Status code returned: " + status);
+                                    + ", Status code returned: " + status,
+                            status);
             }
         } catch (WebClientException e) {
             throw new EmployeeServiceIntegrationException(
@@ -248,4 +348,54 @@ public class EmployeeServiceIntegration {
                 .block();
         return response;
     }
+
+    /**
+     * Sends the call to every instance at once. A shard that doesn't answer 200 would leave its employees out, so its
+     * response is returned as the answer; otherwise the bodies are merged into one 200.
+     */
+    private <T> ResponseEntity<T> fromEveryShard(
+            Function<UpstreamInstance, Mono<ResponseEntity<T>>> call, BinaryOperator<T> merge) {
+        List<ResponseEntity<T>> responses = Flux.fromIterable(upstreamBalancer.getInstances())
+                .flatMapSequential(call)
+                .collectList()
+                .block();
+        return responses.stream()
+                .filter(response -> response.getStatusCode().value() != HttpStatus.OK.value())
+                .findFirst()
+                .orElseGet(() -> ResponseEntity.ok(
+                        responses.stream().map(ResponseEntity::getBody).reduce(merge).orElseThrow()));
+    }
+
+    /**
+     * Pins the call to the instance, or leaves the choice to the balancer when it is null.
+     */
+    private static WebClient.RequestHeadersSpec<?> pinned(
+            WebClient.RequestHeadersSpec<?> spec, UpstreamInstance instance) {
+        return instance != null ? spec.attribute(UpstreamBalancer.INSTANCE_ATTRIBUTE, instance) : spec;
+    }
+
+    private static WebClient.RequestBodySpec pinned(WebClient.RequestBodySpec spec, UpstreamInstance instance) {
+        return instance != null ? spec.attribute(UpstreamBalancer.INSTANCE_ATTRIBUTE, instance) : spec;
+    }
+
+    private static GetAllEmployeesResponseDto merge(GetAllEmployeesResponseDto a, GetAllEmployeesResponseDto b) {
+        a.setData(concat(a.getData(), b.getData()));
+        return a;
+    }
+
+    private static GetEmployeesByIdsResponseDto merge(GetEmployeesByIdsResponseDto a, GetEmployeesByIdsResponseDto b) {
+        a.setData(concat(a.getData(), b.getData()));
+        return a;
+    }
+
+    private static DeleteEmployeeResponseDto merge(DeleteEmployeeResponseDto a, DeleteEmployeeResponseDto b) {
+        a.setData(Boolean.TRUE.equals(a.getData()) || Boolean.TRUE.equals(b.getData()));
+        return a;
+    }
+
+    private static List<EmployeeDto> concat(List<EmployeeDto> a, List<EmployeeDto> b) {
+        List<EmployeeDto> all = new ArrayList<>(a);
+        all.addAll(b);
+        return all;
+    }
 }
@@ -0,0 +1,87 @@
+package com.reliaquest.api.external;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends an {@code Idempotency-Key} with every create call, so the employee service applies a write at most once even
+ * when a timed-out request is retried. The key is, in order of preference:
+ * <ol>
+ *   <li>the one bound with {@link #callWithKey} (the write-behind queue)</li>
+ *   <li>the inbound request's {@code Idempotency-Key} header</li>
+ *   <li>one generated per {@code @Retryable} invocation, shared by all of its attempts</li>
+ * </ol>
+ */
+public class IdempotencyKeyFilter implements ExchangeFilterFunction {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final String RETRY_ATTRIBUTE = IdempotencyKeyFilter.class.getName();
+
+    private static final ThreadLocal<String> BOUND_KEY = new ThreadLocal<>();
+
+    /**
+     * Runs an upstream call with the given idempotency key.
+     */
+    public static <T> T callWithKey(String key, Supplier<T> call) {
+        String previous = BOUND_KEY.get();
+        BOUND_KEY.set(key);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                BOUND_KEY.set(previous);
+            } else {
+                BOUND_KEY.remove();
+            }
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!UpstreamOperation.CREATE_EMPLOYEE.equals(UpstreamOperation.resolve(request.method(), request.url()))
+                || request.headers().containsKey(HEADER)) {
+            return next.exchange(request);
+        }
+
+        String key = resolveKey();
+        if (key == null) {
+            return next.exchange(request);
+        }
+        return next.exchange(ClientRequest.from(request).header(HEADER, key).build());
+    }
+
+    private static String resolveKey() {
+        String key = BOUND_KEY.get();
+        if (key != null) {
+            return key;
+        }
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            key = attributes.getRequest().getHeader(HEADER);
+            if (key != null && !key.isBlank()) {
+                return key;
+            }
+        }
+
+        RetryContext retryContext = RetrySynchronizationManager.getContext();
+        if (retryContext == null) {
+            return null;
+        }
+        if (retryContext.getAttribute(RETRY_ATTRIBUTE) instanceof String generated) {
+            return generated;
+        }
+        key = UUID.randomUUID().toString();
+        retryContext.setAttribute(RETRY_ATTRIBUTE, key);
+        return key;
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.external;
+
+import java.net.URI;
+import java.util.UUID;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Names the employee service operation an outgoing request belongs to, so cross-cutting WebClient filters can tag it
+ * without the integration passing anything along.
+ */
+public final class UpstreamOperation {
+
+    public static final String GET_ALL_EMPLOYEES = "getAllEmployees";
+    public static final String GET_EMPLOYEE_BY_ID = "getEmployeeById";
+    public static final String GET_EMPLOYEES_BY_IDS = "getEmployeesByIds";
+    public static final String CREATE_EMPLOYEE = "createEmployee";
+    public static final String DELETE_EMPLOYEE_BY_NAME = "deleteEmployeeByName";
+    public static final String UNKNOWN = "unknown";
+
+    /** Last path segment of the multi-get route */
+    public static final String MULTI_GET_SEGMENT = "_mget";
+
+    private UpstreamOperation() {}
+
+    public static String resolve(HttpMethod method, URI uri) {
+        if (HttpMethod.POST.equals(method)) {
+            return MULTI_GET_SEGMENT.equals(lastSegment(uri)) ? GET_EMPLOYEES_BY_IDS : CREATE_EMPLOYEE;
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return DELETE_EMPLOYEE_BY_NAME;
+        }
+        if (HttpMethod.GET.equals(method)) {
+            return isUuid(lastSegment(uri)) ? GET_EMPLOYEE_BY_ID : GET_ALL_EMPLOYEES;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return the employee id a single-employee URL ends with, or null
+     */
+    public static UUID employeeId(URI uri) {
+        String segment = lastSegment(uri);
+        return isUuid(segment) ? UUID.fromString(segment) : null;
+    }
+
+    private static String lastSegment(URI uri) {
+        String path = uri.getPath();
+        if (path == null) {
+            return "";
+        }
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static boolean isUuid(String segment) {
+        if (segment.length() != 36) {
+            return false;
+        }
+        try {
+            UUID.fromString(segment);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.external.balancing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Hash ring with a number of virtual nodes per instance. A key belongs to the first point at or after its hash; adding
+ * or removing an instance only moves the keys next to that instance's points.
+ */
+class ConsistentHashRing {
+
+    private final NavigableMap<Long, UpstreamInstance> ring = new TreeMap<>();
+
+    private final int size;
+
+    ConsistentHashRing(List<UpstreamInstance> instances, int virtualNodes) {
+        for (UpstreamInstance instance : instances) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(instance.getName() + "#" + i), instance);
+            }
+        }
+        this.size = instances.size();
+    }
+
+    /**
+     * @return the owner of the key, or the next instance clockwise that passes the filter; null if none does
+     */
+    UpstreamInstance route(String key, Predicate<UpstreamInstance> available) {
+        long hash = hash(key);
+        Set<UpstreamInstance> tried = new HashSet<>();
+        for (Collection<UpstreamInstance> arc :
+                List.of(ring.tailMap(hash, true).values(), ring.headMap(hash, false).values())) {
+            for (UpstreamInstance instance : arc) {
+                if (!tried.add(instance)) {
+                    continue;
+                }
+                if (available.test(instance)) {
+                    return instance;
+                }
+                if (tried.size() == size) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.reliaquest.api.external.balancing;
+
+import com.reliaquest.api.config.UpstreamProperties;
+import com.reliaquest.api.config.UpstreamProperties.Routing;
+import com.reliaquest.api.external.UpstreamOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spreads employee service calls over several instances by rewriting the origin of each request:
+ * <ul>
+ *   <li>reads go to the available instance with the fewest calls in flight, or in {@code CONSISTENT_HASH} mode to the
+ *   ring owner of the employee id in the path</li>
+ *   <li>writes go to the first available instance in configuration order</li>
+ *   <li>a request carrying {@link #INSTANCE_ATTRIBUTE} goes to that instance</li>
+ * </ul>
+ * {@code CONSISTENT_HASH} is for sharded deployments, where each instance keeps its own employees. There a single
+ * instance cannot answer for all of them, so {@code EmployeeServiceIntegration} pins calls with
+ * {@link #INSTANCE_ATTRIBUTE} to send lists, multi-gets and deletes to every instance, and to try the other instances
+ * when a lookup's owner answers 404. That fallback is also how lookups find created employees: a create has no id to
+ * hash until an instance assigns one, so it lands on the first available instance rather than on the owner.
+ * An instance that fails {@code consecutive-failures} calls in a row (5xx or no connection) is ejected for a while, as
+ * long as no more than {@code max-percent} of the instances are ejected already. Rate limiting (429) is not a failure.
+ * With no instances configured the filter leaves requests alone.
+ */
+@Slf4j
+public class UpstreamBalancer implements ExchangeFilterFunction {
+
+    public static final String OUTSTANDING = "employee.upstream.instance.outstanding";
+    public static final String EJECTED = "employee.upstream.instance.ejected";
+    public static final String EJECTIONS = "employee.upstream.instance.ejections";
+
+    /** Request attribute holding the {@link UpstreamInstance} a call must go to */
+    public static final String INSTANCE_ATTRIBUTE = UpstreamBalancer.class.getName() + ".instance";
+
+    private final UpstreamProperties properties;
+
+    private final List<UpstreamInstance> instances;
+
+    private final ConsistentHashRing ring;
+
+    private final MeterRegistry meterRegistry;
+
+    private final LongSupplier nanoClock;
+
+    public UpstreamBalancer(UpstreamProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.instances = properties.getInstances().stream().map(UpstreamInstance::new).toList();
+        this.ring = new ConsistentHashRing(instances, properties.getVirtualNodes());
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        for (UpstreamInstance instance : instances) {
+            Gauge.builder(OUTSTANDING, instance, UpstreamInstance::getOutstanding)
+                    .description("Employee service calls in flight per instance")
+                    .tag("instance", instance.getName())
+                    .register(meterRegistry);
+            Gauge.builder(EJECTED, instance, i -> i.isEjected(nanoClock.getAsLong()) ? 1 : 0)
+                    .description("1 while the instance is ejected for consecutive failures")
+                    .tag("instance", instance.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !instances.isEmpty();
+    }
+
+    public List<UpstreamInstance> getInstances() {
+        return instances;
+    }
+
+    public boolean isAvailable(UpstreamInstance instance) {
+        return !instance.isEjected(nanoClock.getAsLong());
+    }
+
+    /**
+     * @return whether each instance keeps its own share of the employees, see the class comment
+     */
+    public boolean isSharded() {
+        return isEnabled() && properties.getRouting() == Routing.CONSISTENT_HASH;
+    }
+
+    /**
+     * @return every instance, the available owner of the id first and the others in configuration order
+     */
+    public List<UpstreamInstance> shardsFor(UUID id) {
+        UpstreamInstance owner = ring.route(id.toString(), this::isAvailable);
+        if (owner == null) {
+            return instances;
+        }
+        List<UpstreamInstance> shards = new ArrayList<>(instances.size());
+        shards.add(owner);
+        instances.stream().filter(instance -> instance != owner).forEach(shards::add);
+        return shards;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!isEnabled()) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            UpstreamInstance instance = request.attribute(INSTANCE_ATTRIBUTE)
+                    .map(UpstreamInstance.class::cast)
+                    .orElseGet(() -> choose(request.method(), request.url()));
+            ClientRequest routed = ClientRequest.from(request)
+                    .url(withOrigin(request.url(), instance.getOrigin()))
+                    .build();
+            instance.begin();
+            return next.exchange(routed)
+                    .doOnNext(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            onFailure(instance);
+                        } else {
+                            instance.onSuccess();
+                        }
+                    })
+                    .doOnError(e -> onFailure(instance))
+                    .doFinally(ignored -> instance.end());
+        });
+    }
+
+    /**
+     * @return the instance for a request to the given method and URL; an ejected one only if every instance is
+     */
+    public UpstreamInstance choose(HttpMethod method, URI url) {
+        if (isWrite(method, url)) {
+            return instances.stream()
+                    .filter(this::isAvailable)
+                    .findFirst()
+                    .orElse(instances.get(0));
+        }
+        if (properties.getRouting() == Routing.CONSISTENT_HASH) {
+            UUID id = UpstreamOperation.employeeId(url);
+            if (id != null) {
+                UpstreamInstance owner = ring.route(id.toString(), this::isAvailable);
+                if (owner != null) {
+                    return owner;
+                }
+            }
+        }
+        return leastOutstanding();
+    }
+
+    /*
+     * Scans from a random offset so instances with equal load share ties.
+     */
+    private UpstreamInstance leastOutstanding() {
+        int size = instances.size();
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        UpstreamInstance best = null;
+        for (int i = 0; i < size; i++) {
+            UpstreamInstance candidate = instances.get((offset + i) % size);
+            if (isAvailable(candidate) && (best == null || candidate.getOutstanding() < best.getOutstanding())) {
+                best = candidate;
+            }
+        }
+        return best != null ? best : instances.get(offset);
+    }
+
+    private void onFailure(UpstreamInstance instance) {
+        if (instance.onFailure() < properties.getEjection().getConsecutiveFailures()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            if (instance.isEjected(now) || !canEject(now)) {
+                return;
+            }
+            UpstreamProperties.Ejection ejection = properties.getEjection();
+            long ejectionNanos = Math.min(
+                    ejection.getBaseTime().toNanos() * (instance.getEjections() + 1),
+                    ejection.getMaxTime().toNanos());
+            instance.eject(now + ejectionNanos);
+        }
+        log.warn("Ejected employee service instance {} after consecutive failures", instance.getName());
+        Counter.builder(EJECTIONS)
+                .description("Times an instance was ejected for consecutive failures")
+                .tag("instance", instance.getName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean canEject(long now) {
+        long ejected = instances.stream().filter(i -> i.isEjected(now)).count();
+        return (ejected + 1) * 100 <= (long) instances.size() * properties.getEjection().getMaxPercent();
+    }
+
+    private static boolean isWrite(HttpMethod method, URI url) {
+        String operation = UpstreamOperation.resolve(method, url);
+        return UpstreamOperation.CREATE_EMPLOYEE.equals(operation)
+                || UpstreamOperation.DELETE_EMPLOYEE_BY_NAME.equals(operation);
+    }
+
+    private static URI withOrigin(URI url, URI origin) {
+        return UriComponentsBuilder.fromUri(url)
+                .scheme(origin.getScheme())
+                .host(origin.getHost())
+                .port(origin.getPort())
+                .build(true)
+                .toUri();
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.api.external.balancing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+/**
+ * Reports each employee service instance under {@code /actuator/health/upstreams}. Down only when every instance is
+ * ejected.
+ */
+public class UpstreamHealthIndicator extends AbstractHealthIndicator {
+
+    private final UpstreamBalancer upstreamBalancer;
+
+    public UpstreamHealthIndicator(UpstreamBalancer upstreamBalancer) {
+        this.upstreamBalancer = upstreamBalancer;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (!upstreamBalancer.isEnabled()) {
+            builder.up().withDetail("instances", "employee.base-url only");
+            return;
+        }
+        boolean anyAvailable = false;
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (UpstreamInstance instance : upstreamBalancer.getInstances()) {
+            boolean available = upstreamBalancer.isAvailable(instance);
+            anyAvailable |= available;
+            details.put(
+                    instance.getName(),
+                    Map.of(
+                            "status", available ? "UP" : "EJECTED",
+                            "outstanding", instance.getOutstanding(),
+                            "consecutiveFailures", instance.getConsecutiveFailures(),
+                            "ejections", instance.getEjections()));
+        }
+        (anyAvailable ? builder.up() : builder.down()).withDetails(details);
+    }
+}
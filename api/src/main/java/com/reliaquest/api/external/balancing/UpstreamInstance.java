@@ -0,0 +1,79 @@
+package com.reliaquest.api.external.balancing;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One employee service instance: its origin, calls in flight and passive health.
+ */
+public class UpstreamInstance {
+
+    private final URI origin;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicInteger ejections = new AtomicInteger();
+
+    private volatile long ejectedUntilNanos;
+
+    private volatile boolean ejected;
+
+    UpstreamInstance(URI origin) {
+        this.origin = origin;
+    }
+
+    public URI getOrigin() {
+        return origin;
+    }
+
+    /**
+     * @return host:port, used as the metrics tag and health detail key
+     */
+    public String getName() {
+        return origin.getAuthority();
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public int getEjections() {
+        return ejections.get();
+    }
+
+    public boolean isEjected(long nowNanos) {
+        return ejected && nowNanos - ejectedUntilNanos < 0;
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * @return consecutive failures including this one
+     */
+    int onFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void eject(long untilNanos) {
+        ejections.incrementAndGet();
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = untilNanos;
+        ejected = true;
+    }
+}
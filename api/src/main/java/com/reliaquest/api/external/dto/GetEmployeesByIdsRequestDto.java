@@ -0,0 +1,16 @@
+package com.reliaquest.api.external.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Request dto of the get employees by ids (multi-get) API.
+ */
+@Data
+@AllArgsConstructor
+public class GetEmployeesByIdsRequestDto {
+
+    private List<UUID> ids;
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.external.dto;
+
+import com.reliaquest.api.dto.EmployeeDto;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * This class represents response of the get employees by ids (multi-get) API. Unknown ids are left out of data.
+ */
+@Data
+public class GetEmployeesByIdsResponseDto {
+
+    private List<EmployeeDto> data;
+
+    private String status;
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.external.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent latencies of one operation in a fixed ring and periodically recomputes a percentile from it.
+ * Recording is a single array write; the sort only happens every {@link #RECOMPUTE_EVERY} samples.
+ */
+class LatencyTracker {
+
+    private static final int CAPACITY = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final int MIN_SAMPLES = 20;
+
+    private final double percentile;
+
+    private final AtomicLongArray samples = new AtomicLongArray(CAPACITY);
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    void record(long latencyNanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % CAPACITY), latencyNanos);
+        long total = index + 1;
+        if (total == MIN_SAMPLES || (total > MIN_SAMPLES && total % RECOMPUTE_EVERY == 0)) {
+            recompute(Math.min(total, CAPACITY));
+        }
+    }
+
+    /**
+     * @return the tracked percentile, or -1 while there are too few samples
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(long size) {
+        long[] snapshot = new long[(int) size];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.min(snapshot.length - 1, Math.ceil(percentile * snapshot.length) - 1);
+        percentileNanos = snapshot[Math.max(0, index)];
+    }
+}
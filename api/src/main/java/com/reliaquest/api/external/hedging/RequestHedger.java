@@ -0,0 +1,144 @@
+package com.reliaquest.api.external.hedging;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hedges idempotent upstream reads: when the primary request has not answered within the operation's recent p95
+ * latency, the same request is sent again and whichever successful response arrives first wins; the other request is
+ * cancelled. Hedges are paid for from a budget that every primary request tops up by a fraction of a token, so hedging
+ * can never add more than that fraction (plus a small initial burst) of extra load on the rate-limited upstream.
+ *
+ * <p>Only successful responses feed the latency percentile. A 429, whether from the upstream or answered locally by a
+ * budget, arrives far sooner than a real read would and would pull the hedge delay down.
+ */
+@Component
+public class RequestHedger {
+
+    public static final String HEDGES = "employee.upstream.hedges";
+
+    private static final long MILLI_TOKENS_PER_HEDGE = 1000;
+
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double percentile;
+    private final long depositMilliTokens;
+    private final long maxMilliTokens;
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+
+    private final AtomicLong budgetMilliTokens;
+
+    public RequestHedger(
+            @Value("${employee.hedging.enabled:false}") boolean enabled,
+            @Value("${employee.hedging.min-delay:20ms}") Duration minDelay,
+            @Value("${employee.hedging.max-delay:2s}") Duration maxDelay,
+            @Value("${employee.hedging.percentile:0.95}") double percentile,
+            @Value("${employee.hedging.budget-ratio:0.05}") double budgetRatio,
+            @Value("${employee.hedging.max-burst:5}") int maxBurst,
+            MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry) {
+        this.enabled = enabled;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.percentile = percentile;
+        this.depositMilliTokens = Math.round(budgetRatio * MILLI_TOKENS_PER_HEDGE);
+        this.maxMilliTokens = maxBurst * MILLI_TOKENS_PER_HEDGE;
+        this.budgetMilliTokens = new AtomicLong(maxMilliTokens);
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Wraps an idempotent request with a hedge. Returns the request unchanged when hedging is disabled.
+     *
+     * @param operation operation name, used for latency tracking and metrics
+     * @param request cold request publisher; it is subscribed again for the hedge
+     */
+    public <T> Mono<ResponseEntity<T>> hedge(String operation, Mono<ResponseEntity<T>> request) {
+        if (!enabled) {
+            return request;
+        }
+
+        deposit();
+        LatencyTracker latencyTracker =
+                latencyTrackers.computeIfAbsent(operation, ignored -> new LatencyTracker(percentile));
+        Observation parent = observationRegistry.getCurrentObservation();
+        Deadline deadline = Deadline.current();
+        String tenant = TenantContext.current();
+        long start = System.nanoTime();
+
+        /*
+         * Only a successful hedge may win; a failed or non-2xx hedge never signals, so errors and statuses the caller
+         * reacts to always come from the primary request.
+         */
+        Mono<ResponseEntity<T>> hedged = Mono.delay(Duration.ofNanos(hedgeDelayNanos(latencyTracker)))
+                .filter(ignored -> tryWithdraw())
+                .flatMap(ignored -> {
+                    count(operation, "issued");
+                    return request.filter(response -> response.getStatusCode().is2xxSuccessful())
+                            .doOnNext(ignoredResponse -> count(operation, "won"))
+                            .onErrorResume(e -> Mono.empty());
+                })
+                .switchIfEmpty(Mono.never())
+                .contextWrite(context ->
+                        parent != null ? context.put(ObservationThreadLocalAccessor.KEY, parent) : context)
+                .contextWrite(context -> deadline != null ? context.put(Deadline.class, deadline) : context)
+                .contextWrite(context -> context.put(TenantContext.class, tenant));
+
+        return Mono.firstWithSignal(request, hedged).doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                latencyTracker.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private long hedgeDelayNanos(LatencyTracker latencyTracker) {
+        long percentileNanos = latencyTracker.percentileNanos();
+        if (percentileNanos < 0) {
+            return maxDelayNanos;
+        }
+        return Math.min(maxDelayNanos, Math.max(minDelayNanos, percentileNanos));
+    }
+
+    private void deposit() {
+        budgetMilliTokens.getAndUpdate(tokens -> Math.min(maxMilliTokens, tokens + depositMilliTokens));
+    }
+
+    private boolean tryWithdraw() {
+        long tokens;
+        do {
+            tokens = budgetMilliTokens.get();
+            if (tokens < MILLI_TOKENS_PER_HEDGE) {
+                return false;
+            }
+        } while (!budgetMilliTokens.compareAndSet(tokens, tokens - MILLI_TOKENS_PER_HEDGE));
+        return true;
+    }
+
+    private void count(String operation, String result) {
+        Counter.builder(HEDGES)
+                .description("Hedged upstream reads; won / issued is the hedge win rate")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
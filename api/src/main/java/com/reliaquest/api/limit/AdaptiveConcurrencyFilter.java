@@ -0,0 +1,84 @@
+package com.reliaquest.api.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.APIError;
+import com.reliaquest.api.warmup.WarmUpRunner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects inbound requests with 503 as soon as the adaptive concurrency limit is reached, instead of letting them pile
+ * up behind a slow upstream until clients time out. Every admitted request reports its latency back to the limit;
+ * 5xx and 429 responses count as drops. Requests marked as a {@link LocalRejection} report nothing, so the scheduler's
+ * sheds, deadline 504s and local budget 429s don't pull the limit down. Neither do warm-up requests, whose cache hits
+ * would otherwise set the gradient limit's long-term latency far below anything real traffic sees.
+ */
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT = "employee.concurrency.limit";
+    public static final String INFLIGHT = "employee.concurrency.inflight";
+    public static final String REJECTED = "employee.concurrency.rejected";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyFilter(
+            AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder(REJECTED)
+                .description("Requests rejected by the adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder(LIMIT, limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder(INFLIGHT, limiter, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Requests in flight under the adaptive concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int inflight = limiter.tryAcquire();
+        if (inflight < 0) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(
+                    response.getOutputStream(), new APIError("Server is at capacity. Please try again later."));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = isDrop(response.getStatus());
+        } finally {
+            if (LocalRejection.isMarked(request) || WarmUpRunner.isWarmUp(request)) {
+                limiter.release();
+            } else {
+                limiter.release(System.nanoTime() - start, inflight, dropped);
+            }
+        }
+    }
+
+    private static boolean isDrop(int status) {
+        return status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
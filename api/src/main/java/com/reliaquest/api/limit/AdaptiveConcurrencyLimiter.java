@@ -0,0 +1,59 @@
+package com.reliaquest.api.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits work while fewer than {@link ConcurrencyLimit#getLimit()} requests are in flight and feeds each completed
+ * request back into the limit algorithm. Rejection is immediate; there is no queue.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimit limit;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return the in-flight count including this request, or -1 if the limit is reached
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit.getLimit()) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Completes a request admitted by {@link #tryAcquire()}.
+     *
+     * @param inflightAtStart the value {@link #tryAcquire()} returned
+     */
+    public void release(long rttNanos, int inflightAtStart, boolean dropped) {
+        inflight.decrementAndGet();
+        limit.onSample(rttNanos, inflightAtStart, dropped);
+    }
+
+    /**
+     * Completes a request admitted by {@link #tryAcquire()} without feeding it to the limit, for requests whose
+     * latency and outcome say nothing about the protected resource.
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.limit;
+
+/**
+ * Algorithm that adjusts a concurrency limit from the latency and outcome of completed requests.
+ */
+public interface ConcurrencyLimit {
+
+    int getLimit();
+
+    /**
+     * @param rttNanos time the request took
+     * @param inflight requests in flight when it started, including itself
+     * @param dropped whether it failed in a way that signals overload (5xx, 429, shed)
+     */
+    void onSample(long rttNanos, int inflight, boolean dropped);
+}
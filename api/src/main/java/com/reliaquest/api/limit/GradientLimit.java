@@ -0,0 +1,73 @@
+package com.reliaquest.api.limit;
+
+/**
+ * Gradient limit: compares a short-term average latency with a long-term baseline. While they agree the limit grows by
+ * a queue allowance of {@code sqrt(limit)}; when the short-term latency rises above {@code tolerance} times the
+ * baseline the limit shrinks in proportion, down to half per step. Changes are smoothed, and the baseline drifts
+ * towards the short-term latency once latency recovers, so a brownout doesn't leave the limit pinned low.
+ */
+public class GradientLimit implements ConcurrencyLimit {
+
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final double tolerance;
+
+    private final int longWindow;
+
+    private double shortRttNanos;
+
+    private double longRttNanos;
+
+    private double estimatedLimit;
+
+    private volatile int limit;
+
+    public GradientLimit(
+            int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance, int longWindow) {
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindow = longWindow;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos += (rttNanos - longRttNanos) / longWindow;
+        }
+
+        // Latency recovered well below the baseline: let the baseline catch up
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Too little load to tell whether a higher limit would be safe
+        if (!dropped && inflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
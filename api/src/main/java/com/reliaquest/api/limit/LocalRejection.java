@@ -0,0 +1,38 @@
+package com.reliaquest.api.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks a request that this service turned away itself, by shedding it, running out its deadline or refusing it a
+ * local budget, rather than failing in the handler or upstream. {@link AdaptiveConcurrencyFilter} takes no sample
+ * from a marked request: local shedding says nothing about upstream capacity, and counting it as a drop would shrink
+ * the limit for everyone and cause more sheds.
+ */
+public final class LocalRejection {
+
+    /** Request attribute set on a locally rejected request */
+    public static final String ATTRIBUTE = LocalRejection.class.getName();
+
+    private LocalRejection() {}
+
+    public static void mark(HttpServletRequest request) {
+        request.setAttribute(ATTRIBUTE, Boolean.TRUE);
+    }
+
+    /**
+     * Marks the request bound to this thread, if any. Calls made off the request thread, such as hedges, leave it
+     * unmarked.
+     */
+    public static void markCurrentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static boolean isMarked(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) != null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.logging;
+
+import jakarta.servlet.ServletRequest;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts employee service calls made while serving the current inbound request, for the access log and the traffic
+ * capture. The count lives in a request attribute created by {@link #counter}; calls made outside a request are not
+ * counted.
+ */
+public class UpstreamCallCounter implements ExchangeFilterFunction {
+
+    static final String ATTRIBUTE = UpstreamCallCounter.class.getName();
+
+    /**
+     * @return the request's counter, created on first use so every filter reading it shares one
+     */
+    public static AtomicInteger counter(ServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof AtomicInteger calls) {
+            return calls;
+        }
+        AtomicInteger calls = new AtomicInteger();
+        request.setAttribute(ATTRIBUTE, calls);
+        return calls;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof AtomicInteger calls) {
+            calls.incrementAndGet();
+        }
+        return next.exchange(request);
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.listener.RetryListenerSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the failed attempts of the {@code @Retryable} integration methods that were followed by another attempt.
+ * Whether a failure is retried is only known once the call ends, so failures are collected per call and counted on
+ * close; a non-retryable failure and the last, exhausted attempt are not retries. Picked up by {@code @EnableRetry} as
+ * a global listener.
+ */
+@Component
+@RequiredArgsConstructor
+public class RetryMetricsListener extends RetryListenerSupport {
+
+    public static final String RETRIES = "employee.upstream.retries";
+
+    static final String LAST_FAILURE_NANOS = RetryMetricsListener.class.getName() + ".lastFailureNanos";
+
+    private static final String FAILURES = RetryMetricsListener.class.getName() + ".failures";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        context.setAttribute(LAST_FAILURE_NANOS, System.nanoTime());
+        List<String> failures = (List<String>) context.getAttribute(FAILURES);
+        if (failures == null) {
+            failures = new ArrayList<>();
+            context.setAttribute(FAILURES, failures);
+        }
+        failures.add(throwable.getClass().getSimpleName());
+    }
+
+    /*
+     * Every failure was retried, except the last one when the call ended with it.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        List<String> failures = (List<String>) context.removeAttribute(FAILURES);
+        if (failures == null) {
+            return;
+        }
+        int retried = throwable == null ? failures.size() : failures.size() - 1;
+        for (int i = 0; i < retried; i++) {
+            Counter.builder(RETRIES)
+                    .description("Failed attempts of employee service calls that were retried")
+                    .tag("method", methodName(context))
+                    .tag("exception", failures.get(i))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /*
+     * Retry context names are generic method signatures; only the method name is a sensible tag.
+     */
+    public static String methodName(RetryContext context) {
+        Object name = context.getAttribute(RetryContext.NAME);
+        if (name == null) {
+            return "unknown";
+        }
+        String signature = name.toString();
+        int parameters = signature.indexOf('(');
+        if (parameters < 0) {
+            return signature;
+        }
+        return signature.substring(signature.lastIndexOf('.', parameters) + 1, parameters);
+    }
+}
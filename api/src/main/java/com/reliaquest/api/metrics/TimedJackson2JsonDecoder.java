@@ -0,0 +1,47 @@
+package com.reliaquest.api.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+/**
+ * Jackson decoder that times how long it takes to bind each upstream response body.
+ */
+public class TimedJackson2JsonDecoder extends Jackson2JsonDecoder {
+
+    public static final String DECODE = "employee.upstream.decode";
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedJackson2JsonDecoder(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object decode(
+            DataBuffer dataBuffer,
+            ResolvableType targetType,
+            @Nullable MimeType mimeType,
+            @Nullable Map<String, Object> hints)
+            throws DecodingException {
+        long start = System.nanoTime();
+        try {
+            return super.decode(dataBuffer, targetType, mimeType, hints);
+        } finally {
+            Timer.builder(DECODE)
+                    .description("Time spent binding employee service responses")
+                    .tag("type", targetType.toClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
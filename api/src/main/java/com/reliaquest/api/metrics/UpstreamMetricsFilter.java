@@ -0,0 +1,100 @@
+package com.reliaquest.api.metrics;
+
+import com.reliaquest.api.external.UpstreamOperation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records latency, outcome and response size of every call made to the employee service. The filter sits on the
+ * shared {@code WebClient}, so the integration code stays free of instrumentation.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+
+    public static final String REQUESTS = "employee.upstream.requests";
+    public static final String RESPONSE_SIZE = "employee.upstream.response.size";
+    public static final String RETRY_BACKOFF = "employee.upstream.retry.backoff";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String operation = UpstreamOperation.resolve(request.method(), request.url());
+        recordRetryBackoff(operation);
+
+        long start = System.nanoTime();
+        return next.exchange(request)
+                .map(response -> {
+                    record(operation, outcome(response.statusCode().value()), start);
+                    return countBody(operation, response);
+                })
+                .doOnError(ignored -> record(operation, UpstreamOutcome.CONNECTION_ERROR, start));
+    }
+
+    private void record(String operation, String outcome, long start) {
+        Timer.builder(REQUESTS)
+                .description("Calls to the employee service, up to the response headers")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private ClientResponse countBody(String operation, ClientResponse response) {
+        AtomicLong bytes = new AtomicLong();
+        return response.mutate()
+                .body(body -> body.doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                        .doOnComplete(() -> DistributionSummary.builder(RESPONSE_SIZE)
+                                .baseUnit("bytes")
+                                .tag("operation", operation)
+                                .register(meterRegistry)
+                                .record(bytes.get())))
+                .build();
+    }
+
+    /*
+     * The retry listener stamps the failure time on the retry context; the next attempt runs on the same thread, so
+     * the gap between the two is the time spent backing off.
+     */
+    private void recordRetryBackoff(String operation) {
+        RetryContext retryContext = RetrySynchronizationManager.getContext();
+        if (retryContext == null
+                || !(retryContext.getAttribute(RetryMetricsListener.LAST_FAILURE_NANOS) instanceof Long failedAt)) {
+            return;
+        }
+        retryContext.removeAttribute(RetryMetricsListener.LAST_FAILURE_NANOS);
+        Timer.builder(RETRY_BACKOFF)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(System.nanoTime() - failedAt, TimeUnit.NANOSECONDS);
+    }
+
+    static String outcome(int status) {
+        if (status >= 200 && status < 300) {
+            return UpstreamOutcome.OK;
+        }
+        if (status == 429) {
+            return UpstreamOutcome.TOO_MANY_REQUESTS;
+        }
+        if (status == 404) {
+            return UpstreamOutcome.NOT_FOUND;
+        }
+        if (status >= 500) {
+            return UpstreamOutcome.SERVER_ERROR;
+        }
+        return UpstreamOutcome.CLIENT_ERROR;
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.metrics;
+
+/**
+ * Values of the {@code outcome} tag on upstream metrics.
+ */
+public final class UpstreamOutcome {
+
+    public static final String OK = "OK";
+    public static final String TOO_MANY_REQUESTS = "429";
+    public static final String NOT_FOUND = "404";
+    public static final String SERVER_ERROR = "5xx";
+    public static final String CLIENT_ERROR = "4xx";
+    public static final String CONNECTION_ERROR = "CONNECTION_ERROR";
+
+    private UpstreamOutcome() {}
+}
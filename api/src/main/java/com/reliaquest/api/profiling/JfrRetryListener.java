@@ -0,0 +1,47 @@
+package com.reliaquest.api.profiling;
+
+import com.reliaquest.api.metrics.RetryMetricsListener;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.listener.RetryListenerSupport;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link RetryWaitEvent} for every backoff of the {@code @Retryable} integration methods. The event begins
+ * when an attempt fails and is committed by {@link JfrUpstreamFilter} when the next attempt starts; the retry runs on
+ * the calling thread, so both ends see the same retry context. A wait with no next attempt is not committed.
+ */
+@Component
+public class JfrRetryListener extends RetryListenerSupport {
+
+    private static final String PENDING = JfrRetryListener.class.getName() + ".pending";
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        RetryWaitEvent event = new RetryWaitEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.operation = RetryMetricsListener.methodName(context);
+        event.attempt = context.getRetryCount();
+        event.failure = throwable.getClass().getSimpleName();
+        event.begin();
+        context.setAttribute(PENDING, event);
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        context.removeAttribute(PENDING);
+    }
+
+    /**
+     * Ends the current thread's pending retry wait, if there is one.
+     */
+    static void endWait() {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        if (context != null && context.removeAttribute(PENDING) instanceof RetryWaitEvent event) {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.profiling;
+
+import com.reliaquest.api.external.UpstreamOperation;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Emits an {@link UpstreamCallEvent} for every employee service call, and ends the retry wait that preceded it. When
+ * no recording has the event enabled, the request passes through untouched.
+ */
+@Component
+public class JfrUpstreamFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        JfrRetryListener.endWait();
+
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        if (!event.isEnabled()) {
+            return next.exchange(request);
+        }
+        event.operation = UpstreamOperation.resolve(request.method(), request.url());
+        event.method = request.method().name();
+        event.url = request.url().toString();
+        event.status = -1;
+        event.begin();
+
+        AtomicBoolean committed = new AtomicBoolean();
+        return next.exchange(request)
+                .map(response -> {
+                    event.status = response.statusCode().value();
+                    AtomicLong bytes = new AtomicLong();
+                    return response.mutate()
+                            .body(body -> body.doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                    .doFinally(ignored -> {
+                                        event.responseBytes = bytes.get();
+                                        commit(event, committed);
+                                    }))
+                            .build();
+                })
+                .doOnError(ignored -> commit(event, committed))
+                .doOnCancel(() -> commit(event, committed));
+    }
+
+    private static void commit(UpstreamCallEvent event, AtomicBoolean committed) {
+        if (committed.compareAndSet(false, true)) {
+            event.end();
+            event.commit();
+        }
+    }
+}
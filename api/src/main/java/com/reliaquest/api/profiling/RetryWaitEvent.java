@@ -0,0 +1,29 @@
+package com.reliaquest.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The backoff between a failed attempt of a {@code @Retryable} integration method and its next attempt.
+ */
+@Name("com.reliaquest.api.RetryWait")
+@Label("Retry Wait")
+@Category({"Employee API", "Upstream"})
+@Description("Backoff before the next attempt of a retryable employee service call")
+@StackTrace(false)
+public class RetryWaitEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Attempt")
+    @Description("The failed attempt the wait follows, counting from 1")
+    int attempt;
+
+    @Label("Failure")
+    String failure;
+}
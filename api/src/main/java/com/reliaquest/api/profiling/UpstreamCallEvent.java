@@ -0,0 +1,38 @@
+package com.reliaquest.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One employee service call, from the moment it enters the WebClient filter chain until its response body has been
+ * read. Queueing for an upstream permit or a budget share is part of the duration.
+ */
+@Name("com.reliaquest.api.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Employee API", "Upstream"})
+@Description("Call to the employee service, including time spent waiting for a permit")
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Method")
+    String method;
+
+    @Label("URL")
+    String url;
+
+    @Label("Status")
+    @Description("HTTP status, or -1 if no response arrived")
+    int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long responseBytes;
+}
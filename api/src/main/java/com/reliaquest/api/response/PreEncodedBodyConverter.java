@@ -0,0 +1,71 @@
+package com.reliaquest.api.response;
+
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Writes the bytes {@link PreEncodedResponseCache#respond} stored for the current request in place of the handler's
+ * return value. Registered ahead of Jackson, it only takes part in requests that have such bytes, so every other
+ * response is serialised as usual.
+ */
+public class PreEncodedBodyConverter extends AbstractHttpMessageConverter<Object> {
+
+    /** Request attribute holding the {@link Body} to write */
+    public static final String ATTRIBUTE = PreEncodedBodyConverter.class.getName();
+
+    public PreEncodedBodyConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return current() != null && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Pre-encoded bodies are only written", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Object value, MediaType contentType) {
+        Body body = current();
+        return body != null ? (long) body.bytes().length : null;
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        Body body = current();
+        if (body.contentEncoding() != null) {
+            outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, body.contentEncoding());
+        }
+        outputMessage.getBody().write(body.bytes());
+    }
+
+    private static Body current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null ? (Body) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+
+    /**
+     * Encoded body of the current response, and its content coding, null for none.
+     */
+    public record Body(byte[] bytes, String contentEncoding) {}
+}
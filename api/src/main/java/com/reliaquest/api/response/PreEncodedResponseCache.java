@@ -0,0 +1,155 @@
+package com.reliaquest.api.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Keeps the encoded JSON of each roster endpoint's latest response, plus a gzip copy of bodies worth compressing, keyed
+ * by the roster version they were computed from. Only one version per endpoint and tenant is kept; a new version
+ * replaces it. Keeping them per tenant means tenants taking turns don't each re-encode the other's response.
+ *
+ * <p>Controllers answer through {@link #respond}, and {@link PreEncodedBodyConverter} writes the stored bytes in place
+ * of serialising the body again. The ETag is the roster version, so MVC answers a poller whose roster hasn't changed
+ * with a bodyless 304.
+ */
+public class PreEncodedResponseCache {
+
+    public static final String LOOKUPS = "employee.response-cache.lookups";
+
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+
+    private final ObjectMapper objectMapper;
+
+    private final int gzipMinSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, EncodedResponse> responses = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> lookups = new ConcurrentHashMap<>();
+
+    public PreEncodedResponseCache(
+            boolean enabled, ObjectMapper objectMapper, int gzipMinSize, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzipMinSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Answers 200 with {@code body}, computed from the roster with this version. Unless the cache is disabled, the
+     * body's stored encoding is written instead of serialising it again, gzipped if the client accepts it and a gzip
+     * copy is kept.
+     */
+    public <T> ResponseEntity<T> respond(String endpoint, String version, T body) {
+        if (!enabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return ResponseEntity.ok(body);
+        }
+        HttpServletRequest request = attributes.getRequest();
+
+        EncodedResponse encoded = get(endpoint, version, () -> body);
+        boolean gzip = encoded.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        request.setAttribute(
+                PreEncodedBodyConverter.ATTRIBUTE,
+                new PreEncodedBodyConverter.Body(gzip ? encoded.gzip() : encoded.json(), gzip ? GZIP : null));
+        return ResponseEntity.ok()
+                .eTag(gzip ? encoded.gzipEtag() : encoded.etag())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    /**
+     * Returns the current tenant's encoded response for this endpoint and roster version, encoding {@code body} on a
+     * miss. Concurrent misses for the same endpoint and tenant encode once.
+     */
+    public EncodedResponse get(String endpoint, String version, Supplier<Object> body) {
+        String responseKey = TenantContext.current() + " " + endpoint;
+        EncodedResponse cached = responses.get(responseKey);
+        if (cached != null && cached.version().equals(version)) {
+            count(endpoint, "hit");
+            return cached;
+        }
+        return responses.compute(responseKey, (key, current) -> {
+            if (current != null && current.version().equals(version)) {
+                count(endpoint, "hit");
+                return current;
+            }
+            count(endpoint, "miss");
+            return encode(version, body.get());
+        });
+    }
+
+    private EncodedResponse encode(String version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new EncodedResponse(version, json, json.length >= gzipMinSize ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode response", e);
+        }
+    }
+
+    private void count(String endpoint, String result) {
+        lookups.computeIfAbsent(endpoint + " " + result, ignored -> Counter.builder(LOOKUPS)
+                        .description("Pre-encoded response lookups; a miss serialises the response again")
+                        .tag("endpoint", endpoint)
+                        .tag("result", result)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encoded body of one response; {@code gzip} is null when the body is too small to be worth compressing.
+     */
+    public record EncodedResponse(String version, byte[] json, byte[] gzip) {
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+
+        public String gzipEtag() {
+            return "\"" + version + "-gzip\"";
+        }
+    }
+}
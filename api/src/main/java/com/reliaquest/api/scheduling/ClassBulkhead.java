@@ -0,0 +1,58 @@
+package com.reliaquest.api.scheduling;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one request class with a bounded, deadline-limited wait. Requests that can't be admitted in
+ * time are rejected rather than left to tie up request threads.
+ */
+class ClassBulkhead {
+
+    private final Semaphore slots;
+
+    private final int maxQueued;
+
+    private final long queueTimeoutNanos;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    ClassBulkhead(int maxConcurrent, int maxQueued, Duration queueTimeout) {
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.maxQueued = maxQueued;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    /**
+     * @return true if a slot was acquired; the caller must {@link #release()} it
+     */
+    boolean tryAcquire() throws InterruptedException {
+        // Zero-timeout tryAcquire honours fairness, so newcomers don't overtake queued requests
+        if (slots.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return slots.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    void release() {
+        slots.release();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    int available() {
+        return slots.availablePermits();
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.api.scheduling;
+
+/**
+ * Priority class of an inbound request. Each class gets its own concurrency limit and queue deadline, and a weight in
+ * the fair share of employee service calls.
+ */
+public enum RequestClass {
+    /** Latency-sensitive single lookups */
+    CRITICAL,
+    STANDARD,
+    /** Whole-roster scans and batch jobs */
+    BULK;
+
+    /** Request attribute holding the class of the current request */
+    public static final String ATTRIBUTE = RequestClass.class.getName();
+
+    /**
+     * @return the class with this name, ignoring case, or null if there is none
+     */
+    public static RequestClass parse(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        for (RequestClass requestClass : values()) {
+            if (requestClass.name().equalsIgnoreCase(name.trim())) {
+                return requestClass;
+            }
+        }
+        return null;
+    }
+}
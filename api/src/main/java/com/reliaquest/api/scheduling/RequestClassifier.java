@@ -0,0 +1,41 @@
+package com.reliaquest.api.scheduling;
+
+import com.reliaquest.api.config.SchedulingProperties;
+import com.reliaquest.api.config.SchedulingProperties.RouteRule;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Assigns a {@link RequestClass}: the class named in the configured header if there is one, else the first matching
+ * route rule, else the default class.
+ */
+@RequiredArgsConstructor
+public class RequestClassifier {
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final SchedulingProperties properties;
+
+    public RequestClass classify(HttpServletRequest request) {
+        String header = properties.getHeader();
+        if (header != null && !header.isBlank()) {
+            RequestClass requested = RequestClass.parse(request.getHeader(header));
+            if (requested != null) {
+                return requested;
+            }
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RouteRule route : properties.getRoutes()) {
+            if ((route.getMethod() == null
+                            || route.getMethod().isBlank()
+                            || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.getPattern(), path)) {
+                return route.getRequestClass();
+            }
+        }
+        return properties.getDefaultClass();
+    }
+}
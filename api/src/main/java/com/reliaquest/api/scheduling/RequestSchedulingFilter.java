@@ -0,0 +1,118 @@
+package com.reliaquest.api.scheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.SchedulingProperties;
+import com.reliaquest.api.config.SchedulingProperties.ClassSettings;
+import com.reliaquest.api.dto.APIError;
+import com.reliaquest.api.exception.RequestShedException;
+import com.reliaquest.api.limit.LocalRejection;
+import com.reliaquest.api.warmup.WarmUpRunner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Classifies each request and admits it through its class's bulkhead. A request that finds its class saturated waits
+ * at most the class's queue deadline and is then shed with 503 and Retry-After, so a burst of bulk work queues behind
+ * itself instead of behind critical lookups. Warm-up requests are classified but take no slot.
+ */
+public class RequestSchedulingFilter extends OncePerRequestFilter {
+
+    public static final String SHED = "employee.scheduling.shed";
+
+    private final RequestClassifier requestClassifier;
+
+    private final SchedulingProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RequestClass, ClassBulkhead> bulkheads = new EnumMap<>(RequestClass.class);
+
+    public RequestSchedulingFilter(
+            SchedulingProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.requestClassifier = new RequestClassifier(properties);
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        for (RequestClass requestClass : RequestClass.values()) {
+            ClassSettings settings = properties.settings(requestClass);
+            ClassBulkhead bulkhead =
+                    new ClassBulkhead(settings.getMaxConcurrent(), settings.getMaxQueued(), settings.getQueueTimeout());
+            bulkheads.put(requestClass, bulkhead);
+            Gauge.builder("employee.scheduling.queued", bulkhead, ClassBulkhead::queued)
+                    .description("Requests waiting for a slot in their class")
+                    .tag("class", tag(requestClass))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestClass requestClass = requestClassifier.classify(request);
+        request.setAttribute(RequestClass.ATTRIBUTE, requestClass);
+        if (WarmUpRunner.isWarmUp(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ClassBulkhead bulkhead = bulkheads.get(requestClass);
+        boolean admitted;
+        try {
+            admitted = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            shed(requestClass, request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void shed(RequestClass requestClass, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        count(meterRegistry, requestClass, "inbound");
+        LocalRejection.mark(request);
+        RequestShedException shed = new RequestShedException(
+                "Too many " + tag(requestClass) + " requests. Please try again later.",
+                properties.settings(requestClass).getQueueTimeout());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(shed.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new APIError(shed.getMessage()));
+    }
+
+    static void count(MeterRegistry meterRegistry, RequestClass requestClass, String stage) {
+        Counter.builder(SHED)
+                .description("Requests shed because their class's queue deadline passed")
+                .tag("class", tag(requestClass))
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static String tag(RequestClass requestClass) {
+        return requestClass.name().toLowerCase();
+    }
+}
@@ -0,0 +1,221 @@
+package com.reliaquest.api.scheduling;
+
+import com.reliaquest.api.config.SchedulingProperties;
+import com.reliaquest.api.exception.RequestShedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Shares a fixed number of concurrent employee service calls between request classes by weighted fair queueing. When
+ * calls are waiting, the next free permit goes to the waiter with the smallest virtual finish tag, where each class's
+ * tags advance by {@code 1 / weight} per call; under contention a class with weight 4 gets four permits for every one
+ * of a class with weight 1, and an idle class doesn't bank credit. A call that waits longer than its class's queue
+ * deadline fails with {@link RequestShedException}.
+ *
+ * <p>Waiting is asynchronous: the permit is a {@code Mono}, so a cancelled call (e.g. a losing hedge) gives its place
+ * or its permit back.
+ */
+public class UpstreamPermitScheduler implements ExchangeFilterFunction {
+
+    public static final String QUEUE_WAIT = "employee.scheduling.upstream.wait";
+
+    private final SchedulingProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RequestClass, ArrayDeque<Waiter>> waiters = new EnumMap<>(RequestClass.class);
+
+    private final Map<RequestClass, Double> lastFinishTags = new EnumMap<>(RequestClass.class);
+
+    private int available;
+
+    private double virtualTime;
+
+    public UpstreamPermitScheduler(SchedulingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.available = properties.getUpstreamPermits();
+        for (RequestClass requestClass : RequestClass.values()) {
+            waiters.put(requestClass, new ArrayDeque<>());
+            lastFinishTags.put(requestClass, 0.0);
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!properties.isEnabled()) {
+            return next.exchange(request);
+        }
+        RequestClass requestClass = currentClass();
+        return acquire(requestClass).flatMap(permit -> next.exchange(request).doFinally(ignored -> permit.release()));
+    }
+
+    /**
+     * @return a permit, granted in weighted fair order; it must be released once the call completes
+     */
+    public Mono<Permit> acquire(RequestClass requestClass) {
+        Duration queueTimeout = properties.settings(requestClass).getQueueTimeout();
+        return Mono.<Permit>create(sink -> enqueue(requestClass, sink))
+                .timeout(queueTimeout)
+                .onErrorMap(TimeoutException.class, e -> {
+                    RequestSchedulingFilter.count(meterRegistry, requestClass, "upstream");
+                    return new RequestShedException(
+                            "Employee service is busy with higher priority work. Please try again later.",
+                            queueTimeout);
+                });
+    }
+
+    private void enqueue(RequestClass requestClass, MonoSink<Permit> sink) {
+        Waiter waiter = new Waiter(requestClass, sink, System.nanoTime());
+        synchronized (this) {
+            double start = Math.max(virtualTime, lastFinishTags.get(requestClass));
+            waiter.finishTag = start + 1.0 / Math.max(1, properties.settings(requestClass).getWeight());
+            lastFinishTags.put(requestClass, waiter.finishTag);
+            waiters.get(requestClass).addLast(waiter);
+        }
+        sink.onCancel(waiter::cancel);
+        dispatch();
+    }
+
+    /*
+     * Hands free permits to waiters. Sinks are completed outside the lock, since completing one runs the caller's
+     * exchange.
+     */
+    private void dispatch() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                next = pollNext();
+                if (next == null) {
+                    return;
+                }
+                available--;
+                virtualTime = next.finishTag;
+            }
+            next.grant(new Permit());
+        }
+    }
+
+    private Waiter pollNext() {
+        if (available <= 0) {
+            return null;
+        }
+        Waiter best = null;
+        for (ArrayDeque<Waiter> queue : waiters.values()) {
+            while (!queue.isEmpty() && queue.peekFirst().isCancelled()) {
+                queue.pollFirst();
+            }
+            Waiter head = queue.peekFirst();
+            if (head != null && (best == null || head.finishTag < best.finishTag)) {
+                best = head;
+            }
+        }
+        if (best != null) {
+            waiters.get(best.requestClass).pollFirst();
+        }
+        return best;
+    }
+
+    private void release() {
+        synchronized (this) {
+            available++;
+        }
+        dispatch();
+    }
+
+    private RequestClass currentClass() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(RequestClass.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof RequestClass requestClass) {
+            return requestClass;
+        }
+        return properties.getBackgroundClass();
+    }
+
+    /**
+     * One upstream call's share of the concurrency limit. Releasing is idempotent.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {}
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                UpstreamPermitScheduler.this.release();
+            }
+        }
+    }
+
+    private final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final RequestClass requestClass;
+
+        private final MonoSink<Permit> sink;
+
+        private final long enqueuedNanos;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private double finishTag;
+
+        private volatile Permit permit;
+
+        Waiter(RequestClass requestClass, MonoSink<Permit> sink, long enqueuedNanos) {
+            this.requestClass = requestClass;
+            this.sink = sink;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        void grant(Permit granted) {
+            permit = granted;
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                // Cancelled after it was picked
+                granted.release();
+                return;
+            }
+            Timer.builder(QUEUE_WAIT)
+                    .description("Time spent waiting for an employee service permit")
+                    .tag("class", RequestSchedulingFilter.tag(requestClass))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - enqueuedNanos, TimeUnit.NANOSECONDS);
+            sink.success(granted);
+        }
+
+        void cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                // Granted: the exchange may never have been subscribed, so give the permit back here as well
+                Permit granted = permit;
+                if (granted != null) {
+                    granted.release();
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.RosterCache.Roster;
 import com.reliaquest.api.dto.CreateEmployeeRequestDto;
 import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.dto.MultiGetEmployeeResponseDto;
+import com.reliaquest.api.writebehind.WriteOperation;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Business logic for Employee related APIs
@@ -18,6 +22,13 @@ public interface IEmployeeService {
      */
     List<EmployeeDto> getAllEmployees();
 
+    /**
+     * Method to get the current roster snapshot
+     *
+     * @return {@link Roster} with the content version it can be cached against
+     */
+    Roster getRoster();
+
     /**
      * Method to get specific employee details
      *
@@ -26,6 +37,14 @@ public interface IEmployeeService {
      */
     EmployeeDto getEmployeeById(String id);
 
+    /**
+     * Method to get several employees by id at once
+     *
+     * @param ids UUIDs of the employees; duplicates are looked up once
+     * @return {@link MultiGetEmployeeResponseDto} with the found, unknown and failed ids
+     */
+    MultiGetEmployeeResponseDto getEmployeesByIds(List<String> ids);
+
     /**
      * Method to delete employee by id
      *
@@ -42,6 +61,23 @@ public interface IEmployeeService {
      */
     EmployeeDto createEmployee(CreateEmployeeRequestDto createEmployeeRequestDto);
 
+    /**
+     * Method to queue the creation of an employee without waiting for the employee service
+     *
+     * @param createEmployeeRequestDto
+     * @param idempotencyKey optional client key; a repeated key returns the original operation
+     * @return {@link WriteOperation} to poll for the outcome
+     */
+    WriteOperation createEmployeeAsync(CreateEmployeeRequestDto createEmployeeRequestDto, String idempotencyKey);
+
+    /**
+     * Method to get the state of a queued employee creation
+     *
+     * @param operationId id returned by {@link #createEmployeeAsync}
+     * @return {@link WriteOperation}, empty if unknown or expired
+     */
+    Optional<WriteOperation> getWriteOperation(String operationId);
+
     /**
      * Method to search employees containing given name
      *
@@ -57,10 +93,26 @@ public interface IEmployeeService {
      */
     int getHighestSalaryOfEmployees();
 
+    /**
+     * Method to get the highest salary in a given roster snapshot
+     *
+     * @param roster from {@link #getRoster()}
+     * @return Integer salary
+     */
+    int getHighestSalaryOfEmployees(Roster roster);
+
     /**
      * Method to get the top 10 salaried employees
      *
      * @return List of Employee Names
      */
     List<String> getTopTenHighestEarningEmployeeNames();
+
+    /**
+     * Method to get the top 10 salaried employees of a given roster snapshot
+     *
+     * @param roster from {@link #getRoster()}
+     * @return List of Employee Names
+     */
+    List<String> getTopTenHighestEarningEmployeeNames(Roster roster);
 }
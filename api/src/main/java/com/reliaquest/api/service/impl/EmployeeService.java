@@ -1,33 +1,73 @@
 package com.reliaquest.api.service.impl;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterCache.Roster;
+import com.reliaquest.api.cluster.Invalidation;
+import com.reliaquest.api.cluster.PeerInvalidation;
 import com.reliaquest.api.dto.CreateEmployeeRequestDto;
 import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.dto.MultiGetEmployeeResponseDto;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.external.EmployeeServiceIntegration;
 import com.reliaquest.api.external.dto.CreateEmployeeResponseDto;
 import com.reliaquest.api.external.dto.DeleteEmployeeResponseDto;
-import com.reliaquest.api.external.dto.GetAllEmployeesResponseDto;
-import com.reliaquest.api.external.dto.GetEmployeeResponseDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsResponseDto;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.tenant.TenantContext;
 import com.reliaquest.api.validator.EmployeeValidator;
+import com.reliaquest.api.writebehind.WriteBehindQueue;
+import com.reliaquest.api.writebehind.WriteOperation;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.annotation.Observed;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Observed(name = "employee.service")
 public class EmployeeService implements IEmployeeService {
 
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
     private final EmployeeServiceIntegration employeeServiceIntegration;
 
     private final EmployeeValidator employeeValidator;
 
+    private final EmployeeCache employeeCache;
+
+    private final RosterCache rosterCache;
+
+    private final WriteBehindQueue writeBehindQueue;
+
+    private final PeerInvalidation peerInvalidation;
+
+    @Value("${employee.mget.max-ids:100}")
+    private int multiGetMaxIds;
+
+    @Value("${employee.mget.fallback-concurrency:4}")
+    private int multiGetFallbackConcurrency;
+
     /**
      * Method to get the list of Employees
      *
@@ -35,12 +75,23 @@ public class EmployeeService implements IEmployeeService {
      */
     @Override
     public List<EmployeeDto> getAllEmployees() {
-        GetAllEmployeesResponseDto getAllEmployeesResponseDto = employeeServiceIntegration.getAllEmployees();
-        return getAllEmployeesResponseDto.getData();
+        return getRoster().employees();
     }
 
     /**
-     * Method to get specific employee details
+     * Method to get the current roster snapshot. Served from {@link RosterCache}, so the list, search and salary
+     * endpoints share one upstream call per TTL.
+     *
+     * @return {@link Roster}
+     */
+    @Override
+    public Roster getRoster() {
+        return rosterCache.get(() -> employeeServiceIntegration.getAllEmployees().getData());
+    }
+
+    /**
+     * Method to get specific employee details. Served from {@link EmployeeCache}; ids the upstream reported as missing
+     * are remembered for a short while.
      *
      * @param id UUID of the employee
      * @return {@link EmployeeDto}
@@ -49,8 +100,57 @@ public class EmployeeService implements IEmployeeService {
     public EmployeeDto getEmployeeById(String id) {
         UUID uuid = getUUID(id);
 
-        GetEmployeeResponseDto getEmployeeResponseDto = employeeServiceIntegration.getEmployeeById(uuid);
-        return getEmployeeResponseDto.getData();
+        return employeeCache.get(uuid, key -> employeeServiceIntegration.getEmployeeById(key).getData());
+    }
+
+    /**
+     * Method to get several employees by id at once. Ids are deduplicated and served from {@link EmployeeCache} where
+     * possible; the rest are fetched with one multi-get call, or, if the employee service doesn't support it, with
+     * single lookups at most {@code employee.mget.fallback-concurrency} at a time.
+     *
+     * @param ids UUIDs of the employees
+     * @return {@link MultiGetEmployeeResponseDto}
+     */
+    @Override
+    public MultiGetEmployeeResponseDto getEmployeesByIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Employee ids cannot be empty");
+        }
+
+        Set<UUID> uuids = new LinkedHashSet<>();
+        ids.forEach(id -> uuids.add(getUUID(id)));
+        if (uuids.size() > multiGetMaxIds) {
+            throw new IllegalArgumentException(
+                    "At most " + multiGetMaxIds + " distinct employee ids can be requested at once");
+        }
+
+        Map<UUID, Lookup> lookups = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            EmployeeCache.CachedEmployee cached = employeeCache.getIfPresent(uuid);
+            if (cached == null) {
+                misses.add(uuid);
+            } else {
+                lookups.put(uuid, new Lookup(uuid, cached.employee(), null));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            fetchAll(misses).forEach(lookup -> lookups.put(lookup.id(), lookup));
+        }
+
+        MultiGetEmployeeResponseDto response = new MultiGetEmployeeResponseDto();
+        for (UUID uuid : uuids) {
+            Lookup lookup = lookups.get(uuid);
+            if (lookup.error() != null) {
+                response.getFailed().put(uuid.toString(), lookup.error());
+            } else if (lookup.employee() == null) {
+                response.getNotFound().add(uuid.toString());
+            } else {
+                response.getEmployees().add(lookup.employee());
+            }
+        }
+        return response;
     }
 
     /**
@@ -64,6 +164,10 @@ public class EmployeeService implements IEmployeeService {
         EmployeeDto employeeDto = getEmployeeById(id);
         DeleteEmployeeResponseDto deleteEmployeeResponseDto =
                 employeeServiceIntegration.deleteEmployeeByName(employeeDto.getEmployeeName());
+        employeeCache.invalidate(getUUID(id));
+        employeeCache.invalidateByName(employeeDto.getEmployeeName());
+        rosterCache.invalidate();
+        peerInvalidation.publish(Invalidation.employee(getUUID(id), employeeDto.getEmployeeName()));
 
         if (!deleteEmployeeResponseDto.getData()) {
             throw new EmployeeNotFoundException("Employee with id: " + id + " not found");
@@ -84,10 +188,39 @@ public class EmployeeService implements IEmployeeService {
 
         CreateEmployeeResponseDto createEmployeeResponseDto =
                 employeeServiceIntegration.createEmployee(createEmployeeRequestDto);
+        employeeCache.put(createEmployeeResponseDto.getData());
+        rosterCache.invalidate();
+        peerInvalidation.publish(Invalidation.roster());
 
         return createEmployeeResponseDto.getData();
     }
 
+    /**
+     * Method to queue the creation of an employee. The request is validated before it is queued.
+     *
+     * @param createEmployeeRequestDto
+     * @param idempotencyKey optional client key
+     * @return {@link WriteOperation}
+     */
+    @Override
+    public WriteOperation createEmployeeAsync(
+            CreateEmployeeRequestDto createEmployeeRequestDto, String idempotencyKey) {
+        employeeValidator.validateEmployeeData(createEmployeeRequestDto);
+
+        return writeBehindQueue.submit(createEmployeeRequestDto, idempotencyKey);
+    }
+
+    /**
+     * Method to get the state of a queued employee creation
+     *
+     * @param operationId id of the operation
+     * @return {@link WriteOperation}
+     */
+    @Override
+    public Optional<WriteOperation> getWriteOperation(String operationId) {
+        return writeBehindQueue.getOperation(operationId);
+    }
+
     /**
      * Method to search employees containing given name
      *
@@ -115,7 +248,18 @@ public class EmployeeService implements IEmployeeService {
      */
     @Override
     public int getHighestSalaryOfEmployees() {
-        List<EmployeeDto> employeeDtoList = getAllEmployees();
+        return getHighestSalaryOfEmployees(getRoster());
+    }
+
+    /**
+     * Method to get the highest salary in a given roster snapshot
+     *
+     * @param roster {@link Roster}
+     * @return Integer salary
+     */
+    @Override
+    public int getHighestSalaryOfEmployees(Roster roster) {
+        List<EmployeeDto> employeeDtoList = roster.employees();
 
         OptionalInt maxSalary = employeeDtoList.stream()
                 .mapToInt(EmployeeDto::getEmployeeSalary)
@@ -132,7 +276,19 @@ public class EmployeeService implements IEmployeeService {
      */
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        List<EmployeeDto> employeeDtoList = getAllEmployees();
+        return getTopTenHighestEarningEmployeeNames(getRoster());
+    }
+
+    /**
+     * Method to get the top 10 salaried employees of a given roster snapshot
+     *
+     * @param roster {@link Roster}
+     * @return List of Employee Names
+     */
+    @Override
+    public List<String> getTopTenHighestEarningEmployeeNames(Roster roster) {
+        // The snapshot is shared and immutable
+        List<EmployeeDto> employeeDtoList = new ArrayList<>(roster.employees());
 
         employeeDtoList.sort(Comparator.comparingInt(EmployeeDto::getEmployeeSalary));
         Collections.reverse(employeeDtoList);
@@ -143,6 +299,78 @@ public class EmployeeService implements IEmployeeService {
                 .toList();
     }
 
+    private List<Lookup> fetchAll(List<UUID> uuids) {
+        long stamp = employeeCache.stamp();
+        Optional<GetEmployeesByIdsResponseDto> batch;
+        try {
+            batch = employeeServiceIntegration.getEmployeesByIds(uuids);
+        } catch (RuntimeException e) {
+            return uuids.stream().map(uuid -> new Lookup(uuid, null, e.getMessage())).toList();
+        }
+
+        if (batch.isEmpty()) {
+            return fetchEach(uuids);
+        }
+
+        Map<UUID, EmployeeDto> found = new HashMap<>();
+        List<EmployeeDto> data = batch.get().getData();
+        if (data != null) {
+            data.forEach(employee -> found.put(employee.getId(), employee));
+        }
+        List<Lookup> lookups = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            EmployeeDto employee = found.get(uuid);
+            // A write during the batch call wins over what the call read before it
+            employeeCache.putIfUnchanged(uuid, employee, stamp);
+            lookups.add(new Lookup(uuid, employee, null));
+        }
+        return lookups;
+    }
+
+    /*
+     * Fallback for an employee service without multi-get. The lookups run on worker threads, carrying over the trace
+     * context, the inbound request's attributes and the tenant, which is not always a request attribute.
+     */
+    private List<Lookup> fetchEach(List<UUID> uuids) {
+        ContextSnapshot contextSnapshot = CONTEXT_SNAPSHOTS.captureAll();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        String tenant = TenantContext.current();
+
+        return Flux.fromIterable(uuids)
+                .flatMap(
+                        uuid -> Mono.fromCallable(contextSnapshot.wrap(() -> fetchOne(uuid, requestAttributes, tenant)))
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        Math.max(1, multiGetFallbackConcurrency))
+                .collectList()
+                .block();
+    }
+
+    private Lookup fetchOne(UUID uuid, RequestAttributes requestAttributes, String tenant) {
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            return TenantContext.callAs(tenant, () -> fetchOne(uuid));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private Lookup fetchOne(UUID uuid) {
+        try {
+            EmployeeDto employee =
+                    employeeCache.get(uuid, key -> employeeServiceIntegration.getEmployeeById(key).getData());
+            return new Lookup(uuid, employee, null);
+        } catch (EmployeeNotFoundException e) {
+            return new Lookup(uuid, null, null);
+        } catch (RuntimeException e) {
+            return new Lookup(uuid, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome for one id of a bulk lookup; found, not found (no employee, no error) or failed.
+     */
+    private record Lookup(UUID id, EmployeeDto employee, String error) {}
+
     private UUID getUUID(String id) {
         try {
             return UUID.fromString(id);
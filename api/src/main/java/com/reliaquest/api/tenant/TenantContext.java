@@ -0,0 +1,62 @@
+package com.reliaquest.api.tenant;
+
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * The tenant whose roster the current work reads and writes. {@link TenantFilter} sets it as a request attribute, so it
+ * follows the request wherever its attributes are carried over; work running outside a request binds it with
+ * {@link #callAs}. Anything without a tenant belongs to {@link #DEFAULT}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT = "default";
+
+    /** Request attribute holding the current request's tenant */
+    public static final String ATTRIBUTE = TenantContext.class.getName();
+
+    private static final ThreadLocal<String> BOUND_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {}
+
+    /**
+     * @return the tenant bound with {@link #callAs}, else the current request's, else {@link #DEFAULT}
+     */
+    public static String current() {
+        String tenant = BOUND_TENANT.get();
+        if (tenant != null) {
+            return tenant;
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof String bound) {
+            return bound;
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * Runs work on behalf of a tenant; null means {@link #DEFAULT}.
+     */
+    public static <T> T callAs(String tenant, Supplier<T> call) {
+        String previous = BOUND_TENANT.get();
+        BOUND_TENANT.set(tenant != null ? tenant : DEFAULT);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                BOUND_TENANT.set(previous);
+            } else {
+                BOUND_TENANT.remove();
+            }
+        }
+    }
+
+    public static void runAs(String tenant, Runnable action) {
+        callAs(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.tenant;
+
+import com.reliaquest.api.config.TenancyProperties;
+import com.reliaquest.api.limit.LocalRejection;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends every employee service call on behalf of the current tenant: the tenant header selects its roster upstream,
+ * and the call counts against the tenant's upstream budget. A call over the budget is not sent. Like the cluster-wide
+ * budget, it is answered locally with a 429 and an {@link #HEADER} header, so the integration's usual rate-limit
+ * handling applies. The default tenant's calls go out without the header.
+ *
+ * <p>The tenant comes from the Reactor context when present, for calls subscribed off the request thread such as
+ * hedges, and from {@link TenantContext#current()} otherwise.
+ */
+public class TenantExchangeFilter implements ExchangeFilterFunction {
+
+    public static final String HEADER = "X-Tenant-Budget";
+
+    private final TenancyProperties properties;
+
+    private final TenantRegistry tenantRegistry;
+
+    private final TenantQuota upstreamQuota;
+
+    public TenantExchangeFilter(
+            TenancyProperties properties, TenantRegistry tenantRegistry, TenantQuota upstreamQuota) {
+        this.properties = properties;
+        this.tenantRegistry = tenantRegistry;
+        this.upstreamQuota = upstreamQuota;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            String tenant = context.<String>getOrEmpty(TenantContext.class).orElseGet(TenantContext::current);
+            if (upstreamQuota.tryAcquire(tenant, properties.upstreamLimit(tenant)) > 0) {
+                tenantRegistry.countUpstreamCall(tenant, "rejected");
+                LocalRejection.markCurrentRequest();
+                return Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HEADER, "exhausted")
+                        .build());
+            }
+            tenantRegistry.countUpstreamCall(tenant, "sent");
+            if (TenantContext.DEFAULT.equals(tenant)) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request)
+                    .header(properties.getHeader(), tenant)
+                    .build());
+        });
+    }
+}
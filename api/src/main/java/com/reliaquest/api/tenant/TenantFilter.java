@@ -0,0 +1,93 @@
+package com.reliaquest.api.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.TenancyProperties;
+import com.reliaquest.api.dto.APIError;
+import com.reliaquest.api.warmup.WarmUpRunner;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Assigns each request to the tenant named in the configured header, or to the default tenant, and admits it through
+ * that tenant's inbound quota. A tenant over its quota gets 429 with Retry-After, so its burst is turned away before it
+ * takes a concurrency or scheduling slot from anyone else. Malformed tenant ids and tenants that aren't configured get
+ * 400. Warm-up requests skip the quota and the per-tenant request metrics.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,63}");
+
+    private final TenancyProperties properties;
+
+    private final TenantRegistry tenantRegistry;
+
+    private final TenantQuota inboundQuota;
+
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(
+            TenancyProperties properties,
+            TenantRegistry tenantRegistry,
+            TenantQuota inboundQuota,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.tenantRegistry = tenantRegistry;
+        this.inboundQuota = inboundQuota;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(properties.getHeader());
+        String tenant = header == null || header.isBlank() ? TenantContext.DEFAULT : header.trim();
+        if (!TENANT_ID.matcher(tenant).matches()) {
+            reject(response, HttpStatus.BAD_REQUEST, "Invalid " + properties.getHeader() + " header.");
+            return;
+        }
+        if (!tenantRegistry.admit(tenant)) {
+            reject(response, HttpStatus.BAD_REQUEST, "Unknown tenant " + tenant + ".");
+            return;
+        }
+
+        if (WarmUpRunner.isWarmUp(request)) {
+            request.setAttribute(TenantContext.ATTRIBUTE, tenant);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long retryAfterNanos = inboundQuota.tryAcquire(tenant, properties.inboundLimit(tenant));
+        if (retryAfterNanos > 0) {
+            long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Tenant " + tenant + " is over its request quota.");
+            tenantRegistry.recordRequest(tenant, "rejected", System.nanoTime() - start);
+            return;
+        }
+
+        request.setAttribute(TenantContext.ATTRIBUTE, tenant);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tenantRegistry.recordRequest(
+                    tenant, Outcome.forStatus(response.getStatus()).name().toLowerCase(), System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new APIError(message));
+    }
+}
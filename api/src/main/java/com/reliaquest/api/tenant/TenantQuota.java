@@ -0,0 +1,47 @@
+package com.reliaquest.api.tenant;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A sliding-window limit kept separately for each tenant: at most {@code limit} grants to a tenant within any window.
+ * Each tenant's log is locked on its own, so a tenant hammering its quota doesn't slow down anyone else's checks.
+ */
+public class TenantQuota {
+
+    private final long windowNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, ArrayDeque<Long>> grants = new ConcurrentHashMap<>();
+
+    public TenantQuota(Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param limit grants per window; zero or less for no limit
+     * @return zero if granted, else the nanoseconds until the tenant's oldest grant leaves the window
+     */
+    public long tryAcquire(String tenant, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        ArrayDeque<Long> tenantGrants = grants.computeIfAbsent(tenant, ignored -> new ArrayDeque<>());
+        synchronized (tenantGrants) {
+            long now = nanoClock.getAsLong();
+            while (!tenantGrants.isEmpty() && now - tenantGrants.peekFirst() >= windowNanos) {
+                tenantGrants.pollFirst();
+            }
+            if (tenantGrants.size() >= limit) {
+                return Math.max(1, tenantGrants.peekFirst() + windowNanos - now);
+            }
+            tenantGrants.addLast(now);
+            return 0;
+        }
+    }
+}
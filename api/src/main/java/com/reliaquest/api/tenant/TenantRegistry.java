@@ -0,0 +1,113 @@
+package com.reliaquest.api.tenant;
+
+import com.reliaquest.api.cache.CacheUsage;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The tenants this replica serves, fixed by configuration, and their meters. Every meter is tagged with the tenant, so
+ * a noisy neighbour shows up as one tenant's requests, rejections, employee service calls or cache footprint growing
+ * while the others' latency suffers:
+ * <ul>
+ *   <li>{@value #REQUESTS}: latency of each tenant's requests, by outcome</li>
+ *   <li>{@value #UPSTREAM_CALLS}: each tenant's employee service calls, sent or rejected by its budget</li>
+ *   <li>{@value #CACHE_ENTRIES} and {@value #CACHE_BYTES}: what each tenant holds in the employee and roster caches,
+ *       the bytes being an estimate. One scrape counts every tenant in one pass over each cache, and all four gauges
+ *       of every tenant read that count for {@value #USAGE_TTL_MILLIS} ms.</li>
+ * </ul>
+ */
+public class TenantRegistry {
+
+    public static final String REQUESTS = "employee.tenant.requests";
+    public static final String UPSTREAM_CALLS = "employee.tenant.upstream.calls";
+    public static final String CACHE_ENTRIES = "employee.tenant.cache.entries";
+    public static final String CACHE_BYTES = "employee.tenant.cache.bytes";
+
+    static final long USAGE_TTL_MILLIS = 1000;
+
+    private final Set<String> tenants;
+
+    private final EmployeeCache employeeCache;
+
+    private final RosterCache rosterCache;
+
+    private final MeterRegistry meterRegistry;
+
+    private Usage usage;
+
+    public TenantRegistry(
+            Set<String> tenants, EmployeeCache employeeCache, RosterCache rosterCache, MeterRegistry meterRegistry) {
+        this.tenants = Set.copyOf(tenants);
+        this.employeeCache = employeeCache;
+        this.rosterCache = rosterCache;
+        this.meterRegistry = meterRegistry;
+        for (String tenant : this.tenants) {
+            registerGauges(tenant, EmployeeCache.NAME, Usage::employees);
+            registerGauges(tenant, RosterCache.NAME, Usage::rosters);
+        }
+    }
+
+    /**
+     * @return whether the tenant is one of the configured ones
+     */
+    public boolean admit(String tenant) {
+        return tenants.contains(tenant);
+    }
+
+    public void recordRequest(String tenant, String outcome, long durationNanos) {
+        Timer.builder(REQUESTS)
+                .description("Requests by tenant and outcome")
+                .tag("tenant", tenant)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countUpstreamCall(String tenant, String outcome) {
+        Counter.builder(UPSTREAM_CALLS)
+                .description("Employee service calls by tenant; rejected ones exceeded the tenant's upstream budget")
+                .tag("tenant", tenant)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void registerGauges(String tenant, String cache, Function<Usage, Map<String, CacheUsage>> byTenant) {
+        Gauge.builder(CACHE_ENTRIES, () -> usage(tenant, byTenant).entries())
+                .description("Cache entries held for the tenant")
+                .tag("tenant", tenant)
+                .tag("cache", cache)
+                .register(meterRegistry);
+        Gauge.builder(CACHE_BYTES, () -> usage(tenant, byTenant).estimatedBytes())
+                .description("Estimated heap held by the tenant's cache entries")
+                .baseUnit("bytes")
+                .tag("tenant", tenant)
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+
+    private CacheUsage usage(String tenant, Function<Usage, Map<String, CacheUsage>> byTenant) {
+        return byTenant.apply(usage()).getOrDefault(tenant, CacheUsage.NONE);
+    }
+
+    private synchronized Usage usage() {
+        long now = System.nanoTime();
+        if (usage == null || now - usage.takenAtNanos() > TimeUnit.MILLISECONDS.toNanos(USAGE_TTL_MILLIS)) {
+            usage = new Usage(now, employeeCache.usageByTenant(), rosterCache.usageByTenant());
+        }
+        return usage;
+    }
+
+    /**
+     * Every tenant's usage of both caches, counted at {@code takenAtNanos}.
+     */
+    private record Usage(long takenAtNanos, Map<String, CacheUsage> employees, Map<String, CacheUsage> rosters) {}
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.tracing;
+
+import com.reliaquest.api.metrics.RetryMetricsListener;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.listener.RetryListenerSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens one {@code employee.upstream.call} observation around each {@code @Retryable} integration call. The WebClient
+ * client span of every attempt becomes its child, so retries and the backoff gaps between them show up under a single
+ * parent span.
+ */
+@Component
+@RequiredArgsConstructor
+public class TracingRetryListener extends RetryListenerSupport {
+
+    private static final String OBSERVATION = TracingRetryListener.class.getName() + ".observation";
+    private static final String SCOPE = TracingRetryListener.class.getName() + ".scope";
+
+    private final ObservationRegistry observationRegistry;
+
+    @Override
+    public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+        String method = RetryMetricsListener.methodName(context);
+        Observation observation = Observation.createNotStarted("employee.upstream.call", observationRegistry)
+                .contextualName("employee-service " + method)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        context.setAttribute(OBSERVATION, observation);
+        context.setAttribute(SCOPE, observation.openScope());
+        return true;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (context.getAttribute(OBSERVATION) instanceof Observation observation) {
+            observation.event(Observation.Event.of(
+                    "retry.attempt.failed", "attempt " + context.getRetryCount() + " failed: " + throwable));
+        }
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (context.getAttribute(SCOPE) instanceof Observation.Scope scope) {
+            scope.close();
+        }
+        if (context.getAttribute(OBSERVATION) instanceof Observation observation) {
+            observation.highCardinalityKeyValue("retry.count", Integer.toString(context.getRetryCount()));
+            if (throwable != null) {
+                observation.error(throwable);
+            }
+            observation.stop();
+        }
+    }
+}
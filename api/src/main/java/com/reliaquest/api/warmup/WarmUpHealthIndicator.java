@@ -0,0 +1,32 @@
+package com.reliaquest.api.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service while the warm-up runs, up afterwards whatever its outcome, with the report as details. Part of the
+ * readiness group.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final WarmUpRunner warmUpRunner;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        WarmUpReport report = warmUpRunner.getReport();
+        (report.status() == WarmUpReport.Status.PENDING ? builder.outOfService() : builder.up())
+                .withDetail("status", report.status())
+                .withDetail("durationMs", report.duration().toMillis())
+                .withDetail("rosterSize", report.rosterSize())
+                .withDetail("employeesPrimed", report.employeesPrimed())
+                .withDetail("connectionsOpened", report.connectionsOpened())
+                .withDetail("syntheticRequests", report.syntheticRequests());
+        if (report.error() != null) {
+            builder.withDetail("error", report.error());
+        }
+    }
+}
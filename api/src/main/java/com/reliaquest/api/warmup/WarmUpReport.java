@@ -0,0 +1,33 @@
+package com.reliaquest.api.warmup;
+
+import java.time.Duration;
+
+/**
+ * What the startup warm-up did.
+ *
+ * @param employeesPrimed employees put in the per-id cache from the roster
+ * @param connectionsOpened concurrent upstream lookups that succeeded, each on its own pooled connection
+ * @param syntheticRequests requests sent to this application's own endpoints
+ * @param error why the warm-up stopped early, or null
+ */
+public record WarmUpReport(
+        Status status,
+        Duration duration,
+        int rosterSize,
+        int employeesPrimed,
+        int connectionsOpened,
+        int syntheticRequests,
+        String error) {
+
+    static final WarmUpReport PENDING = new WarmUpReport(Status.PENDING, Duration.ZERO, 0, 0, 0, 0, null);
+
+    static final WarmUpReport DISABLED = new WarmUpReport(Status.DISABLED, Duration.ZERO, 0, 0, 0, 0, null);
+
+    public enum Status {
+        PENDING,
+        DISABLED,
+        COMPLETED,
+        FAILED,
+        TIMED_OUT
+    }
+}
@@ -0,0 +1,263 @@
+package com.reliaquest.api.warmup;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache.Roster;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.external.EmployeeServiceIntegration;
+import com.reliaquest.api.service.IEmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Warms the application up before it reports ready. Spring Boot only switches readiness to accepting traffic once
+ * every runner has returned, so the rollout waits for this. In order:
+ * <ol>
+ *   <li>fetches the roster, which also builds the retry proxy, the WebClient filters and the Jackson deserializers</li>
+ *   <li>fills the per-id cache from that roster, at no extra upstream cost</li>
+ *   <li>looks up a few employees concurrently, so the connection pool holds that many open connections</li>
+ *   <li>sends synthetic requests to this application's own endpoints so the hot paths get JIT-compiled and the
+ *   pre-encoded responses exist</li>
+ * </ol>
+ * The first three steps make at most {@code max-upstream-calls} calls. The synthetic requests are all served from the
+ * caches, and stop at half the roster TTL so that they never refetch the roster. Failures and the overall
+ * {@code timeout} end the warm-up early but never fail startup.
+ */
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    public static final String DURATION = "employee.warm-up.duration";
+
+    /** Marks synthetic requests, see {@link #isWarmUp} */
+    public static final String HEADER = "X-Warm-Up";
+
+    /*
+     * The value synthetic requests carry in the header, drawn afresh by every process and never logged or sent
+     * anywhere but to this process itself.
+     */
+    private static final byte[] SECRET = secret();
+
+    private final boolean enabled;
+    private final Duration timeout;
+    private final int maxUpstreamCalls;
+    private final int connections;
+    private final int syntheticRounds;
+    private final Duration rosterTtl;
+
+    private final IEmployeeService employeeService;
+    private final EmployeeServiceIntegration employeeServiceIntegration;
+    private final EmployeeCache employeeCache;
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger rosterSize = new AtomicInteger();
+    private final AtomicInteger employeesPrimed = new AtomicInteger();
+    private final AtomicInteger connectionsOpened = new AtomicInteger();
+    private final AtomicInteger syntheticRequests = new AtomicInteger();
+
+    private volatile WarmUpReport report = WarmUpReport.PENDING;
+
+    public WarmUpRunner(
+            @Value("${employee.warm-up.enabled:true}") boolean enabled,
+            @Value("${employee.warm-up.timeout:30s}") Duration timeout,
+            @Value("${employee.warm-up.max-upstream-calls:3}") int maxUpstreamCalls,
+            @Value("${employee.warm-up.connections:2}") int connections,
+            @Value("${employee.warm-up.synthetic-rounds:500}") int syntheticRounds,
+            @Value("${employee.roster-cache.ttl:5s}") Duration rosterTtl,
+            IEmployeeService employeeService,
+            EmployeeServiceIntegration employeeServiceIntegration,
+            EmployeeCache employeeCache,
+            ApplicationContext applicationContext,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.maxUpstreamCalls = maxUpstreamCalls;
+        this.connections = connections;
+        this.syntheticRounds = syntheticRounds;
+        this.rosterTtl = rosterTtl;
+        this.employeeService = employeeService;
+        this.employeeServiceIntegration = employeeServiceIntegration;
+        this.employeeCache = employeeCache;
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public WarmUpReport getReport() {
+        return report;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || maxUpstreamCalls < 1) {
+            report = WarmUpReport.DISABLED;
+            return;
+        }
+
+        long start = System.nanoTime();
+        WarmUpReport.Status status = WarmUpReport.Status.COMPLETED;
+        String error = null;
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "warm-up"));
+        try {
+            Future<?> warmUp = executor.submit(this::warmUp);
+            warmUp.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            status = WarmUpReport.Status.TIMED_OUT;
+            error = "Did not finish within " + timeout;
+        } catch (ExecutionException e) {
+            status = WarmUpReport.Status.FAILED;
+            error = e.getCause().toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = WarmUpReport.Status.FAILED;
+            error = e.toString();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long durationNanos = System.nanoTime() - start;
+        report = new WarmUpReport(
+                status,
+                Duration.ofNanos(durationNanos),
+                rosterSize.get(),
+                employeesPrimed.get(),
+                connectionsOpened.get(),
+                syntheticRequests.get(),
+                error);
+        Timer.builder(DURATION)
+                .description("Time from the start of the warm-up until the application reported ready")
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(durationNanos));
+        log.info("Warm-up {}: {}", status, report);
+    }
+
+    private void warmUp() {
+        Roster roster = employeeService.getRoster();
+        long rosterPrimedAt = System.nanoTime();
+        rosterSize.set(roster.employees().size());
+
+        roster.employees().forEach(employee -> {
+            employeeCache.put(employee);
+            employeesPrimed.incrementAndGet();
+        });
+
+        openConnections(roster.employees());
+
+        sendSyntheticRequests(roster.employees(), rosterPrimedAt + rosterTtl.toNanos() / 2);
+    }
+
+    /*
+     * Concurrent calls can't share a connection, so each one opens (and returns to the pool) a connection of its own.
+     * With several upstream instances they are spread over the instances like any other read.
+     */
+    private void openConnections(List<EmployeeDto> employees) {
+        int lookups = Math.min(Math.min(connections, maxUpstreamCalls - 1), employees.size());
+        Flux.fromIterable(employees.subList(0, Math.max(0, lookups)))
+                .flatMap(this::lookUp)
+                .then()
+                .block();
+    }
+
+    private Mono<?> lookUp(EmployeeDto employee) {
+        return Mono.fromCallable(() -> employeeServiceIntegration.getEmployeeById(employee.getId()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(ignored -> connectionsOpened.incrementAndGet())
+                .onErrorResume(e -> {
+                    log.debug("Warm-up lookup of {} failed", employee.getId(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private void sendSyntheticRequests(List<EmployeeDto> employees, long deadlineNanos) {
+        if (employees.isEmpty() || !(applicationContext instanceof WebServerApplicationContext webContext)) {
+            return;
+        }
+        int port = webContext.getWebServer().getPort();
+        if (port <= 0) {
+            return;
+        }
+
+        String base = "http://localhost:" + port + "/api/v1/employee";
+        EmployeeDto sample = employees.get(0);
+        String name = sample.getEmployeeName() == null ? "a" : sample.getEmployeeName();
+        String search = URLEncoder.encode(name.substring(0, Math.min(3, name.length())), StandardCharsets.UTF_8)
+                .replace("+", "%20");
+        List<URI> paths = List.of(
+                URI.create(base),
+                URI.create(base + "/" + sample.getId()),
+                URI.create(base + "/search/" + search),
+                URI.create(base + "/highestSalary"),
+                URI.create(base + "/topTenHighestEarningEmployeeNames"));
+
+        HttpClient client = HttpClient.newHttpClient();
+        for (int round = 0; round < syntheticRounds && System.nanoTime() - deadlineNanos < 0; round++) {
+            for (URI path : paths) {
+                HttpRequest request = HttpRequest.newBuilder(path).header(HEADER, headerValue()).build();
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    syntheticRequests.incrementAndGet();
+                } catch (IOException e) {
+                    log.debug("Warm-up request to {} failed", path, e);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether a request is one of the synthetic warm-up requests, which the access log, traffic capture, concurrency
+     * limit, scheduler and tenant metrics all skip: thousands of cache hits in a row would teach the limit a latency
+     * real traffic never sees. Only the header carrying this process's secret counts, so a client can't opt out of the
+     * quota or scheduling with it, even through a proxy on the same host.
+     */
+    public static boolean isWarmUp(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+        return value != null && MessageDigest.isEqual(SECRET, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the {@link #HEADER} value that marks this process's own synthetic requests
+     */
+    public static String headerValue() {
+        return new String(SECRET, StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] secret() {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return HexFormat.of().formatHex(random).getBytes(StandardCharsets.US_ASCII);
+    }
+}
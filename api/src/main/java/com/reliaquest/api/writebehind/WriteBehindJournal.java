@@ -0,0 +1,123 @@
+package com.reliaquest.api.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only JSON-lines log of {@link WriteOperation} snapshots. On start the latest snapshot of every operation is
+ * recovered. The file is then rewritten without superseded lines. It is rewritten again whenever the lines appended
+ * since outnumber both {@code compactAfter} and the operations kept, so it stays within about twice the size of what it
+ * holds. Lines are flushed to the OS on every append, so queued writes survive a process restart but not necessarily a
+ * host crash.
+ */
+@Slf4j
+class WriteBehindJournal implements Closeable {
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration retention;
+
+    private final int compactAfter;
+
+    private final Map<String, WriteOperation> latest = new LinkedHashMap<>();
+
+    private BufferedWriter writer;
+
+    private int appendedSinceCompaction;
+
+    WriteBehindJournal(Path path, ObjectMapper objectMapper, Duration retention, int compactAfter) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.compactAfter = compactAfter;
+    }
+
+    /**
+     * Reads the journal and compacts it, dropping operations that completed longer than {@code retention} ago.
+     *
+     * @return the latest snapshot of each remaining operation, in submission order
+     */
+    synchronized List<WriteOperation> recover() throws IOException {
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    WriteOperation operation = objectMapper.readValue(line, WriteOperation.class);
+                    latest.put(operation.id(), operation);
+                } catch (JsonProcessingException e) {
+                    // A torn last line from a crash mid-append
+                    log.warn("Skipping unreadable write-behind journal line in {}", path);
+                }
+            }
+        }
+
+        compact();
+        return new ArrayList<>(latest.values());
+    }
+
+    synchronized void append(WriteOperation operation) {
+        try {
+            writer.write(objectMapper.writeValueAsString(operation));
+            writer.newLine();
+            writer.flush();
+            latest.put(operation.id(), operation);
+            if (++appendedSinceCompaction > Math.max(compactAfter, latest.size())) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to write-behind journal " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /*
+     * Rewrites the file with the latest snapshot of each operation still within retention, replacing it atomically so a
+     * crash mid-compaction leaves the old file in place.
+     */
+    private void compact() throws IOException {
+        Instant cutoff = Instant.now().minus(retention);
+        latest.values().removeIf(operation -> operation.isDone() && !operation.completedAt().isAfter(cutoff));
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path compacted = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (WriteOperation operation : latest.values()) {
+                out.write(objectMapper.writeValueAsString(operation));
+                out.newLine();
+            }
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        close();
+
+        writer = Files.newBufferedWriter(
+                path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        appendedSinceCompaction = 0;
+    }
+}
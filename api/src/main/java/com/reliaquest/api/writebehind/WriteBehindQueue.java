@@ -0,0 +1,255 @@
+package com.reliaquest.api.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cluster.Invalidation;
+import com.reliaquest.api.cluster.PeerInvalidation;
+import com.reliaquest.api.dto.CreateEmployeeRequestDto;
+import com.reliaquest.api.exception.EmployeeServiceIntegrationException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.external.EmployeeServiceIntegration;
+import com.reliaquest.api.external.IdempotencyKeyFilter;
+import com.reliaquest.api.external.dto.CreateEmployeeResponseDto;
+import com.reliaquest.api.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accepts employee creates without waiting for the upstream, and writes them through a single drain thread. The
+ * upstream paces the drain: each write goes through the integration's 429 retries, and a write that still fails is
+ * attempted again after {@code retry-delay}, up to {@code max-attempts}. A 4xx other than 429 or 408 fails the
+ * operation at once, since sending the same request again cannot succeed. Every attempt carries the operation's
+ * idempotency key, so a retried write that had in fact been applied is not applied twice.
+ *
+ * <p>With {@code employee.write-behind.journal} set, operations are journaled and queued writes are resumed after a
+ * restart.
+ *
+ * <p>Operations belong to the tenant that submitted them: each is written to that tenant's roster, idempotency keys
+ * are only matched within a tenant, and only that tenant can look the operation up.
+ */
+@Slf4j
+@Component
+public class WriteBehindQueue {
+
+    public static final String OPERATIONS = "employee.write-behind.operations";
+    public static final String QUEUED = "employee.write-behind.queued";
+
+    private final EmployeeServiceIntegration employeeServiceIntegration;
+
+    private final EmployeeCache employeeCache;
+
+    private final RosterCache rosterCache;
+
+    private final PeerInvalidation peerInvalidation;
+
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<WriteOperation> queue;
+
+    private final Cache<String, WriteOperation> operations;
+
+    private final Cache<String, String> operationIdsByKey;
+
+    private final int maxAttempts;
+
+    private final Duration retryDelay;
+
+    private final Duration retention;
+
+    private final WriteBehindJournal journal;
+
+    private final Thread drainer = new Thread(this::drain, "write-behind");
+
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(
+            EmployeeServiceIntegration employeeServiceIntegration,
+            EmployeeCache employeeCache,
+            RosterCache rosterCache,
+            PeerInvalidation peerInvalidation,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${employee.write-behind.capacity:1000}") int capacity,
+            @Value("${employee.write-behind.max-attempts:5}") int maxAttempts,
+            @Value("${employee.write-behind.retry-delay:30s}") Duration retryDelay,
+            @Value("${employee.write-behind.retention:1h}") Duration retention,
+            @Value("${employee.write-behind.journal:}") String journalPath,
+            @Value("${employee.write-behind.journal-compact-after:10000}") int journalCompactAfter) {
+        this.employeeServiceIntegration = employeeServiceIntegration;
+        this.employeeCache = employeeCache;
+        this.rosterCache = rosterCache;
+        this.peerInvalidation = peerInvalidation;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.operations = Caffeine.newBuilder().expireAfterWrite(retention).build();
+        this.operationIdsByKey = Caffeine.newBuilder().expireAfterWrite(retention).build();
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.retention = retention;
+        this.journal = journalPath.isBlank()
+                ? null
+                : new WriteBehindJournal(Path.of(journalPath), objectMapper, retention, journalCompactAfter);
+
+        Gauge.builder(QUEUED, queue, BlockingQueue::size)
+                .description("Employee creates waiting to be written upstream")
+                .register(meterRegistry);
+        drainer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (journal != null) {
+            for (WriteOperation operation : journal.recover()) {
+                operations.put(operation.id(), operation);
+                operationIdsByKey.put(keyOf(operation.tenant(), operation.idempotencyKey()), operation.id());
+                if (!operation.isDone() && !queue.offer(operation)) {
+                    update(operation.failed("Write queue was full when resuming after restart"));
+                }
+            }
+            log.info("Resumed {} queued employee writes from the journal", queue.size());
+        }
+        drainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(retryDelay.toMillis() + 1000);
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Queues a create. A client idempotency key that was seen before returns the existing operation instead.
+     *
+     * @throws IllegalArgumentException if the key was used before with a different request
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public synchronized WriteOperation submit(CreateEmployeeRequestDto request, String idempotencyKey) {
+        String tenant = TenantContext.current();
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            WriteOperation existing = Optional.ofNullable(operationIdsByKey.getIfPresent(keyOf(tenant, idempotencyKey)))
+                    .map(operations::getIfPresent)
+                    .orElse(null);
+            if (existing != null) {
+                if (!existing.request().equals(request)) {
+                    throw new IllegalArgumentException(
+                            "Idempotency-Key " + idempotencyKey + " was already used with a different request");
+                }
+                return existing;
+            }
+        } else {
+            idempotencyKey = UUID.randomUUID().toString();
+        }
+
+        if (queue.remainingCapacity() == 0) {
+            throw new TooManyRequestsException("Write queue is full. Please try again later.");
+        }
+
+        // Only the drain thread takes from the queue, so the capacity checked above is still there
+        WriteOperation operation = update(WriteOperation.queued(tenant, idempotencyKey, request));
+        operationIdsByKey.put(keyOf(tenant, idempotencyKey), operation.id());
+        queue.add(operation);
+        return operation;
+    }
+
+    /**
+     * @return the operation, empty if unknown, expired or submitted by another tenant
+     */
+    public Optional<WriteOperation> getOperation(String operationId) {
+        String tenant = TenantContext.current();
+        return Optional.ofNullable(operations.getIfPresent(operationId))
+                .filter(operation -> tenantOf(operation).equals(tenant));
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                write(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(WriteOperation queued) throws InterruptedException {
+        WriteOperation operation = queued;
+        while (true) {
+            WriteOperation attempt = update(operation.attempted());
+            try {
+                CreateEmployeeResponseDto response = TenantContext.callAs(attempt.tenant(), () -> {
+                    CreateEmployeeResponseDto created = IdempotencyKeyFilter.callWithKey(
+                            attempt.idempotencyKey(),
+                            () -> employeeServiceIntegration.createEmployee(attempt.request()));
+                    employeeCache.put(created.getData());
+                    rosterCache.invalidate();
+                    peerInvalidation.publish(Invalidation.roster());
+                    return created;
+                });
+                update(attempt.succeeded(response.getData()));
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    // Shutting down: left QUEUED in the journal and resumed on the next start
+                    throw new InterruptedException();
+                }
+                if (e instanceof EmployeeServiceIntegrationException rejected && rejected.isClientError()) {
+                    log.error("Write-behind operation {} was rejected by the employee service", attempt.id(), e);
+                    update(attempt.failed(e.getMessage()));
+                    return;
+                }
+                if (attempt.attempts() >= maxAttempts) {
+                    log.error("Giving up on write-behind operation {} after {} attempts", attempt.id(), maxAttempts, e);
+                    update(attempt.failed(e.getMessage()));
+                    return;
+                }
+                log.warn(
+                        "Write-behind operation {} failed, retrying in {}: {}", attempt.id(), retryDelay, e.getMessage());
+                operation = attempt;
+                Thread.sleep(retryDelay.toMillis());
+            }
+        }
+    }
+
+    private static String keyOf(String tenant, String idempotencyKey) {
+        return (tenant != null ? tenant : TenantContext.DEFAULT) + " " + idempotencyKey;
+    }
+
+    private static String tenantOf(WriteOperation operation) {
+        return operation.tenant() != null ? operation.tenant() : TenantContext.DEFAULT;
+    }
+
+    private WriteOperation update(WriteOperation operation) {
+        operations.put(operation.id(), operation);
+        if (journal != null) {
+            journal.append(operation);
+        }
+        if (operation.isDone()) {
+            Counter.builder(OPERATIONS)
+                    .description("Completed write-behind operations")
+                    .tag("status", operation.status().name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return operation;
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.api.writebehind;
+
+import com.reliaquest.api.dto.CreateEmployeeRequestDto;
+import com.reliaquest.api.dto.EmployeeDto;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Snapshot of a queued create. Every state change produces a new snapshot, which is what the status endpoint returns
+ * and what the journal records.
+ *
+ * @param tenant the roster written to; null in journals that predate tenants, meaning the default tenant
+ * @param idempotencyKey sent upstream on every attempt; the client's key, or a generated one
+ */
+public record WriteOperation(
+        String id,
+        String tenant,
+        String idempotencyKey,
+        CreateEmployeeRequestDto request,
+        Status status,
+        EmployeeDto employee,
+        String error,
+        int attempts,
+        Instant submittedAt,
+        Instant completedAt) {
+
+    public enum Status {
+        QUEUED,
+        SUCCEEDED,
+        FAILED
+    }
+
+    static WriteOperation queued(String tenant, String idempotencyKey, CreateEmployeeRequestDto request) {
+        return new WriteOperation(
+                UUID.randomUUID().toString(),
+                tenant,
+                idempotencyKey,
+                request,
+                Status.QUEUED,
+                null,
+                null,
+                0,
+                Instant.now(),
+                null);
+    }
+
+    WriteOperation attempted() {
+        return new WriteOperation(
+                id, tenant, idempotencyKey, request, status, employee, error, attempts + 1, submittedAt, completedAt);
+    }
+
+    WriteOperation succeeded(EmployeeDto createdEmployee) {
+        return new WriteOperation(
+                id,
+                tenant,
+                idempotencyKey,
+                request,
+                Status.SUCCEEDED,
+                createdEmployee,
+                null,
+                attempts,
+                submittedAt,
+                Instant.now());
+    }
+
+    WriteOperation failed(String reason) {
+        return new WriteOperation(
+                id, tenant, idempotencyKey, request, Status.FAILED, null, reason, attempts, submittedAt, Instant.now());
+    }
+
+    boolean isDone() {
+        return status != Status.QUEUED;
+    }
+}
@@ -0,0 +1,145 @@
+package com.reliaquest.api.capture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Outcome of one replay: throughput, latency percentiles overall and per route, and how the statuses compare with the
+ * captured ones. Reports are written as JSON so a later replay can be compared with them.
+ *
+ * @param errors requests that failed to connect or got a 5xx
+ * @param statusMismatches requests whose status differs from the captured one
+ * @param maxLagMillis how far behind schedule the replay sent its latest request; keep it small for faithful timing
+ */
+public record ReplayReport(
+        int requests,
+        int errors,
+        int statusMismatches,
+        double durationSeconds,
+        double throughput,
+        long maxLagMillis,
+        Latency overall,
+        Map<String, Latency> routes) {
+
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(?=/|$)");
+    private static final Pattern SEARCH_SEGMENT = Pattern.compile("/search/[^/]+");
+    private static final Pattern OPERATION_SEGMENT = Pattern.compile("/operations/[^/]+");
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    public record Latency(int count, double p50, double p90, double p99, double max) {
+
+        static Latency of(long[] latencyNanos) {
+            long[] sorted = latencyNanos.clone();
+            Arrays.sort(sorted);
+            return new Latency(
+                    sorted.length,
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * One replayed request.
+     *
+     * @param status the replayed status, or -1 if the request failed without a response
+     */
+    public record Outcome(CapturedRequest captured, int status, long latencyNanos) {}
+
+    public static ReplayReport of(List<Outcome> outcomes, long durationNanos, long maxLagNanos) {
+        int errors = 0;
+        int statusMismatches = 0;
+        Map<String, List<Long>> byRoute = new TreeMap<>();
+        long[] all = new long[outcomes.size()];
+        for (int i = 0; i < outcomes.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (outcome.status() < 0 || outcome.status() >= 500) {
+                errors++;
+            }
+            if (outcome.status() != outcome.captured().status()) {
+                statusMismatches++;
+            }
+            all[i] = outcome.latencyNanos();
+            byRoute.computeIfAbsent(route(outcome.captured()), route -> new ArrayList<>())
+                    .add(outcome.latencyNanos());
+        }
+
+        Map<String, Latency> routes = new TreeMap<>();
+        byRoute.forEach((route, latencies) -> routes.put(
+                route, Latency.of(latencies.stream().mapToLong(Long::longValue).toArray())));
+        double durationSeconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return new ReplayReport(
+                outcomes.size(),
+                errors,
+                statusMismatches,
+                durationSeconds,
+                durationSeconds > 0 ? outcomes.size() / durationSeconds : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxLagNanos),
+                Latency.of(all),
+                routes);
+    }
+
+    /**
+     * @return the method and path with ids and search strings replaced by placeholders, e.g. {@code GET
+     *     /api/v1/employee/{id}}
+     */
+    public static String route(CapturedRequest request) {
+        String path = request.path();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        path = UUID_SEGMENT.matcher(path).replaceAll("/{id}");
+        path = SEARCH_SEGMENT.matcher(path).replaceAll("/search/{searchString}");
+        path = OPERATION_SEGMENT.matcher(path).replaceAll("/operations/{operationId}");
+        return request.method() + " " + path;
+    }
+
+    /**
+     * @return a human-readable comparison of this report with one from another build
+     */
+    public String compareWith(ReplayReport baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-52s %12s %12s %9s%n", "", "baseline", "current", "change"));
+        line(out, "throughput (req/s)", baseline.throughput(), throughput());
+        line(out, "errors", baseline.errors(), errors());
+        latencyLines(out, "overall", baseline.overall(), overall());
+        for (Map.Entry<String, Latency> route : routes().entrySet()) {
+            Latency before = baseline.routes().get(route.getKey());
+            if (before != null) {
+                latencyLines(out, route.getKey(), before, route.getValue());
+            }
+        }
+        return out.toString();
+    }
+
+    private static void latencyLines(StringBuilder out, String name, Latency baseline, Latency current) {
+        line(out, name + " p50 (ms)", baseline.p50(), current.p50());
+        line(out, name + " p99 (ms)", baseline.p99(), current.p99());
+    }
+
+    private static void line(StringBuilder out, String name, double baseline, double current) {
+        String change = baseline == 0 ? "" : String.format("%+.1f%%", (current - baseline) * 100 / baseline);
+        out.append(String.format("%-52s %12.2f %12.2f %9s%n", name, baseline, current, change));
+    }
+}
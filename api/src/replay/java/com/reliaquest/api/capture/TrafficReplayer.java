@@ -0,0 +1,176 @@
+package com.reliaquest.api.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-issues a traffic capture against a running stack and reports latency and throughput. Requests are sent in
+ * capture order, each at its captured offset from the first request divided by the speed, and never wait for earlier
+ * responses, so both the inter-arrival times and the overlap between requests are preserved. At {@code max} speed,
+ * requests are sent as fast as the stack answers, with at most as many in flight as the capture's peak concurrency.
+ *
+ * <pre>
+ * ./gradlew api:replay -PreplayArgs="--capture=capture.jsonl --speed=2 --report=after.json --baseline=before.json"
+ * </pre>
+ *
+ * Options: {@code --capture} (required; several files, such as rotated ones oldest first, separated by commas),
+ * {@code --target} (default {@code http://localhost:8111}), {@code --speed} ({@code 1}, any factor, or {@code max}),
+ * {@code --report} to save the report, {@code --baseline} to compare with a saved one. The replayer is not part of the
+ * application jar; it has its own {@code replay} source set.
+ */
+public class TrafficReplayer {
+
+    private final HttpClient client;
+
+    private final URI target;
+
+    private final double speed;
+
+    public TrafficReplayer(HttpClient client, URI target, double speed) {
+        this.client = client;
+        this.target = target;
+        this.speed = speed;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = options(args);
+        if (!options.containsKey("capture")) {
+            System.err.println("usage: TrafficReplayer --capture=<file>[,<file>...] [--target=<url>]"
+                    + " [--speed=<factor>|max] [--report=<file>] [--baseline=<file>]");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String speed = options.getOrDefault("speed", "1");
+        TrafficReplayer replayer = new TrafficReplayer(
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build(),
+                URI.create(options.getOrDefault("target", "http://localhost:8111")),
+                "max".equalsIgnoreCase(speed) ? Double.POSITIVE_INFINITY : Double.parseDouble(speed));
+
+        List<CapturedRequest> captured = new ArrayList<>();
+        for (String file : options.get("capture").split(",")) {
+            captured.addAll(CaptureFile.read(Path.of(file), objectMapper));
+        }
+        System.out.printf("Replaying %d requests at %sx against %s%n", captured.size(), speed, replayer.target);
+        ReplayReport report = replayer.replay(captured);
+        System.out.println(objectMapper.writeValueAsString(report));
+
+        if (options.containsKey("report")) {
+            objectMapper.writeValue(Path.of(options.get("report")).toFile(), report);
+        }
+        if (options.containsKey("baseline")) {
+            ReplayReport baseline = objectMapper.readValue(
+                    Files.readAllBytes(Path.of(options.get("baseline"))), ReplayReport.class);
+            System.out.print(report.compareWith(baseline));
+        }
+        System.exit(0);
+    }
+
+    public ReplayReport replay(List<CapturedRequest> captured) throws InterruptedException {
+        List<CapturedRequest> requests = captured.stream()
+                .sorted(Comparator.comparingLong(CapturedRequest::at))
+                .toList();
+        if (requests.isEmpty()) {
+            return ReplayReport.of(List.of(), 0, 0);
+        }
+
+        boolean unpaced = Double.isInfinite(speed);
+        Semaphore inFlight = new Semaphore(unpaced ? peakConcurrency(requests) : Integer.MAX_VALUE);
+        ReplayReport.Outcome[] outcomes = new ReplayReport.Outcome[requests.size()];
+        CountDownLatch done = new CountDownLatch(requests.size());
+        long firstAt = requests.get(0).at();
+        long start = System.nanoTime();
+        long maxLagNanos = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            CapturedRequest request = requests.get(i);
+            if (!unpaced) {
+                long due = start + (long) (TimeUnit.MICROSECONDS.toNanos(request.at() - firstAt) / speed);
+                sleepUntil(due);
+                maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - due);
+            }
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            client.sendAsync(toHttpRequest(request), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        int status = response != null ? response.statusCode() : -1;
+                        outcomes[index] = new ReplayReport.Outcome(request, status, System.nanoTime() - sent);
+                        inFlight.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        return ReplayReport.of(Arrays.asList(outcomes), System.nanoTime() - start, maxLagNanos);
+    }
+
+    /**
+     * @return the most requests that were in flight at once while the capture was taken
+     */
+    public static int peakConcurrency(List<CapturedRequest> requests) {
+        List<long[]> edges = new ArrayList<>();
+        for (CapturedRequest request : requests) {
+            edges.add(new long[] {request.at(), 1});
+            edges.add(new long[] {request.at() + request.latencyMicros(), -1});
+        }
+        // Ends sort before starts at the same instant, so back-to-back requests don't count as overlapping
+        edges.sort(Comparator.<long[]>comparingLong(edge -> edge[0]).thenComparingLong(edge -> edge[1]));
+        int current = 0;
+        int peak = 1;
+        for (long[] edge : edges) {
+            current += (int) edge[1];
+            peak = Math.max(peak, current);
+        }
+        return peak;
+    }
+
+    private HttpRequest toHttpRequest(CapturedRequest request) {
+        HttpRequest.BodyPublisher body = request.body() != null
+                ? HttpRequest.BodyPublishers.ofString(request.body())
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(request.path()))
+                .timeout(Duration.ofSeconds(30))
+                .method(request.method(), body);
+        if (request.headers() != null) {
+            request.headers().forEach(builder::header);
+        }
+        return builder.build();
+    }
+
+    private static void sleepUntil(long dueNanos) {
+        long remaining;
+        while ((remaining = dueNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.reliaquest.api.logging.AccessLogFilter;
+import com.reliaquest.api.warmup.WarmUpRunner;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger("com.reliaquest.api.access");
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    // Never samples a fast success, so every line below was logged for a reason
+    private final AccessLogFilter filter = new AccessLogFilter(0.0, Duration.ofSeconds(10));
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_FastSuccess_IsSampledOut() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(List.of(), lines());
+    }
+
+    @Test
+    void doFilter_ErrorStatus_IsAlwaysLogged() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> ((HttpServletResponse) res).setStatus(404));
+
+        assertEquals(1, lines().size());
+        assertTrue(lines().get(0).startsWith("method=GET path=/api/v1/employee status=404 "), lines().get(0));
+    }
+
+    @Test
+    void doFilter_ChainThrows_LogsServerErrorAndRethrows() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        IllegalStateException thrown = assertThrows(
+                IllegalStateException.class,
+                () -> filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals(1, lines().size());
+        assertTrue(lines().get(0).contains(" status=500 "), lines().get(0));
+    }
+
+    @Test
+    void doFilter_SlowSuccess_IsAlwaysLogged() throws Exception {
+        AccessLogFilter slowFilter = new AccessLogFilter(0.0, Duration.ZERO);
+
+        slowFilter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, lines().size());
+        assertTrue(lines().get(0).contains(" status=200 "), lines().get(0));
+        assertTrue(lines().get(0).endsWith(" upstreamCalls=0"), lines().get(0));
+    }
+
+    @Test
+    void doFilter_WarmUpRequest_IsNotLogged() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(WarmUpRunner.HEADER, WarmUpRunner.headerValue());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(500));
+
+        assertEquals(List.of(), lines());
+    }
+
+    private List<String> lines() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/employee");
+    }
+}
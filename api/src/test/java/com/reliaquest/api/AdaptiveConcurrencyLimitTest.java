@@ -0,0 +1,140 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.SchedulingProperties;
+import com.reliaquest.api.limit.AdaptiveConcurrencyFilter;
+import com.reliaquest.api.limit.AdaptiveConcurrencyLimiter;
+import com.reliaquest.api.limit.AimdLimit;
+import com.reliaquest.api.limit.GradientLimit;
+import com.reliaquest.api.scheduling.RequestSchedulingFilter;
+import com.reliaquest.api.warmup.WarmUpRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    @Test
+    void aimd_FastUnderLoadThenDropped_IncreasesThenBacksOff() {
+        AimdLimit limit = new AimdLimit(10, 2, 100, 0.5, Duration.ofSeconds(1));
+
+        limit.onSample(FAST, 2, false);
+        assertEquals(10, limit.getLimit());
+
+        limit.onSample(FAST, 5, false);
+        assertEquals(11, limit.getLimit());
+
+        limit.onSample(FAST, 5, true);
+        assertEquals(5, limit.getLimit());
+
+        limit.onSample(Duration.ofSeconds(2).toNanos(), 5, false);
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void gradient_LatencyRises_ShrinksLimit() {
+        GradientLimit limit = new GradientLimit(50, 2, 200, 0.5, 1.5, 100);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(FAST, 50, false);
+        }
+        int steady = limit.getLimit();
+        assertTrue(steady > 50);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(FAST * 10, steady, false);
+        }
+        assertTrue(limit.getLimit() < steady / 2, "limit " + limit.getLimit() + " from " + steady);
+    }
+
+    @Test
+    void filter_OverLimit_RejectsImmediately() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(new AimdLimit(1, 1, 1, 0.9, Duration.ofSeconds(1)));
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(limiter, new ObjectMapper(), meterRegistry);
+
+        int held = limiter.tryAcquire();
+        assertEquals(1, held);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), rejected, chain);
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get(AdaptiveConcurrencyFilter.REJECTED).counter().count());
+
+        limiter.release(FAST, held, false);
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), admitted, new MockFilterChain());
+        assertEquals(200, admitted.getStatus());
+        assertEquals(0, limiter.getInflight());
+        assertEquals(1.0, meterRegistry.get(AdaptiveConcurrencyFilter.LIMIT).gauge().value());
+    }
+
+    @Test
+    void filter_SchedulerSheds_LeaveLimitUnchanged() throws Exception {
+        SchedulingProperties properties = new SchedulingProperties();
+        SchedulingProperties.ClassSettings saturated = new SchedulingProperties.ClassSettings();
+        saturated.setMaxConcurrent(0);
+        saturated.setMaxQueued(0);
+        properties.getClasses().put(properties.getDefaultClass(), saturated);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestSchedulingFilter scheduling = new RequestSchedulingFilter(properties, new ObjectMapper(), meterRegistry);
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(new AimdLimit(10, 2, 100, 0.5, Duration.ofSeconds(1)));
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(limiter, new ObjectMapper(), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse shed = new MockHttpServletResponse();
+            filter.doFilter(
+                    new MockHttpServletRequest("GET", "/api/v1/employee"),
+                    shed,
+                    (request, response) -> scheduling.doFilter(request, response, new MockFilterChain()));
+            assertEquals(503, shed.getStatus());
+        }
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+
+        // The same status from the handler is a drop
+        filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/employee"),
+                new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(503));
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void filter_WarmUpRequests_LeaveLimitUnchanged() throws Exception {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(new AimdLimit(10, 2, 100, 0.5, Duration.ofSeconds(1)));
+        AdaptiveConcurrencyFilter filter =
+                new AdaptiveConcurrencyFilter(limiter, new ObjectMapper(), new SimpleMeterRegistry());
+        MockHttpServletRequest warmUp = new MockHttpServletRequest("GET", "/api/v1/employee");
+        warmUp.addHeader(WarmUpRunner.HEADER, WarmUpRunner.headerValue());
+
+        filter.doFilter(
+                warmUp,
+                new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(503));
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+
+        // The header without the secret is an ordinary request, even from loopback
+        MockHttpServletRequest spoofed = new MockHttpServletRequest("GET", "/api/v1/employee");
+        spoofed.addHeader(WarmUpRunner.HEADER, "true");
+        filter.doFilter(
+                spoofed,
+                new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(503));
+        assertEquals(5, limiter.getLimit());
+    }
+}
@@ -0,0 +1,287 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.cluster.Invalidation;
+import com.reliaquest.api.cluster.InvalidationEvent;
+import com.reliaquest.api.cluster.PeerInvalidation;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.response.PreEncodedResponseCache;
+import com.reliaquest.api.tenant.TenantContext;
+import com.reliaquest.api.tenant.TenantQuota;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Repeats the races of the jcstress suite under plain JUnit, so a lost invalidation or an over-granted quota fails the
+ * regular build too. jcstress explores far more interleavings; these only catch the blatant ones.
+ */
+public class CacheConcurrencyTest {
+
+    private static final int ROUNDS = 2_000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void get_LoadRacingInvalidation_NeverKeepsStaleEmployee() throws Exception {
+        EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        UUID id = UUID.randomUUID();
+        AtomicReference<EmployeeDto> upstream = new AtomicReference<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            cache.invalidate(id);
+            upstream.set(employee(id, 1));
+            race(() -> cache.get(id, ignored -> upstream.get()), () -> {
+                upstream.set(employee(id, 2));
+                cache.invalidate(id);
+            });
+
+            EmployeeCache.CachedEmployee cached = cache.getIfPresent(id);
+            assertTrue(cached == null || cached.employee().getEmployeeSalary() == 2, "stale entry in round " + round);
+        }
+    }
+
+    @Test
+    void invalidateByName_DuringLoad_DoesNotKeepTheLoadedEmployee() throws Exception {
+        EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        UUID id = UUID.randomUUID();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch deleted = new CountDownLatch(1);
+
+        Future<EmployeeDto> load = executor.submit(() -> cache.get(id, ignored -> {
+            loading.countDown();
+            awaitUninterruptibly(deleted);
+            return employee(id, 1);
+        }));
+        loading.await(10, TimeUnit.SECONDS);
+        cache.invalidateByName("Saurabh");
+        deleted.countDown();
+
+        assertEquals(1, load.get(10, TimeUnit.SECONDS).getEmployeeSalary());
+        assertNull(cache.getIfPresent(id));
+    }
+
+    @Test
+    void putIfUnchanged_BatchReadRacingInvalidation_NeverKeepsStaleEmployee() throws Exception {
+        EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        UUID id = UUID.randomUUID();
+        AtomicReference<EmployeeDto> upstream = new AtomicReference<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            cache.invalidate(id);
+            upstream.set(employee(id, 1));
+            race(
+                    () -> {
+                        long stamp = cache.stamp();
+                        cache.putIfUnchanged(id, upstream.get(), stamp);
+                    },
+                    () -> {
+                        upstream.set(employee(id, 2));
+                        cache.invalidate(id);
+                    });
+
+            EmployeeCache.CachedEmployee cached = cache.getIfPresent(id);
+            assertTrue(cached == null || cached.employee().getEmployeeSalary() == 2, "stale entry in round " + round);
+        }
+    }
+
+    @Test
+    void invalidateByName_RacingLoad_NeverKeepsDeletedEmployee() throws Exception {
+        EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        UUID id = UUID.randomUUID();
+        AtomicBoolean deleted = new AtomicBoolean();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            cache.invalidate(id);
+            deleted.set(false);
+            race(
+                    () -> {
+                        try {
+                            cache.get(id, ignored -> {
+                                if (deleted.get()) {
+                                    throw new EmployeeNotFoundException("not found");
+                                }
+                                return employee(id, 1);
+                            });
+                        } catch (EmployeeNotFoundException e) {
+                            // Loaded after the delete
+                        }
+                    },
+                    () -> {
+                        deleted.set(true);
+                        cache.invalidateByName("Saurabh");
+                    });
+
+            EmployeeCache.CachedEmployee cached = cache.getIfPresent(id);
+            assertTrue(cached == null || cached.isNotFound(), "deleted employee kept in round " + round);
+        }
+    }
+
+    @Test
+    void receive_RacingLoad_NeverKeepsStaleEmployee() throws Exception {
+        EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        String peer = "http://localhost:8211";
+        ClusterMembership membership = new ClusterMembership(
+                URI.create("http://localhost:8111"),
+                List.of(URI.create(peer)),
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(3),
+                WebClient.create(),
+                System::nanoTime);
+        PeerInvalidation peerInvalidation = new PeerInvalidation(
+                true,
+                10,
+                Duration.ofSeconds(5),
+                membership,
+                cache,
+                new RosterCache(true, Duration.ofMinutes(1), 100, new ObjectMapper()),
+                WebClient.create(),
+                new SimpleMeterRegistry());
+        UUID id = UUID.randomUUID();
+        AtomicReference<EmployeeDto> upstream = new AtomicReference<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            cache.invalidate(id);
+            upstream.set(employee(id, 1));
+            InvalidationEvent event = new InvalidationEvent(peer, 42, round + 1, Invalidation.employee(id, "Saurabh"));
+            race(() -> cache.get(id, ignored -> upstream.get()), () -> {
+                upstream.set(employee(id, 2));
+                peerInvalidation.receive(event);
+            });
+
+            EmployeeCache.CachedEmployee cached = cache.getIfPresent(id);
+            assertTrue(cached == null || cached.employee().getEmployeeSalary() == 2, "stale entry in round " + round);
+        }
+    }
+
+    @Test
+    void get_ConcurrentMissesForOneVersion_EncodeOnceWithTheirOwnBytes() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            PreEncodedResponseCache cache =
+                    new PreEncodedResponseCache(true, new ObjectMapper(), 0, new SimpleMeterRegistry());
+            AtomicInteger encodes = new AtomicInteger();
+            String version = "v" + round;
+            List<PreEncodedResponseCache.EncodedResponse> got = new CopyOnWriteArrayList<>();
+            Runnable request = () -> got.add(cache.get("list", version, () -> {
+                encodes.incrementAndGet();
+                return version;
+            }));
+
+            race(request, request);
+
+            assertEquals(1, encodes.get(), "encoded twice in round " + round);
+            for (PreEncodedResponseCache.EncodedResponse response : got) {
+                assertEquals("\"" + version + "\"", new String(response.json(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void get_LoadRacingInvalidation_NeverKeepsStaleRoster() throws Exception {
+        RosterCache cache = new RosterCache(true, Duration.ofMinutes(1), 100, new ObjectMapper());
+        AtomicReference<List<EmployeeDto>> upstream = new AtomicReference<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            cache.invalidate();
+            upstream.set(List.of(employee(UUID.randomUUID(), 1)));
+            race(() -> cache.get(upstream::get), () -> {
+                upstream.set(List.of());
+                cache.invalidate();
+            });
+
+            assertEquals(0, cache.usage(TenantContext.DEFAULT).entries(), "stale roster in round " + round);
+        }
+    }
+
+    @Test
+    void tryAcquire_ManyThreadsAndTenants_GrantsExactlyTheLimitEach() throws Exception {
+        TenantQuota quota = new TenantQuota(Duration.ofSeconds(60), () -> 0L);
+        Map<String, AtomicInteger> granted = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String tenant = "tenant-" + (t % 4);
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    if (quota.tryAcquire(tenant, 100) == 0) {
+                        granted.computeIfAbsent(tenant, ignored -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(4, granted.size());
+        granted.values().forEach(count -> assertEquals(100, count.get()));
+    }
+
+    /*
+     * Runs both tasks at once, released together by a barrier, and waits for both.
+     */
+    private void race(Runnable first, Runnable second) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Future<?> a = executor.submit(() -> {
+            barrier.await();
+            first.run();
+            return null;
+        });
+        Future<?> b = executor.submit(() -> {
+            barrier.await();
+            second.run();
+            return null;
+        });
+        a.get(10, TimeUnit.SECONDS);
+        b.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static EmployeeDto employee(UUID id, int version) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        employee.setEmployeeName("Saurabh");
+        employee.setEmployeeSalary(version);
+        return employee;
+    }
+}
@@ -0,0 +1,176 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.DeadlineProperties;
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.DeadlineExchangeFilter;
+import com.reliaquest.api.deadline.DeadlineFilter;
+import com.reliaquest.api.deadline.DeadlineSleeper;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+public class DeadlineTest {
+
+    private static final URI EMPLOYEE_URL = URI.create("http://localhost:8112/api/v1/employee");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void doFilter_HeaderRouteAndDefault_PicksInThatOrder() throws Exception {
+        DeadlineProperties properties = new DeadlineProperties();
+        DeadlineProperties.RouteRule route = new DeadlineProperties.RouteRule();
+        route.setMethod("GET");
+        route.setPattern("/api/v1/employee/*");
+        route.setTimeout(Duration.ofSeconds(2));
+        properties.getRoutes().add(route);
+        DeadlineFilter filter = new DeadlineFilter(properties, new ObjectMapper(), meterRegistry);
+
+        MockHttpServletRequest lookup = new MockHttpServletRequest("GET", "/api/v1/employee/9b4ae777");
+        assertRemaining(Duration.ofSeconds(2), filter(filter, lookup));
+
+        lookup = new MockHttpServletRequest("GET", "/api/v1/employee/9b4ae777");
+        lookup.addHeader("X-Request-Timeout", "500");
+        assertRemaining(Duration.ofMillis(500), filter(filter, lookup));
+
+        lookup = new MockHttpServletRequest("GET", "/api/v1/employee/9b4ae777");
+        lookup.addHeader("X-Request-Timeout", "soon");
+        assertRemaining(Duration.ofSeconds(2), filter(filter, lookup));
+
+        assertNull(filter(filter, new MockHttpServletRequest("GET", "/api/v1/employee")));
+        properties.setDefaultTimeout(Duration.ofSeconds(30));
+        assertRemaining(Duration.ofSeconds(30), filter(filter, new MockHttpServletRequest("GET", "/api/v1/employee")));
+    }
+
+    @Test
+    void doFilter_NoTimeLeft_AnswersWith504() throws Exception {
+        DeadlineFilter filter = new DeadlineFilter(new DeadlineProperties(), new ObjectMapper(), meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader("X-Request-Timeout", "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean handled = new AtomicBoolean();
+
+        filter.doFilter(request, response, (req, res) -> handled.set(true));
+
+        assertFalse(handled.get());
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), response.getStatus());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(DeadlineFilter.EXCEEDED)
+                        .tag("stage", "inbound")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void exchangeFilter_Deadline_ForwardsTimeLeft() {
+        bindDeadline(Deadline.after(Duration.ofSeconds(5)));
+        DeadlineExchangeFilter filter = new DeadlineExchangeFilter("X-Request-Timeout", meterRegistry);
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, EMPLOYEE_URL).build();
+
+        filter.filter(request, sentRequest -> {
+                    sent.set(sentRequest);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .block();
+
+        long forwarded = Long.parseLong(sent.get().headers().getFirst("X-Request-Timeout"));
+        assertTrue(forwarded > 4000 && forwarded <= 5000, "forwarded " + forwarded);
+    }
+
+    @Test
+    void exchangeFilter_NoResponseByDeadline_CancelsCall() {
+        bindDeadline(Deadline.after(Duration.ofMillis(100)));
+        DeadlineExchangeFilter filter = new DeadlineExchangeFilter("X-Request-Timeout", meterRegistry);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Mono<ClientResponse> call = filter.filter(
+                ClientRequest.create(HttpMethod.GET, EMPLOYEE_URL).build(),
+                request -> Mono.<ClientResponse>never().doOnCancel(() -> cancelled.set(true)));
+
+        assertThrows(DeadlineExceededException.class, call::block);
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void exchangeFilter_ExpiredInReactorContext_DoesNotCall() {
+        DeadlineExchangeFilter filter = new DeadlineExchangeFilter("X-Request-Timeout", meterRegistry);
+        AtomicBoolean called = new AtomicBoolean();
+
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, EMPLOYEE_URL).build();
+
+        Mono<ClientResponse> call = filter.filter(request, ignored -> {
+                    called.set(true);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .contextWrite(context -> context.put(Deadline.class, new Deadline(System.nanoTime() - 1)));
+
+        assertThrows(DeadlineExceededException.class, call::block);
+        assertFalse(called.get());
+    }
+
+    @Test
+    void sleep_BackoffOutlastsDeadline_FailsWithoutSleeping() throws InterruptedException {
+        DeadlineSleeper sleeper = new DeadlineSleeper(meterRegistry);
+        sleeper.sleep(1);
+
+        bindDeadline(Deadline.after(Duration.ofSeconds(2)));
+        long start = System.nanoTime();
+
+        assertThrows(DeadlineExceededException.class, () -> sleeper.sleep(30_000));
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(DeadlineFilter.EXCEEDED)
+                        .tag("stage", "backoff")
+                        .counter()
+                        .count());
+    }
+
+    private static Deadline filter(DeadlineFilter filter, MockHttpServletRequest request) throws Exception {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set((Deadline) req.getAttribute(Deadline.ATTRIBUTE));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return seen.get();
+    }
+
+    private static void assertRemaining(Duration expected, Deadline deadline) {
+        assertNotNull(deadline);
+        Duration remaining = deadline.remaining();
+        assertTrue(
+                remaining.compareTo(expected) <= 0 && remaining.compareTo(expected.minusMillis(500)) > 0,
+                "remaining " + remaining);
+    }
+
+    private static void bindDeadline(Deadline deadline) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setAttribute(Deadline.ATTRIBUTE, deadline);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.reliaquest.api.dto.EmployeeDto;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeDtoSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new BlackbirdModule());
+
+    private final ObjectMapper reflective = new ObjectMapper().addMixIn(EmployeeDto.class, Reflective.class);
+
+    @Test
+    void serialize_MatchesReflectiveBinding() throws Exception {
+        EmployeeDto full = new EmployeeDto();
+        full.setId(UUID.randomUUID());
+        full.setEmployeeName("Tiger \"T\" Nixon");
+        full.setEmployeeSalary(320800);
+        full.setEmployeeAge(61);
+        full.setEmployeeTitle("Vice Chair");
+        full.setEmail("tnixon@company.com");
+        EmployeeDto empty = new EmployeeDto();
+
+        List<EmployeeDto> employees = List.of(full, empty);
+
+        assertEquals(reflective.writeValueAsString(employees), objectMapper.writeValueAsString(employees));
+    }
+
+    @Test
+    void serialize_RoundTrips() throws Exception {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName("akash");
+        employee.setEmployeeSalary(1234);
+
+        EmployeeDto read = objectMapper.readValue(objectMapper.writeValueAsBytes(employee), EmployeeDto.class);
+
+        assertEquals(employee, read);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class Reflective {}
+}
@@ -7,18 +7,27 @@ import com.reliaquest.api.config.AppConfig;
 import com.reliaquest.api.dto.CreateEmployeeRequestDto;
 import com.reliaquest.api.dto.EmployeeDto;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeServiceIntegrationException;
 import com.reliaquest.api.external.EmployeeServiceIntegration;
+import com.reliaquest.api.external.balancing.UpstreamBalancer;
+import com.reliaquest.api.external.balancing.UpstreamInstance;
 import com.reliaquest.api.external.dto.CreateEmployeeResponseDto;
 import com.reliaquest.api.external.dto.DeleteEmployeeRequestDto;
 import com.reliaquest.api.external.dto.DeleteEmployeeResponseDto;
 import com.reliaquest.api.external.dto.GetAllEmployeesResponseDto;
 import com.reliaquest.api.external.dto.GetEmployeeResponseDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsRequestDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsResponseDto;
+import com.reliaquest.api.external.hedging.RequestHedger;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -56,6 +65,12 @@ public class EmployeeServiceIntegrationTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    @Mock
+    private RequestHedger requestHedger;
+
+    @Mock
+    private UpstreamBalancer upstreamBalancer;
+
     @InjectMocks
     private EmployeeServiceIntegration employeeServiceIntegration;
 
@@ -68,6 +83,8 @@ public class EmployeeServiceIntegrationTest {
         // Mockito.when(webClientBuilder.build()).thenReturn(webClient);
         Mockito.when(appConfig.getEmployeeServiceBaseUrl()).thenReturn(BASE_URL);
         Mockito.when(appConfig.getEmployeeServiceResourceUrl()).thenReturn(RESOURCE_URL);
+        // Hedging disabled: reads pass straight through.
+        lenient().when(requestHedger.hedge(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
     }
 
     @Test
@@ -200,4 +217,134 @@ public class EmployeeServiceIntegrationTest {
         assertNotNull(result);
         assertEquals("Saurabh", result.getData().getEmployeeName());
     }
+
+    @Test
+    void getEmployeesByIds_ValidData_ReturnsSuccess() {
+        GetEmployeesByIdsResponseDto responseDto = new GetEmployeesByIdsResponseDto();
+        responseDto.setData(List.of(new EmployeeDto()));
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(BASE_URL + RESOURCE_URL + "/_mget")).thenReturn(requestBodySpec);
+        when(requestBodySpec.body(any(Mono.class), eq(GetEmployeesByIdsRequestDto.class)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.exchangeToMono(any())).thenReturn(Mono.just(ResponseEntity.ok(responseDto)));
+
+        Optional<GetEmployeesByIdsResponseDto> result =
+                employeeServiceIntegration.getEmployeesByIds(List.of(UUID.randomUUID()));
+
+        assertTrue(result.isPresent());
+        assertEquals(1, result.get().getData().size());
+    }
+
+    @Test
+    void getEmployeesByIds_Unsupported_ReturnsEmptyWithoutProbingAgain() {
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.body(any(Mono.class), eq(GetEmployeesByIdsRequestDto.class)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.exchangeToMono(any()))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).build()));
+
+        assertTrue(employeeServiceIntegration.getEmployeesByIds(List.of(UUID.randomUUID())).isEmpty());
+        assertTrue(employeeServiceIntegration.getEmployeesByIds(List.of(UUID.randomUUID())).isEmpty());
+
+        verify(webClient, times(1)).post();
+    }
+
+    @Test
+    void getAllEmployees_Sharded_MergesEveryInstance() {
+        List<UpstreamInstance> instances = shards();
+        GetAllEmployeesResponseDto first = new GetAllEmployeesResponseDto();
+        first.setData(List.of(new EmployeeDto(), new EmployeeDto()));
+        GetAllEmployeesResponseDto second = new GetAllEmployeesResponseDto();
+        second.setData(List.of(new EmployeeDto()));
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.attribute(eq(UpstreamBalancer.INSTANCE_ATTRIBUTE), any()))
+                .thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.exchangeToMono(any()))
+                .thenReturn(Mono.just(ResponseEntity.ok(first)), Mono.just(ResponseEntity.ok(second)));
+
+        GetAllEmployeesResponseDto result = employeeServiceIntegration.getAllEmployees();
+
+        assertEquals(3, result.getData().size());
+        verify(requestHeadersUriSpec).attribute(UpstreamBalancer.INSTANCE_ATTRIBUTE, instances.get(0));
+        verify(requestHeadersUriSpec).attribute(UpstreamBalancer.INSTANCE_ATTRIBUTE, instances.get(1));
+    }
+
+    @Test
+    void getAllEmployees_ShardedInstanceFails_ThrowsRatherThanLeavingItsEmployeesOut() {
+        shards();
+        GetAllEmployeesResponseDto first = new GetAllEmployeesResponseDto();
+        first.setData(List.of(new EmployeeDto()));
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.attribute(eq(UpstreamBalancer.INSTANCE_ATTRIBUTE), any()))
+                .thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.exchangeToMono(any()))
+                .thenReturn(
+                        Mono.just(ResponseEntity.ok(first)),
+                        Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+
+        assertThrows(EmployeeServiceIntegrationException.class, () -> employeeServiceIntegration.getAllEmployees());
+    }
+
+    @Test
+    void getEmployeeById_ShardedOwnerAnswers404_AsksTheOtherInstances() {
+        UUID id = UUID.randomUUID();
+        UpstreamInstance owner = mock(UpstreamInstance.class);
+        UpstreamInstance other = mock(UpstreamInstance.class);
+        when(upstreamBalancer.isSharded()).thenReturn(true);
+        when(upstreamBalancer.shardsFor(id)).thenReturn(List.of(owner, other));
+        GetEmployeeResponseDto found = new GetEmployeeResponseDto();
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setEmployeeName("Saurabh");
+        found.setData(employeeDto);
+
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.attribute(eq(UpstreamBalancer.INSTANCE_ATTRIBUTE), any()))
+                .thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.exchangeToMono(any()))
+                .thenReturn(
+                        Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build()),
+                        Mono.just(ResponseEntity.ok(found)));
+
+        GetEmployeeResponseDto result = employeeServiceIntegration.getEmployeeById(id);
+
+        assertEquals("Saurabh", result.getData().getEmployeeName());
+        InOrder order = inOrder(requestHeadersUriSpec);
+        order.verify(requestHeadersUriSpec).attribute(UpstreamBalancer.INSTANCE_ATTRIBUTE, owner);
+        order.verify(requestHeadersUriSpec).attribute(UpstreamBalancer.INSTANCE_ATTRIBUTE, other);
+    }
+
+    @Test
+    void deleteEmployeeByName_Sharded_DeletedIfAnyInstanceDeletedIt() {
+        shards();
+        DeleteEmployeeResponseDto missing = new DeleteEmployeeResponseDto();
+        missing.setData(false);
+        DeleteEmployeeResponseDto deleted = new DeleteEmployeeResponseDto();
+        deleted.setData(true);
+
+        when(webClient.method(HttpMethod.DELETE)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.attribute(eq(UpstreamBalancer.INSTANCE_ATTRIBUTE), any()))
+                .thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.body(any(Mono.class), eq(DeleteEmployeeRequestDto.class)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.exchangeToMono(any()))
+                .thenReturn(Mono.just(ResponseEntity.ok(missing)), Mono.just(ResponseEntity.ok(deleted)));
+
+        assertTrue(employeeServiceIntegration.deleteEmployeeByName("Saurabh").getData());
+        verify(webClient, times(2)).method(HttpMethod.DELETE);
+    }
+
+    private List<UpstreamInstance> shards() {
+        List<UpstreamInstance> instances = List.of(mock(UpstreamInstance.class), mock(UpstreamInstance.class));
+        when(upstreamBalancer.isSharded()).thenReturn(true);
+        when(upstreamBalancer.getInstances()).thenReturn(instances);
+        return instances;
+    }
 }
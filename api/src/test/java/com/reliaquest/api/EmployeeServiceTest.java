@@ -3,24 +3,38 @@ package com.reliaquest.api;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cluster.Invalidation;
+import com.reliaquest.api.cluster.PeerInvalidation;
 import com.reliaquest.api.dto.CreateEmployeeRequestDto;
 import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.dto.MultiGetEmployeeResponseDto;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeServiceIntegrationException;
 import com.reliaquest.api.external.EmployeeServiceIntegration;
 import com.reliaquest.api.external.dto.CreateEmployeeResponseDto;
 import com.reliaquest.api.external.dto.DeleteEmployeeResponseDto;
 import com.reliaquest.api.external.dto.GetAllEmployeesResponseDto;
 import com.reliaquest.api.external.dto.GetEmployeeResponseDto;
+import com.reliaquest.api.external.dto.GetEmployeesByIdsResponseDto;
 import com.reliaquest.api.service.impl.EmployeeService;
 import com.reliaquest.api.validator.EmployeeValidator;
+import com.reliaquest.api.writebehind.WriteBehindQueue;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTest {
@@ -31,9 +45,27 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeValidator employeeValidator;
 
+    @Mock
+    private WriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private PeerInvalidation peerInvalidation;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Spy
+    private RosterCache rosterCache = new RosterCache(true, Duration.ofMinutes(1), 100, new ObjectMapper());
+
     @InjectMocks
     private EmployeeService employeeService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(employeeService, "multiGetMaxIds", 100);
+        ReflectionTestUtils.setField(employeeService, "multiGetFallbackConcurrency", 4);
+    }
+
     @Test
     void getAllEmployees_validCase_ReturnsListOfEmployees() {
         EmployeeDto e1 = new EmployeeDto();
@@ -138,6 +170,17 @@ public class EmployeeServiceTest {
         verify(employeeServiceIntegration).createEmployee(requestDto);
     }
 
+    @Test
+    void createEmployeeAsync_InvalidData_IsNotQueued() {
+        CreateEmployeeRequestDto requestDto = new CreateEmployeeRequestDto();
+        doThrow(new IllegalArgumentException("Employee age must be between 16 and 75"))
+                .when(employeeValidator)
+                .validateEmployeeData(requestDto);
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.createEmployeeAsync(requestDto, "key-1"));
+        verify(writeBehindQueue, never()).submit(any(), any());
+    }
+
     @Test
     void searchEmployeesByName_Success_ReturnsEmployees() {
         EmployeeDto e1 = new EmployeeDto();
@@ -196,4 +239,170 @@ public class EmployeeServiceTest {
 
         assertEquals(2, result.size());
     }
+
+    @Test
+    void getEmployeeById_RepeatedLookup_CallsUpstreamOnce() {
+        UUID id = UUID.randomUUID();
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+
+        GetEmployeeResponseDto responseDto = new GetEmployeeResponseDto();
+        responseDto.setData(employee);
+
+        when(employeeServiceIntegration.getEmployeeById(id)).thenReturn(responseDto);
+
+        employeeService.getEmployeeById(id.toString());
+        EmployeeDto result = employeeService.getEmployeeById(id.toString());
+
+        assertEquals(employee, result);
+        verify(employeeServiceIntegration, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void getEmployeeById_MissingEmployee_NotFoundIsCached() {
+        UUID id = UUID.randomUUID();
+        when(employeeServiceIntegration.getEmployeeById(id)).thenThrow(new EmployeeNotFoundException("not found"));
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(id.toString()));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(id.toString()));
+
+        verify(employeeServiceIntegration, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void deleteEmployeeById_CachedEmployee_IsInvalidated() {
+        UUID id = UUID.randomUUID();
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        employee.setEmployeeName("Saurabh");
+
+        GetEmployeeResponseDto getEmployeeResponseDto = new GetEmployeeResponseDto();
+        getEmployeeResponseDto.setData(employee);
+        DeleteEmployeeResponseDto deleteEmployeeResponseDto = new DeleteEmployeeResponseDto();
+        deleteEmployeeResponseDto.setData(true);
+
+        when(employeeServiceIntegration.getEmployeeById(id))
+                .thenReturn(getEmployeeResponseDto)
+                .thenThrow(new EmployeeNotFoundException("not found"));
+        when(employeeServiceIntegration.deleteEmployeeByName("Saurabh")).thenReturn(deleteEmployeeResponseDto);
+
+        employeeService.deleteEmployeeById(id.toString());
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(id.toString()));
+        verify(employeeServiceIntegration, times(2)).getEmployeeById(id);
+        verify(peerInvalidation).publish(Invalidation.employee(id, "Saurabh"));
+    }
+
+    @Test
+    void createEmployee_CreatedEmployee_IsCached() {
+        UUID id = UUID.randomUUID();
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+
+        CreateEmployeeResponseDto responseDto = new CreateEmployeeResponseDto();
+        responseDto.setData(employee);
+
+        when(employeeServiceIntegration.createEmployee(any(CreateEmployeeRequestDto.class)))
+                .thenReturn(responseDto);
+
+        employeeService.createEmployee(new CreateEmployeeRequestDto());
+
+        assertEquals(employee, employeeService.getEmployeeById(id.toString()));
+        verify(employeeServiceIntegration, never()).getEmployeeById(any(UUID.class));
+    }
+
+    @Test
+    void getEmployeesByIds_CachedAndBatched_ReturnsInRequestOrder() {
+        UUID cachedId = UUID.randomUUID();
+        UUID fetchedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        EmployeeDto cached = employee(cachedId);
+        EmployeeDto fetched = employee(fetchedId);
+        employeeCache.put(cached);
+
+        GetEmployeesByIdsResponseDto responseDto = new GetEmployeesByIdsResponseDto();
+        responseDto.setData(List.of(fetched));
+        when(employeeServiceIntegration.getEmployeesByIds(List.of(fetchedId, missingId)))
+                .thenReturn(Optional.of(responseDto));
+
+        MultiGetEmployeeResponseDto result = employeeService.getEmployeesByIds(List.of(
+                fetchedId.toString(), cachedId.toString(), missingId.toString(), fetchedId.toString()));
+
+        assertEquals(List.of(fetched, cached), result.getEmployees());
+        assertEquals(List.of(missingId.toString()), result.getNotFound());
+        assertFalse(result.isPartial());
+        verify(employeeServiceIntegration, never()).getEmployeeById(any(UUID.class));
+    }
+
+    @Test
+    void getEmployeesByIds_BatchWithoutData_ReportsAllNotFound() {
+        UUID missingId = UUID.randomUUID();
+        when(employeeServiceIntegration.getEmployeesByIds(List.of(missingId)))
+                .thenReturn(Optional.of(new GetEmployeesByIdsResponseDto()));
+
+        MultiGetEmployeeResponseDto result = employeeService.getEmployeesByIds(List.of(missingId.toString()));
+
+        assertEquals(List.of(), result.getEmployees());
+        assertEquals(List.of(missingId.toString()), result.getNotFound());
+    }
+
+    @Test
+    void getEmployeesByIds_DeletedDuringBatch_DoesNotCacheTheDeletedEmployee() {
+        UUID deletedId = UUID.randomUUID();
+        EmployeeDto deleted = employee(deletedId);
+        GetEmployeesByIdsResponseDto responseDto = new GetEmployeesByIdsResponseDto();
+        responseDto.setData(List.of(deleted));
+        when(employeeServiceIntegration.getEmployeesByIds(List.of(deletedId))).thenAnswer(invocation -> {
+            // The delete lands after the upstream read, before the batch result is cached
+            employeeCache.invalidate(deletedId);
+            return Optional.of(responseDto);
+        });
+
+        MultiGetEmployeeResponseDto result = employeeService.getEmployeesByIds(List.of(deletedId.toString()));
+
+        assertEquals(List.of(deleted), result.getEmployees());
+        assertNull(employeeCache.getIfPresent(deletedId));
+    }
+
+    @Test
+    void getEmployeesByIds_MultiGetUnsupported_FallsBackToSingleLookups() {
+        UUID foundId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        UUID failingId = UUID.randomUUID();
+        EmployeeDto found = employee(foundId);
+        GetEmployeeResponseDto getEmployeeResponseDto = new GetEmployeeResponseDto();
+        getEmployeeResponseDto.setData(found);
+
+        when(employeeServiceIntegration.getEmployeesByIds(anyList())).thenReturn(Optional.empty());
+        when(employeeServiceIntegration.getEmployeeById(foundId)).thenReturn(getEmployeeResponseDto);
+        when(employeeServiceIntegration.getEmployeeById(missingId))
+                .thenThrow(new EmployeeNotFoundException("not found"));
+        when(employeeServiceIntegration.getEmployeeById(failingId))
+                .thenThrow(new EmployeeServiceIntegrationException("upstream down"));
+
+        MultiGetEmployeeResponseDto result = employeeService.getEmployeesByIds(
+                List.of(foundId.toString(), missingId.toString(), failingId.toString()));
+
+        assertEquals(List.of(found), result.getEmployees());
+        assertEquals(List.of(missingId.toString()), result.getNotFound());
+        assertEquals("upstream down", result.getFailed().get(failingId.toString()));
+        assertTrue(result.isPartial());
+    }
+
+    @Test
+    void getEmployeesByIds_TooManyIds_ThrowsException() {
+        ReflectionTestUtils.setField(employeeService, "multiGetMaxIds", 1);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> employeeService.getEmployeesByIds(
+                        List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString())));
+    }
+
+    private static EmployeeDto employee(UUID id) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        employee.setEmployeeName("Employee " + id);
+        return employee;
+    }
 }
@@ -0,0 +1,128 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.external.UpstreamOperation;
+import com.reliaquest.api.profiling.JfrUpstreamFilter;
+import com.reliaquest.common.profiling.FlightRecorderService;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+public class FlightRecorderTest {
+
+    private static final String UPSTREAM_CALL = "com.reliaquest.api.UpstreamCall";
+    private static final String CACHE_LOOKUP = "com.reliaquest.api.CacheLookup";
+
+    @Test
+    void upstreamFilter_BodyConsumed_RecordsStatusAndBytes() throws IOException {
+        ClientRequest request = ClientRequest.create(
+                        HttpMethod.GET, URI.create("http://localhost:8112/api/v1/employee"))
+                .build();
+
+        List<RecordedEvent> events = record(UPSTREAM_CALL, () -> new JfrUpstreamFilter()
+                .filter(request, ignored -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .body("{\"data\":[]}")
+                        .build()))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block());
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(UpstreamOperation.GET_ALL_EMPLOYEES, event.getString("operation"));
+        assertEquals(200, event.getInt("status"));
+        assertEquals(11, event.getLong("responseBytes"));
+    }
+
+    @Test
+    void upstreamFilter_NotRecording_PassesResponseThrough() {
+        ClientRequest request = ClientRequest.create(
+                        HttpMethod.GET, URI.create("http://localhost:8112/api/v1/employee"))
+                .build();
+        ClientResponse response = ClientResponse.create(HttpStatus.OK).build();
+
+        assertSame(response, new JfrUpstreamFilter()
+                .filter(request, ignored -> Mono.just(response))
+                .block());
+    }
+
+    @Test
+    void employeeCache_MissThenHit_RecordsBothLookups() throws IOException {
+        EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        UUID id = UUID.randomUUID();
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        employee.setEmployeeName("Ada");
+
+        List<RecordedEvent> events = record(CACHE_LOOKUP, () -> {
+            cache.get(id, ignored -> employee);
+            cache.get(id, ignored -> fail("Should have been cached"));
+        });
+
+        assertEquals(2, events.size());
+        assertFalse(events.get(0).getBoolean("hit"));
+        assertTrue(events.get(1).getBoolean("hit"));
+        assertEquals(id.toString(), events.get(1).getString("key"));
+        assertEquals(EmployeeCache.NAME, events.get(1).getString("cache"));
+    }
+
+    @Test
+    void flightRecorderService_StartThenStop_WritesRecordingFile() throws IOException {
+        FlightRecorderService service = new FlightRecorderService("employee-api-test", Duration.ofMinutes(5));
+        try {
+            FlightRecorderService.Status status = service.start(Duration.ofHours(1), "default");
+            assertEquals("RUNNING", status.state());
+            assertEquals(Duration.ofMinutes(5), status.duration());
+            assertNull(service.file());
+            assertThrows(IllegalStateException.class, () -> service.start(Duration.ofSeconds(1), "default"));
+
+            Path file = service.stop();
+
+            assertNotNull(file);
+            assertTrue(Files.size(file) > 0);
+            assertEquals("STOPPED", service.status().state());
+            assertEquals(file, service.file());
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    void flightRecorderService_UnknownSettings_Rejected() {
+        FlightRecorderService service = new FlightRecorderService("employee-api-test", Duration.ofMinutes(5));
+
+        assertThrows(IllegalArgumentException.class, () -> service.start(Duration.ofSeconds(1), "no-such-settings"));
+        assertNull(service.status());
+    }
+
+    private static List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+        Path file = Files.createTempFile("flight-recorder-test-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
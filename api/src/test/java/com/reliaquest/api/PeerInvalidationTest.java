@@ -0,0 +1,162 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.cluster.ClusterToken;
+import com.reliaquest.api.cluster.Invalidation;
+import com.reliaquest.api.cluster.InvalidationEvent;
+import com.reliaquest.api.cluster.InvalidationLog;
+import com.reliaquest.api.cluster.PeerInvalidation;
+import com.reliaquest.api.cluster.UpstreamBudget;
+import com.reliaquest.api.controller.ClusterController;
+import com.reliaquest.api.dto.EmployeeDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+
+public class PeerInvalidationTest {
+
+    private static final String PEER = "http://localhost:8211";
+
+    private final EmployeeCache employeeCache =
+            new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    private final RosterCache rosterCache = new RosterCache(true, Duration.ofMinutes(1), 100, new ObjectMapper());
+
+    private final ClusterMembership membership = new ClusterMembership(
+            URI.create("http://localhost:8111"),
+            List.of(URI.create(PEER)),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(3),
+            WebClient.create(),
+            System::nanoTime);
+
+    @Test
+    void receive_EmployeeInvalidation_DropsEntryAndRoster() {
+        PeerInvalidation peerInvalidation = peerInvalidation(10);
+        EmployeeDto employee = employee("Saurabh");
+        employeeCache.put(employee);
+        rosterCache.get(() -> List.of(employee));
+
+        peerInvalidation.receive(
+                new InvalidationEvent(PEER, 42, 1, Invalidation.employee(employee.getId(), "Saurabh")));
+
+        assertNull(employeeCache.getIfPresent(employee.getId()));
+        assertEquals(List.of(), rosterCache.get(List::of).employees());
+    }
+
+    @Test
+    void receive_UnknownOrigin_IsIgnored() {
+        PeerInvalidation peerInvalidation = peerInvalidation(10);
+        EmployeeDto employee = employee("Saurabh");
+        employeeCache.put(employee);
+
+        peerInvalidation.receive(new InvalidationEvent(
+                "http://attacker:8111", 42, 1, Invalidation.employee(employee.getId(), "Saurabh")));
+
+        assertNotNull(employeeCache.getIfPresent(employee.getId()));
+    }
+
+    @Test
+    void controller_WithoutClusterToken_IsUnauthorized() {
+        PeerInvalidation peerInvalidation = peerInvalidation(10);
+        UpstreamBudget budget =
+                new UpstreamBudget(true, 8, Duration.ofSeconds(60), membership, new SimpleMeterRegistry(), () -> 0);
+        ClusterController controller =
+                new ClusterController(membership, budget, peerInvalidation, new ClusterToken("secret"));
+        EmployeeDto employee = employee("Saurabh");
+        employeeCache.put(employee);
+        InvalidationEvent event = new InvalidationEvent(PEER, 42, 1, Invalidation.employee(employee.getId(), null));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.invalidation(null, event).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.invalidation("Bearer wrong", event).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.members(null).getStatusCode());
+        assertNotNull(employeeCache.getIfPresent(employee.getId()));
+
+        assertEquals(HttpStatus.OK, controller.invalidation("Bearer secret", event).getStatusCode());
+        assertNull(employeeCache.getIfPresent(employee.getId()));
+    }
+
+    @Test
+    void eventsSince_KnownEpoch_ReturnsOnlyNewerEvents() {
+        PeerInvalidation peerInvalidation = peerInvalidation(10);
+        peerInvalidation.publish(Invalidation.roster());
+        peerInvalidation.publish(Invalidation.employee(UUID.randomUUID(), "Akash"));
+        long epoch = peerInvalidation.eventsSince(0, -1).epoch();
+
+        InvalidationLog log = peerInvalidation.eventsSince(epoch, 1);
+
+        assertTrue(log.complete());
+        assertEquals(2, log.latest());
+        assertEquals(List.of(2L), log.events().stream().map(InvalidationEvent::sequence).toList());
+    }
+
+    @Test
+    void eventsSince_UnknownEpoch_StartsFromTheBeginning() {
+        PeerInvalidation peerInvalidation = peerInvalidation(10);
+        peerInvalidation.publish(Invalidation.roster());
+
+        InvalidationLog log = peerInvalidation.eventsSince(7, 5);
+
+        assertTrue(log.complete());
+        assertEquals(1, log.events().size());
+    }
+
+    @Test
+    void eventsSince_EventsNoLongerRetained_IsIncomplete() {
+        PeerInvalidation peerInvalidation = peerInvalidation(2);
+        for (int i = 0; i < 5; i++) {
+            peerInvalidation.publish(Invalidation.roster());
+        }
+        long epoch = peerInvalidation.eventsSince(0, -1).epoch();
+
+        assertFalse(peerInvalidation.eventsSince(epoch, 1).complete());
+        assertTrue(peerInvalidation.eventsSince(epoch, 3).complete());
+        assertTrue(peerInvalidation.eventsSince(epoch, 5).complete());
+    }
+
+    @Test
+    void publish_Disabled_KeepsNoLog() {
+        PeerInvalidation peerInvalidation = new PeerInvalidation(
+                false,
+                10,
+                Duration.ofSeconds(5),
+                membership,
+                employeeCache,
+                rosterCache,
+                WebClient.create(),
+                new SimpleMeterRegistry());
+
+        peerInvalidation.publish(Invalidation.roster());
+
+        assertEquals(0, peerInvalidation.eventsSince(0, -1).latest());
+    }
+
+    private PeerInvalidation peerInvalidation(int logSize) {
+        return new PeerInvalidation(
+                true,
+                logSize,
+                Duration.ofSeconds(5),
+                membership,
+                employeeCache,
+                rosterCache,
+                WebClient.create(),
+                new SimpleMeterRegistry());
+    }
+
+    private static EmployeeDto employee(String name) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        return employee;
+    }
+}
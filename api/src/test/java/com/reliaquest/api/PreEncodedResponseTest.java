@@ -0,0 +1,190 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterCache.Roster;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.GlobalControllerExceptionHandler;
+import com.reliaquest.api.response.PreEncodedBodyConverter;
+import com.reliaquest.api.response.PreEncodedResponseCache;
+import com.reliaquest.api.service.IEmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+public class PreEncodedResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final IEmployeeService employeeService = mock(IEmployeeService.class);
+
+    private final MockMvc mockMvc = mockMvc(true);
+
+    @Test
+    void rosterCache_SameContent_SameVersionAndOneLoad() {
+        RosterCache rosterCache = new RosterCache(true, Duration.ofMinutes(1), 100, objectMapper);
+        AtomicInteger loads = new AtomicInteger();
+        List<EmployeeDto> employees = List.of(employee("akash", 100));
+
+        Roster first = rosterCache.get(() -> {
+            loads.incrementAndGet();
+            return employees;
+        });
+        Roster cached = rosterCache.get(() -> {
+            loads.incrementAndGet();
+            return employees;
+        });
+        assertSame(first, cached);
+        assertEquals(1, loads.get());
+
+        rosterCache.invalidate();
+        assertEquals(first.version(), rosterCache.get(() -> employees).version());
+
+        rosterCache.invalidate();
+        Roster changed = rosterCache.get(() -> List.of(employee("akash", 100), employee("saurabh", 200)));
+        assertNotEquals(first.version(), changed.version());
+    }
+
+    @Test
+    void get_AcceptsGzip_ServesCompressedBytesWithEtag() throws Exception {
+        Roster roster = roster(employee("akash", 100));
+        when(employeeService.getRoster()).thenReturn(roster);
+
+        MockHttpServletResponse response = mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/employee").header("Accept-Encoding", "gzip, deflate"))
+                .andReturn()
+                .getResponse();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("\"" + roster.version() + "-gzip\"", response.getHeader("ETag"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(roster.employees()), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void get_MatchingEtag_NotModifiedUntilRosterChanges() throws Exception {
+        Roster roster = roster(employee("akash", 100));
+        when(employeeService.getRoster()).thenReturn(roster);
+        when(employeeService.getHighestSalaryOfEmployees(roster)).thenReturn(100);
+
+        MockHttpServletResponse first = get("/api/v1/employee/highestSalary", null);
+        assertEquals("100", first.getContentAsString());
+
+        MockHttpServletResponse revalidated = get("/api/v1/employee/highestSalary", first.getHeader("ETag"));
+        assertEquals(304, revalidated.getStatus());
+        assertEquals(0, revalidated.getContentAsByteArray().length);
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get(PreEncodedResponseCache.LOOKUPS)
+                        .tag("result", "hit")
+                        .counter()
+                        .count());
+
+        Roster changed = roster(employee("akash", 100), employee("saurabh", 200));
+        when(employeeService.getRoster()).thenReturn(changed);
+        when(employeeService.getHighestSalaryOfEmployees(changed)).thenReturn(200);
+
+        MockHttpServletResponse refreshed = get("/api/v1/employee/highestSalary", first.getHeader("ETag"));
+        assertEquals(200, refreshed.getStatus());
+        assertEquals("200", refreshed.getContentAsString());
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .get(PreEncodedResponseCache.LOOKUPS)
+                        .tag("result", "miss")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void get_ServiceFails_AnswersLikeAnyOtherError() throws Exception {
+        Roster roster = roster();
+        when(employeeService.getRoster()).thenReturn(roster);
+        when(employeeService.getHighestSalaryOfEmployees(roster))
+                .thenThrow(new EmployeeNotFoundException("No employees found with highest salary"));
+
+        MockHttpServletResponse response = get("/api/v1/employee/highestSalary", null);
+
+        assertEquals(404, response.getStatus());
+        assertNull(response.getHeader("ETag"));
+        assertTrue(response.getContentAsString().contains("No employees found with highest salary"));
+    }
+
+    @Test
+    void get_OtherEndpoint_SerialisedAsUsual() throws Exception {
+        EmployeeDto employee = employee("akash", 100);
+        when(employeeService.getEmployeeById("1")).thenReturn(employee);
+
+        MockHttpServletResponse response = get("/api/v1/employee/1", null);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("ETag"));
+        assertEquals(objectMapper.writeValueAsString(employee), response.getContentAsString());
+    }
+
+    @Test
+    void get_CacheDisabled_SerialisesEveryTime() throws Exception {
+        Roster roster = roster(employee("akash", 100));
+        when(employeeService.getRoster()).thenReturn(roster);
+
+        MockHttpServletResponse response = mockMvc(false)
+                .perform(MockMvcRequestBuilders.get("/api/v1/employee"))
+                .andReturn()
+                .getResponse();
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("ETag"));
+        assertEquals(objectMapper.writeValueAsString(roster.employees()), response.getContentAsString());
+        assertNull(meterRegistry.find(PreEncodedResponseCache.LOOKUPS).counter());
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(path);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private MockMvc mockMvc(boolean cacheEnabled) {
+        PreEncodedResponseCache cache = new PreEncodedResponseCache(cacheEnabled, objectMapper, 0, meterRegistry);
+        return MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, cache))
+                .setMessageConverters(
+                        new PreEncodedBodyConverter(), new MappingJackson2HttpMessageConverter(objectMapper))
+                .setControllerAdvice(new GlobalControllerExceptionHandler())
+                .build();
+    }
+
+    private Roster roster(EmployeeDto... employees) {
+        return new RosterCache(false, Duration.ZERO, 100, objectMapper).get(() -> List.of(employees));
+    }
+
+    private static EmployeeDto employee(String name, int salary) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(UUID.nameUUIDFromBytes(name.getBytes()));
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(salary);
+        return employee;
+    }
+}
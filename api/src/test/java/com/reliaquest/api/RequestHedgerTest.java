@@ -0,0 +1,150 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.external.hedging.RequestHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+public class RequestHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void hedge_SlowPrimary_HedgeWins() {
+        RequestHedger requestHedger = hedger(true, 1);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<ResponseEntity<String>> request = Mono.defer(() -> subscriptions.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(5)).map(ignored -> ResponseEntity.ok("primary"))
+                : Mono.just(ResponseEntity.ok("hedge")));
+
+        ResponseEntity<String> response = requestHedger.hedge("getEmployeeById", request).block();
+
+        assertEquals("hedge", response.getBody());
+        assertEquals(2, subscriptions.get());
+        assertEquals(1, meterRegistry.get(RequestHedger.HEDGES).tag("result", "won").counter().count());
+    }
+
+    @Test
+    void hedge_FailedHedge_PrimaryResponseReturned() {
+        RequestHedger requestHedger = hedger(true, 1);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<ResponseEntity<String>> request = Mono.defer(() -> subscriptions.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).map(ignored -> ResponseEntity.ok("primary"))
+                : Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).<String>build()));
+
+        ResponseEntity<String> response = requestHedger.hedge("getEmployeeById", request).block();
+
+        assertEquals("primary", response.getBody());
+    }
+
+    @Test
+    void hedge_BudgetExhausted_NoHedgeSent() {
+        RequestHedger requestHedger = hedger(true, 0);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<ResponseEntity<String>> request = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(300)).map(ignored -> ResponseEntity.ok("primary"));
+        });
+
+        requestHedger.hedge("getAllEmployees", request).block();
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void hedge_RejectedResponses_DoNotLowerTheHedgeDelay() {
+        RequestHedger requestHedger = hedger(true, 1);
+        for (int i = 0; i < 40; i++) {
+            requestHedger
+                    .hedge("getAllEmployees", Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build()))
+                    .block();
+        }
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<ResponseEntity<String>> request = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(30)).map(ignored -> ResponseEntity.ok("primary"));
+        });
+
+        // Instant local 429s would have put the percentile at the 10ms minimum; without samples it waits 50ms
+        requestHedger.hedge("getAllEmployees", request).block();
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    /*
+     * A simulated long tail: one primary request in 20 takes 100ms instead of 2ms, while a repeated request is always
+     * fast. Hedging after the 10ms minimum delay must keep the slow requests out of the p99.
+     */
+    @Test
+    void hedge_LongTail_CutsP99() {
+        RequestHedger requestHedger = new RequestHedger(
+                true,
+                Duration.ofMillis(10),
+                Duration.ofSeconds(1),
+                0.9,
+                0.1,
+                20,
+                meterRegistry,
+                ObservationRegistry.NOOP);
+        p99Millis(requestHedger, 40, Integer.MAX_VALUE);
+
+        long unhedgedP99 = p99Millis(hedger(false, 0), 200, 20);
+        long hedgedP99 = p99Millis(requestHedger, 200, 20);
+
+        assertTrue(unhedgedP99 >= 90, "unhedged p99 " + unhedgedP99 + "ms");
+        assertTrue(hedgedP99 < 50, "hedged p99 " + hedgedP99 + "ms");
+    }
+
+    @Test
+    void hedge_Disabled_ReturnsRequestUnchanged() {
+        Mono<ResponseEntity<String>> request = Mono.just(ResponseEntity.ok("primary"));
+
+        assertSame(request, hedger(false, 1).hedge("getAllEmployees", request));
+    }
+
+    /*
+     * Sends the requests all at once, every slowEvery-th of them slow, and returns the p99 of their latencies.
+     */
+    private static long p99Millis(RequestHedger requestHedger, int requests, int slowEvery) {
+        List<Long> latencies = Flux.range(1, requests)
+                .flatMap(
+                        i -> requestHedger
+                                .hedge("getEmployeeById", upstream(i % slowEvery == 0))
+                                .elapsed()
+                                .map(Tuple2::getT1),
+                        requests)
+                .sort()
+                .collectList()
+                .block();
+        return latencies.get((int) Math.ceil(0.99 * requests) - 1);
+    }
+
+    private static Mono<ResponseEntity<String>> upstream(boolean slowPrimary) {
+        AtomicBoolean primary = new AtomicBoolean(true);
+        return Mono.defer(() -> Mono.delay(Duration.ofMillis(primary.getAndSet(false) && slowPrimary ? 100 : 2))
+                .map(ignored -> ResponseEntity.ok("employee")));
+    }
+
+    private RequestHedger hedger(boolean enabled, int maxBurst) {
+        return new RequestHedger(
+                enabled,
+                Duration.ofMillis(10),
+                Duration.ofMillis(50),
+                0.95,
+                0.0,
+                maxBurst,
+                meterRegistry,
+                ObservationRegistry.NOOP);
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.SchedulingProperties;
+import com.reliaquest.api.exception.RequestShedException;
+import com.reliaquest.api.scheduling.RequestClass;
+import com.reliaquest.api.scheduling.RequestClassifier;
+import com.reliaquest.api.scheduling.RequestSchedulingFilter;
+import com.reliaquest.api.scheduling.UpstreamPermitScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestSchedulingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void classify_HeaderRouteAndDefault_PicksInThatOrder() {
+        SchedulingProperties properties = new SchedulingProperties();
+        properties.getRoutes().add(route("GET", "/api/v1/employee/search/**", RequestClass.BULK));
+        RequestClassifier requestClassifier = new RequestClassifier(properties);
+
+        MockHttpServletRequest search = new MockHttpServletRequest("GET", "/api/v1/employee/search/jo");
+        assertEquals(RequestClass.BULK, requestClassifier.classify(search));
+
+        search.addHeader("X-Request-Class", "critical");
+        assertEquals(RequestClass.CRITICAL, requestClassifier.classify(search));
+
+        assertEquals(
+                RequestClass.STANDARD,
+                requestClassifier.classify(new MockHttpServletRequest("POST", "/api/v1/employee")));
+    }
+
+    @Test
+    void acquire_Contended_GrantsByWeight() {
+        SchedulingProperties properties = new SchedulingProperties();
+        properties.setUpstreamPermits(1);
+        properties.getClasses().put(RequestClass.CRITICAL, settings(4, Duration.ofSeconds(5)));
+        properties.getClasses().put(RequestClass.BULK, settings(1, Duration.ofSeconds(5)));
+        UpstreamPermitScheduler scheduler = new UpstreamPermitScheduler(properties, meterRegistry);
+
+        UpstreamPermitScheduler.Permit held = scheduler.acquire(RequestClass.BULK).block();
+        List<RequestClass> granted = new CopyOnWriteArrayList<>();
+        for (RequestClass requestClass :
+                List.of(RequestClass.BULK, RequestClass.BULK, RequestClass.CRITICAL, RequestClass.CRITICAL)) {
+            scheduler.acquire(requestClass).subscribe(permit -> {
+                granted.add(requestClass);
+                permit.release();
+            });
+        }
+        held.release();
+
+        assertEquals(
+                List.of(RequestClass.CRITICAL, RequestClass.CRITICAL, RequestClass.BULK, RequestClass.BULK), granted);
+    }
+
+    @Test
+    void acquire_PastQueueDeadline_IsShed() {
+        SchedulingProperties properties = new SchedulingProperties();
+        properties.setUpstreamPermits(1);
+        properties.getClasses().put(RequestClass.BULK, settings(1, Duration.ofMillis(50)));
+        UpstreamPermitScheduler scheduler = new UpstreamPermitScheduler(properties, meterRegistry);
+
+        UpstreamPermitScheduler.Permit held = scheduler.acquire(RequestClass.BULK).block();
+
+        assertThrows(RequestShedException.class, () -> scheduler.acquire(RequestClass.BULK).block());
+        held.release();
+        assertNotNull(scheduler.acquire(RequestClass.BULK).block());
+    }
+
+    @Test
+    void doFilter_ClassSaturated_ShedsWith503() throws Exception {
+        SchedulingProperties properties = new SchedulingProperties();
+        SchedulingProperties.ClassSettings bulk = settings(1, Duration.ofMillis(50));
+        bulk.setMaxConcurrent(1);
+        bulk.setMaxQueued(0);
+        properties.getClasses().put(RequestClass.BULK, bulk);
+        properties.getRoutes().add(route(null, "/api/v1/employee/search/**", RequestClass.BULK));
+        RequestSchedulingFilter filter = new RequestSchedulingFilter(properties, new ObjectMapper(), meterRegistry);
+
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        // The nested request arrives while the outer one still holds the only bulk slot
+        filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/employee/search/a"),
+                outer,
+                (request, response) -> filter.doFilter(
+                        new MockHttpServletRequest("GET", "/api/v1/employee/search/b"), nested, new MockFilterChain()));
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.getStatus());
+        assertEquals("1", nested.getHeader("Retry-After"));
+
+        MockHttpServletResponse critical = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee/1"), critical, new MockFilterChain());
+        assertEquals(200, critical.getStatus());
+    }
+
+    private static SchedulingProperties.RouteRule route(String method, String pattern, RequestClass requestClass) {
+        SchedulingProperties.RouteRule route = new SchedulingProperties.RouteRule();
+        route.setMethod(method);
+        route.setPattern(pattern);
+        route.setRequestClass(requestClass);
+        return route;
+    }
+
+    private static SchedulingProperties.ClassSettings settings(int weight, Duration queueTimeout) {
+        SchedulingProperties.ClassSettings settings = new SchedulingProperties.ClassSettings();
+        settings.setWeight(weight);
+        settings.setQueueTimeout(queueTimeout);
+        return settings;
+    }
+}
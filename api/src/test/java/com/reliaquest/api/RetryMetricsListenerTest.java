@@ -0,0 +1,73 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.metrics.RetryMetricsListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.NoBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+
+public class RetryMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RetryTemplate retryTemplate = new RetryTemplate();
+
+    @BeforeEach
+    void setUp() {
+        // The policy of the @Retryable integration methods, without the backoff
+        retryTemplate.setRetryPolicy(new SimpleRetryPolicy(3, Map.of(TooManyRequestsException.class, true)));
+        retryTemplate.setBackOffPolicy(new NoBackOffPolicy());
+        retryTemplate.setListeners(new RetryListener[] {new RetryMetricsListener(meterRegistry)});
+    }
+
+    @Test
+    void close_RateLimitedThenSucceeded_CountsOneRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryTemplate.execute(context -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new TooManyRequestsException("429");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, retries("TooManyRequestsException"));
+    }
+
+    @Test
+    void close_NotFound_IsNotARetry() {
+        assertThrows(EmployeeNotFoundException.class, () -> retryTemplate.execute(context -> {
+            throw new EmployeeNotFoundException("404");
+        }));
+
+        assertEquals(0, retries("EmployeeNotFoundException"));
+    }
+
+    @Test
+    void close_Exhausted_CountsAllButTheLastAttempt() {
+        assertThrows(TooManyRequestsException.class, () -> retryTemplate.execute(context -> {
+            throw new TooManyRequestsException("429");
+        }));
+
+        assertEquals(2, retries("TooManyRequestsException"));
+    }
+
+    private double retries(String exception) {
+        Counter counter = meterRegistry
+                .find(RetryMetricsListener.RETRIES)
+                .tag("exception", exception)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
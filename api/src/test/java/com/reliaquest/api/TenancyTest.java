@@ -0,0 +1,218 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.config.TenancyProperties;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.tenant.TenantContext;
+import com.reliaquest.api.tenant.TenantExchangeFilter;
+import com.reliaquest.api.tenant.TenantFilter;
+import com.reliaquest.api.tenant.TenantQuota;
+import com.reliaquest.api.tenant.TenantRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+public class TenancyTest {
+
+    private static final URI EMPLOYEE_URL = URI.create("http://localhost:8112/api/v1/employee");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EmployeeCache employeeCache =
+            new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    private final RosterCache rosterCache = new RosterCache(true, Duration.ofMinutes(1), 100, new ObjectMapper());
+
+    private final TenancyProperties properties = new TenancyProperties();
+
+    @Test
+    void tryAcquire_OverLimit_WaitsForOldestGrantPerTenant() {
+        AtomicLong clock = new AtomicLong();
+        TenantQuota quota = new TenantQuota(Duration.ofSeconds(1), clock::get);
+
+        assertEquals(0, quota.tryAcquire("acme", 2));
+        clock.addAndGet(Duration.ofMillis(400).toNanos());
+        assertEquals(0, quota.tryAcquire("acme", 2));
+        assertEquals(Duration.ofMillis(600).toNanos(), quota.tryAcquire("acme", 2));
+        assertEquals(0, quota.tryAcquire("globex", 2));
+        assertEquals(0, quota.tryAcquire("acme", 0));
+
+        clock.addAndGet(Duration.ofMillis(600).toNanos());
+        assertEquals(0, quota.tryAcquire("acme", 2));
+    }
+
+    @Test
+    void doFilter_TenantOverQuota_AnswersWith429() throws Exception {
+        properties.setInboundLimit(5);
+        TenancyProperties.TenantLimits limits = new TenancyProperties.TenantLimits();
+        limits.setInboundLimit(1);
+        properties.getTenants().put("acme", limits);
+        TenantFilter filter = filter(properties);
+
+        assertEquals("acme", filter(filter, request("acme")));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("acme"), rejected, (req, res) -> fail("over quota"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        assertEquals(TenantContext.DEFAULT, filter(filter, request(null)));
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(TenantRegistry.REQUESTS)
+                        .tag("tenant", "acme")
+                        .tag("outcome", "rejected")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void doFilter_InvalidOrUnconfiguredTenant_AnswersWith400() throws Exception {
+        properties.setIds(Set.of("acme"));
+        TenantFilter filter = filter(properties);
+
+        assertEquals("acme", filter(filter, request("acme")));
+        assertNull(filter(filter, request("globex")));
+        assertNull(filter(filter, request("../acme")));
+        assertEquals(TenantContext.DEFAULT, filter(filter, request(" ")));
+    }
+
+    @Test
+    void gauges_ConfiguredTenantsOnly_ReadTheirCacheUsage() {
+        properties.setIds(Set.of("acme"));
+        registry(properties);
+        EmployeeDto employee = employee(UUID.randomUUID(), "Acme Employee");
+        TenantContext.runAs("acme", () -> rosterCache.get(() -> List.of(employee)));
+
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(TenantRegistry.CACHE_ENTRIES)
+                        .tag("tenant", "acme")
+                        .tag("cache", RosterCache.NAME)
+                        .gauge()
+                        .value());
+        assertEquals(
+                0,
+                meterRegistry
+                        .get(TenantRegistry.CACHE_ENTRIES)
+                        .tag("tenant", TenantContext.DEFAULT)
+                        .tag("cache", RosterCache.NAME)
+                        .gauge()
+                        .value());
+        assertNull(meterRegistry.find(TenantRegistry.CACHE_ENTRIES).tag("tenant", "globex").gauge());
+    }
+
+    @Test
+    void get_SameIdInTwoTenants_CachedSeparately() {
+        UUID id = UUID.randomUUID();
+        EmployeeDto acme = employee(id, "Acme Employee");
+
+        TenantContext.runAs("acme", () -> employeeCache.get(id, ignored -> acme));
+        EmployeeDto other = employeeCache.get(id, ignored -> employee(id, "Default Employee"));
+
+        assertEquals("Default Employee", other.getEmployeeName());
+        assertEquals(acme, TenantContext.callAs("acme", () -> employeeCache.getIfPresent(id)).employee());
+        TenantContext.runAs("acme", () -> employeeCache.invalidateByName("Default Employee"));
+        assertNotNull(employeeCache.getIfPresent(id));
+
+        assertEquals(1, employeeCache.usage("acme").entries());
+        assertTrue(employeeCache.usage("acme").estimatedBytes() > 0);
+        assertEquals(0, employeeCache.usage("globex").entries());
+    }
+
+    @Test
+    void get_RosterPerTenant_SnapshotsDoNotMix() {
+        EmployeeDto employee = employee(UUID.randomUUID(), "Acme Employee");
+
+        TenantContext.runAs("acme", () -> rosterCache.get(() -> List.of(employee)));
+        assertEquals(List.of(), rosterCache.get(List::of).employees());
+        assertEquals(
+                List.of(employee), TenantContext.callAs("acme", () -> rosterCache.get(List::of)).employees());
+        assertEquals(1, rosterCache.usage("acme").entries());
+    }
+
+    @Test
+    void exchangeFilter_OtherTenant_ForwardsHeaderWithinBudget() {
+        properties.setUpstreamLimit(1);
+        TenantExchangeFilter filter = new TenantExchangeFilter(
+                properties, registry(properties), new TenantQuota(Duration.ofSeconds(60), System::nanoTime));
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+        exchange(filter, sent).contextWrite(context -> context.put(TenantContext.class, "acme")).block();
+        assertEquals("acme", sent.get().headers().getFirst("X-Tenant-Id"));
+
+        sent.set(null);
+        ClientResponse response = TenantContext.callAs("acme", () -> exchange(filter, sent).block());
+        assertNull(sent.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.statusCode());
+        assertEquals("exhausted", response.headers().asHttpHeaders().getFirst(TenantExchangeFilter.HEADER));
+
+        exchange(filter, sent).block();
+        assertFalse(sent.get().headers().containsKey("X-Tenant-Id"));
+    }
+
+    private TenantRegistry registry(TenancyProperties properties) {
+        return new TenantRegistry(properties.servedTenants(), employeeCache, rosterCache, meterRegistry);
+    }
+
+    private TenantFilter filter(TenancyProperties properties) {
+        return new TenantFilter(
+                properties,
+                registry(properties),
+                new TenantQuota(properties.getInboundWindow(), System::nanoTime),
+                new ObjectMapper());
+    }
+
+    /*
+     * Returns the tenant the request was admitted as, or null if it was rejected.
+     */
+    private static String filter(TenantFilter filter, MockHttpServletRequest request) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        filter.doFilter(
+                request,
+                new MockHttpServletResponse(),
+                (req, res) -> seen.set((String) req.getAttribute(TenantContext.ATTRIBUTE)));
+        return seen.get();
+    }
+
+    private static Mono<ClientResponse> exchange(TenantExchangeFilter filter, AtomicReference<ClientRequest> sent) {
+        return filter.filter(ClientRequest.create(HttpMethod.GET, EMPLOYEE_URL).build(), request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        });
+    }
+
+    private static MockHttpServletRequest request(String tenant) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        if (tenant != null) {
+            request.addHeader("X-Tenant-Id", tenant);
+        }
+        return request;
+    }
+
+    private static EmployeeDto employee(UUID id, String name) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(id);
+        employee.setEmployeeName(name);
+        employee.setEmail("employee@company.com");
+        return employee;
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"employee.base-url=http://localhost:1/api/v1", "employee.warm-up.enabled=false"})
+class TracingPropagationTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Test
+    void getAllEmployees_TraceparentHeader_ContinuesTraceThroughServiceAndUpstream()
+            throws IOException, InterruptedException {
+        // Plain JDK client so the test request itself does not start a new trace.
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/employee"))
+                .header("traceparent", "00-" + TRACE_ID + "-b7ad6b7169203331-01")
+                .build();
+        HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+
+        List<SpanData> spans = awaitSpans(4);
+        assertTrue(spans.stream().allMatch(span -> TRACE_ID.equals(span.getTraceId())));
+        assertTrue(spans.stream().anyMatch(span -> span.getKind() == SpanKind.SERVER));
+        assertTrue(spans.stream().anyMatch(span -> span.getKind() == SpanKind.CLIENT));
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("employee-service getAllEmployees")));
+    }
+
+    /*
+     * Spans are exported by a batch processor on its own thread, every few seconds.
+     */
+    private List<SpanData> awaitSpans(int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && spanExporter.getFinishedSpanItems().size() < expected; i++) {
+            Thread.sleep(50);
+        }
+        return spanExporter.getFinishedSpanItems();
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.capture.BodyRedactor;
+import com.reliaquest.api.capture.CaptureFile;
+import com.reliaquest.api.capture.CapturedRequest;
+import com.reliaquest.api.capture.ReplayReport;
+import com.reliaquest.api.capture.TrafficCaptureFilter;
+import com.reliaquest.api.capture.TrafficReplayer;
+import com.reliaquest.api.logging.UpstreamCallCounter;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class TrafficReplayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void doFilter_Request_IsCapturedWithBodyAndUpstreamCalls() throws Exception {
+        Path file = tempDir.resolve("capture.jsonl");
+        CaptureFile captureFile = new CaptureFile(file, 100, 1 << 20, 1, objectMapper, new SimpleMeterRegistry());
+        TrafficCaptureFilter filter = new TrafficCaptureFilter(
+                captureFile, List.of("Idempotency-Key"), 1024, new BodyRedactor(objectMapper, List.of("age")));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/employee");
+        request.setContent("{\"name\":\"Akash\",\"salary\":90000,\"age\":31}".getBytes(StandardCharsets.UTF_8));
+        request.addHeader("Idempotency-Key", "key-1");
+        request.addHeader("Authorization", "secret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            UpstreamCallCounter.counter(req).incrementAndGet();
+            ((MockHttpServletResponse) res).setStatus(201);
+        };
+        filter.doFilter(request, response, chain);
+        captureFile.close();
+
+        List<CapturedRequest> captured = CaptureFile.read(file, objectMapper);
+        assertEquals(1, captured.size());
+        CapturedRequest entry = captured.get(0);
+        assertEquals("POST", entry.method());
+        assertEquals("/api/v1/employee", entry.path());
+        assertEquals("{\"name\":\"xxxxx\",\"salary\":1,\"age\":31}", entry.body());
+        assertEquals(Map.of("Idempotency-Key", "key-1"), entry.headers());
+        assertEquals(201, entry.status());
+        assertEquals(1, entry.upstreamCalls());
+    }
+
+    @Test
+    void redact_Bodies_KeepOnlyOptedInFields() {
+        BodyRedactor ids = new BodyRedactor(objectMapper, List.of("ids"));
+
+        assertEquals("{\"ids\":[\"a1\",\"b2\"]}", ids.redact("{\"ids\":[\"a1\",\"b2\"]}"));
+        assertEquals("{\"names\":[\"xx\"]}", ids.redact("{\"names\":[\"Al\"]}"));
+        assertNull(ids.redact("name=Akash"));
+        assertEquals("name=Akash", new BodyRedactor(objectMapper, List.of("*")).redact("name=Akash"));
+    }
+
+    @Test
+    void append_PastMaxFileSize_RotatesAndKeepsMaxHistory() throws Exception {
+        Path file = tempDir.resolve("capture.jsonl");
+        CaptureFile captureFile = new CaptureFile(file, 100, 200, 2, objectMapper, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            captureFile.append(captured(i, "/api/v1/employee", 1));
+        }
+        captureFile.close();
+
+        assertTrue(Files.size(file) <= 200);
+        assertTrue(Files.exists(CaptureFile.rotated(file, 1)));
+        assertTrue(Files.exists(CaptureFile.rotated(file, 2)));
+        assertFalse(Files.exists(CaptureFile.rotated(file, 3)));
+        List<CapturedRequest> newest = CaptureFile.read(file, objectMapper);
+        assertEquals(9, newest.get(newest.size() - 1).at());
+    }
+
+    @Test
+    void peakConcurrency_OverlappingRequests_CountsMostInFlight() {
+        List<CapturedRequest> requests = List.of(
+                captured(0, "/api/v1/employee", 100),
+                captured(50, "/api/v1/employee", 100),
+                captured(60, "/api/v1/employee", 10),
+                captured(150, "/api/v1/employee", 10));
+
+        assertEquals(3, TrafficReplayer.peakConcurrency(requests));
+    }
+
+    @Test
+    void route_IdsAndSearchStrings_AreReplacedByPlaceholders() {
+        assertEquals(
+                "GET /api/v1/employee/{id}",
+                ReplayReport.route(captured(0, "/api/v1/employee/4bf3f9a2-3c3e-4c7e-9d5b-0f6f5a6f0c1d", 1)));
+        assertEquals(
+                "GET /api/v1/employee/search/{searchString}",
+                ReplayReport.route(captured(0, "/api/v1/employee/search/ak?x=1", 1)));
+    }
+
+    @Test
+    void replay_AtCapturedSpeed_KeepsInterArrivalTimes() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            received.add(exchange.getRequestURI().getPath());
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().endsWith("missing") ? 404 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            TrafficReplayer replayer = new TrafficReplayer(
+                    HttpClient.newHttpClient(),
+                    URI.create("http://localhost:" + server.getAddress().getPort()),
+                    1);
+
+            long start = System.nanoTime();
+            ReplayReport report = replayer.replay(List.of(
+                    captured(0, "/api/v1/employee", 1),
+                    captured(TimeUnit.MILLISECONDS.toMicros(200), "/api/v1/employee/missing", 1)));
+
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+            assertEquals(List.of("/api/v1/employee", "/api/v1/employee/missing"), received);
+            assertEquals(2, report.requests());
+            assertEquals(0, report.errors());
+            assertEquals(1, report.statusMismatches());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void compareWith_Baseline_ShowsChange() {
+        ReplayReport baseline = new ReplayReport(
+                10, 0, 0, 1, 10, 0, new ReplayReport.Latency(10, 10, 20, 40, 50), Map.of());
+        ReplayReport current = new ReplayReport(
+                10, 0, 0, 1, 12, 0, new ReplayReport.Latency(10, 5, 10, 20, 25), Map.of());
+
+        String comparison = current.compareWith(baseline);
+
+        assertTrue(comparison.contains("+20.0%"));
+        assertTrue(comparison.contains("-50.0%"));
+    }
+
+    private static CapturedRequest captured(long at, String path, long latencyMicros) {
+        return new CapturedRequest(at, "GET", path, Map.of(), null, 200, latencyMicros, 0);
+    }
+}
@@ -0,0 +1,192 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.UpstreamProperties;
+import com.reliaquest.api.external.balancing.UpstreamBalancer;
+import com.reliaquest.api.external.balancing.UpstreamInstance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+public class UpstreamBalancerTest {
+
+    private static final URI EMPLOYEES = URI.create("http://localhost:8112/api/v1/employee");
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<URI> sent = new ArrayList<>();
+
+    private UpstreamProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new UpstreamProperties();
+        properties.setInstances(List.of(URI.create("http://localhost:8112"), URI.create("http://localhost:8113")));
+        properties.getEjection().setConsecutiveFailures(3);
+        properties.getEjection().setBaseTime(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void filter_OneInstanceBusy_SendsReadToTheOther() {
+        UpstreamBalancer balancer = balancer();
+        Disposable pending = balancer.filter(get(EMPLOYEES), request -> Mono.never()).subscribe();
+        UpstreamInstance busy = balancer.getInstances().stream()
+                .filter(instance -> instance.getOutstanding() == 1)
+                .findFirst()
+                .orElseThrow();
+
+        for (int i = 0; i < 10; i++) {
+            send(balancer, get(EMPLOYEES), HttpStatus.OK);
+        }
+
+        assertTrue(sent.stream().noneMatch(uri -> uri.getAuthority().equals(busy.getName())));
+        assertEquals("/api/v1/employee", sent.get(0).getPath());
+        pending.dispose();
+        assertEquals(0, busy.getOutstanding());
+    }
+
+    @Test
+    void filter_Write_GoesToFirstInstance() {
+        UpstreamBalancer balancer = balancer();
+
+        for (int i = 0; i < 5; i++) {
+            send(balancer, ClientRequest.create(HttpMethod.POST, EMPLOYEES).build(), HttpStatus.OK);
+        }
+
+        assertTrue(sent.stream().allMatch(uri -> uri.getPort() == 8112));
+    }
+
+    @Test
+    void filter_ConsistentHash_PinsIdUntilOwnerIsEjected() {
+        properties.setRouting(UpstreamProperties.Routing.CONSISTENT_HASH);
+        UpstreamBalancer balancer = balancer();
+        URI employee = URI.create(EMPLOYEES + "/" + UUID.randomUUID());
+
+        for (int i = 0; i < 5; i++) {
+            send(balancer, get(employee), HttpStatus.OK);
+        }
+        int owner = sent.get(0).getPort();
+        assertTrue(sent.stream().allMatch(uri -> uri.getPort() == owner));
+
+        for (int i = 0; i < 3; i++) {
+            send(balancer, get(employee), HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        sent.clear();
+        send(balancer, get(employee), HttpStatus.OK);
+        assertNotEquals(owner, sent.get(0).getPort());
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        sent.clear();
+        send(balancer, get(employee), HttpStatus.OK);
+        assertEquals(owner, sent.get(0).getPort());
+    }
+
+    @Test
+    void filter_ConsistentHashWrite_StillGoesToFirstInstance() {
+        properties.setRouting(UpstreamProperties.Routing.CONSISTENT_HASH);
+        UpstreamBalancer balancer = balancer();
+
+        send(balancer, ClientRequest.create(HttpMethod.POST, EMPLOYEES).build(), HttpStatus.OK);
+        send(balancer, ClientRequest.create(HttpMethod.DELETE, EMPLOYEES).build(), HttpStatus.OK);
+
+        assertTrue(sent.stream().allMatch(uri -> uri.getPort() == 8112));
+    }
+
+    @Test
+    void filter_PinnedRequest_GoesToThatInstance() {
+        properties.setRouting(UpstreamProperties.Routing.CONSISTENT_HASH);
+        UpstreamBalancer balancer = balancer();
+        UpstreamInstance second = balancer.getInstances().get(1);
+
+        send(
+                balancer,
+                ClientRequest.create(HttpMethod.DELETE, EMPLOYEES)
+                        .attribute(UpstreamBalancer.INSTANCE_ATTRIBUTE, second)
+                        .build(),
+                HttpStatus.OK);
+
+        assertEquals(8113, sent.get(0).getPort());
+    }
+
+    @Test
+    void shardsFor_ListsEveryInstanceOwnerFirst() {
+        properties.setRouting(UpstreamProperties.Routing.CONSISTENT_HASH);
+        UpstreamBalancer balancer = balancer();
+        UUID id = UUID.randomUUID();
+
+        send(balancer, get(URI.create(EMPLOYEES + "/" + id)), HttpStatus.OK);
+        List<UpstreamInstance> shards = balancer.shardsFor(id);
+
+        assertTrue(balancer.isSharded());
+        assertEquals(2, shards.size());
+        assertEquals(sent.get(0).getAuthority(), shards.get(0).getName());
+        assertNotEquals(shards.get(0), shards.get(1));
+    }
+
+    @Test
+    void filter_ConsecutiveFailures_EjectsAtMostMaxPercent() {
+        UpstreamBalancer balancer = balancer();
+
+        for (int i = 0; i < 20; i++) {
+            send(balancer, get(EMPLOYEES), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        long ejected = balancer.getInstances().stream()
+                .filter(instance -> !balancer.isAvailable(instance))
+                .count();
+        assertEquals(1, ejected);
+        assertEquals(1, meterRegistry.find(UpstreamBalancer.EJECTIONS).counter().count());
+    }
+
+    @Test
+    void filter_RateLimited_IsNotAFailure() {
+        UpstreamBalancer balancer = balancer();
+
+        for (int i = 0; i < 20; i++) {
+            send(balancer, get(EMPLOYEES), HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        assertTrue(balancer.getInstances().stream().allMatch(balancer::isAvailable));
+    }
+
+    @Test
+    void filter_NoInstances_LeavesRequestAlone() {
+        properties.setInstances(List.of());
+
+        send(balancer(), get(EMPLOYEES), HttpStatus.OK);
+
+        assertEquals(EMPLOYEES, sent.get(0));
+    }
+
+    private UpstreamBalancer balancer() {
+        return new UpstreamBalancer(properties, meterRegistry, clock::get);
+    }
+
+    private void send(UpstreamBalancer balancer, ClientRequest request, HttpStatus status) {
+        balancer.filter(request, routed -> {
+                    sent.add(routed.url());
+                    return Mono.just(ClientResponse.create(status).build());
+                })
+                .block();
+    }
+
+    private static ClientRequest get(URI url) {
+        return ClientRequest.create(HttpMethod.GET, url).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.cluster.Heartbeat;
+import com.reliaquest.api.cluster.UpstreamBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+public class UpstreamBudgetTest {
+
+    private static final String SELF = "http://localhost:8111";
+
+    private static final String PEER = "http://localhost:8121";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ClusterMembership membership = new ClusterMembership(
+            URI.create(SELF),
+            List.of(URI.create(PEER)),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(3),
+            WebClient.create(),
+            clock::get);
+
+    private final UpstreamBudget budget =
+            new UpstreamBudget(true, 8, Duration.ofSeconds(60), membership, new SimpleMeterRegistry(), clock::get);
+
+    @Test
+    void share_IdleMembers_SplitsWholeBudget() {
+        List<Heartbeat> members = List.of(new Heartbeat("a", 0), new Heartbeat("b", 0), new Heartbeat("c", 0));
+
+        int total = members.stream()
+                .mapToInt(member -> UpstreamBudget.share(8, members, member.id()))
+                .sum();
+
+        assertEquals(8, total);
+        assertEquals(3, UpstreamBudget.share(8, members, "a"));
+        assertEquals(2, UpstreamBudget.share(8, members, "c"));
+    }
+
+    @Test
+    void share_BusyMember_GetsMoreButOthersKeepOne() {
+        List<Heartbeat> members = List.of(new Heartbeat("a", 30), new Heartbeat("b", 0));
+
+        assertEquals(7, UpstreamBudget.share(8, members, "a"));
+        assertEquals(1, UpstreamBudget.share(8, members, "b"));
+        assertEquals(2, UpstreamBudget.share(8, List.of(new Heartbeat("a", 6), new Heartbeat("b", 0)), "b"));
+    }
+
+    @Test
+    void tryAcquire_PeerJoinsAndLeaves_RebalancesShare() {
+        assertEquals(8, budget.share());
+
+        membership.onHeartbeat(new Heartbeat(PEER, 0));
+        assertEquals(2, membership.liveMembers().size());
+        assertEquals(4, budget.share());
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(1, membership.liveMembers().size());
+        assertEquals(8, budget.share());
+    }
+
+    @Test
+    void onHeartbeat_UnknownReplica_IsIgnored() {
+        membership.onHeartbeat(new Heartbeat("http://attacker:8111", 1_000));
+
+        assertEquals(1, membership.liveMembers().size());
+        assertEquals(8, budget.share());
+    }
+
+    @Test
+    void share_OwnDemandSinceLastHeartbeat_DoesNotChangeSplit() {
+        membership.onHeartbeat(new Heartbeat(PEER, 0));
+        List<Heartbeat> members = membership.liveMembers();
+
+        for (int i = 0; i < 3; i++) {
+            budget.tryAcquire();
+        }
+
+        // Self demand is only counted once gossiped, as the peer sees it
+        assertEquals(3, budget.demand());
+        assertEquals(0, membership.self().demand());
+        assertEquals(4, budget.share());
+        assertSame(members, membership.liveMembers());
+    }
+
+    @Test
+    void filter_ShareUsedUp_AnswersLocallyUntilWindowPasses() {
+        membership.onHeartbeat(new Heartbeat(PEER, 0));
+        AtomicLong sent = new AtomicLong();
+
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(Duration.ofSeconds(1).toNanos());
+            membership.onHeartbeat(new Heartbeat(PEER, 0));
+            long before = sent.get();
+            ClientResponse response = budget.filter(
+                            ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:8112/api/v1/employee"))
+                                    .build(),
+                            request -> {
+                                sent.incrementAndGet();
+                                return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                            })
+                    .block();
+            if (sent.get() == before) {
+                assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.statusCode());
+                assertEquals("exhausted", response.headers().asHttpHeaders().getFirst(UpstreamBudget.HEADER));
+            }
+        }
+        assertEquals(budget.share(), sent.get());
+        assertEquals(10, budget.demand());
+
+        clock.addAndGet(Duration.ofSeconds(61).toNanos());
+        membership.onHeartbeat(new Heartbeat(PEER, 0));
+        assertTrue(budget.tryAcquire());
+    }
+}
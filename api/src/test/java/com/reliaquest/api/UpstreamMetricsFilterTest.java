@@ -0,0 +1,94 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.external.UpstreamOperation;
+import com.reliaquest.api.metrics.UpstreamMetricsFilter;
+import com.reliaquest.api.metrics.UpstreamOutcome;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.net.UnknownHostException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+public class UpstreamMetricsFilterTest {
+
+    private static final URI EMPLOYEE_URL =
+            URI.create("http://localhost:8112/api/v1/employee/9b4ae777-3df8-41ee-aabd-c603f43487dc");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UpstreamMetricsFilter upstreamMetricsFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamMetricsFilter = new UpstreamMetricsFilter(meterRegistry);
+    }
+
+    @Test
+    void filter_RateLimited_RecordsTooManyRequestsOutcome() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, EMPLOYEE_URL).build();
+
+        upstreamMetricsFilter
+                .filter(request, ignored -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                        .build()))
+                .block();
+
+        Timer timer = meterRegistry
+                .find(UpstreamMetricsFilter.REQUESTS)
+                .tag("operation", UpstreamOperation.GET_EMPLOYEE_BY_ID)
+                .tag("outcome", UpstreamOutcome.TOO_MANY_REQUESTS)
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void filter_BodyConsumed_RecordsResponseSize() {
+        ClientRequest request = ClientRequest.create(
+                        HttpMethod.GET, URI.create("http://localhost:8112/api/v1/employee"))
+                .build();
+
+        String body = upstreamMetricsFilter
+                .filter(request, ignored -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .body("{\"data\":[]}")
+                        .build()))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block();
+
+        assertEquals("{\"data\":[]}", body);
+        DistributionSummary size = meterRegistry
+                .find(UpstreamMetricsFilter.RESPONSE_SIZE)
+                .tag("operation", UpstreamOperation.GET_ALL_EMPLOYEES)
+                .summary();
+        assertNotNull(size);
+        assertEquals(11, size.totalAmount());
+    }
+
+    @Test
+    void filter_ConnectionFailure_RecordsConnectionError() {
+        ClientRequest request = ClientRequest.create(HttpMethod.POST, EMPLOYEE_URL).build();
+
+        assertThrows(
+                RuntimeException.class,
+                () -> upstreamMetricsFilter
+                        .filter(request, ignored -> Mono.error(new UnknownHostException("employee-service")))
+                        .block());
+
+        Timer timer = meterRegistry
+                .find(UpstreamMetricsFilter.REQUESTS)
+                .tag("operation", UpstreamOperation.CREATE_EMPLOYEE)
+                .tag("outcome", UpstreamOutcome.CONNECTION_ERROR)
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
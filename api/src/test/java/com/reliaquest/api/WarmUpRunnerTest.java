@@ -0,0 +1,106 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache.Roster;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.exception.EmployeeServiceIntegrationException;
+import com.reliaquest.api.external.EmployeeServiceIntegration;
+import com.reliaquest.api.external.dto.GetEmployeeResponseDto;
+import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.warmup.WarmUpReport;
+import com.reliaquest.api.warmup.WarmUpRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.support.StaticApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+public class WarmUpRunnerTest {
+
+    @Mock
+    private IEmployeeService employeeService;
+
+    @Mock
+    private EmployeeServiceIntegration employeeServiceIntegration;
+
+    private final EmployeeCache employeeCache =
+            new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void run_RosterAvailable_PrimesCachesWithinUpstreamBudget() {
+        List<EmployeeDto> employees = IntStream.range(0, 10).mapToObj(i -> employee()).toList();
+        when(employeeService.getRoster()).thenReturn(new Roster(employees, "v1"));
+        when(employeeServiceIntegration.getEmployeeById(any(UUID.class))).thenReturn(new GetEmployeeResponseDto());
+        WarmUpRunner runner = runner(Duration.ofSeconds(10), 3, 5);
+
+        runner.run(new DefaultApplicationArguments());
+
+        WarmUpReport report = runner.getReport();
+        assertEquals(WarmUpReport.Status.COMPLETED, report.status());
+        assertEquals(10, report.rosterSize());
+        assertEquals(10, report.employeesPrimed());
+        assertEquals(2, report.connectionsOpened());
+        verify(employeeServiceIntegration, times(2)).getEmployeeById(any(UUID.class));
+        assertNotNull(employeeCache.getIfPresent(employees.get(9).getId()));
+        assertEquals(1, meterRegistry.find(WarmUpRunner.DURATION).tag("status", "COMPLETED").timer().count());
+    }
+
+    @Test
+    void run_UpstreamDown_ReportsFailureWithoutThrowing() {
+        when(employeeService.getRoster()).thenThrow(new EmployeeServiceIntegrationException("down"));
+        WarmUpRunner runner = runner(Duration.ofSeconds(10), 3, 2);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(WarmUpReport.Status.FAILED, runner.getReport().status());
+        assertNotNull(runner.getReport().error());
+    }
+
+    @Test
+    void run_SlowUpstream_StopsAtTimeout() {
+        when(employeeService.getRoster()).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return new Roster(List.of(), "v1");
+        });
+        WarmUpRunner runner = runner(Duration.ofMillis(100), 3, 2);
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(WarmUpReport.Status.TIMED_OUT, runner.getReport().status());
+        assertTrue(runner.getReport().duration().toMillis() < 5_000);
+    }
+
+    private WarmUpRunner runner(Duration timeout, int maxUpstreamCalls, int connections) {
+        return new WarmUpRunner(
+                true,
+                timeout,
+                maxUpstreamCalls,
+                connections,
+                10,
+                Duration.ofSeconds(5),
+                employeeService,
+                employeeServiceIntegration,
+                employeeCache,
+                new StaticApplicationContext(),
+                meterRegistry);
+    }
+
+    private static EmployeeDto employee() {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName("Employee");
+        return employee;
+    }
+}
@@ -0,0 +1,210 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cluster.PeerInvalidation;
+import com.reliaquest.api.dto.CreateEmployeeRequestDto;
+import com.reliaquest.api.dto.EmployeeDto;
+import com.reliaquest.api.exception.EmployeeServiceIntegrationException;
+import com.reliaquest.api.external.EmployeeServiceIntegration;
+import com.reliaquest.api.external.dto.CreateEmployeeResponseDto;
+import com.reliaquest.api.tenant.TenantContext;
+import com.reliaquest.api.writebehind.WriteBehindQueue;
+import com.reliaquest.api.writebehind.WriteOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+public class WriteBehindQueueTest {
+
+    private final EmployeeServiceIntegration employeeServiceIntegration = mock(EmployeeServiceIntegration.class);
+
+    private final EmployeeCache employeeCache =
+            new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @TempDir
+    private Path tempDir;
+
+    private WriteBehindQueue writeBehindQueue;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.stop();
+        }
+    }
+
+    @Test
+    void submit_ValidRequest_WritesUpstreamAndCaches() throws Exception {
+        EmployeeDto created = employee();
+        when(employeeServiceIntegration.createEmployee(any())).thenReturn(response(created));
+        writeBehindQueue = queue(Duration.ofMillis(10), "");
+        writeBehindQueue.start();
+
+        WriteOperation operation = writeBehindQueue.submit(request("Saurabh"), null);
+
+        WriteOperation done = awaitDone(operation.id());
+        assertEquals(WriteOperation.Status.SUCCEEDED, done.status());
+        assertEquals(created, done.employee());
+        assertNotNull(employeeCache.getIfPresent(created.getId()));
+    }
+
+    @Test
+    void submit_RepeatedIdempotencyKey_ReturnsSameOperation() throws Exception {
+        when(employeeServiceIntegration.createEmployee(any())).thenReturn(response(employee()));
+        writeBehindQueue = queue(Duration.ofMillis(10), "");
+        writeBehindQueue.start();
+
+        WriteOperation first = writeBehindQueue.submit(request("Saurabh"), "key-1");
+        WriteOperation second = writeBehindQueue.submit(request("Saurabh"), "key-1");
+        awaitDone(first.id());
+
+        assertEquals(first.id(), second.id());
+        verify(employeeServiceIntegration, times(1)).createEmployee(any());
+        assertThrows(IllegalArgumentException.class, () -> writeBehindQueue.submit(request("Akash"), "key-1"));
+    }
+
+    @Test
+    void submit_UpstreamKeepsFailing_FailsAfterMaxAttempts() throws Exception {
+        when(employeeServiceIntegration.createEmployee(any()))
+                .thenThrow(new EmployeeServiceIntegrationException("upstream down"));
+        writeBehindQueue = queue(Duration.ofMillis(10), "");
+        writeBehindQueue.start();
+
+        WriteOperation done = awaitDone(writeBehindQueue.submit(request("Saurabh"), null).id());
+
+        assertEquals(WriteOperation.Status.FAILED, done.status());
+        assertEquals(2, done.attempts());
+        assertEquals("upstream down", done.error());
+    }
+
+    @Test
+    void submit_UpstreamRejectsRequest_FailsWithoutRetrying() throws Exception {
+        when(employeeServiceIntegration.createEmployee(any()))
+                .thenThrow(new EmployeeServiceIntegrationException("bad request", HttpStatus.BAD_REQUEST));
+        writeBehindQueue = queue(Duration.ofMinutes(1), "");
+        writeBehindQueue.start();
+
+        WriteOperation done = awaitDone(writeBehindQueue.submit(request("Saurabh"), null).id());
+
+        assertEquals(WriteOperation.Status.FAILED, done.status());
+        assertEquals(1, done.attempts());
+        verify(employeeServiceIntegration, times(1)).createEmployee(any());
+    }
+
+    @Test
+    void submit_ManyOperations_JournalIsCompacted() throws Exception {
+        Path journal = tempDir.resolve("write-behind.jsonl");
+        when(employeeServiceIntegration.createEmployee(any())).thenAnswer(invocation -> response(employee()));
+        writeBehindQueue = queue(Duration.ofMillis(10), journal.toString());
+        writeBehindQueue.start();
+
+        for (int i = 0; i < 20; i++) {
+            awaitDone(writeBehindQueue.submit(request("Saurabh"), null).id());
+        }
+
+        // Three snapshots per operation without compaction; at most one per operation plus as many again with it
+        assertTrue(Files.readAllLines(journal).size() <= 2 * 20 + 1);
+    }
+
+    @Test
+    void start_JournalWithQueuedWrite_ResumesIt() throws Exception {
+        String journal = tempDir.resolve("write-behind.jsonl").toString();
+        when(employeeServiceIntegration.createEmployee(any()))
+                .thenThrow(new EmployeeServiceIntegrationException("upstream down"));
+        WriteBehindQueue stopped = queue(Duration.ofMinutes(1), journal);
+        stopped.start();
+        String operationId = stopped.submit(request("Saurabh"), "key-1").id();
+        verify(employeeServiceIntegration, timeout(5000)).createEmployee(any());
+        stopped.stop();
+
+        reset(employeeServiceIntegration);
+        when(employeeServiceIntegration.createEmployee(any())).thenReturn(response(employee()));
+        writeBehindQueue = queue(Duration.ofMillis(10), journal);
+        writeBehindQueue.start();
+
+        WriteOperation done = awaitDone(operationId);
+        assertEquals(WriteOperation.Status.SUCCEEDED, done.status());
+        assertEquals("key-1", done.idempotencyKey());
+    }
+
+    @Test
+    void submit_OtherTenant_WritesAsThatTenantAndHidesOperation() throws Exception {
+        List<String> writtenAs = new CopyOnWriteArrayList<>();
+        when(employeeServiceIntegration.createEmployee(any())).thenAnswer(invocation -> {
+            writtenAs.add(TenantContext.current());
+            return response(employee());
+        });
+        writeBehindQueue = queue(Duration.ofMillis(10), "");
+        writeBehindQueue.start();
+
+        WriteOperation acme = TenantContext.callAs("acme", () -> writeBehindQueue.submit(request("Saurabh"), "key-1"));
+        WriteOperation other = writeBehindQueue.submit(request("Saurabh"), "key-1");
+        awaitDone(other.id());
+
+        assertNotEquals(acme.id(), other.id());
+        assertEquals(List.of("acme", TenantContext.DEFAULT), writtenAs);
+        assertTrue(writeBehindQueue.getOperation(acme.id()).isEmpty());
+        assertTrue(TenantContext.callAs("acme", () -> writeBehindQueue.getOperation(acme.id())).isPresent());
+    }
+
+    private WriteBehindQueue queue(Duration retryDelay, String journal) {
+        return new WriteBehindQueue(
+                employeeServiceIntegration,
+                employeeCache,
+                new RosterCache(true, Duration.ofMinutes(1), 100, new ObjectMapper()),
+                mock(PeerInvalidation.class),
+                new SimpleMeterRegistry(),
+                new ObjectMapper().findAndRegisterModules(),
+                10,
+                2,
+                retryDelay,
+                Duration.ofHours(1),
+                journal,
+                5);
+    }
+
+    private WriteOperation awaitDone(String operationId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            WriteOperation operation = writeBehindQueue.getOperation(operationId).orElseThrow();
+            if (operation.status() != WriteOperation.Status.QUEUED) {
+                return operation;
+            }
+            Thread.sleep(10);
+        }
+        fail("Operation " + operationId + " did not complete");
+        return null;
+    }
+
+    private static CreateEmployeeRequestDto request(String name) {
+        CreateEmployeeRequestDto request = new CreateEmployeeRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    private static EmployeeDto employee() {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName("Saurabh");
+        return employee;
+    }
+
+    private static CreateEmployeeResponseDto response(EmployeeDto employee) {
+        CreateEmployeeResponseDto response = new CreateEmployeeResponseDto();
+        response.setData(employee);
+        return response;
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
+
+/**
+ * Pre-encoded field names of the employee JSON shared by the api and the mock server, and the null-aware field writers
+ * of their hand-written serializers. A pre-encoded name is copied as quoted UTF-8 bytes instead of being escaped for
+ * every record.
+ */
+public final class EmployeeJson {
+
+    public static final SerializedString ID = new SerializedString("id");
+    public static final SerializedString NAME = new SerializedString("employee_name");
+    public static final SerializedString SALARY = new SerializedString("employee_salary");
+    public static final SerializedString AGE = new SerializedString("employee_age");
+    public static final SerializedString TITLE = new SerializedString("employee_title");
+    public static final SerializedString EMAIL = new SerializedString("employee_email");
+
+    private EmployeeJson() {}
+
+    /**
+     * Writes the field, as null when {@code value} is null.
+     */
+    public static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeString(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    /**
+     * Writes the field, as null when {@code value} is null.
+     */
+    public static void writeNumber(JsonGenerator gen, SerializedString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+}
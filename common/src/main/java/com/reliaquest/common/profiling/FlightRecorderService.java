@@ -0,0 +1,135 @@
+package com.reliaquest.common.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One on-demand Java Flight Recorder recording at a time. A recording stops itself after its duration, capped at
+ * {@code maxDuration}, or earlier when asked. Until the next recording starts, its file can be downloaded.
+ */
+@Slf4j
+public class FlightRecorderService {
+
+    /**
+     * @param settings the JFR configuration used: {@code default} (about 1% overhead) or {@code profile}
+     */
+    public record Status(long id, String state, Instant startTime, Duration duration, String settings) {}
+
+    private final String name;
+
+    private final Duration maxDuration;
+
+    private Recording recording;
+
+    private String settings;
+
+    private Path file;
+
+    public FlightRecorderService(String name, Duration maxDuration) {
+        this.name = name;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * @throws IllegalStateException if a recording is already running
+     * @throws IllegalArgumentException if there is no JFR configuration with that name
+     */
+    public synchronized Status start(Duration duration, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Recording " + recording.getId() + " is still running");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, e);
+        }
+        discard();
+
+        Recording started = new Recording(configuration);
+        started.setName(name);
+        started.setToDisk(true);
+        started.setDuration(duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        started.start();
+        recording = started;
+        this.settings = settings;
+        log.info("Started JFR recording {} for {} with {} settings", started.getId(), started.getDuration(), settings);
+        return status();
+    }
+
+    /**
+     * @return the latest recording, or null if there was none
+     */
+    public synchronized Status status() {
+        if (recording == null) {
+            return null;
+        }
+        return new Status(
+                recording.getId(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getDuration(),
+                settings);
+    }
+
+    /**
+     * Stops the latest recording if it is still running.
+     *
+     * @return its {@code .jfr} file, or null if there was no recording
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return file();
+    }
+
+    /**
+     * @return the latest recording's {@code .jfr} file, or null if there was none or it is still running
+     */
+    public synchronized Path file() {
+        if (recording == null || recording.getState() == RecordingState.RUNNING) {
+            return null;
+        }
+        if (file == null) {
+            try {
+                file = Files.createTempFile(name + "-" + recording.getId() + "-", ".jfr");
+                recording.dump(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write JFR recording " + recording.getId(), e);
+            }
+        }
+        return file;
+    }
+
+    public synchronized void close() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Could not delete {}", file, e);
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.common.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Starts, stops and downloads a time-boxed JFR recording. Every call needs {@code Authorization: Bearer <token>}.
+ * Each application extends this as its {@code @RestController}, maps it and supplies its own error body.
+ */
+public abstract class ProfilingEndpoints {
+
+    private final FlightRecorderService flightRecorderService;
+
+    private final byte[] token;
+
+    /**
+     * @param tokenProperty the property the token was read from, for the error message
+     */
+    protected ProfilingEndpoints(FlightRecorderService flightRecorderService, String tokenProperty, String token) {
+        if (token.isBlank()) {
+            throw new IllegalStateException(tokenProperty + " must not be blank");
+        }
+        this.flightRecorderService = flightRecorderService;
+        this.token = ("Bearer " + token).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the application's error response body
+     */
+    protected abstract Object error(String message);
+
+    @PostMapping
+    public ResponseEntity<?> start(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(name = "duration", defaultValue = "60s") String duration,
+            @RequestParam(name = "settings", defaultValue = "default") String settings) {
+        if (!authorized(authorization)) {
+            return unauthorized();
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(flightRecorderService.start(DurationStyle.detectAndParse(duration), settings));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(error(e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> status(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!authorized(authorization)) {
+            return unauthorized();
+        }
+        FlightRecorderService.Status status = flightRecorderService.status();
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Stops the recording if it is still running, and returns its file.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!authorized(authorization)) {
+            return unauthorized();
+        }
+        return download(flightRecorderService.stop());
+    }
+
+    /**
+     * Returns the file of a recording that has ended; 409 while it is still running.
+     */
+    @GetMapping("/file")
+    public ResponseEntity<?> file(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!authorized(authorization)) {
+            return unauthorized();
+        }
+        if (flightRecorderService.status() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = flightRecorderService.file();
+        if (file == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error("The recording is still running"));
+        }
+        return download(file);
+    }
+
+    private boolean authorized(String authorization) {
+        return authorization != null
+                && MessageDigest.isEqual(token, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .build();
+    }
+
+    private static ResponseEntity<?> download(Path file) {
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename(file.getFileName().toString())
+                                .build()
+                                .toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+#
+# Starts a service, waits until /actuator/health answers UP and prints the time to ready and the resident set size.
+#
+#   scripts/measure-startup.sh <port> <command...>
+#
+# e.g. scripts/measure-startup.sh 8112 server/build/native/nativeCompile/server
+#      scripts/measure-startup.sh 8112 java @server/build/cds/run.args
+#      scripts/measure-startup.sh 8112 java -jar server/build/libs/server-1.0.0.jar
+set -euo pipefail
+
+if [[ $# -lt 2 ]]; then
+    echo "usage: $0 <port> <command...>" >&2
+    exit 2
+fi
+
+port=$1
+shift
+
+start=$(date +%s%N)
+"$@" >/dev/null 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true' EXIT
+
+until curl -fs "http://localhost:${port}/actuator/health" | grep -q '"UP"'; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+        echo "process exited before becoming ready" >&2
+        exit 1
+    fi
+    sleep 0.01
+done
+ready=$(date +%s%N)
+
+rss=$(awk '/^VmRSS/ {print $2 " " $3}' "/proc/${pid}/status")
+echo "ready in $(((ready - start) / 1000000)) ms, RSS ${rss}"
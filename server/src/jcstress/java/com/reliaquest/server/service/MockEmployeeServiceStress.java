@@ -0,0 +1,147 @@
+package com.reliaquest.server.service;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+import org.openjdk.jcstress.infra.results.II_Result;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * Races on the roster store. The arbiter reports the roster's size only if the list and the id index agree, and -1
+ * otherwise, so a lost update or an index out of step with the list shows up as a forbidden outcome. Only one actor
+ * per test creates employees, so the shared {@link Faker} is never used from two threads at once.
+ */
+public class MockEmployeeServiceStress {
+
+    private static final Faker FAKER = new Faker(Locale.ENGLISH);
+
+    @JCStressTest
+    @Outcome(
+            id = {"1, 1, 2", "1, 2, 2", "1, 3, 2"},
+            expect = ACCEPTABLE,
+            desc = "The delete found its employee, the iteration saw the roster before, between or after the writes")
+    @Outcome(expect = FORBIDDEN, desc = "Lost write, torn iteration, or index out of step with the roster")
+    @State
+    public static class CreateDeleteIterate {
+
+        private final MockEmployeeService service = new MockEmployeeService(FAKER, seeded("Alice", "Bob"), 100);
+
+        @Actor
+        public void create(III_Result r) {
+            service.create(createInput("Carol"));
+        }
+
+        @Actor
+        public void delete(III_Result r) {
+            r.r1 = service.delete(deleteInput("Alice")) ? 1 : 0;
+        }
+
+        @Actor
+        public void iterate(III_Result r) {
+            int count = 0;
+            for (MockEmployee ignored : service.getMockEmployees()) {
+                count++;
+            }
+            r.r2 = count;
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r3 = consistentSize(service, MockEmployeeService.DEFAULT_TENANT);
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "The create landed first and was replaced by the import")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "The import landed first and the create was added to it")
+    @Outcome(expect = FORBIDDEN, desc = "The create was lost from the list or the index")
+    @State
+    public static class ImportVersusCreate {
+
+        private final MockEmployeeService service = new MockEmployeeService(FAKER, seeded("Alice", "Bob"), 100);
+
+        @Actor
+        public void importRoster() {
+            service.replaceAll(seeded("Xavier"));
+        }
+
+        @Actor
+        public void create() {
+            service.create(createInput("Carol"));
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = consistentSize(service, MockEmployeeService.DEFAULT_TENANT);
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Each tenant holds exactly its own employee")
+    @Outcome(expect = FORBIDDEN, desc = "A tenant's roster was lost or received the other tenant's employee")
+    @State
+    public static class FirstWritesOfTwoTenants {
+
+        private final MockEmployeeService service = new MockEmployeeService(FAKER, seeded(), 100);
+
+        @Actor
+        public void acme() {
+            service.replaceAll("acme", seeded("Alice"));
+        }
+
+        @Actor
+        public void globex() {
+            service.replaceAll("globex", seeded("Bob"));
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = consistentSize(service, "acme");
+            r.r2 = consistentSize(service, "globex");
+        }
+    }
+
+    /*
+     * The roster's size if every listed employee is found through the index, else -1.
+     */
+    private static int consistentSize(MockEmployeeService service, String tenant) {
+        List<MockEmployee> employees = service.getMockEmployees(tenant);
+        List<UUID> ids = employees.stream().map(MockEmployee::getId).toList();
+        return service.findByIds(tenant, ids).size() == employees.size() ? employees.size() : -1;
+    }
+
+    private static List<MockEmployee> seeded(String... names) {
+        return Arrays.stream(names)
+                .map(name -> MockEmployee.builder().id(UUID.randomUUID()).name(name).build())
+                .toList();
+    }
+
+    private static CreateMockEmployeeInput createInput(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput deleteInput(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.server.web.ratelimit;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.time.Duration;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Three requests race for a limit of two on one key, all at the same instant: exactly two must be admitted, whichever
+ * they are. Admitting three is the check-then-act race a CAS loop must rule out; admitting one would mean a lost
+ * update turned into a spurious rejection.
+ */
+public class RateLimiterStress {
+
+    private static final long NOW = 1_000_000_000L;
+
+    @JCStressTest
+    @Outcome(id = {"1, 1, 0", "1, 0, 1", "0, 1, 1"}, expect = ACCEPTABLE, desc = "Exactly the limit was admitted")
+    @Outcome(expect = FORBIDDEN, desc = "Over- or under-admission")
+    @State
+    public static class TokenBucket {
+
+        private final RateLimiter rateLimiter = new TokenBucketRateLimiter(2, Duration.ofSeconds(60), 100);
+
+        @Actor
+        public void first(III_Result r) {
+            r.r1 = admitted(rateLimiter);
+        }
+
+        @Actor
+        public void second(III_Result r) {
+            r.r2 = admitted(rateLimiter);
+        }
+
+        @Actor
+        public void third(III_Result r) {
+            r.r3 = admitted(rateLimiter);
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = {"1, 1, 0", "1, 0, 1", "0, 1, 1"}, expect = ACCEPTABLE, desc = "Exactly the limit was admitted")
+    @Outcome(expect = FORBIDDEN, desc = "Over- or under-admission")
+    @State
+    public static class SlidingWindow {
+
+        private final RateLimiter rateLimiter = new SlidingWindowRateLimiter(2, Duration.ofSeconds(60), 100);
+
+        @Actor
+        public void first(III_Result r) {
+            r.r1 = admitted(rateLimiter);
+        }
+
+        @Actor
+        public void second(III_Result r) {
+            r.r2 = admitted(rateLimiter);
+        }
+
+        @Actor
+        public void third(III_Result r) {
+            r.r3 = admitted(rateLimiter);
+        }
+    }
+
+    private static int admitted(RateLimiter rateLimiter) {
+        return rateLimiter.tryAcquire("global", NOW).allowed() ? 1 : 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost per record of writing the {@code GET /api/v1/employee} envelope. {@code reflective} is the bean binding with
+ * the prefix naming strategy; {@code precompiled} uses {@link ResponseSerializer} and {@link MockEmployeeSerializer}.
+ * Scores are per record; with the gc profiler, {@code gc.alloc.rate.norm} is the bytes allocated per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    private static final int RECORDS = 100;
+
+    @Param({"reflective", "precompiled"})
+    public String mode;
+
+    private Response<List<MockEmployee>> response;
+
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if ("reflective".equals(mode)) {
+            objectMapper.addMixIn(MockEmployee.class, Reflective.class);
+            objectMapper.addMixIn(Response.class, Reflective.class);
+        }
+        writer = objectMapper.writer();
+
+        List<MockEmployee> employees = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            employees.add(new MockEmployee(
+                    UUID.randomUUID(),
+                    "Employee " + i,
+                    30_000 + i * 1_000,
+                    20 + i % 40,
+                    "Senior Principal Engineer " + i,
+                    "employee" + i + "@company.com"));
+        }
+        response = Response.handledWith(employees);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class Reflective {}
+}
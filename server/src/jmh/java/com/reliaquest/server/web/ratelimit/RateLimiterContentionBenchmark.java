@@ -0,0 +1,59 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures limiter throughput under contention. {@code global} hammers a single key from every thread (worst case for
+ * the CAS loop), {@code client} spreads the load over a set of per-client keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class RateLimiterContentionBenchmark {
+
+    private static final String[] CLIENT_KEYS = new String[256];
+
+    static {
+        for (int i = 0; i < CLIENT_KEYS.length; i++) {
+            CLIENT_KEYS[i] = "client-" + i;
+        }
+    }
+
+    @Param({"token-bucket", "sliding-window"})
+    public String algorithm;
+
+    @Param({"global", "client"})
+    public String keying;
+
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        // Large enough that most calls are admitted and we measure the CAS path rather than the fast reject.
+        int limit = 1_000_000;
+        Duration window = Duration.ofSeconds(1);
+        rateLimiter = "token-bucket".equals(algorithm)
+                ? new TokenBucketRateLimiter(limit, window, 10_000)
+                : new SlidingWindowRateLimiter(limit, window, 10_000);
+    }
+
+    @Benchmark
+    public RateLimitDecision tryAcquire() {
+        String key = "global".equals(keying)
+                ? "global"
+                : CLIENT_KEYS[ThreadLocalRandom.current().nextInt(CLIENT_KEYS.length)];
+        return rateLimiter.tryAcquire(key, System.nanoTime());
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.fault.FaultInjectionFilter;
+import com.reliaquest.server.web.fault.FaultProfileRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(FaultInjectionProperties.class)
+public class FaultInjectionConfiguration {
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "mock.faults.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(
+            FaultProfileRegistry faultProfileRegistry, ObjectMapper objectMapper) {
+        FilterRegistrationBean<FaultInjectionFilter> registration =
+                new FilterRegistrationBean<>(new FaultInjectionFilter(faultProfileRegistry, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 100);
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.fault.FaultProfile;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Named fault profiles and the routes they are bound to, bound from {@code mock.faults.*}. Bindings can be changed at
+ * runtime through {@code /admin/faults}.
+ */
+@Data
+@ConfigurationProperties(prefix = "mock.faults")
+public class FaultInjectionProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, FaultProfile> profiles = new LinkedHashMap<>();
+
+    /*
+     * Evaluated in order; the first matching binding wins.
+     */
+    private List<RouteBinding> routes = new ArrayList<>();
+
+    @Data
+    public static class RouteBinding {
+
+        /*
+         * HTTP method to match, or empty for any.
+         */
+        private String method;
+
+        /*
+         * Ant-style path pattern, e.g. /api/v1/employee/**.
+         */
+        private String pattern;
+
+        private String profile;
+    }
+}
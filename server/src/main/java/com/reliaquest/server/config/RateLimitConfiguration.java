@@ -0,0 +1,50 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.ratelimit.RateLimitInterceptor;
+import com.reliaquest.server.web.ratelimit.RateLimiter;
+import com.reliaquest.server.web.ratelimit.SlidingWindowRateLimiter;
+import com.reliaquest.server.web.ratelimit.TokenBucketRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    private final RateLimitProperties rateLimitProperties;
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        log.info(
+                "Rate limiting {} requests per {} using {} keyed by {}",
+                rateLimitProperties.getLimit(),
+                rateLimitProperties.getWindow(),
+                rateLimitProperties.getAlgorithm(),
+                rateLimitProperties.getKey());
+        return switch (rateLimitProperties.getAlgorithm()) {
+            case TOKEN_BUCKET -> new TokenBucketRateLimiter(
+                    rateLimitProperties.getLimit(),
+                    rateLimitProperties.getWindow(),
+                    rateLimitProperties.getMaxTrackedKeys());
+            case SLIDING_WINDOW -> new SlidingWindowRateLimiter(
+                    rateLimitProperties.getLimit(),
+                    rateLimitProperties.getWindow(),
+                    rateLimitProperties.getMaxTrackedKeys());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitProperties.isEnabled()) {
+            registry.addInterceptor(new RateLimitInterceptor(rateLimiter(), rateLimitProperties))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the mock server rate limiter, bound from {@code mock.rate-limit.*}. The defaults mirror the old random
+ * limiter (a handful of requests per minute) but are the same on every start.
+ */
+@Data
+@ConfigurationProperties(prefix = "mock.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Algorithm algorithm = Algorithm.SLIDING_WINDOW;
+
+    /*
+     * Requests admitted per window (sliding window) or bucket capacity (token bucket).
+     */
+    private int limit = 8;
+
+    /*
+     * Window length (sliding window) or time to refill an empty bucket (token bucket).
+     */
+    private Duration window = Duration.ofSeconds(60);
+
+    private KeyStrategy key = KeyStrategy.GLOBAL;
+
+    /*
+     * Header identifying the caller for CLIENT keys; the remote address is used when it is absent.
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /*
+     * Upper bound on tracked keys before idle ones are swept.
+     */
+    private int maxTrackedKeys = 10_000;
+
+    public enum Algorithm {
+        TOKEN_BUCKET,
+        SLIDING_WINDOW
+    }
+
+    public enum KeyStrategy {
+        GLOBAL,
+        CLIENT,
+        ROUTE,
+        CLIENT_AND_ROUTE
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.server.config;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.controller.RosterStreamHandler;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.ratelimit.RateLimiter;
+import com.reliaquest.server.web.ratelimit.ReactiveRateLimitFilter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * WebFlux runtime, enabled by the {@code reactive} profile. The annotated controllers run unchanged on Netty; the
+ * roster route is taken over by {@link RosterStreamHandler} (router functions are consulted before annotated
+ * mappings) and rate limiting moves to a {@link ReactiveRateLimitFilter}. Fault injection is servlet-only.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfiguration {
+
+    /*
+     * Tomcat is on the classpath for servlet mode and would otherwise be picked as the reactive server too.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public RosterStreamHandler rosterStreamHandler(MockEmployeeService mockEmployeeService, ObjectMapper objectMapper) {
+        return new RosterStreamHandler(mockEmployeeService, objectMapper);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> rosterRoute(RosterStreamHandler rosterStreamHandler) {
+        return RouterFunctions.route(GET("/api/v1/employee"), rosterStreamHandler::getEmployees);
+    }
+
+    @Bean
+    @Order(0)
+    @ConditionalOnProperty(name = "mock.rate-limit.enabled", matchIfMissing = true)
+    public ReactiveRateLimitFilter reactiveRateLimitFilter(
+            RateLimiter rateLimiter,
+            RateLimitProperties rateLimitProperties,
+            @Qualifier("requestMappingHandlerMapping") HandlerMapping requestMappingHandlerMapping) {
+        return new ReactiveRateLimitFilter(rateLimiter, rateLimitProperties, requestMappingHandlerMapping);
+    }
+}
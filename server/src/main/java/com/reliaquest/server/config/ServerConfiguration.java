@@ -1,27 +1,24 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.service.RosterImporter;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+@ImportRuntimeHints(ServerRuntimeHints.class)
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
@@ -30,30 +27,47 @@ public class ServerConfiguration implements WebMvcConfigurer {
         return new Faker(Locale.getDefault());
     }
 
+    @Bean
+    public RosterImporter rosterImporter(
+            ObjectMapper objectMapper,
+            @Value("${mock.employees.import.batch-size:10000}") int batchSize,
+            @Value("${mock.employees.import.parallelism:0}") int parallelism) {
+        return new RosterImporter(
+                objectMapper, batchSize, parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * The default tenant's seed roster. MockEmployeeService copies it into its first roster snapshot and never writes
+     * back to it, so the list is immutable. Employees are built directly rather than through Datafaker's reflective
+     * object transformer, which is slower to start and needs native hints. With mock.employees.import.file set, the
+     * roster is loaded from that file instead.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            RosterImporter rosterImporter,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.import.file:}") String importFile) {
+        if (!importFile.isBlank()) {
+            long start = System.nanoTime();
+            List<MockEmployee> imported = rosterImporter.read(Path.of(importFile));
+            log.info(
+                    "Imported {} employees from {} in {} ms",
+                    imported.size(),
+                    importFile,
+                    (System.nanoTime() - start) / 1_000_000);
+            return List.copyOf(imported);
+        }
         return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
+                .mapToObj(ignored -> MockEmployee.builder()
+                        .id(UUID.randomUUID())
+                        .name(faker.name().fullName())
+                        .salary(faker.number().numberBetween(30000, 500000))
+                        .age(faker.number().numberBetween(16, 70))
+                        .title(faker.job().title())
+                        .email(EMAIL_TEMPLATE.formatted(faker.twitter().userName().toLowerCase()))
+                        .build())
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
-    }
-
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+                .toList();
     }
 }
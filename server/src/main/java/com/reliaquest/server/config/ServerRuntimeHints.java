@@ -0,0 +1,47 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.common.profiling.FlightRecorderService;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MultiGetMockEmployeeInput;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.RosterImportResult;
+import java.util.stream.Stream;
+import net.datafaker.Faker;
+import net.datafaker.providers.base.BaseFaker;
+import net.datafaker.providers.base.Job;
+import net.datafaker.providers.base.Name;
+import net.datafaker.providers.base.Number;
+import net.datafaker.providers.base.Twitter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native image hints. Datafaker loads its dictionaries as classpath yml files and resolves expressions such as
+ * {@code #{Name.first_name}} by calling provider methods reflectively; the models need binding hints for the
+ * Lombok accessors and the {@code @JsonNaming} strategy on {@link MockEmployee}.
+ */
+class ServerRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("*.yml").registerPattern("*/*.yml");
+
+        Stream.of(Faker.class, BaseFaker.class, Name.class, Job.class, Number.class, Twitter.class)
+                .forEach(provider -> hints.reflection().registerType(provider, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        new BindingReflectionHintsRegistrar()
+                .registerReflectionHints(
+                        hints.reflection(),
+                        MockEmployee.class,
+                        Response.class,
+                        CreateMockEmployeeInput.class,
+                        DeleteMockEmployeeInput.class,
+                        MultiGetMockEmployeeInput.class,
+                        RosterImportResult.class,
+                        FlightRecorderService.Status.class);
+    }
+}
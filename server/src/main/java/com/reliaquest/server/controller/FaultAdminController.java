@@ -0,0 +1,89 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.config.FaultInjectionProperties.RouteBinding;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.admin.AdminToken;
+import com.reliaquest.server.web.fault.FaultProfile;
+import com.reliaquest.server.web.fault.FaultProfileRegistry;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Runtime control of fault injection: define profiles and bind them to routes without restarting the server. Every
+ * call needs the {@link AdminToken}; an invalid profile or binding answers 400 and leaves the current ones in place.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@ConditionalOnProperty(name = "mock.admin.token")
+@RequiredArgsConstructor
+public class FaultAdminController {
+
+    private final FaultProfileRegistry faultProfileRegistry;
+
+    private final AdminToken adminToken;
+
+    @GetMapping("/profiles")
+    public ResponseEntity<?> getProfiles(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return authorized(authorization, () -> Response.handledWith(faultProfileRegistry.getProfiles()));
+    }
+
+    @PutMapping("/profiles/{name}")
+    public ResponseEntity<?> putProfile(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @PathVariable("name") String name,
+            @RequestBody FaultProfile profile) {
+        return authorized(authorization, () -> {
+            faultProfileRegistry.putProfile(name, profile);
+            return Response.handledWith(profile);
+        });
+    }
+
+    @GetMapping("/routes")
+    public ResponseEntity<?> getRoutes(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return authorized(authorization, () -> Response.handledWith(faultProfileRegistry.getRoutes()));
+    }
+
+    @PutMapping("/routes")
+    public ResponseEntity<?> setRoutes(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody List<RouteBinding> routes) {
+        return authorized(authorization, () -> {
+            faultProfileRegistry.setRoutes(routes);
+            return Response.handledWith(faultProfileRegistry.getRoutes());
+        });
+    }
+
+    @DeleteMapping("/routes")
+    public ResponseEntity<?> clearRoutes(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return authorized(authorization, () -> {
+            faultProfileRegistry.setRoutes(List.of());
+            return Response.handledWith(faultProfileRegistry.getRoutes());
+        });
+    }
+
+    private ResponseEntity<?> authorized(String authorization, Supplier<Response<?>> action) {
+        if (!adminToken.matches(authorization)) {
+            return AdminToken.unauthorized();
+        }
+        try {
+            return ResponseEntity.ok(action.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+    }
+}
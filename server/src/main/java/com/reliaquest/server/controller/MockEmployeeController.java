@@ -3,8 +3,10 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MultiGetMockEmployeeInput;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.idempotency.IdempotencyStore;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,9 +18,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+/**
+ * Each request acts on the roster of the tenant named in {@link MockEmployeeService#TENANT_HEADER}, the default
+ * tenant's without it.
+ */
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
@@ -26,26 +33,56 @@ public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    private final IdempotencyStore idempotencyStore;
+
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public Response<List<MockEmployee>> getEmployees(
+            @RequestHeader(value = MockEmployeeService.TENANT_HEADER, required = false) String tenant) {
+        return Response.handledWith(mockEmployeeService.getMockEmployees(MockEmployeeService.tenant(tenant)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+    public ResponseEntity<Response<MockEmployee>> getEmployee(
+            @RequestHeader(value = MockEmployeeService.TENANT_HEADER, required = false) String tenant,
+            @PathVariable("id") UUID uuid) {
         return mockEmployeeService
-                .findById(uuid)
+                .findById(MockEmployeeService.tenant(tenant), uuid)
                 .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    @PostMapping("/_mget")
+    public Response<List<MockEmployee>> getEmployees(
+            @RequestHeader(value = MockEmployeeService.TENANT_HEADER, required = false) String tenant,
+            @Valid @RequestBody MultiGetMockEmployeeInput input) {
+        return Response.handledWith(mockEmployeeService.findByIds(MockEmployeeService.tenant(tenant), input.getIds()));
+    }
+
+    /*
+     * With an Idempotency-Key, a repeated request returns the employee created by the first one. Keys are scoped to
+     * the tenant, so two tenants using the same key create an employee each.
+     */
     @PostMapping()
-    public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.create(input));
+    public ResponseEntity<Response<MockEmployee>> createEmployee(
+            @RequestHeader(value = MockEmployeeService.TENANT_HEADER, required = false) String tenantHeader,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateMockEmployeeInput input) {
+        final var tenant = MockEmployeeService.tenant(tenantHeader);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.create(tenant, input)));
+        }
+
+        final var outcome = idempotencyStore.execute(
+                tenant + " " + idempotencyKey, input, () -> mockEmployeeService.create(tenant, input));
+        return ResponseEntity.ok()
+                .header(IdempotencyStore.REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(Response.handledWith(outcome.result()));
     }
 
     @DeleteMapping()
-    public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.delete(input));
+    public Response<Boolean> deleteEmployee(
+            @RequestHeader(value = MockEmployeeService.TENANT_HEADER, required = false) String tenant,
+            @Valid @RequestBody DeleteMockEmployeeInput input) {
+        return Response.handledWith(mockEmployeeService.delete(MockEmployeeService.tenant(tenant), input));
     }
 }
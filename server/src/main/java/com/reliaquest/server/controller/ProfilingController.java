@@ -0,0 +1,28 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.common.profiling.FlightRecorderService;
+import com.reliaquest.common.profiling.ProfilingEndpoints;
+import com.reliaquest.server.model.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The JFR recording endpoints, guarded by {@code mock.profiling.token}; without a token configured they don't exist.
+ */
+@RestController
+@RequestMapping("/admin/profiling/recording")
+@ConditionalOnProperty(name = "mock.profiling.token")
+public class ProfilingController extends ProfilingEndpoints {
+
+    public ProfilingController(
+            FlightRecorderService flightRecorderService, @Value("${mock.profiling.token}") String token) {
+        super(flightRecorderService, "mock.profiling.token", token);
+    }
+
+    @Override
+    protected Object error(String message) {
+        return Response.error(message);
+    }
+}
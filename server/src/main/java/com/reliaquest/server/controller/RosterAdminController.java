@@ -0,0 +1,69 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.RosterImportResult;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterImporter;
+import com.reliaquest.server.web.admin.AdminToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk replacement of a tenant's roster, the default tenant's without a tenant header. The body is a CSV
+ * ({@code text/csv}) or NDJSON ({@code application/x-ndjson}) file, optionally gzipped with
+ * {@code Content-Encoding: gzip}. It is streamed through the parser in servlet mode. The current roster keeps serving
+ * until the import has succeeded, and stays in place if it fails. Every call needs the {@link AdminToken}. The token,
+ * the tenant and the content type are all checked before the body is read.
+ */
+@RestController
+@RequestMapping("/admin/roster")
+@ConditionalOnProperty(name = "mock.admin.token")
+@RequiredArgsConstructor
+public class RosterAdminController {
+
+    private final MockEmployeeService mockEmployeeService;
+
+    private final RosterImporter rosterImporter;
+
+    private final AdminToken adminToken;
+
+    @PostMapping("/import")
+    public ResponseEntity<?> importRoster(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestHeader(value = MockEmployeeService.TENANT_HEADER, required = false) String tenantHeader,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(name = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestBody InputStreamResource body)
+            throws IOException {
+        if (!adminToken.matches(authorization)) {
+            return AdminToken.unauthorized();
+        }
+        final var tenant = MockEmployeeService.tenant(tenantHeader);
+        mockEmployeeService.checkWritable(tenant);
+        final var format = RosterImporter.Format.of(contentType);
+        long start = System.nanoTime();
+        List<MockEmployee> employees;
+        try (InputStream in = "gzip".equalsIgnoreCase(contentEncoding)
+                ? new GZIPInputStream(body.getInputStream(), 1 << 16)
+                : body.getInputStream()) {
+            employees = rosterImporter.read(in, format);
+        }
+        mockEmployeeService.replaceAll(tenant, employees);
+        return ResponseEntity.ok(Response.handledWith(new RosterImportResult(
+                employees.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.InvalidTenantException;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams {@code GET /api/v1/employee} in reactive mode. The roster goes out in chunks of {@value #CHUNK_SIZE}
+ * encoded records inside the usual {@link Response} envelope, so the whole body is never held in memory at once and
+ * the first bytes leave before the last record is encoded.
+ */
+public class RosterStreamHandler {
+
+    private static final int CHUNK_SIZE = 64;
+
+    private static final byte[] PREFIX = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+
+    private final MockEmployeeService mockEmployeeService;
+
+    private final ObjectMapper objectMapper;
+
+    private final byte[] suffix;
+
+    public RosterStreamHandler(MockEmployeeService mockEmployeeService, ObjectMapper objectMapper) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.objectMapper = objectMapper;
+        try {
+            this.suffix = ("],\"status\":" + objectMapper.writeValueAsString(Response.Status.HANDLED) + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Mono<ServerResponse> getEmployees(ServerRequest request) {
+        DataBufferFactory buffers = request.exchange().getResponse().bufferFactory();
+        String tenant;
+        try {
+            tenant = MockEmployeeService.tenant(request.headers().firstHeader(MockEmployeeService.TENANT_HEADER));
+        } catch (InvalidTenantException e) {
+            return ServerResponse.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Response.error(e.getMessage()));
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(stream(mockEmployeeService.getMockEmployees(tenant), buffers)));
+    }
+
+    Flux<DataBuffer> stream(List<MockEmployee> employees, DataBufferFactory buffers) {
+        return Flux.concat(
+                Mono.fromSupplier(() -> buffers.wrap(PREFIX)),
+                Flux.fromIterable(employees)
+                        .buffer(CHUNK_SIZE)
+                        .index()
+                        .map(chunk -> buffers.wrap(encode(chunk.getT2(), chunk.getT1() == 0))),
+                Mono.fromSupplier(() -> buffers.wrap(suffix)));
+    }
+
+    private byte[] encode(List<MockEmployee> chunk, boolean first) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(chunk.size() * 256);
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            gen.setRootValueSeparator(null);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0 || !first) {
+                    gen.writeRaw(',');
+                }
+                objectMapper.writeValue(gen, chunk.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
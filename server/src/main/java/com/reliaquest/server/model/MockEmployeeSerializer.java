@@ -0,0 +1,39 @@
+package com.reliaquest.server.model;
+
+import static com.reliaquest.common.json.EmployeeJson.AGE;
+import static com.reliaquest.common.json.EmployeeJson.EMAIL;
+import static com.reliaquest.common.json.EmployeeJson.ID;
+import static com.reliaquest.common.json.EmployeeJson.NAME;
+import static com.reliaquest.common.json.EmployeeJson.SALARY;
+import static com.reliaquest.common.json.EmployeeJson.TITLE;
+import static com.reliaquest.common.json.EmployeeJson.writeNumber;
+import static com.reliaquest.common.json.EmployeeJson.writeString;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Writes {@link MockEmployee} without reflection. Field names are pre-encoded once, so the generator copies their
+ * quoted UTF-8 bytes instead of running the naming strategy and escaping for every record. Produces the same JSON as
+ * the reflective binding, nulls included.
+ */
+public class MockEmployeeSerializer extends StdSerializer<MockEmployee> {
+
+    public MockEmployeeSerializer() {
+        super(MockEmployee.class);
+    }
+
+    @Override
+    public void serialize(MockEmployee employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(employee);
+        writeString(gen, ID, employee.getId() != null ? employee.getId().toString() : null);
+        writeString(gen, NAME, employee.getName());
+        writeNumber(gen, SALARY, employee.getSalary());
+        writeNumber(gen, AGE, employee.getAge());
+        writeString(gen, TITLE, employee.getTitle());
+        writeString(gen, EMAIL, employee.getEmail());
+        gen.writeEndObject();
+    }
+}
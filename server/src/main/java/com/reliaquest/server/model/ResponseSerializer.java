@@ -0,0 +1,76 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the {@link Response} envelope with pre-encoded field names and status strings. A list payload is streamed
+ * element by element, looking up the element serializer once per run of same-typed elements rather than once per
+ * element. Null fields are left out, as with {@code @JsonInclude(NON_NULL)}.
+ */
+@SuppressWarnings("rawtypes")
+public class ResponseSerializer extends StdSerializer<Response> {
+
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString ERROR = new SerializedString("error");
+
+    private static final Map<Response.Status, SerializedString> STATUS_VALUES = new EnumMap<>(Response.Status.class);
+
+    static {
+        for (Response.Status status : Response.Status.values()) {
+            STATUS_VALUES.put(status, new SerializedString(status.getValue()));
+        }
+    }
+
+    public ResponseSerializer() {
+        super(Response.class);
+    }
+
+    @Override
+    public void serialize(Response response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        if (response.data() != null) {
+            gen.writeFieldName(DATA);
+            if (response.data() instanceof List<?> list) {
+                writeList(list, gen, provider);
+            } else {
+                provider.defaultSerializeValue(response.data(), gen);
+            }
+        }
+        if (response.status() != null) {
+            gen.writeFieldName(STATUS);
+            gen.writeString(STATUS_VALUES.get(response.status()));
+        }
+        if (response.error() != null) {
+            gen.writeFieldName(ERROR);
+            gen.writeString(response.error());
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeList(List<?> list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(list, list.size());
+        Class<?> type = null;
+        JsonSerializer<Object> serializer = null;
+        for (Object element : list) {
+            if (element == null) {
+                provider.defaultSerializeNull(gen);
+                continue;
+            }
+            if (element.getClass() != type) {
+                type = element.getClass();
+                serializer = provider.findValueSerializer(type);
+            }
+            serializer.serialize(element, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+/**
+ * Outcome of a bulk roster import.
+ *
+ * @param durationMillis from the first byte read until the new roster was swapped in
+ */
+public record RosterImportResult(int employees, long durationMillis) {}
@@ -0,0 +1,38 @@
+package com.reliaquest.server.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A request answered with 429 by the rate limiter.
+ */
+@Name("com.reliaquest.server.RateLimitRejected")
+@Label("Rate Limit Rejected")
+@Category({"Mock Employee API", "Rate Limiting"})
+@StackTrace(false)
+public class RateLimitRejectedEvent extends Event {
+
+    @Label("Key")
+    String key;
+
+    @Label("Limit")
+    long limit;
+
+    @Label("Retry After")
+    @Timespan
+    long retryAfterNanos;
+
+    public static void emit(String key, long limit, long retryAfterNanos) {
+        RateLimitRejectedEvent event = new RateLimitRejectedEvent();
+        if (event.shouldCommit()) {
+            event.key = key;
+            event.limit = limit;
+            event.retryAfterNanos = retryAfterNanos;
+            event.commit();
+        }
+    }
+}
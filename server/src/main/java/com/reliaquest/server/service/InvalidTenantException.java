@@ -0,0 +1,8 @@
+package com.reliaquest.server.service;
+
+public class InvalidTenantException extends RuntimeException {
+
+    public InvalidTenantException(String message) {
+        super(message);
+    }
+}
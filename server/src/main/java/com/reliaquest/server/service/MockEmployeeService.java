@@ -4,55 +4,233 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import io.micrometer.observation.annotation.Observed;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * The employee rosters, one per tenant, each with an id index for lookups. The default tenant starts with the seeded
+ * roster; any other tenant starts empty and gets its roster on its first create or import. Tenant ids are validated,
+ * and once {@code mock.tenants.max} tenants have a roster, writes for a new tenant are refused.
+ *
+ * <p>A roster is an immutable snapshot of the list and its index, and every write replaces the snapshot as a whole.
+ * Readers never lock and always see a list and an index that agree. A create or a delete copies the tenant's snapshot
+ * with one employee added or removed, which costs O(n) per write but nothing per read, the right trade for a mock that
+ * is read far more often than written. A bulk import builds its snapshot off to the side and swaps it in. Writes to one
+ * roster are serialised by {@link ConcurrentHashMap#compute}, so none is lost, while writes to different tenants don't
+ * wait for each other. A create or delete that races an import is replaced along with the rest of the old roster.
+ *
+ * <p>The methods without a tenant act on the default tenant.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@Observed(name = "mock.employee.service")
 public class MockEmployeeService {
 
+    public static final String DEFAULT_TENANT = "default";
+
+    /** Header naming the caller's tenant */
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,63}");
+
+    private static final Roster EMPTY = new Roster(List.of(), Map.of());
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final int maxTenants;
+
+    private final Map<String, Roster> rosters = new ConcurrentHashMap<>();
+
+    private final AtomicInteger tenants = new AtomicInteger(1);
+
+    public MockEmployeeService(
+            Faker faker, List<MockEmployee> mockEmployees, @Value("${mock.tenants.max:100}") int maxTenants) {
+        this.faker = faker;
+        this.maxTenants = maxTenants;
+        rosters.put(DEFAULT_TENANT, Roster.of(mockEmployees));
+    }
+
+    /**
+     * @return the tenant named by a {@link #TENANT_HEADER} value; the default tenant when it is missing or blank
+     * @throws InvalidTenantException if it isn't up to 64 letters, digits, {@code .}, {@code _} or {@code -}
+     */
+    public static String tenant(String header) {
+        if (header == null || header.isBlank()) {
+            return DEFAULT_TENANT;
+        }
+        final var tenant = header.trim();
+        if (!TENANT_ID.matcher(tenant).matches()) {
+            throw new InvalidTenantException("Invalid " + TENANT_HEADER + " header.");
+        }
+        return tenant;
+    }
+
+    public List<MockEmployee> getMockEmployees() {
+        return getMockEmployees(DEFAULT_TENANT);
+    }
+
+    public List<MockEmployee> getMockEmployees(@NonNull String tenant) {
+        return roster(tenant).employees();
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return findById(DEFAULT_TENANT, uuid);
+    }
+
+    public Optional<MockEmployee> findById(@NonNull String tenant, @NonNull UUID uuid) {
+        return Optional.ofNullable(roster(tenant).byId().get(uuid));
+    }
+
+    /**
+     * Looks up several employees, in request order. Unknown ids are left out of the result.
+     */
+    public List<MockEmployee> findByIds(@NonNull String tenant, @NonNull Collection<UUID> uuids) {
+        final var byId = roster(tenant).byId();
+        return uuids.stream().distinct().map(byId::get).filter(Objects::nonNull).toList();
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
+        return create(DEFAULT_TENANT, input);
+    }
+
+    public MockEmployee create(@NonNull String tenant, @NonNull CreateMockEmployeeInput input) {
+        final String userName;
+        // Faker isn't thread-safe, and creates for different tenants run in parallel
+        synchronized (faker) {
+            userName = faker.twitter().userName();
+        }
+        final var mockEmployee =
+                MockEmployee.from(ServerConfiguration.EMAIL_TEMPLATE.formatted(userName.toLowerCase()), input);
+        rosters.compute(tenant, (key, current) -> orNew(key, current).with(mockEmployee));
+        log.debug("Added employee for tenant {}: {}", tenant, mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
+        return delete(DEFAULT_TENANT, input);
+    }
+
+    public boolean delete(@NonNull String tenant, @NonNull DeleteMockEmployeeInput input) {
+        final var removed = new AtomicReference<MockEmployee>();
+        rosters.computeIfPresent(tenant, (key, roster) -> roster.employees().stream()
                 .filter(employee -> Objects.nonNull(employee.getName())
                         && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
+                .findFirst()
+                .map(employee -> {
+                    removed.set(employee);
+                    return roster.without(employee);
+                })
+                .orElse(roster));
+        if (removed.get() != null) {
+            log.debug("Removed employee for tenant {}: {}", tenant, removed.get());
             return true;
         }
 
         return false;
     }
+
+    public void replaceAll(@NonNull List<MockEmployee> employees) {
+        replaceAll(DEFAULT_TENANT, employees);
+    }
+
+    /**
+     * Replaces the tenant's whole roster. The index is built in parallel before the swap.
+     *
+     * @throws RosterImportException if two employees share an id; the current roster is kept
+     */
+    public void replaceAll(@NonNull String tenant, @NonNull List<MockEmployee> employees) {
+        final var replacement = Roster.of(employees);
+        if (replacement.byId().size() != employees.size()) {
+            throw new RosterImportException("The roster has " + (employees.size() - replacement.byId().size())
+                    + " duplicate ids");
+        }
+        rosters.compute(tenant, (key, current) -> {
+            orNew(key, current);
+            return replacement;
+        });
+        log.info("Replaced the roster of tenant {} with {} employees", tenant, employees.size());
+    }
+
+    /**
+     * Fails fast, before an expensive write, if the tenant has no roster and no more tenants are accepted. The write
+     * itself checks again.
+     *
+     * @throws InvalidTenantException if the tenant can't get a roster
+     */
+    public void checkWritable(@NonNull String tenant) {
+        if (!rosters.containsKey(tenant) && tenants.get() >= maxTenants) {
+            throw new InvalidTenantException(unknownTenant(tenant));
+        }
+    }
+
+    private Roster roster(String tenant) {
+        return rosters.getOrDefault(tenant, EMPTY);
+    }
+
+    /*
+     * Called inside compute, so two first writes for the same tenant count it once.
+     */
+    private Roster orNew(String tenant, Roster current) {
+        if (current != null) {
+            return current;
+        }
+        if (tenants.incrementAndGet() > maxTenants) {
+            tenants.decrementAndGet();
+            throw new InvalidTenantException(unknownTenant(tenant));
+        }
+        return EMPTY;
+    }
+
+    private static String unknownTenant(String tenant) {
+        return "Unknown tenant " + tenant + ", no more tenants are accepted.";
+    }
+
+    /*
+     * Never modified once built; with and without return copies.
+     */
+    private record Roster(List<MockEmployee> employees, Map<UUID, MockEmployee> byId) {
+
+        static Roster of(List<MockEmployee> employees) {
+            final var byId = new ConcurrentHashMap<UUID, MockEmployee>(Math.max(16, employees.size() * 4 / 3 + 1));
+            employees.parallelStream()
+                    .filter(employee -> employee.getId() != null)
+                    .forEach(employee -> byId.putIfAbsent(employee.getId(), employee));
+            return new Roster(
+                    Collections.unmodifiableList(new ArrayList<>(employees)), Collections.unmodifiableMap(byId));
+        }
+
+        Roster with(MockEmployee employee) {
+            final var list = new ArrayList<MockEmployee>(employees.size() + 1);
+            list.addAll(employees);
+            list.add(employee);
+            final var index = new HashMap<>(byId);
+            index.put(employee.getId(), employee);
+            return new Roster(Collections.unmodifiableList(list), Collections.unmodifiableMap(index));
+        }
+
+        Roster without(MockEmployee employee) {
+            final var list = new ArrayList<>(employees);
+            list.remove(employee);
+            final var index = new HashMap<>(byId);
+            index.remove(employee.getId());
+            return new Roster(Collections.unmodifiableList(list), Collections.unmodifiableMap(index));
+        }
+    }
 }
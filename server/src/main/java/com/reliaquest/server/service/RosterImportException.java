@@ -0,0 +1,12 @@
+package com.reliaquest.server.service;
+
+public class RosterImportException extends RuntimeException {
+
+    public RosterImportException(String message) {
+        super(message);
+    }
+
+    public RosterImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,257 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Parses employee rosters from CSV or NDJSON. The input is read line by line and cut into batches. Worker threads
+ * parse the batches, and no more than two batches per worker are waiting at a time. Memory is therefore bounded by the
+ * parsed employees plus a few batches of raw lines, however large the input is.
+ *
+ * <p>CSV needs a header row naming its columns, and NDJSON needs one object per line. Both use the names of the
+ * {@code MockEmployee} fields, with or without the {@code employee_} prefix of the API's JSON. Only {@code name} is
+ * required. A missing id is generated, and a missing email is derived from the name. A malformed row fails the whole
+ * import and reports its line number.
+ */
+public class RosterImporter {
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * @return the format named by a file name or media type, e.g. {@code roster.csv.gz} or
+         *     {@code application/x-ndjson}
+         */
+        public static Format of(String nameOrMediaType) {
+            String lower = nameOrMediaType == null ? "" : nameOrMediaType.toLowerCase(Locale.ROOT);
+            if (lower.contains("csv")) {
+                return CSV;
+            }
+            if (lower.contains("ndjson") || lower.contains("jsonl") || lower.contains("json")) {
+                return NDJSON;
+            }
+            throw new RosterImportException("Cannot tell the roster format of " + nameOrMediaType
+                    + "; use a .csv or .ndjson file, or a text/csv or application/x-ndjson body");
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    public RosterImporter(ObjectMapper objectMapper, int batchSize, int parallelism) {
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    public List<MockEmployee> read(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            String name = path.getFileName().toString();
+            return read(name.endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in, Format.of(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read roster " + path, e);
+        }
+    }
+
+    public List<MockEmployee> read(InputStream in, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        List<String> columns = format == Format.CSV ? header(reader) : null;
+        List<MockEmployee> employees = new ArrayList<>();
+        Deque<Future<List<MockEmployee>>> pending = new ArrayDeque<>();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "roster-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long firstLine = columns != null ? 2 : 1;
+            List<String> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    pending.addLast(submit(workers, batch, firstLine, columns));
+                    firstLine += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                    while (pending.size() > 2 * parallelism) {
+                        employees.addAll(await(pending.removeFirst()));
+                    }
+                }
+            }
+            pending.addLast(submit(workers, batch, firstLine, columns));
+            while (!pending.isEmpty()) {
+                employees.addAll(await(pending.removeFirst()));
+            }
+            return employees;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Future<List<MockEmployee>> submit(
+            ExecutorService workers, List<String> lines, long firstLine, List<String> columns) {
+        return workers.submit(() -> {
+            List<MockEmployee> parsed = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Map<String, String> fields = columns != null ? csvFields(columns, line) : jsonFields(line);
+                    parsed.add(employee(fields));
+                } catch (RuntimeException | IOException e) {
+                    throw new RosterImportException("Line " + (firstLine + i) + ": " + e.getMessage(), e);
+                }
+            }
+            return parsed;
+        });
+    }
+
+    private static List<MockEmployee> await(Future<List<MockEmployee>> batch) {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RosterImportException("Interrupted while importing the roster", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RosterImportException importException) {
+                throw importException;
+            }
+            throw new RosterImportException(e.getCause().toString(), e.getCause());
+        }
+    }
+
+    private static List<String> header(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return List.of();
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        return splitCsv(header).stream().map(RosterImporter::field).toList();
+    }
+
+    private static Map<String, String> csvFields(List<String> columns, String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " columns, found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            fields.put(columns.get(i), values.get(i));
+        }
+        return fields;
+    }
+
+    private Map<String, String> jsonFields(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("not a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(entry -> {
+            if (!entry.getValue().isNull()) {
+                fields.put(field(entry.getKey()), entry.getValue().asText());
+            }
+        });
+        return fields;
+    }
+
+    private static MockEmployee employee(Map<String, String> fields) {
+        String name = blankToNull(fields.get("name"));
+        if (name == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+        String id = blankToNull(fields.get("id"));
+        String email = blankToNull(fields.get("email"));
+        return MockEmployee.builder()
+                .id(id != null ? UUID.fromString(id) : UUID.randomUUID())
+                .name(name)
+                .salary(integer(fields.get("salary")))
+                .age(integer(fields.get("age")))
+                .title(blankToNull(fields.get("title")))
+                .email(email != null
+                        ? email
+                        : ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", ".")))
+                .build();
+    }
+
+    /*
+     * RFC 4180: fields may be quoted, and a quote inside a quoted field is doubled. Quoted line breaks are not
+     * supported, since the input is split into lines first.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String field(String name) {
+        String trimmed = name.trim().toLowerCase(Locale.ROOT);
+        return trimmed.startsWith("employee_") ? trimmed.substring("employee_".length()) : trimmed;
+    }
+
+    private static Integer integer(String value) {
+        String trimmed = blankToNull(value);
+        return trimmed != null ? Integer.valueOf(trimmed) : null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
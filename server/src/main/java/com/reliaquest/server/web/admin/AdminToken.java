@@ -0,0 +1,39 @@
+package com.reliaquest.server.web.admin;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code Authorization: Bearer <token>} that the admin endpoints changing the server's behaviour or data require,
+ * configured as {@code mock.admin.token}. Without a token configured those endpoints don't exist.
+ */
+@Component
+@ConditionalOnProperty(name = "mock.admin.token")
+public class AdminToken {
+
+    private final byte[] expected;
+
+    public AdminToken(@Value("${mock.admin.token}") String token) {
+        if (token.isBlank()) {
+            throw new IllegalStateException("mock.admin.token must not be blank");
+        }
+        this.expected = ("Bearer " + token).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean matches(String authorization) {
+        return authorization != null
+                && MessageDigest.isEqual(expected, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .build();
+    }
+}
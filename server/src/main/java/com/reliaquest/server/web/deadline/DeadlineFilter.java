@@ -0,0 +1,38 @@
+package com.reliaquest.server.web.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Turns the caller's timeout header, in milliseconds, into a deadline as soon as the request arrives, so injected
+ * latency counts against it. {@link DeadlineInterceptor} enforces it. Missing or malformed headers mean no deadline.
+ */
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding the deadline on the {@link System#nanoTime()} clock */
+    public static final String ATTRIBUTE = DeadlineFilter.class.getName();
+
+    private final String header;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String timeout = request.getHeader(header);
+        if (timeout != null) {
+            try {
+                long timeoutMillis = Long.parseLong(timeout.trim());
+                request.setAttribute(ATTRIBUTE, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+            } catch (NumberFormatException ignored) {
+                // No deadline
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.server.web.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Skips requests whose caller has already given up: once the deadline set by {@link DeadlineFilter} has passed, the
+ * request gets a 504 without reaching the rate limiter or the handler, so it neither spends a permit nor touches the
+ * roster.
+ */
+@Slf4j
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(DeadlineFilter.ATTRIBUTE) instanceof Long deadlineNanos
+                && System.nanoTime() - deadlineNanos >= 0) {
+            log.debug("Skipping {} {}, its deadline has passed", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            return false;
+        }
+        return true;
+    }
+}
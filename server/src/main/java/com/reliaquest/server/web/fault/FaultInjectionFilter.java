@@ -0,0 +1,123 @@
+package com.reliaquest.server.web.fault;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Applies the {@link FaultProfile} bound to the request route. Latency is added before the request reaches the rate
+ * limiter so it behaves like upstream queueing; errors and resets short-circuit the handler; slow-drip and bandwidth
+ * throttling buffer the handler output and replay it in paced chunks.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private static final long THROTTLE_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /*
+     * Advertised length of a reset response; only the first byte is ever sent.
+     */
+    private static final int RESET_DECLARED_LENGTH = 1024;
+
+    private final FaultProfileRegistry faultProfileRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        FaultProfile profile = faultProfileRegistry.resolve(request);
+        if (profile == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        sleepNanos(profile.getLatency().sampleNanos());
+
+        if (profile.sampleReset()) {
+            resetConnection(response);
+            return;
+        }
+
+        Integer errorStatus = profile.sampleErrorStatus();
+        if (errorStatus != null) {
+            response.setStatus(errorStatus);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Response.error("Injected fault " + errorStatus));
+            return;
+        }
+
+        if (!profile.shapesBody()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, bufferedResponse);
+        writeThrottled(profile, bufferedResponse.getContentAsByteArray(), response);
+    }
+
+    /*
+     * Commits a response that promises more bytes than it sends and asks Tomcat to close the connection, so the client
+     * sees the connection drop mid-body.
+     */
+    private static void resetConnection(HttpServletResponse response) throws IOException {
+        log.debug("Injecting connection reset");
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(RESET_DECLARED_LENGTH);
+        response.getOutputStream().write('{');
+        response.flushBuffer();
+    }
+
+    private static void writeThrottled(FaultProfile profile, byte[] body, HttpServletResponse response)
+            throws IOException {
+        int chunkBytes;
+        long intervalNanos;
+        long bandwidth = profile.getBandwidthBytesPerSecond();
+        if (profile.getSlowDrip().isEnabled()) {
+            chunkBytes = profile.getSlowDrip().getChunkBytes();
+            intervalNanos = profile.getSlowDrip().getInterval().toNanos();
+            if (bandwidth > 0) {
+                intervalNanos = Math.max(intervalNanos, TimeUnit.SECONDS.toNanos(chunkBytes) / bandwidth);
+            }
+        } else {
+            chunkBytes = (int) Math.max(1, bandwidth * THROTTLE_TICK_NANOS / TimeUnit.SECONDS.toNanos(1));
+            intervalNanos = THROTTLE_TICK_NANOS;
+        }
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        for (int offset = 0; offset < body.length; offset += chunkBytes) {
+            if (offset > 0) {
+                sleepNanos(intervalNanos);
+            }
+            outputStream.write(body, offset, Math.min(chunkBytes, body.length - offset));
+            outputStream.flush();
+        }
+    }
+
+    private static void sleepNanos(long nanos) throws IOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while injecting latency", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.server.web.fault;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Data;
+
+/**
+ * Describes how badly a route should behave: added latency, injected error statuses, connection resets and a slowed
+ * down response body. Every field is optional; an empty profile is a no-op.
+ */
+@Data
+public class FaultProfile {
+
+    private Latency latency = new Latency();
+
+    /*
+     * Status code -> probability of answering with it instead of calling the handler, e.g. {500: 0.05, 503: 0.01}.
+     */
+    private Map<Integer, Double> errorRates = new LinkedHashMap<>();
+
+    /*
+     * Probability of dropping the connection after sending a truncated response.
+     */
+    private double resetRate;
+
+    private SlowDrip slowDrip = new SlowDrip();
+
+    /*
+     * Caps the response body throughput; zero or negative means unlimited.
+     */
+    private long bandwidthBytesPerSecond;
+
+    /**
+     * @return injected status for this request, or {@code null} if the handler should run
+     */
+    public Integer sampleErrorStatus() {
+        if (errorRates.isEmpty()) {
+            return null;
+        }
+        double roll = ThreadLocalRandom.current().nextDouble();
+        double cumulative = 0;
+        for (Map.Entry<Integer, Double> errorRate : errorRates.entrySet()) {
+            cumulative += errorRate.getValue();
+            if (roll < cumulative) {
+                return errorRate.getKey();
+            }
+        }
+        return null;
+    }
+
+    public boolean sampleReset() {
+        return resetRate > 0 && ThreadLocalRandom.current().nextDouble() < resetRate;
+    }
+
+    public boolean shapesBody() {
+        return slowDrip.isEnabled() || bandwidthBytesPerSecond > 0;
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        NORMAL,
+        PARETO
+    }
+
+    @Data
+    public static class Latency {
+
+        private Distribution distribution = Distribution.NONE;
+
+        /*
+         * FIXED: the delay. NORMAL: the mean. PARETO: the scale (minimum delay).
+         */
+        private Duration value = Duration.ZERO;
+
+        /*
+         * NORMAL only.
+         */
+        private Duration stdDev = Duration.ZERO;
+
+        /*
+         * PARETO only; lower values give a longer tail. 1.16 gives the classic 80/20 split.
+         */
+        private double shape = 1.16;
+
+        /*
+         * Upper bound applied to every sampled delay.
+         */
+        private Duration max = Duration.ofSeconds(30);
+
+        public long sampleNanos() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double nanos = switch (distribution) {
+                case NONE -> 0;
+                case FIXED -> value.toNanos();
+                case NORMAL -> value.toNanos() + random.nextGaussian() * stdDev.toNanos();
+                case PARETO -> value.toNanos() / Math.pow(1 - random.nextDouble(), 1 / shape);
+            };
+            return (long) Math.min(Math.max(0, nanos), max.toNanos());
+        }
+    }
+
+    @Data
+    public static class SlowDrip {
+
+        private int chunkBytes;
+
+        private Duration interval = Duration.ZERO;
+
+        public boolean isEnabled() {
+            return chunkBytes > 0 && !interval.isZero();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.server.web.fault;
+
+import com.reliaquest.server.config.FaultInjectionProperties;
+import com.reliaquest.server.config.FaultInjectionProperties.RouteBinding;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Runtime view of the configured fault profiles and route bindings. Seeded from {@link FaultInjectionProperties} and
+ * mutated by the admin endpoint; bindings are replaced wholesale so request threads always see a consistent list.
+ */
+@Slf4j
+@Component
+public class FaultProfileRegistry {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, FaultProfile> profiles;
+
+    private volatile List<RouteBinding> routes;
+
+    public FaultProfileRegistry(FaultInjectionProperties properties) {
+        properties.getProfiles().forEach(FaultProfileRegistry::validate);
+        this.profiles = new ConcurrentHashMap<>(properties.getProfiles());
+        this.routes = validate(properties.getRoutes());
+    }
+
+    /**
+     * @return profile bound to the request route, or {@code null} when the route is not faulted
+     */
+    public FaultProfile resolve(HttpServletRequest request) {
+        List<RouteBinding> currentRoutes = routes;
+        if (currentRoutes.isEmpty()) {
+            return null;
+        }
+        String path = request.getRequestURI();
+        for (RouteBinding route : currentRoutes) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.getPattern(), path)) {
+                return profiles.get(route.getProfile());
+            }
+        }
+        return null;
+    }
+
+    public Map<String, FaultProfile> getProfiles() {
+        return Map.copyOf(profiles);
+    }
+
+    public List<RouteBinding> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the profile injects a status other than 4xx or 5xx, or has a rate outside
+     *     [0, 1]
+     */
+    public void putProfile(@NonNull String name, @NonNull FaultProfile profile) {
+        profiles.put(name, validate(name, profile));
+        log.info("Updated fault profile {}: {}", name, profile);
+    }
+
+    public void setRoutes(@NonNull List<RouteBinding> routes) {
+        this.routes = validate(routes);
+        log.info("Fault routes bound: {}", this.routes);
+    }
+
+    private static FaultProfile validate(String name, FaultProfile profile) {
+        for (Map.Entry<Integer, Double> errorRate : profile.getErrorRates().entrySet()) {
+            Integer status = errorRate.getKey();
+            if (status == null || status < 400 || status > 599) {
+                throw new IllegalArgumentException(
+                        "Fault profile " + name + " injects status " + status + "; only 4xx and 5xx are allowed");
+            }
+            Double rate = errorRate.getValue();
+            if (rate == null || rate < 0 || rate > 1) {
+                throw new IllegalArgumentException(
+                        "Fault profile " + name + " has rate " + rate + " for status " + status + "; expected 0 to 1");
+            }
+        }
+        if (profile.getResetRate() < 0 || profile.getResetRate() > 1) {
+            throw new IllegalArgumentException(
+                    "Fault profile " + name + " has reset rate " + profile.getResetRate() + "; expected 0 to 1");
+        }
+        return profile;
+    }
+
+    private List<RouteBinding> validate(List<RouteBinding> routes) {
+        for (RouteBinding route : routes) {
+            if (route.getPattern() == null || !profiles.containsKey(route.getProfile())) {
+                throw new IllegalArgumentException(
+                        "Fault route " + route.getPattern() + " references unknown profile " + route.getProfile());
+            }
+        }
+        return List.copyOf(routes);
+    }
+}
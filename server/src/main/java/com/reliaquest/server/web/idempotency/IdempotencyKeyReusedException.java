@@ -0,0 +1,8 @@
+package com.reliaquest.server.web.idempotency;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key " + key + " was already used with a different request.");
+    }
+}
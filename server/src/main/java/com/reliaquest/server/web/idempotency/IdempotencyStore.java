@@ -0,0 +1,111 @@
+package com.reliaquest.server.web.idempotency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the outcome of writes made with an {@code Idempotency-Key}, so a client that retries a request whose
+ * response it never saw gets the original result instead of a second write. A key can only be reused with the same
+ * request body.
+ *
+ * <p>A new key is claimed under a short lock and the write runs after it is released, so a slow write holds up only the
+ * requests that repeat its key; they wait for its result. At most {@code max-keys} keys are held: expired ones are
+ * dropped to make room, and a new key is refused while the store is still full.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int maxKeys;
+
+    public IdempotencyStore(
+            @Value("${mock.idempotency.ttl:24h}") Duration ttl,
+            @Value("${mock.idempotency.max-keys:10000}") int maxKeys) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Runs the write once per key and returns its result; later calls with the same key replay it, waiting for it if
+     * it is still running. A failed write is forgotten, so the next call with the key runs it again.
+     *
+     * @throws IdempotencyKeyReusedException if the key was used before with a different request
+     * @throws IdempotencyStoreFullException if the key is new and {@code max-keys} unexpired keys are held
+     */
+    public <T> Outcome<T> execute(String key, Object request, Supplier<T> write) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry == null || entry.isExpired(now, ttlNanos)) {
+            Entry claim = new Entry(request, new CompletableFuture<>(), now);
+            entry = claim(key, claim, now);
+            if (entry == claim) {
+                return new Outcome<>(run(key, claim, write), false);
+            }
+        }
+
+        if (!Objects.equals(entry.request(), request)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            T result = (T) entry.result().join();
+            return new Outcome<>(result, true);
+        } catch (CompletionException | CancellationException e) {
+            // The first write failed and released the key; this call takes its place
+            return execute(key, request, write);
+        }
+    }
+
+    private synchronized Entry claim(String key, Entry claim, long now) {
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now, ttlNanos)) {
+            return existing;
+        }
+        if (existing == null && entries.size() >= maxKeys) {
+            entries.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+            if (entries.size() >= maxKeys) {
+                throw new IdempotencyStoreFullException(maxKeys);
+            }
+        }
+        entries.put(key, claim);
+        return claim;
+    }
+
+    private <T> T run(String key, Entry claim, Supplier<T> write) {
+        T result;
+        try {
+            result = write.get();
+        } catch (RuntimeException | Error e) {
+            // Released before waiters wake up, so they find the key free
+            entries.remove(key, claim);
+            claim.result().completeExceptionally(e);
+            throw e;
+        }
+        claim.result().complete(result);
+        return result;
+    }
+
+    public record Outcome<T>(T result, boolean replayed) {}
+
+    private record Entry(Object request, CompletableFuture<Object> result, long createdNanos) {
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - createdNanos >= ttlNanos;
+        }
+    }
+}
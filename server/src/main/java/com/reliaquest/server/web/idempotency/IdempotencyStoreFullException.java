@@ -0,0 +1,8 @@
+package com.reliaquest.server.web.idempotency;
+
+public class IdempotencyStoreFullException extends RuntimeException {
+
+    public IdempotencyStoreFullException(int maxKeys) {
+        super("All " + maxKeys + " idempotency keys are in use. Please try again later.");
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.server.web.ratelimit;
+
+/**
+ * Outcome of a single {@link RateLimiter#tryAcquire(String, long)} call.
+ *
+ * @param allowed whether the request was admitted
+ * @param limit configured number of requests per window
+ * @param remaining requests still available right now
+ * @param resetNanos nanos until the quota is fully restored
+ * @param retryAfterNanos nanos until the next request would be admitted; zero when allowed
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+
+    public static RateLimitDecision allowed(long limit, long remaining, long resetNanos) {
+        return new RateLimitDecision(true, limit, remaining, resetNanos, 0L);
+    }
+
+    public static RateLimitDecision denied(long limit, long resetNanos, long retryAfterNanos) {
+        return new RateLimitDecision(false, limit, 0L, resetNanos, retryAfterNanos);
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.server.web.ratelimit;
+
+import com.reliaquest.server.config.RateLimitProperties;
+import com.reliaquest.server.profiling.RateLimitRejectedEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Applies the configured {@link RateLimiter} to every request and advertises the quota with the {@code RateLimit-*}
+ * headers. Rejected requests get a 429 with {@code Retry-After}, and a JFR {@link RateLimitRejectedEvent}.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    public static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    public static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+
+    private static final String GLOBAL_KEY = "global";
+
+    private final RateLimiter rateLimiter;
+
+    private final RateLimitProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String key = resolveKey(request);
+        RateLimitDecision decision = rateLimiter.tryAcquire(key, System.nanoTime());
+
+        response.setHeader(RATE_LIMIT_LIMIT, Long.toString(decision.limit()));
+        response.setHeader(RATE_LIMIT_REMAINING, Long.toString(decision.remaining()));
+        response.setHeader(RATE_LIMIT_RESET, Long.toString(toSeconds(decision.resetNanos())));
+
+        if (!decision.allowed()) {
+            RateLimitRejectedEvent.emit(key, decision.limit(), decision.retryAfterNanos());
+            response.setHeader("Retry-After", Long.toString(toSeconds(decision.retryAfterNanos())));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+        return true;
+    }
+
+    private String resolveKey(HttpServletRequest request) {
+        return switch (properties.getKey()) {
+            case GLOBAL -> GLOBAL_KEY;
+            case CLIENT -> clientId(request);
+            case ROUTE -> route(request);
+            case CLIENT_AND_ROUTE -> clientId(request) + '|' + route(request);
+        };
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(properties.getClientHeader());
+        return clientId == null || clientId.isBlank() ? request.getRemoteAddr() : clientId;
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + ' ' + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    static long toSeconds(long nanos) {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
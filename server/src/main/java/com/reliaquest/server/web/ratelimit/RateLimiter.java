@@ -0,0 +1,17 @@
+package com.reliaquest.server.web.ratelimit;
+
+/**
+ * Admission control for incoming requests. Implementations are lock-free and keep independent state per key, so the
+ * same limiter can be shared by every request thread.
+ */
+public interface RateLimiter {
+
+    /**
+     * Attempts to take one permit for the given key.
+     *
+     * @param key bucket the request is charged against (global, per client, per route...)
+     * @param nowNanos current {@link System#nanoTime()} reading, taken once by the caller
+     * @return {@link RateLimitDecision} describing whether the request was admitted and the remaining quota
+     */
+    RateLimitDecision tryAcquire(String key, long nowNanos);
+}
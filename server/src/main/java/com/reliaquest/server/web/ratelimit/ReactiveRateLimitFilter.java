@@ -0,0 +1,95 @@
+package com.reliaquest.server.web.ratelimit;
+
+import com.reliaquest.server.config.RateLimitProperties;
+import com.reliaquest.server.profiling.RateLimitRejectedEvent;
+import java.net.InetSocketAddress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link RateLimitInterceptor}: same limiter, keys and headers, applied to {@code /api/**}
+ * without blocking the event loop. Route keys need the matched pattern, which filters run too early to see, so for
+ * those the filter asks the handler mapping itself.
+ */
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private static final String GLOBAL_KEY = "global";
+
+    private final RateLimiter rateLimiter;
+
+    private final RateLimitProperties properties;
+
+    private final HandlerMapping routeMapping;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().pathWithinApplication().value().startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+
+        return resolveKey(exchange).flatMap(key -> {
+            RateLimitDecision decision = rateLimiter.tryAcquire(key, System.nanoTime());
+
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.set(RateLimitInterceptor.RATE_LIMIT_LIMIT, Long.toString(decision.limit()));
+            headers.set(RateLimitInterceptor.RATE_LIMIT_REMAINING, Long.toString(decision.remaining()));
+            headers.set(
+                    RateLimitInterceptor.RATE_LIMIT_RESET,
+                    Long.toString(RateLimitInterceptor.toSeconds(decision.resetNanos())));
+
+            if (!decision.allowed()) {
+                RateLimitRejectedEvent.emit(key, decision.limit(), decision.retryAfterNanos());
+                headers.set(
+                        HttpHeaders.RETRY_AFTER,
+                        Long.toString(RateLimitInterceptor.toSeconds(decision.retryAfterNanos())));
+                exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                return exchange.getResponse().setComplete();
+            }
+            return chain.filter(exchange);
+        });
+    }
+
+    private Mono<String> resolveKey(ServerWebExchange exchange) {
+        return switch (properties.getKey()) {
+            case GLOBAL -> Mono.just(GLOBAL_KEY);
+            case CLIENT -> Mono.just(clientId(exchange.getRequest()));
+            case ROUTE -> route(exchange);
+            case CLIENT_AND_ROUTE -> route(exchange).map(route -> clientId(exchange.getRequest()) + '|' + route);
+        };
+    }
+
+    private String clientId(ServerHttpRequest request) {
+        String clientId = request.getHeaders().getFirst(properties.getClientHeader());
+        if (clientId != null && !clientId.isBlank()) {
+            return clientId;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+    }
+
+    /*
+     * The lookup stores the matched pattern on the exchange, like the MVC dispatcher does before interceptors run.
+     */
+    private Mono<String> route(ServerWebExchange exchange) {
+        return routeMapping
+                .getHandler(exchange)
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.fromSupplier(() -> {
+                    PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    ServerHttpRequest request = exchange.getRequest();
+                    return request.getMethod().name() + ' '
+                            + (pattern != null ? pattern.getPatternString() : request.getPath().value());
+                }));
+    }
+}
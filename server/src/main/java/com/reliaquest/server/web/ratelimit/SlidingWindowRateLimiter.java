@@ -0,0 +1,103 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sliding-window counter. The count of the previous fixed window is weighted by how much of it still overlaps the
+ * sliding window, which approximates a true sliding log in constant memory per key. State transitions are done with a
+ * CAS on an immutable {@link Window}, so concurrent requests can never admit more than the limit.
+ */
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    private static final Window EVICTED = new Window(0L, 0L, 0L);
+
+    private final long limit;
+    private final long windowNanos;
+    private final int maxTrackedKeys;
+
+    private final ConcurrentHashMap<String, AtomicReference<Window>> windows = new ConcurrentHashMap<>();
+
+    public SlidingWindowRateLimiter(int limit, Duration window, int maxTrackedKeys) {
+        if (limit <= 0 || window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("Sliding window requires a positive limit and window");
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, long nowNanos) {
+        while (true) {
+            AtomicReference<Window> reference =
+                    windows.computeIfAbsent(key, ignored -> new AtomicReference<>(new Window(nowNanos, 0L, 0L)));
+            Window current = reference.get();
+            if (current == EVICTED) {
+                continue;
+            }
+
+            Window rolled = roll(current, nowNanos);
+            long elapsed = nowNanos - rolled.start();
+            long resetNanos = windowNanos - elapsed;
+            double overlap = (double) (windowNanos - elapsed) / windowNanos;
+            double estimate = rolled.previousCount() * overlap + rolled.currentCount();
+
+            if (estimate + 1 > limit) {
+                return RateLimitDecision.denied(limit, resetNanos, retryAfter(rolled, elapsed));
+            }
+
+            Window next = new Window(rolled.start(), rolled.previousCount(), rolled.currentCount() + 1);
+            if (reference.compareAndSet(current, next)) {
+                sweepIfNeeded(nowNanos);
+                long remaining = (long) Math.floor(limit - estimate - 1);
+                return RateLimitDecision.allowed(limit, Math.max(0L, remaining), resetNanos);
+            }
+        }
+    }
+
+    int trackedKeys() {
+        return windows.size();
+    }
+
+    private Window roll(Window window, long nowNanos) {
+        long elapsedWindows = (nowNanos - window.start()) / windowNanos;
+        if (elapsedWindows <= 0) {
+            return window;
+        }
+        long start = window.start() + elapsedWindows * windowNanos;
+        long previous = elapsedWindows == 1 ? window.currentCount() : 0L;
+        return new Window(start, previous, 0L);
+    }
+
+    /*
+     * Solves previous * (window - elapsed - wait) / window + current + 1 <= limit for wait. When the current window
+     * alone is exhausted nothing frees up before it ends.
+     */
+    private long retryAfter(Window window, long elapsed) {
+        long untilWindowEnd = windowNanos - elapsed;
+        if (window.currentCount() + 1 > limit || window.previousCount() == 0) {
+            return untilWindowEnd;
+        }
+        double freed = (double) (limit - window.currentCount() - 1) / window.previousCount();
+        long wait = (long) Math.ceil(windowNanos * (1 - freed)) - elapsed;
+        return Math.max(1L, Math.min(wait, untilWindowEnd));
+    }
+
+    private void sweepIfNeeded(long nowNanos) {
+        if (windows.size() <= maxTrackedKeys) {
+            return;
+        }
+        windows.forEach((key, reference) -> {
+            Window window = reference.get();
+            if (window != EVICTED
+                    && nowNanos - window.start() >= 2 * windowNanos
+                    && reference.compareAndSet(window, EVICTED)) {
+                windows.remove(key, reference);
+            }
+        });
+    }
+
+    private record Window(long start, long previousCount, long currentCount) {}
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket implemented as a generic cell rate algorithm (GCRA). Each key holds a single "theoretical arrival time"
+ * in an {@link AtomicLong}; a request is admitted when pushing that time forward by one emission interval keeps it
+ * within the burst tolerance. Admission is one CAS, with no locks and no allocation on the hot path.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    /*
+     * Marks a bucket that has been removed from the map by the idle sweep, so a thread still holding it re-resolves
+     * the key instead of admitting against a detached bucket.
+     */
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final long capacity;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxTrackedKeys;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxTrackedKeys) {
+        if (capacity <= 0 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Token bucket requires a positive capacity and refill period");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1L, refillPeriod.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, long nowNanos) {
+        while (true) {
+            AtomicLong bucket = buckets.computeIfAbsent(key, ignored -> new AtomicLong(nowNanos));
+            long arrival = bucket.get();
+            if (arrival == EVICTED) {
+                continue;
+            }
+
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long debt = next - nowNanos;
+            if (debt > burstToleranceNanos) {
+                return RateLimitDecision.denied(capacity, arrival - nowNanos, debt - burstToleranceNanos);
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                sweepIfNeeded(nowNanos);
+                return RateLimitDecision.allowed(capacity, (burstToleranceNanos - debt) / emissionIntervalNanos, debt);
+            }
+        }
+    }
+
+    int trackedKeys() {
+        return buckets.size();
+    }
+
+    /*
+     * A bucket whose arrival time is in the past is full, which is indistinguishable from a fresh bucket, so it can be
+     * dropped. The CAS to EVICTED guarantees no admission is lost on a bucket that is concurrently being updated.
+     */
+    private void sweepIfNeeded(long nowNanos) {
+        if (buckets.size() <= maxTrackedKeys) {
+            return;
+        }
+        buckets.forEach((key, bucket) -> {
+            long arrival = bucket.get();
+            if (arrival != EVICTED && arrival <= nowNanos && bucket.compareAndSet(arrival, EVICTED)) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+}
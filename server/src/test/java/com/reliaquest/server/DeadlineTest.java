@@ -0,0 +1,68 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.web.deadline.DeadlineFilter;
+import com.reliaquest.server.web.deadline.DeadlineInterceptor;
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class DeadlineTest {
+
+    private final DeadlineFilter deadlineFilter = new DeadlineFilter("X-Request-Timeout");
+
+    private final DeadlineInterceptor deadlineInterceptor = new DeadlineInterceptor();
+
+    @Test
+    void preHandle_TimeLeft_Handles() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader("X-Request-Timeout", "5000");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(handled(request, response, 0));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    @Test
+    void preHandle_DeadlinePassedWhileDelayed_SkipsWith504() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader("X-Request-Timeout", "20");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(handled(request, response, 50));
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), response.getStatus());
+    }
+
+    @Test
+    void preHandle_NoOrMalformedHeader_Handles() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        assertTrue(handled(request, new MockHttpServletResponse(), 0));
+
+        request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader("X-Request-Timeout", "2s");
+        assertTrue(handled(request, new MockHttpServletResponse(), 0));
+    }
+
+    /*
+     * Runs the filter, waits as injected latency would, then asks the interceptor whether the handler runs.
+     */
+    private boolean handled(MockHttpServletRequest request, MockHttpServletResponse response, long delayMillis)
+            throws Exception {
+        AtomicBoolean handled = new AtomicBoolean();
+        FilterChain chain = (req, res) -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.set(deadlineInterceptor.preHandle(request, response, new Object()));
+        };
+        deadlineFilter.doFilter(request, response, chain);
+        return handled.get();
+    }
+}
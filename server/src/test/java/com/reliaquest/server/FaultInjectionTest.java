@@ -0,0 +1,182 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.FaultInjectionProperties;
+import com.reliaquest.server.config.FaultInjectionProperties.RouteBinding;
+import com.reliaquest.server.controller.FaultAdminController;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.admin.AdminToken;
+import com.reliaquest.server.web.fault.FaultInjectionFilter;
+import com.reliaquest.server.web.fault.FaultProfile;
+import com.reliaquest.server.web.fault.FaultProfileRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class FaultInjectionTest {
+
+    private static final String EMPLOYEES = "/api/v1/employee";
+
+    private static final String TOKEN = "Bearer secret";
+
+    private final FaultProfileRegistry registry = new FaultProfileRegistry(properties());
+
+    private final FaultInjectionFilter filter = new FaultInjectionFilter(registry, new ObjectMapper());
+
+    private final FaultAdminController controller = new FaultAdminController(registry, new AdminToken("secret"));
+
+    @Test
+    void sampleNanos_EachDistribution_StaysWithinBounds() {
+        FaultProfile.Latency latency = new FaultProfile.Latency();
+        assertEquals(0, latency.sampleNanos());
+
+        latency.setDistribution(FaultProfile.Distribution.FIXED);
+        latency.setValue(Duration.ofMillis(20));
+        assertEquals(Duration.ofMillis(20).toNanos(), latency.sampleNanos());
+
+        latency.setDistribution(FaultProfile.Distribution.PARETO);
+        latency.setMax(Duration.ofMillis(100));
+        for (int i = 0; i < 1_000; i++) {
+            long nanos = latency.sampleNanos();
+            assertTrue(nanos >= Duration.ofMillis(20).toNanos() && nanos <= Duration.ofMillis(100).toNanos());
+        }
+
+        latency.setDistribution(FaultProfile.Distribution.NORMAL);
+        latency.setStdDev(Duration.ofSeconds(1));
+        for (int i = 0; i < 1_000; i++) {
+            long nanos = latency.sampleNanos();
+            assertTrue(nanos >= 0 && nanos <= Duration.ofMillis(100).toNanos());
+        }
+    }
+
+    @Test
+    void doFilter_LatencyProfile_DelaysThenCallsHandler() throws Exception {
+        bind(null, EMPLOYEES + "/**", "slow");
+        MockFilterChain chain = new MockFilterChain();
+
+        long start = System.nanoTime();
+        filter.doFilter(request("GET", EMPLOYEES + "/1"), new MockHttpServletResponse(), chain);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_ErrorProfile_AnswersWithoutCallingHandler() throws Exception {
+        bind("POST", EMPLOYEES, "broken");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", EMPLOYEES), response, chain);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertTrue(response.getContentAsString().contains("Injected fault 503"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void resolve_SeveralBindings_FirstMatchingMethodAndPatternWins() {
+        RouteBinding post = binding("POST", EMPLOYEES, "broken");
+        RouteBinding any = binding(null, EMPLOYEES + "/**", "slow");
+        registry.setRoutes(List.of(post, any));
+
+        assertSame(registry.getProfiles().get("broken"), registry.resolve(request("POST", EMPLOYEES)));
+        assertSame(registry.getProfiles().get("slow"), registry.resolve(request("GET", EMPLOYEES)));
+        assertNull(registry.resolve(request("GET", "/admin/faults/routes")));
+
+        registry.setRoutes(List.of());
+        assertNull(registry.resolve(request("GET", EMPLOYEES)));
+    }
+
+    @Test
+    void putProfile_StatusOutside4xxAnd5xx_IsRejected() {
+        FaultProfile redirect = new FaultProfile();
+        redirect.setErrorRates(Map.of(302, 0.5));
+        FaultProfile overcertain = new FaultProfile();
+        overcertain.setErrorRates(Map.of(500, 1.5));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.putProfile("redirect", redirect));
+        assertThrows(IllegalArgumentException.class, () -> registry.putProfile("overcertain", overcertain));
+        assertFalse(registry.getProfiles().containsKey("redirect"));
+
+        FaultInjectionProperties invalid = properties();
+        invalid.getProfiles().put("redirect", redirect);
+        assertThrows(IllegalArgumentException.class, () -> new FaultProfileRegistry(invalid));
+    }
+
+    @Test
+    void adminEndpoint_WithoutToken_IsUnauthorized() {
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.getProfiles(null).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.getRoutes("Bearer wrong").getStatusCode());
+        assertEquals(
+                HttpStatus.UNAUTHORIZED,
+                controller.setRoutes(null, List.of(binding(null, "/**", "slow"))).getStatusCode());
+        assertTrue(registry.getRoutes().isEmpty());
+    }
+
+    @Test
+    void adminEndpoint_WithToken_UpdatesProfilesAndRoutes() {
+        FaultProfile teapot = new FaultProfile();
+        teapot.setErrorRates(Map.of(418, 1.0));
+
+        assertEquals(HttpStatus.OK, controller.putProfile(TOKEN, "teapot", teapot).getStatusCode());
+        ResponseEntity<?> routes = controller.setRoutes(TOKEN, List.of(binding("GET", EMPLOYEES, "teapot")));
+
+        assertEquals(HttpStatus.OK, routes.getStatusCode());
+        assertEquals(List.of(binding("GET", EMPLOYEES, "teapot")), ((Response<?>) routes.getBody()).data());
+        assertSame(teapot, registry.resolve(request("GET", EMPLOYEES)));
+
+        assertEquals(HttpStatus.OK, controller.clearRoutes(TOKEN).getStatusCode());
+        assertNull(registry.resolve(request("GET", EMPLOYEES)));
+    }
+
+    @Test
+    void adminEndpoint_InvalidProfileOrRoute_AnswersWith400() {
+        FaultProfile success = new FaultProfile();
+        success.setErrorRates(Map.of(200, 1.0));
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.putProfile(TOKEN, "success", success).getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                controller.setRoutes(TOKEN, List.of(binding(null, "/**", "unknown"))).getStatusCode());
+        assertTrue(registry.getRoutes().isEmpty());
+    }
+
+    private void bind(String method, String pattern, String profile) {
+        registry.setRoutes(List.of(binding(method, pattern, profile)));
+    }
+
+    private static FaultInjectionProperties properties() {
+        FaultProfile slow = new FaultProfile();
+        slow.getLatency().setDistribution(FaultProfile.Distribution.FIXED);
+        slow.getLatency().setValue(Duration.ofMillis(50));
+        FaultProfile broken = new FaultProfile();
+        broken.setErrorRates(Map.of(503, 1.0));
+
+        FaultInjectionProperties properties = new FaultInjectionProperties();
+        properties.getProfiles().put("slow", slow);
+        properties.getProfiles().put("broken", broken);
+        return properties;
+    }
+
+    private static RouteBinding binding(String method, String pattern, String profile) {
+        RouteBinding binding = new RouteBinding();
+        binding.setMethod(method);
+        binding.setPattern(pattern);
+        binding.setProfile(profile);
+        return binding;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.web.idempotency.IdempotencyKeyReusedException;
+import com.reliaquest.server.web.idempotency.IdempotencyStore;
+import com.reliaquest.server.web.idempotency.IdempotencyStoreFullException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class IdempotencyStoreTest {
+
+    private final IdempotencyStore idempotencyStore = new IdempotencyStore(Duration.ofHours(1), 100);
+
+    @Test
+    void execute_SameKeyAndRequest_WritesOnceAndReplays() {
+        AtomicInteger writes = new AtomicInteger();
+
+        IdempotencyStore.Outcome<Integer> first = idempotencyStore.execute("key", "request", writes::incrementAndGet);
+        IdempotencyStore.Outcome<Integer> second = idempotencyStore.execute("key", "request", writes::incrementAndGet);
+
+        assertEquals(1, writes.get());
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(first.result(), second.result());
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_ThrowsException() {
+        idempotencyStore.execute("key", "request", () -> 1);
+
+        assertThrows(
+                IdempotencyKeyReusedException.class, () -> idempotencyStore.execute("key", "other request", () -> 2));
+    }
+
+    @Test
+    void execute_FailedWrite_IsNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key", "request", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(2, idempotencyStore.execute("key", "request", () -> 2).result());
+    }
+
+    @Test
+    void execute_ExpiredKey_WritesAgain() {
+        IdempotencyStore shortLived = new IdempotencyStore(Duration.ZERO, 100);
+        shortLived.execute("key", "request", () -> 1);
+
+        IdempotencyStore.Outcome<Integer> outcome = shortLived.execute("key", "request", () -> 2);
+
+        assertEquals(2, outcome.result());
+        assertFalse(outcome.replayed());
+    }
+
+    @Test
+    void execute_MaxKeysHeld_RefusesNewKeysUntilOneExpires() {
+        IdempotencyStore small = new IdempotencyStore(Duration.ofHours(1), 1);
+        small.execute("key", "request", () -> 1);
+
+        assertThrows(IdempotencyStoreFullException.class, () -> small.execute("other", "request", () -> 2));
+        assertTrue(small.execute("key", "request", () -> 3).replayed());
+
+        IdempotencyStore shortLived = new IdempotencyStore(Duration.ZERO, 1);
+        shortLived.execute("key", "request", () -> 1);
+        assertEquals(2, shortLived.execute("other", "request", () -> 2).result());
+    }
+
+    @Test
+    void execute_WriteInFlight_OtherKeysProceedAndRepeatsWaitForIt() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        CompletableFuture<IdempotencyStore.Outcome<Integer>> first =
+                CompletableFuture.supplyAsync(() -> idempotencyStore.execute("key", "request", () -> {
+                    writing.countDown();
+                    await(release);
+                    return writes.incrementAndGet();
+                }));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, idempotencyStore.execute("other", "request", () -> 2).result());
+        CompletableFuture<IdempotencyStore.Outcome<Integer>> repeat = CompletableFuture.supplyAsync(
+                () -> idempotencyStore.execute("key", "request", writes::incrementAndGet));
+        release.countDown();
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+        assertTrue(repeat.get(5, TimeUnit.SECONDS).replayed());
+        assertEquals(1, writes.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.web.ratelimit.RateLimitDecision;
+import com.reliaquest.server.web.ratelimit.RateLimiter;
+import com.reliaquest.server.web.ratelimit.SlidingWindowRateLimiter;
+import com.reliaquest.server.web.ratelimit.TokenBucketRateLimiter;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tokenBucket_BurstExhausted_DeniesWithRetryAfter() {
+        RateLimiter rateLimiter = new TokenBucketRateLimiter(5, Duration.ofSeconds(10), 100);
+
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = rateLimiter.tryAcquire("global", 0L);
+            assertTrue(decision.allowed());
+            assertEquals(4 - i, decision.remaining());
+        }
+
+        RateLimitDecision denied = rateLimiter.tryAcquire("global", 0L);
+        assertFalse(denied.allowed());
+        assertEquals(2 * SECOND, denied.retryAfterNanos());
+
+        assertTrue(rateLimiter.tryAcquire("global", 2 * SECOND).allowed());
+    }
+
+    @Test
+    void tokenBucket_DifferentKeys_AreIndependent() {
+        RateLimiter rateLimiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(10), 100);
+
+        assertTrue(rateLimiter.tryAcquire("client-a", 0L).allowed());
+        assertFalse(rateLimiter.tryAcquire("client-a", 0L).allowed());
+        assertTrue(rateLimiter.tryAcquire("client-b", 0L).allowed());
+    }
+
+    @Test
+    void slidingWindow_LimitReached_DeniesUntilWindowEnds() {
+        RateLimiter rateLimiter = new SlidingWindowRateLimiter(3, Duration.ofSeconds(60), 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire("global", i * SECOND).allowed());
+        }
+
+        RateLimitDecision denied = rateLimiter.tryAcquire("global", 10 * SECOND);
+        assertFalse(denied.allowed());
+        assertEquals(50 * SECOND, denied.retryAfterNanos());
+    }
+
+    @Test
+    void slidingWindow_PreviousWindowWeighted_AdmitsAsItSlidesOut() {
+        RateLimiter rateLimiter = new SlidingWindowRateLimiter(4, Duration.ofSeconds(60), 100);
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire("global", 0L);
+        }
+
+        // Just after the roll the whole previous window still counts.
+        assertFalse(rateLimiter.tryAcquire("global", 60 * SECOND).allowed());
+        // Half way through, only half of the previous window counts.
+        assertTrue(rateLimiter.tryAcquire("global", 90 * SECOND).allowed());
+    }
+
+    @Test
+    void limiters_ConcurrentAcquire_NeverOverAdmit() throws InterruptedException {
+        assertEquals(100, admittedConcurrently(new TokenBucketRateLimiter(100, Duration.ofHours(1), 100)));
+        assertEquals(100, admittedConcurrently(new SlidingWindowRateLimiter(100, Duration.ofHours(1), 100)));
+    }
+
+    private static int admittedConcurrently(RateLimiter rateLimiter) throws InterruptedException {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        long now = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    if (rateLimiter.tryAcquire("global", now).allowed()) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        return admitted.get();
+    }
+}
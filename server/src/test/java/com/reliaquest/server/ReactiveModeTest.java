@@ -0,0 +1,95 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.RateLimitProperties;
+import com.reliaquest.server.controller.RosterStreamHandler;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.ratelimit.ReactiveRateLimitFilter;
+import com.reliaquest.server.web.ratelimit.SlidingWindowRateLimiter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+public class ReactiveModeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MockEmployeeService mockEmployeeService = mock(MockEmployeeService.class);
+
+    private final RosterStreamHandler rosterStreamHandler = new RosterStreamHandler(mockEmployeeService, objectMapper);
+
+    @Test
+    void getEmployees_Streamed_MatchesEnvelope() throws Exception {
+        for (int size : new int[] {0, 1, 130}) {
+            List<MockEmployee> employees = employees(size);
+            when(mockEmployeeService.getMockEmployees(MockEmployeeService.DEFAULT_TENANT)).thenReturn(employees);
+
+            byte[] body = client(null)
+                    .get()
+                    .uri("/api/v1/employee")
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBody()
+                    .returnResult()
+                    .getResponseBody();
+
+            assertEquals(objectMapper.writeValueAsString(Response.handledWith(employees)), new String(body));
+        }
+    }
+
+    @Test
+    void rateLimit_OverLimit_RejectsWithRetryAfter() {
+        when(mockEmployeeService.getMockEmployees(MockEmployeeService.DEFAULT_TENANT)).thenReturn(employees(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLimit(2);
+        ReactiveRateLimitFilter filter = new ReactiveRateLimitFilter(
+                new SlidingWindowRateLimiter(2, Duration.ofSeconds(60), 100),
+                properties,
+                mock(HandlerMapping.class));
+        WebTestClient client = client(filter);
+
+        for (int i = 0; i < 2; i++) {
+            client.get().uri("/api/v1/employee").exchange().expectStatus().isOk();
+        }
+
+        client.get()
+                .uri("/api/v1/employee")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(429)
+                .expectHeader()
+                .exists("Retry-After")
+                .expectHeader()
+                .valueEquals("RateLimit-Remaining", "0");
+    }
+
+    private WebTestClient client(ReactiveRateLimitFilter filter) {
+        var spec = WebTestClient.bindToRouterFunction(
+                RouterFunctions.route(GET("/api/v1/employee"), rosterStreamHandler::getEmployees));
+        if (filter != null) {
+            spec.webFilter(filter);
+        }
+        return spec.build();
+    }
+
+    private static List<MockEmployee> employees(int size) {
+        List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new MockEmployee(
+                    UUID.randomUUID(), "Employee " + i, 30_000 + i, 20 + i % 40, "Engineer", i + "@company.com"));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class ResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ObjectMapper reflective = new ObjectMapper()
+            .addMixIn(MockEmployee.class, Reflective.class)
+            .addMixIn(Response.class, Reflective.class);
+
+    @Test
+    void serialize_MatchesReflectiveBinding() throws Exception {
+        MockEmployee full = new MockEmployee(
+                UUID.randomUUID(), "Tiger \"T\" Nixon", 320800, 61, "Vice Chair", "tnixon@company.com");
+        MockEmployee sparse = new MockEmployee(UUID.randomUUID(), "akash", null, null, null, null);
+
+        List<Response<?>> responses = List.of(
+                Response.handledWith(Arrays.asList(full, null, sparse)),
+                Response.handledWith(full),
+                Response.handledWith(true),
+                Response.handled(),
+                Response.error("Failed to create employee"));
+
+        for (Response<?> response : responses) {
+            assertEquals(reflective.writeValueAsString(response), objectMapper.writeValueAsString(response));
+        }
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class Reflective {}
+}
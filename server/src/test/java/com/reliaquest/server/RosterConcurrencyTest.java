@@ -0,0 +1,139 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RosterConcurrencyTest {
+
+    private static final int WRITERS = 4;
+
+    private static final int CREATES_PER_WRITER = 200;
+
+    private final MockEmployeeService service = new MockEmployeeService(new Faker(Locale.ENGLISH), List.of(), 100);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void createDeleteIterate_Concurrently_ListAndIndexAgree() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            String prefix = "writer-" + w + "-";
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < CREATES_PER_WRITER; i++) {
+                    service.create(input(prefix + i));
+                    if (i % 2 == 1) {
+                        assertTrue(service.delete(delete(prefix + (i - 1))));
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<Integer>> readers =
+                List.of(executor.submit(iterate(start, writing)), executor.submit(iterate(start, writing)));
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<Integer> reader : readers) {
+            assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+        }
+
+        List<MockEmployee> employees = service.getMockEmployees();
+        assertEquals(WRITERS * CREATES_PER_WRITER / 2, employees.size());
+        assertTrue(employees.stream().allMatch(employee -> employee.getName().matches("writer-\\d+-\\d*[13579]")));
+        List<UUID> ids = employees.stream().map(MockEmployee::getId).toList();
+        assertEquals(employees, service.findByIds(MockEmployeeService.DEFAULT_TENANT, ids));
+    }
+
+    @Test
+    void create_ManyTenantsConcurrently_EachKeepsItsOwnRoster() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            String tenant = "tenant-" + w;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < CREATES_PER_WRITER; i++) {
+                    service.create(tenant, input(tenant + "-" + i));
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+
+        for (int w = 0; w < WRITERS; w++) {
+            String tenant = "tenant-" + w;
+            List<MockEmployee> employees = service.getMockEmployees(tenant);
+            assertEquals(CREATES_PER_WRITER, employees.size());
+            assertTrue(employees.stream().allMatch(employee -> employee.getName().startsWith(tenant + "-")));
+        }
+        assertEquals(List.of(), service.getMockEmployees());
+    }
+
+    /*
+     * Iterates the roster until the writers finish, failing on a snapshot with a null or a duplicate id.
+     */
+    private Callable<Integer> iterate(CountDownLatch start, AtomicBoolean writing) {
+        return () -> {
+            start.await();
+            int snapshots = 0;
+            do {
+                Set<UUID> seen = new HashSet<>();
+                for (MockEmployee employee : service.getMockEmployees()) {
+                    assertTrue(seen.add(employee.getId()), "duplicate " + employee.getId());
+                }
+                snapshots++;
+            } while (writing.get());
+            return snapshots;
+        };
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput delete(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
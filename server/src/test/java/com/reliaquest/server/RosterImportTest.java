@@ -0,0 +1,177 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.controller.RosterAdminController;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.InvalidTenantException;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterImportException;
+import com.reliaquest.server.service.RosterImporter;
+import com.reliaquest.server.web.admin.AdminToken;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public class RosterImportTest {
+
+    // Batches of two, so every test spans several batches
+    private final RosterImporter rosterImporter = new RosterImporter(new ObjectMapper(), 2, 2);
+
+    @Test
+    void read_Csv_ParsesQuotedFieldsAndFillsDefaults() throws Exception {
+        UUID id = UUID.randomUUID();
+        String csv = """
+                id,name,salary,age,title,email
+                %s,"Smith, Jane",120000,41,"Staff ""Principal"" Engineer",jane@company.com
+                ,Akash Kumar,90000,30,Engineer,
+                """.formatted(id);
+
+        List<MockEmployee> employees = rosterImporter.read(stream(csv), RosterImporter.Format.CSV);
+
+        assertEquals(2, employees.size());
+        assertEquals(id, employees.get(0).getId());
+        assertEquals("Smith, Jane", employees.get(0).getName());
+        assertEquals("Staff \"Principal\" Engineer", employees.get(0).getTitle());
+        assertEquals(120000, employees.get(0).getSalary());
+        assertNotNull(employees.get(1).getId());
+        assertEquals("akash.kumar@company.com", employees.get(1).getEmail());
+    }
+
+    @Test
+    void read_NdjsonWithApiFieldNames_KeepsInputOrder() throws Exception {
+        String ndjson = IntStream.range(0, 7)
+                .mapToObj(i -> "{\"employee_name\":\"Employee %d\",\"employee_salary\":%d}".formatted(i, i))
+                .collect(Collectors.joining("\n"));
+
+        List<MockEmployee> employees = rosterImporter.read(stream(ndjson), RosterImporter.Format.NDJSON);
+
+        assertEquals(
+                IntStream.range(0, 7).mapToObj(i -> "Employee " + i).toList(),
+                employees.stream().map(MockEmployee::getName).toList());
+        assertEquals(6, employees.get(6).getSalary());
+    }
+
+    @Test
+    void read_MalformedRow_ReportsLineNumber() {
+        String csv = "name,age\nA,1\nB,2\nC,old\n";
+
+        RosterImportException ex = assertThrows(
+                RosterImportException.class, () -> rosterImporter.read(stream(csv), RosterImporter.Format.CSV));
+        assertTrue(ex.getMessage().startsWith("Line 4:"), ex.getMessage());
+    }
+
+    @Test
+    void replaceAll_NewRoster_IsIndexedAndSwappedIn() {
+        MockEmployeeService service = new MockEmployeeService(new Faker(Locale.ENGLISH), List.of(employee("Old")), 100);
+        MockEmployee replacement = employee("New");
+
+        service.replaceAll(List.of(replacement));
+
+        assertEquals(List.of(replacement), service.getMockEmployees());
+        assertEquals(replacement, service.findById(replacement.getId()).orElseThrow());
+    }
+
+    @Test
+    void replaceAll_DuplicateIds_KeepsCurrentRoster() {
+        MockEmployee current = employee("Current");
+        MockEmployeeService service = new MockEmployeeService(new Faker(Locale.ENGLISH), List.of(current), 100);
+        MockEmployee duplicate = employee("Duplicate");
+
+        assertThrows(RosterImportException.class, () -> service.replaceAll(List.of(duplicate, duplicate)));
+        assertEquals(List.of(current), service.getMockEmployees());
+    }
+
+    @Test
+    void importRoster_WithoutAdminToken_IsUnauthorizedAndKeepsRoster() throws Exception {
+        MockEmployee current = employee("Current");
+        MockEmployeeService service = new MockEmployeeService(new Faker(Locale.ENGLISH), List.of(current), 100);
+        RosterAdminController controller = new RosterAdminController(service, rosterImporter, new AdminToken("secret"));
+        InputStreamResource csv = new InputStreamResource(stream("name\nIntruder\n"));
+
+        assertEquals(
+                HttpStatus.UNAUTHORIZED,
+                controller.importRoster(null, null, "text/csv", null, csv).getStatusCode());
+        assertEquals(List.of(current), service.getMockEmployees());
+
+        ResponseEntity<?> imported = controller.importRoster("Bearer secret", null, "text/csv", null, csv);
+        assertEquals(HttpStatus.OK, imported.getStatusCode());
+        assertEquals("Intruder", service.getMockEmployees().get(0).getName());
+    }
+
+    @Test
+    void importRoster_InvalidOrOneTenantTooMany_IsRejectedBeforeTheBodyIsRead() {
+        // Room for the default tenant only
+        MockEmployeeService service = new MockEmployeeService(new Faker(Locale.ENGLISH), List.of(), 1);
+        RosterAdminController controller = new RosterAdminController(service, rosterImporter, new AdminToken("secret"));
+        InputStreamResource body = new InputStreamResource(new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("the body was read");
+            }
+        });
+
+        assertThrows(
+                InvalidTenantException.class,
+                () -> controller.importRoster("Bearer secret", "../acme", "text/csv", null, body));
+        assertThrows(
+                InvalidTenantException.class,
+                () -> controller.importRoster("Bearer secret", "acme", "text/csv", null, body));
+        assertThrows(
+                RosterImportException.class,
+                () -> controller.importRoster("Bearer secret", null, "text/plain", null, body));
+    }
+
+    @Test
+    void create_AfterSnapshotRead_LeavesSnapshotUnchanged() {
+        MockEmployeeService service =
+                new MockEmployeeService(new Faker(Locale.ENGLISH), List.of(employee("Alice")), 100);
+        List<MockEmployee> snapshot = service.getMockEmployees();
+
+        service.create(createInput("Bob"));
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName("alice");
+        assertTrue(service.delete(delete));
+
+        assertEquals(List.of("Alice"), snapshot.stream().map(MockEmployee::getName).toList());
+        assertEquals(List.of("Bob"), service.getMockEmployees().stream().map(MockEmployee::getName).toList());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(employee("Mallory")));
+    }
+
+    @Test
+    void format_FileNameOrMediaType_IsRecognised() {
+        assertEquals(RosterImporter.Format.CSV, RosterImporter.Format.of("roster.csv.gz"));
+        assertEquals(RosterImporter.Format.NDJSON, RosterImporter.Format.of("application/x-ndjson"));
+        assertThrows(RosterImportException.class, () -> RosterImporter.Format.of("text/plain"));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+
+    private static CreateMockEmployeeInput createInput(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.InvalidTenantException;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+public class TenantRosterTest {
+
+    private final MockEmployee seeded = MockEmployee.builder().id(UUID.randomUUID()).name("Seeded").build();
+
+    // Room for the default tenant and one other
+    private final MockEmployeeService service = new MockEmployeeService(new Faker(Locale.ENGLISH), List.of(seeded), 2);
+
+    @Test
+    void create_OtherTenant_OnlyVisibleToThatTenant() {
+        MockEmployee created = service.create("acme", input("Jane"));
+
+        assertEquals(List.of(created), service.getMockEmployees("acme"));
+        assertEquals(created, service.findById("acme", created.getId()).orElseThrow());
+        assertEquals(List.of(seeded), service.getMockEmployees());
+        assertTrue(service.findById(created.getId()).isEmpty());
+        assertTrue(service.findById("acme", seeded.getId()).isEmpty());
+    }
+
+    @Test
+    void getMockEmployees_UnknownTenant_IsEmpty() {
+        assertEquals(List.of(), service.getMockEmployees("unknown"));
+        assertEquals(List.of(), service.findByIds("unknown", List.of(seeded.getId())));
+    }
+
+    @Test
+    void replaceAllAndDelete_OtherTenant_LeaveDefaultRoster() {
+        MockEmployee imported = MockEmployee.builder().id(UUID.randomUUID()).name("Seeded").build();
+
+        service.replaceAll("acme", List.of(imported));
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName("Seeded");
+
+        assertTrue(service.delete("acme", delete));
+        assertEquals(List.of(), service.getMockEmployees("acme"));
+        assertEquals(List.of(seeded), service.getMockEmployees());
+    }
+
+    @Test
+    void createAndReplaceAll_BeyondMaxTenants_AreRefused() {
+        service.create("acme", input("Jane"));
+
+        assertThrows(InvalidTenantException.class, () -> service.create("globex", input("John")));
+        assertThrows(InvalidTenantException.class, () -> service.replaceAll("globex", List.of()));
+        assertEquals(List.of(), service.getMockEmployees("globex"));
+        service.create("acme", input("John"));
+        assertEquals(2, service.getMockEmployees("acme").size());
+    }
+
+    @Test
+    void tenant_MalformedHeader_IsRejected() {
+        assertThrows(InvalidTenantException.class, () -> MockEmployeeService.tenant("../acme"));
+        assertThrows(InvalidTenantException.class, () -> MockEmployeeService.tenant("a".repeat(65)));
+    }
+
+    @Test
+    void tenant_MissingOrBlankHeader_IsDefault() {
+        assertEquals(MockEmployeeService.DEFAULT_TENANT, MockEmployeeService.tenant(null));
+        assertEquals(MockEmployeeService.DEFAULT_TENANT, MockEmployeeService.tenant(" "));
+        assertEquals("acme", MockEmployeeService.tenant(" acme "));
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}